@@ -23,7 +23,6 @@ import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendRequest;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendResponse;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,7 +42,7 @@ public final class AlertRequestProcessor implements NettyRequestProcessor {
 
     @Override
     public void process(Channel channel, Message message) {
-        AlertSendRequest alertSendRequest = JsonSerializer.deserialize(message.getBody(), AlertSendRequest.class);
+        AlertSendRequest alertSendRequest = message.parseBody(AlertSendRequest.class);
 
         log.info("Received command : {}", alertSendRequest);
 
@@ -21,8 +21,11 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.IOException;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -69,4 +72,23 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * download log, the log is streamed into the response chunk by chunk
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    void downloadLog(User loginUser, int taskInstId, HttpServletResponse response) throws IOException;
+
+    /**
+     * download log in specified project, the log is streamed into the response chunk by chunk
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response) throws IOException;
 }
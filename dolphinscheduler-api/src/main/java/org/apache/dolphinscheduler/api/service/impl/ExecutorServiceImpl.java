@@ -1162,7 +1162,7 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
             return null;
         }
         WorkflowExecutingDataResponse responseCommand =
-                JSONUtils.parseObject(message.getBody(), WorkflowExecutingDataResponse.class);
+                message.parseBody(WorkflowExecutingDataResponse.class);
         return responseCommand.getWorkflowExecuteDto();
     }
 
@@ -44,13 +44,19 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 import com.google.common.primitives.Bytes;
@@ -120,13 +126,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
-        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
-        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
-            throw new ServiceException("task instance is null or host is null");
-        }
-        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
-        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
+        return getLogBytes(queryDownloadTaskInstance(loginUser, taskInstId));
     }
 
     /**
@@ -175,6 +175,46 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+        return getLogBytes(queryDownloadTaskInstance(loginUser, projectCode, taskInstId));
+    }
+
+    /**
+     * download log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    @Override
+    public void downloadLog(User loginUser, int taskInstId, HttpServletResponse response) throws IOException {
+        downloadLog(queryDownloadTaskInstance(loginUser, taskInstId), response);
+    }
+
+    /**
+     * download log in specified project
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    @Override
+    public void downloadLog(User loginUser, long projectCode, int taskInstId,
+                            HttpServletResponse response) throws IOException {
+        downloadLog(queryDownloadTaskInstance(loginUser, projectCode, taskInstId), response);
+    }
+
+    private TaskInstance queryDownloadTaskInstance(User loginUser, int taskInstId) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        return taskInstance;
+    }
+
+    private TaskInstance queryDownloadTaskInstance(User loginUser, long projectCode, int taskInstId) {
         Project project = projectMapper.queryByCode(projectCode);
         // check user access for project
         Map<String, Object> result = projectService.checkProjectAndAuth(loginUser, project, projectCode, DOWNLOAD_LOG);
@@ -191,7 +231,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -225,11 +265,9 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
             // When getting the log for the first time (skipLineNum=0) returns empty, get the log from remote target
             try {
                 log.info("Get log {} from remote target", logPath);
-                RemoteLogUtils.getRemoteLog(logPath);
-                List<String> lines = LogUtils.readPartFileContentFromLocal(logPath, skipLineNum, limit);
+                List<String> lines = LogUtils.readPartFileContentFromRemote(logPath, skipLineNum, limit);
                 logContent = LogUtils.rollViewLogLines(lines);
-                FileUtils.delete(new File(logPath));
-            } catch (IOException e) {
+            } catch (Exception e) {
                 log.error("Error while getting log from remote target", e);
             }
         }
@@ -271,4 +309,42 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
         return Bytes.concat(head, logBytes);
     }
+
+    /**
+     * Stream the log into the response, the log is pulled from the worker chunk by chunk and written as soon as it
+     * arrives, so the memory is bounded by the chunk size rather than the log size.
+     *
+     * @param taskInstance task instance
+     * @param response     http response
+     */
+    private void downloadLog(TaskInstance taskInstance, HttpServletResponse response) throws IOException {
+        Host host = Host.of(taskInstance.getHost());
+        String logPath = taskInstance.getLogPath();
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        OutputStream out = response.getOutputStream();
+        out.write(String.format(LOG_HEAD_FORMAT,
+                logPath,
+                host,
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+
+        long logSize = logClient.getLogChunks(host.getIp(), host.getPort(), logPath, out);
+
+        if (logSize == 0 && RemoteLogUtils.isRemoteLoggingEnable()) {
+            // get task log from remote target
+            log.info("Get log {} from remote target", logPath);
+            RemoteLogUtils.getRemoteLog(logPath);
+            File logFile = new File(logPath);
+            if (logFile.exists()) {
+                try {
+                    Files.copy(logFile.toPath(), out);
+                } finally {
+                    FileUtils.delete(logFile);
+                }
+            }
+        }
+        out.flush();
+    }
 }
@@ -35,6 +35,9 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.service.log.LogClient;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,6 +53,9 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 /**
  * logger service test
@@ -186,6 +192,41 @@ public class LoggerServiceTest {
         Assertions.assertEquals(90, result.length);
     }
 
+    @Test
+    public void testDownloadLog() throws IOException {
+        User loginUser = new User();
+        loginUser.setId(1);
+
+        // task instance is null
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServiceException exception =
+                Assertions.assertThrows(ServiceException.class,
+                        () -> loggerService.downloadLog(loginUser, 2, response));
+        Assertions.assertEquals(new ServiceException("task instance is null or host is null").getMessage(),
+                exception.getMessage());
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+
+        // SUCCESS
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setHost("127.0.0.1:8080");
+        taskInstance.setLogPath("/temp/log");
+        Project project = getProject(1);
+        Mockito.when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        Mockito.when(projectMapper.queryProjectByTaskInstanceId(1)).thenReturn(project);
+        Mockito.doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        byte[] logContent = "task log".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(logClient.getLogChunks(Mockito.eq("127.0.0.1"), Mockito.eq(8080), Mockito.eq("/temp/log"),
+                Mockito.any(OutputStream.class))).thenAnswer(invocation -> {
+                    invocation.getArgument(3, OutputStream.class).write(logContent);
+                    return (long) logContent.length;
+                });
+        loggerService.downloadLog(loginUser, 1, response);
+        Assertions.assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, response.getContentType());
+        Assertions.assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment;"));
+        Assertions.assertTrue(response.getContentAsString(StandardCharsets.UTF_8).startsWith("[LOG-PATH]: /temp/log"));
+        Assertions.assertTrue(response.getContentAsString(StandardCharsets.UTF_8).endsWith("task log"));
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
@@ -820,6 +820,8 @@ public final class Constants {
 
     public static final String REMOTE_LOGGING_THREAD_POOL_SIZE = "remote.logging.thread.pool.size";
 
+    public static final String REMOTE_LOGGING_CACHE_SIZE_MB = "remote.logging.cache.size.mb";
+
     /**
      * remote logging for OSS
      */
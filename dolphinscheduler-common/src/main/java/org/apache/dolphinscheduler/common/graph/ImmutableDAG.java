@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A frozen copy of a {@link DAG}, it can be shared by threads without any lock.
+ * <p>
+ * The nodes are indexed by int in the order of the source dag, the edges are stored in compressed sparse row arrays
+ * for both directions, and the begin/end nodes and the neighbor node sets are computed once when it is built, so the
+ * queries never allocate. The edge info is not kept since it is never read from a dag.
+ * <p>
+ * All the methods changing the graph throw {@link UnsupportedOperationException}.
+ */
+public final class ImmutableDAG<Node, NodeInfo, EdgeInfo> extends DAG<Node, NodeInfo, EdgeInfo> {
+
+    private final Map<Node, Integer> nodeIndexes;
+
+    private final Object[] nodes;
+
+    private final Object[] nodeInfos;
+
+    /**
+     * The successors of node i are successors[successorOffsets[i]...successorOffsets[i + 1]), sorted by index.
+     */
+    private final int[] successorOffsets;
+
+    private final int[] successors;
+
+    /**
+     * The predecessors of node i are predecessors[predecessorOffsets[i]...predecessorOffsets[i + 1]), sorted by
+     * index.
+     */
+    private final int[] predecessorOffsets;
+
+    private final int[] predecessors;
+
+    private final List<Set<Node>> successorSets;
+
+    private final List<Set<Node>> predecessorSets;
+
+    private final Set<Node> beginNodes;
+
+    private final Set<Node> endNodes;
+
+    private final Set<Node> allNodes;
+
+    private ImmutableDAG(DAG<Node, NodeInfo, ?> dag) {
+        Set<Node> sourceNodes = dag.getAllNodesList();
+        int nodeCount = sourceNodes.size();
+        this.nodeIndexes = new LinkedHashMap<>(nodeCount * 4 / 3 + 1);
+        this.nodes = new Object[nodeCount];
+        this.nodeInfos = new Object[nodeCount];
+        for (Node node : sourceNodes) {
+            int index = nodeIndexes.size();
+            nodeIndexes.put(node, index);
+            nodes[index] = node;
+            nodeInfos[index] = dag.getNode(node);
+        }
+
+        int[] inDegrees = new int[nodeCount];
+        this.successorOffsets = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; i++) {
+            Set<Node> subsequentNodes = dag.getSubsequentNodes(node(i));
+            successorOffsets[i + 1] = successorOffsets[i] + subsequentNodes.size();
+            for (Node subsequentNode : subsequentNodes) {
+                inDegrees[nodeIndexes.get(subsequentNode)]++;
+            }
+        }
+        this.successors = new int[successorOffsets[nodeCount]];
+        this.predecessorOffsets = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; i++) {
+            predecessorOffsets[i + 1] = predecessorOffsets[i] + inDegrees[i];
+        }
+        this.predecessors = new int[predecessorOffsets[nodeCount]];
+
+        // nodes are visited in index order, so the predecessors of each node are filled in sorted order
+        int[] predecessorCursors = Arrays.copyOf(predecessorOffsets, nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            int cursor = successorOffsets[i];
+            for (Node subsequentNode : dag.getSubsequentNodes(node(i))) {
+                int successor = nodeIndexes.get(subsequentNode);
+                successors[cursor++] = successor;
+                predecessors[predecessorCursors[successor]++] = i;
+            }
+            Arrays.sort(successors, successorOffsets[i], successorOffsets[i + 1]);
+        }
+
+        this.successorSets = new ArrayList<>(nodeCount);
+        this.predecessorSets = new ArrayList<>(nodeCount);
+        Set<Node> begin = new LinkedHashSet<>();
+        Set<Node> end = new LinkedHashSet<>();
+        for (int i = 0; i < nodeCount; i++) {
+            successorSets.add(neighborSet(successors, successorOffsets[i], successorOffsets[i + 1]));
+            predecessorSets.add(neighborSet(predecessors, predecessorOffsets[i], predecessorOffsets[i + 1]));
+            if (predecessorOffsets[i] == predecessorOffsets[i + 1]) {
+                begin.add(node(i));
+            }
+            if (successorOffsets[i] == successorOffsets[i + 1]) {
+                end.add(node(i));
+            }
+        }
+        this.beginNodes = Collections.unmodifiableSet(begin);
+        this.endNodes = Collections.unmodifiableSet(end);
+        this.allNodes = Collections.unmodifiableSet(nodeIndexes.keySet());
+    }
+
+    /**
+     * Build a frozen copy of the given dag, the node info objects are shared with the given dag.
+     */
+    @SuppressWarnings("unchecked")
+    public static <Node, NodeInfo, EdgeInfo> ImmutableDAG<Node, NodeInfo, EdgeInfo> copyOf(DAG<Node, NodeInfo, EdgeInfo> dag) {
+        if (dag instanceof ImmutableDAG) {
+            return (ImmutableDAG<Node, NodeInfo, EdgeInfo>) dag;
+        }
+        return new ImmutableDAG<>(dag);
+    }
+
+    @Override
+    public void addNode(Node node, NodeInfo nodeInfo) {
+        throw new UnsupportedOperationException("ImmutableDAG can not be changed");
+    }
+
+    @Override
+    public boolean addEdge(Node fromNode, Node toNode) {
+        throw new UnsupportedOperationException("ImmutableDAG can not be changed");
+    }
+
+    @Override
+    public boolean addEdge(Node fromNode, Node toNode, EdgeInfo edge, boolean createNode) {
+        throw new UnsupportedOperationException("ImmutableDAG can not be changed");
+    }
+
+    @Override
+    public boolean containsNode(Node node) {
+        return nodeIndexes.containsKey(node);
+    }
+
+    @Override
+    public boolean containsEdge(Node fromNode, Node toNode) {
+        Integer from = nodeIndexes.get(fromNode);
+        Integer to = nodeIndexes.get(toNode);
+        if (from == null || to == null) {
+            return false;
+        }
+        return Arrays.binarySearch(successors, successorOffsets[from], successorOffsets[from + 1], to) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NodeInfo getNode(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? null : (NodeInfo) nodeInfos[index];
+    }
+
+    @Override
+    public int getNodesCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public int getEdgesCount() {
+        return successors.length;
+    }
+
+    @Override
+    public Collection<Node> getBeginNode() {
+        return beginNodes;
+    }
+
+    @Override
+    public Collection<Node> getEndNode() {
+        return endNodes;
+    }
+
+    @Override
+    public Set<Node> getPreviousNodes(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? Collections.emptySet() : predecessorSets.get(index);
+    }
+
+    @Override
+    public Set<Node> getSubsequentNodes(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? Collections.emptySet() : successorSets.get(index);
+    }
+
+    @Override
+    public int getIndegree(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? 0 : predecessorOffsets[index + 1] - predecessorOffsets[index];
+    }
+
+    @Override
+    public boolean hasCycle() {
+        return !topologicalSortImpl().getKey();
+    }
+
+    @Override
+    public List<Node> topologicalSort() throws Exception {
+        Map.Entry<Boolean, List<Node>> entry = topologicalSortImpl();
+        if (entry.getKey()) {
+            return entry.getValue();
+        }
+        throw new Exception("serious error: graph has cycle ! ");
+    }
+
+    @Override
+    public Set<Node> getAllNodesList() {
+        return allNodes;
+    }
+
+    private Map.Entry<Boolean, List<Node>> topologicalSortImpl() {
+        int nodeCount = nodes.length;
+        int[] inDegrees = new int[nodeCount];
+        int[] queue = new int[nodeCount];
+        int tail = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            inDegrees[i] = predecessorOffsets[i + 1] - predecessorOffsets[i];
+            if (inDegrees[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int current = queue[head];
+            for (int i = successorOffsets[current]; i < successorOffsets[current + 1]; i++) {
+                if (--inDegrees[successors[i]] == 0) {
+                    queue[tail++] = successors[i];
+                }
+            }
+        }
+        List<Node> topoResultList = new ArrayList<>(tail);
+        for (int i = 0; i < tail; i++) {
+            topoResultList.add(node(queue[i]));
+        }
+        return new AbstractMap.SimpleEntry<>(tail == nodeCount, topoResultList);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder edges = new StringBuilder();
+        for (int i = 0; i < nodes.length; i++) {
+            for (int j = successorOffsets[i]; j < successorOffsets[i + 1]; j++) {
+                if (edges.length() > 0) {
+                    edges.append(", ");
+                }
+                edges.append(nodes[i]).append("->").append(nodes[successors[j]]);
+            }
+        }
+        return "ImmutableDAG{"
+                + "nodes="
+                + nodeIndexes.keySet()
+                + ", edges=["
+                + edges
+                + "]}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node node(int index) {
+        return (Node) nodes[index];
+    }
+
+    private Set<Node> neighborSet(int[] neighbors, int from, int to) {
+        if (from == to) {
+            return Collections.emptySet();
+        }
+        return new NeighborSet(neighbors, from, to);
+    }
+
+    /**
+     * A read only view of a slice of the edge array.
+     */
+    private final class NeighborSet extends AbstractSet<Node> {
+
+        private final int[] neighbors;
+
+        private final int from;
+
+        private final int to;
+
+        private NeighborSet(int[] neighbors, int from, int to) {
+            this.neighbors = neighbors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return new Iterator<Node>() {
+
+                private int cursor = from;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < to;
+                }
+
+                @Override
+                public Node next() {
+                    if (cursor >= to) {
+                        throw new NoSuchElementException();
+                    }
+                    return node(neighbors[cursor++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer index = nodeIndexes.get(o);
+            return index != null && Arrays.binarySearch(neighbors, from, to, index) >= 0;
+        }
+    }
+
+}
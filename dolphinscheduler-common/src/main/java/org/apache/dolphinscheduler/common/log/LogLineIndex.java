@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A sparse index of the line offsets of a log file, it records the byte offset of every {@link #INDEX_INTERVAL} lines,
+ * so a page of lines can be read by seeking to the nearest indexed line instead of scanning from the head of the file.
+ * <p>
+ * The index is built lazily and cached. Since a log file is only appended, the index of a growing file is extended
+ * from the last scanned position, and it is rebuilt once the file is truncated or replaced. The lines are split in the
+ * same way as {@link BufferedReader#readLine()}, by '\n', '\r' or "\r\n".
+ */
+public class LogLineIndex {
+
+    static final int INDEX_INTERVAL = 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private static final Cache<String, LogLineIndex> LOG_LINE_INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final Path path;
+
+    private Object fileKey;
+
+    private long scannedLength;
+
+    private int lineCount;
+
+    private boolean pendingCarriageReturn;
+
+    /**
+     * lineOffsets[i] is the byte offset of the line i * INDEX_INTERVAL
+     */
+    private long[] lineOffsets = new long[16];
+
+    private int lineOffsetSize;
+
+    LogLineIndex(Path path) {
+        this.path = path;
+        reset(null);
+    }
+
+    /**
+     * Read the lines of the given log file through its cached index.
+     *
+     * @param filePath log file path
+     * @param skipLine the line number to start with
+     * @param limit    the max line number to read
+     * @return lines
+     */
+    public static List<String> readLines(String filePath, int skipLine, int limit) throws IOException {
+        return LOG_LINE_INDEX_CACHE.asMap()
+                .computeIfAbsent(filePath, key -> new LogLineIndex(Paths.get(key)))
+                .readLines(skipLine, limit);
+    }
+
+    List<String> readLines(int skipLine, int limit) throws IOException {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        skipLine = Math.max(skipLine, 0);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int indexedLine;
+            long indexedOffset;
+            synchronized (this) {
+                update(channel);
+                int indexedLineOffset = Math.min(skipLine / INDEX_INTERVAL, lineOffsetSize - 1);
+                indexedLine = indexedLineOffset * INDEX_INTERVAL;
+                indexedOffset = lineOffsets[indexedLineOffset];
+            }
+            channel.position(indexedOffset);
+            BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            for (int i = indexedLine; i < skipLine; i++) {
+                if (reader.readLine() == null) {
+                    return Collections.emptyList();
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            String line;
+            while (lines.size() < limit && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Scan the bytes appended since the last update.
+     */
+    private void update(FileChannel channel) throws IOException {
+        Object currentFileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        long size = channel.size();
+        if (size < scannedLength || !Objects.equals(fileKey, currentFileKey)) {
+            reset(currentFileKey);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = scannedLength;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                long offset = position + i;
+                if (pendingCarriageReturn) {
+                    pendingCarriageReturn = false;
+                    if (b == '\n') {
+                        addLine(offset + 1);
+                        continue;
+                    }
+                    addLine(offset);
+                }
+                if (b == '\r') {
+                    pendingCarriageReturn = true;
+                } else if (b == '\n') {
+                    addLine(offset + 1);
+                }
+            }
+            position += read;
+        }
+        scannedLength = position;
+    }
+
+    private void addLine(long lineOffset) {
+        lineCount++;
+        if (lineCount % INDEX_INTERVAL != 0) {
+            return;
+        }
+        if (lineOffsetSize == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length * 2);
+        }
+        lineOffsets[lineOffsetSize++] = lineOffset;
+    }
+
+    private void reset(Object fileKey) {
+        this.fileKey = fileKey;
+        this.scannedLength = 0;
+        this.lineCount = 0;
+        this.pendingCarriageReturn = false;
+        this.lineOffsets[0] = 0;
+        this.lineOffsetSize = 1;
+    }
+}
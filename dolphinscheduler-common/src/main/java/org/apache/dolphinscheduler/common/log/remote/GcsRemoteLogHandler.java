@@ -24,17 +24,21 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Bucket;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
 import com.google.cloud.storage.StorageOptions;
 
 @Slf4j
@@ -114,6 +118,36 @@ public class GcsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public long getRemoteLogSize(String logPath) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try {
+            Blob blob = gcsStorage.get(BlobId.of(bucketName, objectName));
+            return blob == null ? -1 : blob.getSize();
+        } catch (Exception e) {
+            log.error("error while getting remote log size on GCS {}", objectName, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (ReadChannel reader = gcsStorage.reader(BlobId.of(bucketName, objectName))) {
+            reader.seek(offset);
+            reader.limit(offset + length);
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && reader.read(buffer) >= 0) {
+                // read until the buffer is full or reach the end of the range
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (StorageException e) {
+            throw new IOException("error while getting remote log range on GCS " + objectName, e);
+        }
+    }
+
     protected Storage buildGcsStorage(String credential) throws IOException {
         return StorageOptions.newBuilder()
                 .setCredentials(ServiceAccountCredentials.fromStream(
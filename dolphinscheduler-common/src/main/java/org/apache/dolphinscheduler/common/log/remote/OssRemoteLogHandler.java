@@ -22,16 +22,21 @@ import org.apache.dolphinscheduler.common.factory.OssClientFactory;
 import org.apache.dolphinscheduler.common.model.OssConnection;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.aliyun.oss.ClientException;
 import com.aliyun.oss.OSS;
+import com.aliyun.oss.ServiceException;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.PutObjectRequest;
 
 @Slf4j
@@ -91,6 +96,33 @@ public class OssRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public long getRemoteLogSize(String logPath) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try {
+            return ossClient.getObjectMetadata(bucketName, objectName).getContentLength();
+        } catch (Exception e) {
+            log.error("error while getting remote log size on OSS {}", objectName, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (
+                OSSObject ossObject = ossClient.getObject(getObjectRequest);
+                InputStream inputStream = ossObject.getObjectContent()) {
+            return IOUtils.toByteArray(inputStream);
+        } catch (ClientException | ServiceException e) {
+            throw new IOException("error while getting remote log range on OSS " + objectName, e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (ossClient != null) {
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A size bounded local cache of the remote logs. The remote log is read by blocks of {@link #BLOCK_SIZE} through ranged
+ * gets, and the blocks are cached in memory and evicted by LRU once the total size exceeds the limit. So a page of an
+ * archived log costs a small ranged get rather than downloading the whole log, and the repeated views of the page are
+ * served from the cache. The byte ranges read by the log download are not cached.
+ * <p>
+ * The line number at the start of each scanned block is recorded per log, in the same sparse way as
+ * {@link org.apache.dolphinscheduler.common.log.LogLineIndex}, so a page of lines is read from the block it starts in
+ * rather than scanning from the head of the log.
+ * <p>
+ * The log is only sent to the remote target once the task is finished, so the cached blocks and line offsets never
+ * become stale. The lines are split in the same way as {@link java.io.BufferedReader#readLine()}, by '\n', '\r' or
+ * "\r\n".
+ */
+public class RemoteLogCache {
+
+    static final int BLOCK_SIZE = 256 * 1024;
+
+    private final RemoteLogHandler remoteLogHandler;
+
+    private final Cache<String, Long> logSizeCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final Cache<String, BlockLineIndex> blockLineIndexCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final Cache<LogBlockKey, byte[]> logBlockCache;
+
+    public RemoteLogCache(RemoteLogHandler remoteLogHandler, long maxCacheBytes) {
+        this.remoteLogHandler = remoteLogHandler;
+        // a single segment, so the blocks are evicted by LRU across the whole cache
+        this.logBlockCache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maxCacheBytes)
+                .weigher((LogBlockKey key, byte[] block) -> block.length)
+                .build();
+    }
+
+    /**
+     * Get the byte size of the remote log.
+     *
+     * @param logPath local log path
+     * @return byte size of the remote log, -1 if the remote log can not be found
+     */
+    public long getLogSize(String logPath) {
+        Long logSize = logSizeCache.getIfPresent(logPath);
+        if (logSize != null) {
+            return logSize;
+        }
+        long remoteLogSize = remoteLogHandler.getRemoteLogSize(logPath);
+        if (remoteLogSize >= 0) {
+            // the log may be sent later, so only the found log is cached
+            logSizeCache.put(logPath, remoteLogSize);
+        }
+        return remoteLogSize;
+    }
+
+    /**
+     * Read the bytes in [offset, offset + length) of the remote log, it's empty if the offset reaches the end of the
+     * remote log or the remote log can not be found.
+     * <p>
+     * The ranges are read sequentially once by the download, so the blocks not in the cache are read through a ranged
+     * get directly and not cached, otherwise a whole log download would evict the hot blocks of the viewed pages.
+     *
+     * @param logPath local log path
+     * @param offset  byte offset
+     * @param length  max byte size
+     * @return bytes of the range
+     */
+    public byte[] read(String logPath, long offset, int length) throws IOException {
+        long logSize = getLogSize(logPath);
+        if (logSize < 0 || offset < 0 || length <= 0 || offset >= logSize) {
+            return new byte[0];
+        }
+        int readLength = (int) Math.min(length, logSize - offset);
+        byte[] bytes = new byte[readLength];
+        int position = 0;
+        while (position < readLength) {
+            long blockIndex = (offset + position) / BLOCK_SIZE;
+            byte[] block = logBlockCache.getIfPresent(new LogBlockKey(logPath, blockIndex));
+            int copyLength;
+            if (block != null) {
+                int blockOffset = (int) (offset + position - blockIndex * BLOCK_SIZE);
+                copyLength = Math.min(block.length - blockOffset, readLength - position);
+                if (copyLength > 0) {
+                    System.arraycopy(block, blockOffset, bytes, position, copyLength);
+                }
+            } else {
+                // read until the next cached block in one ranged get
+                long rangeEnd = offset + readLength;
+                for (long nextBlockIndex = blockIndex + 1; nextBlockIndex * BLOCK_SIZE < rangeEnd; nextBlockIndex++) {
+                    if (logBlockCache.getIfPresent(new LogBlockKey(logPath, nextBlockIndex)) != null) {
+                        rangeEnd = nextBlockIndex * BLOCK_SIZE;
+                        break;
+                    }
+                }
+                byte[] range = remoteLogHandler.getRemoteLogRange(logPath, offset + position,
+                        (int) (rangeEnd - offset - position));
+                copyLength = Math.min(range.length, readLength - position);
+                System.arraycopy(range, 0, bytes, position, copyLength);
+            }
+            if (copyLength <= 0) {
+                break;
+            }
+            position += copyLength;
+        }
+        return position == readLength ? bytes : Arrays.copyOf(bytes, position);
+    }
+
+    /**
+     * Read the lines of the remote log, only the blocks from the one the first required line starts in until the last
+     * required line are fetched, once the blocks before are scanned.
+     *
+     * @param logPath  local log path
+     * @param skipLine skip line number
+     * @param limit    max line number
+     * @return lines
+     */
+    public List<String> readLines(String logPath, int skipLine, int limit) throws IOException {
+        long logSize = getLogSize(logPath);
+        if (logSize < 0) {
+            throw new FileNotFoundException("The remote log of " + logPath + " not exists");
+        }
+        BlockLineIndex blockLineIndex = getBlockLineIndex(logPath);
+        int blockIndex;
+        int lineNumber;
+        boolean pendingCarriageReturn;
+        synchronized (blockLineIndex) {
+            blockIndex = blockLineIndex.seek(skipLine);
+            lineNumber = blockLineIndex.blockStartLines[blockIndex];
+            pendingCarriageReturn = blockLineIndex.blockStartCarriageReturns[blockIndex];
+        }
+        List<String> lines = new ArrayList<>();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (; (long) blockIndex * BLOCK_SIZE < logSize && lines.size() < limit; blockIndex++) {
+            byte[] block = getBlock(logPath, blockIndex, logSize);
+            int i = 0;
+            for (; i < block.length && lines.size() < limit; i++) {
+                byte b = block[i];
+                if (b == '\n' && pendingCarriageReturn) {
+                    pendingCarriageReturn = false;
+                    continue;
+                }
+                pendingCarriageReturn = b == '\r';
+                if (b == '\n' || b == '\r') {
+                    if (lineNumber >= skipLine) {
+                        lines.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                        line.reset();
+                    }
+                    lineNumber++;
+                } else if (lineNumber >= skipLine) {
+                    line.write(b);
+                }
+            }
+            if (i == block.length) {
+                synchronized (blockLineIndex) {
+                    blockLineIndex.add(blockIndex + 1, lineNumber, pendingCarriageReturn);
+                }
+            }
+        }
+        if (lines.size() < limit && line.size() > 0) {
+            lines.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    private BlockLineIndex getBlockLineIndex(String logPath) {
+        return blockLineIndexCache.asMap().computeIfAbsent(logPath, key -> new BlockLineIndex());
+    }
+
+    private byte[] getBlock(String logPath, long blockIndex, long logSize) throws IOException {
+        LogBlockKey logBlockKey = new LogBlockKey(logPath, blockIndex);
+        byte[] block = logBlockCache.getIfPresent(logBlockKey);
+        if (block == null) {
+            long offset = blockIndex * BLOCK_SIZE;
+            block = remoteLogHandler.getRemoteLogRange(logPath, offset, (int) Math.min(BLOCK_SIZE, logSize - offset));
+            logBlockCache.put(logBlockKey, block);
+        }
+        return block;
+    }
+
+    /**
+     * The line state at the start of the scanned blocks of a log, guarded by itself.
+     */
+    private static class BlockLineIndex {
+
+        /**
+         * blockStartLines[i] is the number of the lines ended before the block i
+         */
+        private int[] blockStartLines = new int[16];
+
+        /**
+         * blockStartCarriageReturns[i] is whether the block i follows a '\r', so its leading '\n' ends no line
+         */
+        private boolean[] blockStartCarriageReturns = new boolean[16];
+
+        /**
+         * the block 0 always starts with the line 0
+         */
+        private int scannedBlockCount = 1;
+
+        /**
+         * Find the last scanned block which starts before the given line, so the line starts in it or after it.
+         */
+        private int seek(int line) {
+            int low = 0;
+            int high = scannedBlockCount - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (blockStartLines[mid] < line) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private void add(int blockIndex, int startLine, boolean startCarriageReturn) {
+            if (blockIndex != scannedBlockCount) {
+                // the block is already scanned
+                return;
+            }
+            if (scannedBlockCount == blockStartLines.length) {
+                blockStartLines = Arrays.copyOf(blockStartLines, scannedBlockCount * 2);
+                blockStartCarriageReturns = Arrays.copyOf(blockStartCarriageReturns, scannedBlockCount * 2);
+            }
+            blockStartLines[scannedBlockCount] = startLine;
+            blockStartCarriageReturns[scannedBlockCount] = startCarriageReturn;
+            scannedBlockCount++;
+        }
+    }
+
+    @Value
+    private static class LogBlockKey {
+
+        String logPath;
+
+        long blockIndex;
+    }
+}
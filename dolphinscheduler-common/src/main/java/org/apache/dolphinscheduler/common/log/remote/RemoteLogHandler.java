@@ -17,9 +17,30 @@
 
 package org.apache.dolphinscheduler.common.log.remote;
 
+import java.io.IOException;
+
 public interface RemoteLogHandler {
 
     void sendRemoteLog(String logPath);
 
     void getRemoteLog(String logPath);
+
+    /**
+     * Get the byte size of the remote log.
+     *
+     * @param logPath local log path
+     * @return byte size of the remote log, -1 if the remote log can not be found
+     */
+    long getRemoteLogSize(String logPath);
+
+    /**
+     * Read the bytes in [offset, offset + length) of the remote log by a ranged get, instead of downloading the whole
+     * log. The returned bytes are fewer than the length if the range exceeds the end of the remote log.
+     *
+     * @param logPath local log path
+     * @param offset  byte offset of the range
+     * @param length  byte size of the range
+     * @return bytes of the range
+     */
+    byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException;
 }
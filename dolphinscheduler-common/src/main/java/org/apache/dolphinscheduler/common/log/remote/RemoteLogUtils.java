@@ -22,8 +22,10 @@ import static org.apache.dolphinscheduler.common.utils.LogUtils.getLocalLogBaseD
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 
@@ -38,6 +40,8 @@ public class RemoteLogUtils {
 
     private static RemoteLogService remoteLogService;
 
+    private static volatile RemoteLogCache remoteLogCache;
+
     @Autowired
     private RemoteLogService autowiredRemoteLogService;
 
@@ -69,6 +73,38 @@ public class RemoteLogUtils {
         }
     }
 
+    /**
+     * Read the lines of the remote log through ranged gets, instead of downloading the whole log.
+     */
+    public static List<String> readRemoteLogLines(String logPath, int skipLine, int limit) throws IOException {
+        return getRemoteLogCache().readLines(logPath, skipLine, limit);
+    }
+
+    /**
+     * Read the bytes in [offset, offset + length) of the remote log through ranged gets, instead of downloading the
+     * whole log.
+     */
+    public static byte[] readRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        return getRemoteLogCache().read(logPath, offset, length);
+    }
+
+    private static RemoteLogCache getRemoteLogCache() throws IOException {
+        if (remoteLogCache == null) {
+            synchronized (RemoteLogUtils.class) {
+                if (remoteLogCache == null) {
+                    RemoteLogHandler remoteLogHandler = RemoteLogHandlerFactory.getRemoteLogHandler();
+                    if (remoteLogHandler == null) {
+                        throw new IOException("No suitable remote logging target for "
+                                + PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
+                    }
+                    remoteLogCache = new RemoteLogCache(remoteLogHandler,
+                            PropertyUtils.getLong(Constants.REMOTE_LOGGING_CACHE_SIZE_MB, 64) * 1024 * 1024);
+                }
+            }
+        }
+        return remoteLogCache;
+    }
+
     private static void mkdirOfLog(String logPath) {
         Path directory = Paths.get(logPath).getParent();
         directory.toFile().mkdirs();
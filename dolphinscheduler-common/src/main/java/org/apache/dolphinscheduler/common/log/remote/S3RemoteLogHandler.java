@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
@@ -29,12 +30,14 @@ import java.io.IOException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 
@@ -136,6 +139,33 @@ public class S3RemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public long getRemoteLogSize(String logPath) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try {
+            return s3Client.getObjectMetadata(bucketName, objectName).getContentLength();
+        } catch (Exception e) {
+            log.error("error while getting remote log size on S3 {}", objectName, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest =
+                new GetObjectRequest(bucketName, objectName).withRange(offset, offset + length - 1);
+        try (
+                S3Object o = s3Client.getObject(getObjectRequest);
+                S3ObjectInputStream s3is = o.getObjectContent()) {
+            return IOUtils.toByteArray(s3is);
+        } catch (AmazonClientException e) {
+            throw new IOException("error while getting remote log range on S3 " + objectName, e);
+        }
+    }
+
     protected String readAccessKeyID() {
         return PropertyUtils.getString(Constants.REMOTE_LOGGING_S3_ACCESS_KEY_ID);
     }
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.common.model;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -28,12 +30,28 @@ public abstract class BaseHeartBeatTask<T> extends BaseDaemonThread {
     private final String threadName;
     private final long heartBeatInterval;
 
+    /**
+     * The max interval between two writes, the heartbeat is written on every interval if it is not positive.
+     */
+    private final long keepAliveInterval;
+
+    private final AtomicBoolean forceWrite = new AtomicBoolean(false);
+
+    private T lastWrittenHeartBeat;
+
+    private long lastWriteTime;
+
     protected boolean runningFlag;
 
     public BaseHeartBeatTask(String threadName, long heartBeatInterval) {
+        this(threadName, heartBeatInterval, 0);
+    }
+
+    public BaseHeartBeatTask(String threadName, long heartBeatInterval, long keepAliveInterval) {
         super(threadName);
         this.threadName = threadName;
         this.heartBeatInterval = heartBeatInterval;
+        this.keepAliveInterval = keepAliveInterval;
         this.runningFlag = true;
     }
 
@@ -41,7 +59,8 @@ public abstract class BaseHeartBeatTask<T> extends BaseDaemonThread {
     public synchronized void start() {
         log.info("Starting {}...", threadName);
         super.start();
-        log.info("Started {}, heartBeatInterval: {}...", threadName, heartBeatInterval);
+        log.info("Started {}, heartBeatInterval: {}, keepAliveInterval: {}...", threadName, heartBeatInterval,
+                keepAliveInterval);
     }
 
     @Override
@@ -54,7 +73,18 @@ public abstract class BaseHeartBeatTask<T> extends BaseDaemonThread {
                     continue;
                 }
                 T heartBeat = getHeartBeat();
+                if (forceWrite.getAndSet(false)) {
+                    lastWrittenHeartBeat = null;
+                }
+                if (!needWriteHeartBeat(heartBeat)) {
+                    log.debug("The heartBeat doesn't change much, skip writing it into registry");
+                    continue;
+                }
+                // write again on next round if failed
+                lastWrittenHeartBeat = null;
                 writeHeartBeat(heartBeat);
+                lastWrittenHeartBeat = heartBeat;
+                lastWriteTime = System.currentTimeMillis();
             } catch (Exception ex) {
                 log.error("{} task execute failed", threadName, ex);
             } finally {
@@ -67,6 +97,24 @@ public abstract class BaseHeartBeatTask<T> extends BaseDaemonThread {
         }
     }
 
+    /**
+     * Write the heartbeat on next round even if it doesn't change, e.g. the ephemeral node may be lost after the
+     * connection to registry is recovered.
+     */
+    public void forceWriteNextHeartBeat() {
+        forceWrite.set(true);
+    }
+
+    private boolean needWriteHeartBeat(T heartBeat) {
+        if (keepAliveInterval <= 0 || lastWrittenHeartBeat == null) {
+            return true;
+        }
+        if (System.currentTimeMillis() - lastWriteTime >= keepAliveInterval) {
+            return true;
+        }
+        return isHeartBeatChanged(lastWrittenHeartBeat, heartBeat);
+    }
+
     public void shutdown() {
         runningFlag = false;
         log.warn("{} finished...", threadName);
@@ -80,4 +128,14 @@ public abstract class BaseHeartBeatTask<T> extends BaseDaemonThread {
     public abstract T getHeartBeat();
 
     public abstract void writeHeartBeat(T heartBeat);
+
+    /**
+     * Whether the heartbeat changed enough to be written before the keep alive interval elapsed.
+     *
+     * @param lastHeartBeat the last written heartbeat
+     * @param heartBeat     the current heartbeat
+     */
+    protected boolean isHeartBeatChanged(T lastHeartBeat, T heartBeat) {
+        return true;
+    }
 }
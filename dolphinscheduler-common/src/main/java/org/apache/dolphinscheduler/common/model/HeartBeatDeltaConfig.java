@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.model;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Config of the delta heartbeat, once enabled, the heartbeat is written into registry in compact encoding and only
+ * when it changed more than the deltas, or the keep alive interval elapsed since the last write.
+ */
+@Data
+public class HeartBeatDeltaConfig {
+
+    private boolean enabled = false;
+
+    /**
+     * The max interval between two writes, which also bounds how stale the report time in registry is.
+     */
+    private Duration keepAliveInterval = Duration.ofSeconds(60);
+
+    /**
+     * The cpu usage change to trigger a write, in percentage.
+     */
+    private double cpuUsage = 0.1;
+
+    /**
+     * The memory usage change to trigger a write, in percentage.
+     */
+    private double memoryUsage = 0.1;
+
+    /**
+     * The waiting task count change to trigger a write, only used by the worker.
+     */
+    private int waitingTaskCount = 1;
+
+    /**
+     * @return the keep alive interval in milliseconds, 0 if the delta heartbeat is disabled
+     */
+    public long getKeepAliveIntervalMillis() {
+        return enabled ? keepAliveInterval.toMillis() : 0;
+    }
+
+    public boolean isCpuUsageChanged(double lastCpuUsage, double cpuUsage) {
+        return Math.abs(cpuUsage - lastCpuUsage) >= this.cpuUsage;
+    }
+
+    public boolean isMemoryUsageChanged(double lastMemoryUsage, double memoryUsage) {
+        return Math.abs(memoryUsage - lastMemoryUsage) >= this.memoryUsage;
+    }
+
+    public boolean isWaitingTaskCountChanged(int lastWaitingTaskCount, int waitingTaskCount) {
+        return Math.abs(waitingTaskCount - lastWaitingTaskCount) >= this.waitingTaskCount;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.model;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.IOException;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Encode the heartbeat into registry.
+ * <p>
+ * The compact encoding names each field by its first {@link JsonAlias}, rounds the decimals to 4 places and skips the
+ * zero values, so it can still be parsed by {@link JSONUtils#parseObject(String, Class)}.
+ */
+@UtilityClass
+public class HeartBeatEncoder {
+
+    private static final double DECIMAL_SCALE = 10000;
+
+    private static final ObjectMapper COMPACT_OBJECT_MAPPER = JsonMapper.builder()
+            .propertyNamingStrategy(new AliasNamingStrategy())
+            .serializationInclusion(JsonInclude.Include.NON_DEFAULT)
+            .addModule(new SimpleModule()
+                    .addSerializer(Double.class, new RoundedDoubleSerializer())
+                    .addSerializer(Double.TYPE, new RoundedDoubleSerializer()))
+            .build();
+
+    public static String encode(HeartBeat heartBeat, boolean compact) {
+        return compact ? toCompactJson(heartBeat) : JSONUtils.toJsonString(heartBeat);
+    }
+
+    @SneakyThrows
+    public static String toCompactJson(HeartBeat heartBeat) {
+        return COMPACT_OBJECT_MAPPER.writeValueAsString(heartBeat);
+    }
+
+    private static class AliasNamingStrategy extends PropertyNamingStrategy {
+
+        @Override
+        public String nameForField(MapperConfig<?> config, AnnotatedField field, String defaultName) {
+            return aliasOf(field.getDeclaringClass(), defaultName);
+        }
+
+        @Override
+        public String nameForGetterMethod(MapperConfig<?> config, AnnotatedMethod method, String defaultName) {
+            return aliasOf(method.getDeclaringClass(), defaultName);
+        }
+
+        private String aliasOf(Class<?> clazz, String name) {
+            for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+                try {
+                    JsonAlias jsonAlias = current.getDeclaredField(name).getAnnotation(JsonAlias.class);
+                    return jsonAlias == null || jsonAlias.value().length == 0 ? name : jsonAlias.value()[0];
+                } catch (NoSuchFieldException e) {
+                    // the field may be declared in the super class
+                }
+            }
+            return name;
+        }
+    }
+
+    private static class RoundedDoubleSerializer extends StdSerializer<Double> {
+
+        RoundedDoubleSerializer() {
+            super(Double.class);
+        }
+
+        @Override
+        public void serialize(Double value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(Math.round(value * DECIMAL_SCALE) / DECIMAL_SCALE);
+        }
+    }
+}
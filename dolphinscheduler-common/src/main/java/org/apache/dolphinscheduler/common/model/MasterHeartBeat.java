@@ -22,18 +22,31 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+/**
+ * The aliases are the field names in the compact encoding, see {@link HeartBeatEncoder}.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class MasterHeartBeat implements HeartBeat {
 
+    @JsonAlias("st")
     private long startupTime;
+    @JsonAlias("rt")
     private long reportTime;
+    @JsonAlias("cu")
     private double cpuUsage;
+    @JsonAlias("mu")
     private double memoryUsage;
+    @JsonAlias("am")
     private double availablePhysicalMemorySize;
+    @JsonAlias("rm")
     private double reservedMemory;
+    @JsonAlias("da")
     private double diskAvailable;
+    @JsonAlias("pid")
     private int processId;
 }
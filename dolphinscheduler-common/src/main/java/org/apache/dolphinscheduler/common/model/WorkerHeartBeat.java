@@ -22,25 +22,43 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+/**
+ * The aliases are the field names in the compact encoding, see {@link HeartBeatEncoder}.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class WorkerHeartBeat implements HeartBeat {
 
+    @JsonAlias("st")
     private long startupTime;
+    @JsonAlias("rt")
     private long reportTime;
+    @JsonAlias("cu")
     private double cpuUsage;
+    @JsonAlias("mu")
     private double memoryUsage;
+    @JsonAlias("la")
     private double loadAverage;
+    @JsonAlias("am")
     private double availablePhysicalMemorySize;
+    @JsonAlias("rm")
     private double reservedMemory;
+    @JsonAlias("da")
     private double diskAvailable;
+    @JsonAlias("ss")
     private int serverStatus;
+    @JsonAlias("pid")
     private int processId;
 
+    @JsonAlias("hw")
     private int workerHostWeight; // worker host weight
+    @JsonAlias("wtc")
     private int workerWaitingTaskCount; // worker waiting task count
+    @JsonAlias("etc")
     private int workerExecThreadCount; // worker thread pool thread count
 
 }
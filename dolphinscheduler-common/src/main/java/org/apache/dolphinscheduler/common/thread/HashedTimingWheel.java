@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel which holds keys by their deadline, adding, cancelling and expiring a key costs O(1).
+ * <p>
+ * Keys can be added and cancelled by any thread, but the wheel should only be driven by one thread, through
+ * {@link #advance(long, Consumer)}. A key will never expire before its deadline, but may expire at most one tick
+ * later than its deadline.
+ *
+ * @param <K> the key type, should implement equals and hashCode
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+
+    private final int mask;
+
+    private final List<Entry<K>>[] buckets;
+
+    private final long startTime;
+
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The entries which are added but not transferred into buckets yet, so that the buckets are only touched by the
+     * driver thread.
+     */
+    private final Queue<Entry<K>> pendingEntries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The next tick which has not been expired, only accessed by the driver thread.
+     */
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel) {
+        this(tickMillis, ticksPerWheel, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel, long startTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than 0: " + tickMillis);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel should be in (0, 2^30]: " + ticksPerWheel);
+        }
+        int normalizedTicksPerWheel = 1;
+        while (normalizedTicksPerWheel < ticksPerWheel) {
+            normalizedTicksPerWheel <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = normalizedTicksPerWheel - 1;
+        this.buckets = new List[normalizedTicksPerWheel];
+        for (int i = 0; i < normalizedTicksPerWheel; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.startTime = startTime;
+    }
+
+    /**
+     * Add the key into the wheel, the key will expire after the given deadline.
+     *
+     * @return false if the key is already in the wheel
+     */
+    public boolean add(K key, long deadline) {
+        Entry<K> entry = new Entry<>(key, deadline);
+        if (entries.putIfAbsent(key, entry) != null) {
+            return false;
+        }
+        pendingEntries.add(entry);
+        return true;
+    }
+
+    /**
+     * Cancel the key, the cancelled entry will be dropped lazily when the driver thread visits its bucket.
+     *
+     * @return false if the key is not in the wheel
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        for (K key : entries.keySet()) {
+            cancel(key);
+        }
+    }
+
+    /**
+     * Expire all the ticks up to the given time, the expired keys are removed from the wheel before being passed to
+     * the handler, so the handler can add them back with a new deadline.
+     */
+    public void advance(long now, Consumer<K> expiredKeyHandler) {
+        long targetTick = (now - startTime) / tickMillis;
+        while (currentTick <= targetTick) {
+            transferPendingEntries();
+            List<Entry<K>> bucket = buckets[(int) (currentTick & mask)];
+            int remaining = 0;
+            for (int i = 0; i < bucket.size(); i++) {
+                Entry<K> entry = bucket.get(i);
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.deadlineTick > currentTick) {
+                    bucket.set(remaining++, entry);
+                    continue;
+                }
+                if (entries.remove(entry.key, entry)) {
+                    expiredKeyHandler.accept(entry.key);
+                }
+            }
+            bucket.subList(remaining, bucket.size()).clear();
+            currentTick++;
+        }
+    }
+
+    private void transferPendingEntries() {
+        Entry<K> entry;
+        while ((entry = pendingEntries.poll()) != null) {
+            if (entry.cancelled) {
+                continue;
+            }
+            // round up, so that the key will never expire before its deadline
+            long deadlineTick = (entry.deadline - startTime + tickMillis - 1) / tickMillis;
+            entry.deadlineTick = Math.max(deadlineTick, currentTick);
+            buckets[(int) (entry.deadlineTick & mask)].add(entry);
+        }
+    }
+
+    private static final class Entry<K> {
+
+        private final K key;
+
+        private final long deadline;
+
+        private long deadlineTick;
+
+        private volatile boolean cancelled;
+
+        private Entry(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
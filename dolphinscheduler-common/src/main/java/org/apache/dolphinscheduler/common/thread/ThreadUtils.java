@@ -43,6 +43,17 @@ public class ThreadUtils {
         return Executors.newFixedThreadPool(threadsNum, threadFactory);
     }
 
+    /**
+     * Create an unbounded daemon thread pool, the idle threads are reused and will be terminated after one minute.
+     *
+     * @param threadName threadName
+     * @return ExecutorService
+     */
+    public static ExecutorService newDaemonCachedThreadExecutor(String threadName) {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(threadName).build();
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
     public static ScheduledExecutorService newSingleDaemonScheduledExecutorService(String threadName) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
                 .setNameFormat(threadName)
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +27,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -74,13 +75,58 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Read a chunk of the file, it's empty if the offset reaches the end of the file.
+     *
+     * @param filePath file path
+     * @param offset   the byte offset of the chunk
+     * @param length   the max byte size of the chunk
+     * @return chunk bytes
+     */
+    public static byte[] readFileChunkFromLocal(String filePath, long offset, int length) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (offset < 0 || length <= 0 || offset >= size) {
+                return new byte[0];
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, size - offset));
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // read until the buffer is full or reach the end of the file
+            }
+            return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+        } catch (IOException e) {
+            log.error("read file chunk error", e);
+        }
+        return new byte[0];
+    }
+
+    public static byte[] readFileChunkFromRemote(String filePath, long offset, int length) {
+        try {
+            return RemoteLogUtils.readRemoteLogRange(filePath, offset, length);
+        } catch (IOException e) {
+            log.error("read remote log chunk error", e);
+        }
+        return new byte[0];
+    }
+
+    public static byte[] readFileChunk(String filePath, long offset, int length) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readFileChunkFromLocal(filePath, offset, length);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileChunkFromRemote(filePath, offset, length);
+        }
+        return readFileChunkFromLocal(filePath, offset, length);
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return LogLineIndex.readLines(filePath, skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -93,8 +139,12 @@ public class LogUtils {
     public static List<String> readPartFileContentFromRemote(String filePath,
                                                              int skipLine,
                                                              int limit) {
-        RemoteLogUtils.getRemoteLog(filePath);
-        return readPartFileContentFromLocal(filePath, skipLine, limit);
+        try {
+            return RemoteLogUtils.readRemoteLogLines(filePath, skipLine, limit);
+        } catch (IOException e) {
+            log.error("read remote log error", e);
+            throw new RuntimeException(String.format("Read remote log: %s error", filePath), e);
+        }
     }
 
     public static List<String> readPartFileContent(String filePath,
@@ -146,7 +196,7 @@ public class LogUtils {
         int totalLogByteSize = 0;
         for (String line : lines) {
             // If a single line of log is exceed max response size, cut off the line
-            final int lineByteSize = line.getBytes(StandardCharsets.UTF_8).length;
+            final int lineByteSize = utf8Length(line);
             if (lineByteSize >= MaxResponseLogSize) {
                 builder.append(line, 0, MaxResponseLogSize)
                         .append(" [this line's size ").append(lineByteSize).append(" bytes is exceed ")
@@ -164,6 +214,32 @@ public class LogUtils {
 
         return builder.toString();
     }
+
+    /**
+     * Count the utf-8 encoded length of the given line without encoding it, unpaired surrogates are counted as the
+     * one byte replacement like {@link String#getBytes(java.nio.charset.Charset)}.
+     */
+    static int utf8Length(String line) {
+        int length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
     public static String getLocalLogBaseDir() {
         LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
         return loggerContext.getProperty("log.base.ctx");
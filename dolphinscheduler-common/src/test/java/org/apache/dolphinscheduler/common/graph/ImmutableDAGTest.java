@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ImmutableDAGTest {
+
+    private DAG<Integer, String, String> graph;
+
+    private ImmutableDAG<Integer, String, String> immutableGraph;
+
+    @BeforeEach
+    public void setup() {
+        // 1->2
+        // 2->5
+        // 3->5
+        // 4->6
+        // 5->6
+        // 6->7
+        // 8
+        graph = new DAG<>();
+        for (int i = 1; i <= 8; ++i) {
+            graph.addNode(i, "v(" + i + ")");
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 5);
+        graph.addEdge(3, 5);
+        graph.addEdge(4, 6);
+        graph.addEdge(5, 6);
+        graph.addEdge(6, 7);
+        immutableGraph = ImmutableDAG.copyOf(graph);
+    }
+
+    @Test
+    public void testSameAsSourceDag() {
+        Assertions.assertEquals(graph.getNodesCount(), immutableGraph.getNodesCount());
+        Assertions.assertEquals(graph.getEdgesCount(), immutableGraph.getEdgesCount());
+        Assertions.assertEquals(graph.getAllNodesList(), immutableGraph.getAllNodesList());
+        Assertions.assertEquals(new HashSet<>(graph.getBeginNode()), immutableGraph.getBeginNode());
+        Assertions.assertEquals(new HashSet<>(graph.getEndNode()), immutableGraph.getEndNode());
+        for (int i = 0; i <= 9; i++) {
+            Assertions.assertEquals(graph.containsNode(i), immutableGraph.containsNode(i));
+            Assertions.assertEquals(graph.getNode(i), immutableGraph.getNode(i));
+            Assertions.assertEquals(graph.getPreviousNodes(i), immutableGraph.getPreviousNodes(i));
+            Assertions.assertEquals(graph.getSubsequentNodes(i), immutableGraph.getSubsequentNodes(i));
+            Assertions.assertEquals(graph.getIndegree(i), immutableGraph.getIndegree(i));
+            for (int j = 0; j <= 9; j++) {
+                Assertions.assertEquals(graph.containsEdge(i, j), immutableGraph.containsEdge(i, j));
+            }
+        }
+        Assertions.assertTrue(immutableGraph.getSubsequentNodes(5).contains(6));
+        Assertions.assertFalse(immutableGraph.getSubsequentNodes(5).contains(7));
+    }
+
+    @Test
+    public void testTopologicalSort() throws Exception {
+        Assertions.assertFalse(immutableGraph.hasCycle());
+        List<Integer> topoList = immutableGraph.topologicalSort();
+        Assertions.assertEquals(8, topoList.size());
+        for (int i = 1; i <= 8; i++) {
+            for (Integer subsequentNode : immutableGraph.getSubsequentNodes(i)) {
+                Assertions.assertTrue(topoList.indexOf(i) < topoList.indexOf(subsequentNode));
+            }
+        }
+    }
+
+    @Test
+    public void testCanNotBeChanged() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> immutableGraph.addNode(9, "v(9)"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> immutableGraph.addEdge(7, 8));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> immutableGraph.getSubsequentNodes(1).add(3));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> immutableGraph.getBeginNode().removeAll(Arrays.asList(1, 3)));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> immutableGraph.getAllNodesList().remove(1));
+
+        // changing the source dag does not affect the copy
+        graph.addEdge(7, 8);
+        Assertions.assertFalse(immutableGraph.containsEdge(7, 8));
+        Assertions.assertSame(immutableGraph, ImmutableDAG.copyOf(immutableGraph));
+    }
+
+}
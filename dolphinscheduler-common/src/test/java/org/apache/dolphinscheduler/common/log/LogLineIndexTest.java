@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogLineIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testReadLinesSameAsScanning() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        StringBuilder content = new StringBuilder();
+        String[] separators = {"\n", "\r\n", "\r"};
+        for (int i = 0; i < LogLineIndex.INDEX_INTERVAL * 5 + 10; i++) {
+            content.append("line ").append(i).append(i % 7 == 0 ? " 日志" : "").append(separators[i % 3]);
+        }
+        content.append("the last line without separator");
+        Files.write(logPath, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        LogLineIndex logLineIndex = new LogLineIndex(logPath);
+        for (int skipLine : new int[]{0, 1, LogLineIndex.INDEX_INTERVAL - 1, LogLineIndex.INDEX_INTERVAL,
+                LogLineIndex.INDEX_INTERVAL * 3 + 5, LogLineIndex.INDEX_INTERVAL * 5,
+                LogLineIndex.INDEX_INTERVAL * 6}) {
+            Assertions.assertEquals(scanLines(logPath, skipLine, 100), logLineIndex.readLines(skipLine, 100));
+        }
+    }
+
+    @Test
+    public void testReadLinesOfGrowingFile() throws IOException {
+        Path logPath = tempDir.resolve("growing.log");
+        Files.write(logPath, new byte[0]);
+        LogLineIndex logLineIndex = new LogLineIndex(logPath);
+        Assertions.assertTrue(logLineIndex.readLines(0, 10).isEmpty());
+
+        try (Writer writer = Files.newBufferedWriter(logPath, StandardOpenOption.APPEND)) {
+            for (int i = 0; i < LogLineIndex.INDEX_INTERVAL * 2; i++) {
+                writer.write("line " + i + "\r");
+                writer.flush();
+                if (i % 500 == 0) {
+                    Assertions.assertEquals(scanLines(logPath, i, 10), logLineIndex.readLines(i, 10));
+                }
+                writer.write("\n");
+            }
+        }
+        int skipLine = LogLineIndex.INDEX_INTERVAL * 2 - 5;
+        Assertions.assertEquals(scanLines(logPath, skipLine, 10), logLineIndex.readLines(skipLine, 10));
+
+        // the index is rebuilt once the file is truncated
+        Files.write(logPath, "new line 0\nnew line 1\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(scanLines(logPath, 1, 10), logLineIndex.readLines(1, 10));
+    }
+
+    private List<String> scanLines(Path logPath, int skipLine, int limit) throws IOException {
+        try (Stream<String> stream = Files.lines(logPath)) {
+            return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in of the object store backed by a local directory, it counts the ranged gets.
+ */
+public class LocalRemoteLogHandler implements RemoteLogHandler {
+
+    private final Path storeDir;
+
+    private final AtomicInteger rangeGetCount = new AtomicInteger();
+
+    public LocalRemoteLogHandler(Path storeDir) {
+        this.storeDir = storeDir;
+    }
+
+    @Override
+    public void sendRemoteLog(String logPath) {
+        try {
+            Files.copy(Paths.get(logPath), getObjectPath(logPath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void getRemoteLog(String logPath) {
+        try {
+            Files.copy(getObjectPath(logPath), Paths.get(logPath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public long getRemoteLogSize(String logPath) {
+        Path objectPath = getObjectPath(logPath);
+        try {
+            return Files.exists(objectPath) ? Files.size(objectPath) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        rangeGetCount.incrementAndGet();
+        try (FileChannel channel = FileChannel.open(getObjectPath(logPath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // read until the buffer is full or reach the end of the object
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
+    public int getRangeGetCount() {
+        return rangeGetCount.get();
+    }
+
+    private Path getObjectPath(String logPath) {
+        return storeDir.resolve(Paths.get(logPath).getFileName());
+    }
+}
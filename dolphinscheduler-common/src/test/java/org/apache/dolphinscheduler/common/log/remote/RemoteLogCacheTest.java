@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RemoteLogCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private LocalRemoteLogHandler remoteLogHandler;
+
+    private String logPath;
+
+    private String logContent;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path storeDir = Files.createDirectories(tempDir.resolve("store"));
+        remoteLogHandler = new LocalRemoteLogHandler(storeDir);
+
+        StringBuilder builder = new StringBuilder();
+        String[] separators = {"\n", "\r", "\r\n"};
+        for (int i = 0; builder.length() < 3 * RemoteLogCache.BLOCK_SIZE; i++) {
+            builder.append("line-").append(i).append(" 任务日志").append(separators[i % separators.length]);
+        }
+        builder.append("last line without separator");
+        logContent = builder.toString();
+
+        Path localLog = tempDir.resolve("1.log");
+        Files.write(localLog, logContent.getBytes(StandardCharsets.UTF_8));
+        logPath = localLog.toString();
+        remoteLogHandler.sendRemoteLog(logPath);
+        Files.delete(localLog);
+    }
+
+    @Test
+    public void testReadLines() throws IOException {
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, 64 * 1024 * 1024);
+        List<String> expectedLines = readLines(logContent);
+
+        // the first page costs one ranged get, and the repeated view is served from the cache
+        Assertions.assertEquals(expectedLines.subList(0, 100), remoteLogCache.readLines(logPath, 0, 100));
+        Assertions.assertEquals(1, remoteLogHandler.getRangeGetCount());
+        Assertions.assertEquals(expectedLines.subList(0, 100), remoteLogCache.readLines(logPath, 0, 100));
+        Assertions.assertEquals(1, remoteLogHandler.getRangeGetCount());
+
+        // the lines across the blocks
+        int lineCount = expectedLines.size();
+        Assertions.assertEquals(expectedLines.subList(100, lineCount),
+                remoteLogCache.readLines(logPath, 100, lineCount));
+        Assertions.assertEquals(expectedLines.subList(lineCount - 1, lineCount),
+                remoteLogCache.readLines(logPath, lineCount - 1, 100));
+        Assertions.assertTrue(remoteLogCache.readLines(logPath, lineCount, 100).isEmpty());
+        long blockCount =
+                (remoteLogCache.getLogSize(logPath) + RemoteLogCache.BLOCK_SIZE - 1) / RemoteLogCache.BLOCK_SIZE;
+        Assertions.assertEquals(blockCount, remoteLogHandler.getRangeGetCount());
+    }
+
+    @Test
+    public void testReadLinesFromBlockOfLine() throws IOException {
+        // only one block is cached, so every block read out of the cache costs a ranged get
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, RemoteLogCache.BLOCK_SIZE);
+        List<String> expectedLines = readLines(logContent);
+        int lineCount = expectedLines.size();
+        long blockCount =
+                (remoteLogCache.getLogSize(logPath) + RemoteLogCache.BLOCK_SIZE - 1) / RemoteLogCache.BLOCK_SIZE;
+
+        // the first view of the last page scans all the blocks
+        Assertions.assertEquals(expectedLines.subList(lineCount - 10, lineCount),
+                remoteLogCache.readLines(logPath, lineCount - 10, 100));
+        Assertions.assertEquals(blockCount, remoteLogHandler.getRangeGetCount());
+
+        // then a page costs only the block it is in
+        int line = lineOfOffset(expectedLines, RemoteLogCache.BLOCK_SIZE + RemoteLogCache.BLOCK_SIZE / 2);
+        Assertions.assertEquals(expectedLines.subList(line, line + 10), remoteLogCache.readLines(logPath, line, 10));
+        Assertions.assertEquals(blockCount + 1, remoteLogHandler.getRangeGetCount());
+
+        // and the lines across the cached block and the next one
+        line = lineOfOffset(expectedLines, 2 * RemoteLogCache.BLOCK_SIZE) - 5;
+        Assertions.assertEquals(expectedLines.subList(line, line + 10), remoteLogCache.readLines(logPath, line, 10));
+        Assertions.assertEquals(blockCount + 2, remoteLogHandler.getRangeGetCount());
+        Assertions.assertEquals(expectedLines.subList(0, 10), remoteLogCache.readLines(logPath, 0, 10));
+        Assertions.assertEquals(blockCount + 3, remoteLogHandler.getRangeGetCount());
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, 64 * 1024 * 1024);
+        byte[] logBytes = logContent.getBytes(StandardCharsets.UTF_8);
+
+        // the range across the blocks costs one ranged get, and it is not cached
+        int offset = RemoteLogCache.BLOCK_SIZE - 10;
+        Assertions.assertArrayEquals(Arrays.copyOfRange(logBytes, offset, offset + 100),
+                remoteLogCache.read(logPath, offset, 100));
+        Assertions.assertEquals(1, remoteLogHandler.getRangeGetCount());
+        Assertions.assertArrayEquals(Arrays.copyOfRange(logBytes, offset, offset + 100),
+                remoteLogCache.read(logPath, offset, 100));
+        Assertions.assertEquals(2, remoteLogHandler.getRangeGetCount());
+
+        Assertions.assertArrayEquals(Arrays.copyOfRange(logBytes, logBytes.length - 10, logBytes.length),
+                remoteLogCache.read(logPath, logBytes.length - 10, 100));
+        Assertions.assertEquals(0, remoteLogCache.read(logPath, logBytes.length, 100).length);
+        Assertions.assertEquals(logBytes.length, remoteLogCache.getLogSize(logPath));
+    }
+
+    @Test
+    public void testReadNotEvictCachedBlock() throws IOException {
+        // only one block is cached
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, RemoteLogCache.BLOCK_SIZE);
+        byte[] logBytes = logContent.getBytes(StandardCharsets.UTF_8);
+        List<String> expectedLines = readLines(logContent);
+        int line = lineOfOffset(expectedLines, RemoteLogCache.BLOCK_SIZE + RemoteLogCache.BLOCK_SIZE / 2);
+        remoteLogCache.readLines(logPath, 0, 1);
+        remoteLogCache.readLines(logPath, line, 10);
+        int rangeGetCount = remoteLogHandler.getRangeGetCount();
+
+        // the whole log is downloaded by the ranges before and after the cached block
+        Assertions.assertArrayEquals(logBytes, remoteLogCache.read(logPath, 0, logBytes.length));
+        Assertions.assertEquals(rangeGetCount + 2, remoteLogHandler.getRangeGetCount());
+
+        // the viewed page is still cached
+        Assertions.assertEquals(expectedLines.subList(line, line + 10), remoteLogCache.readLines(logPath, line, 10));
+        Assertions.assertEquals(rangeGetCount + 2, remoteLogHandler.getRangeGetCount());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedBlock() throws IOException {
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, RemoteLogCache.BLOCK_SIZE);
+        List<String> expectedLines = readLines(logContent);
+        int line = lineOfOffset(expectedLines, RemoteLogCache.BLOCK_SIZE + RemoteLogCache.BLOCK_SIZE / 2);
+
+        remoteLogCache.readLines(logPath, 0, 1);
+        remoteLogCache.readLines(logPath, 0, 1);
+        Assertions.assertEquals(1, remoteLogHandler.getRangeGetCount());
+
+        // the line in the block 1 evicts the block 0
+        remoteLogCache.readLines(logPath, line, 1);
+        remoteLogCache.readLines(logPath, 0, 1);
+        Assertions.assertEquals(3, remoteLogHandler.getRangeGetCount());
+    }
+
+    @Test
+    public void testRemoteLogNotExists() throws IOException {
+        RemoteLogCache remoteLogCache = new RemoteLogCache(remoteLogHandler, 64 * 1024 * 1024);
+        String notExistsLogPath = tempDir.resolve("2.log").toString();
+
+        Assertions.assertThrows(FileNotFoundException.class,
+                () -> remoteLogCache.readLines(notExistsLogPath, 0, 100));
+        Assertions.assertEquals(0, remoteLogCache.read(notExistsLogPath, 0, 100).length);
+        Assertions.assertEquals(0, remoteLogHandler.getRangeGetCount());
+    }
+
+    /**
+     * Get the number of the line which contains the given byte offset of the log content.
+     */
+    private int lineOfOffset(List<String> lines, long offset) {
+        String[] separators = {"\n", "\r", "\r\n"};
+        long lineOffset = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            lineOffset +=
+                    lines.get(i).getBytes(StandardCharsets.UTF_8).length + separators[i % separators.length].length();
+            if (lineOffset > offset) {
+                return i;
+            }
+        }
+        return lines.size() - 1;
+    }
+
+    private List<String> readLines(String content) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+            return new ArrayList<>(reader.lines().collect(Collectors.toList()));
+        }
+    }
+}
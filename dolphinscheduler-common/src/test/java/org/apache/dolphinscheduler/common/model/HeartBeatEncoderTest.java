@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.model;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HeartBeatEncoderTest {
+
+    @Test
+    public void testCompactJsonCanBeParsed() {
+        WorkerHeartBeat workerHeartBeat = WorkerHeartBeat.builder()
+                .startupTime(1000L)
+                .reportTime(2000L)
+                .cpuUsage(0.123456789)
+                .memoryUsage(0.5)
+                .processId(123)
+                .workerHostWeight(100)
+                .workerWaitingTaskCount(3)
+                .workerExecThreadCount(100)
+                .build();
+
+        String compactJson = HeartBeatEncoder.encode(workerHeartBeat, true);
+        String fullJson = HeartBeatEncoder.encode(workerHeartBeat, false);
+        Assertions.assertTrue(compactJson.length() < fullJson.length());
+
+        WorkerHeartBeat parsed = JSONUtils.parseObject(compactJson, WorkerHeartBeat.class);
+        Assertions.assertNotNull(parsed);
+        Assertions.assertEquals(0.1235, parsed.getCpuUsage());
+        Assertions.assertEquals(workerHeartBeat.getMemoryUsage(), parsed.getMemoryUsage());
+        Assertions.assertEquals(workerHeartBeat.getStartupTime(), parsed.getStartupTime());
+        Assertions.assertEquals(workerHeartBeat.getReportTime(), parsed.getReportTime());
+        Assertions.assertEquals(workerHeartBeat.getProcessId(), parsed.getProcessId());
+        Assertions.assertEquals(workerHeartBeat.getWorkerHostWeight(), parsed.getWorkerHostWeight());
+        Assertions.assertEquals(workerHeartBeat.getWorkerWaitingTaskCount(), parsed.getWorkerWaitingTaskCount());
+        Assertions.assertEquals(workerHeartBeat.getWorkerExecThreadCount(), parsed.getWorkerExecThreadCount());
+    }
+
+    @Test
+    public void testCompactJsonOfMasterHeartBeat() {
+        MasterHeartBeat masterHeartBeat = MasterHeartBeat.builder()
+                .startupTime(1000L)
+                .reportTime(2000L)
+                .cpuUsage(0.25)
+                .processId(123)
+                .build();
+
+        MasterHeartBeat parsed =
+                JSONUtils.parseObject(HeartBeatEncoder.toCompactJson(masterHeartBeat), MasterHeartBeat.class);
+        Assertions.assertEquals(masterHeartBeat, parsed);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.thread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void testExpireByDeadline() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(10, 4, 0);
+        Assertions.assertTrue(timingWheel.add(1, 15));
+        Assertions.assertTrue(timingWheel.add(2, 100));
+        Assertions.assertFalse(timingWheel.add(1, 30));
+
+        List<Integer> expiredKeys = new ArrayList<>();
+        timingWheel.advance(19, expiredKeys::add);
+        Assertions.assertTrue(expiredKeys.isEmpty());
+
+        timingWheel.advance(20, expiredKeys::add);
+        Assertions.assertEquals(Collections.singletonList(1), expiredKeys);
+
+        // the second key is in the same bucket with the first key in the first round
+        timingWheel.advance(99, expiredKeys::add);
+        Assertions.assertEquals(Collections.singletonList(1), expiredKeys);
+
+        timingWheel.advance(100, expiredKeys::add);
+        Assertions.assertEquals(Arrays.asList(1, 2), expiredKeys);
+        Assertions.assertTrue(timingWheel.isEmpty());
+    }
+
+    @Test
+    public void testCancel() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(10, 4, 0);
+        timingWheel.add(1, 10);
+        timingWheel.add(2, 10);
+        Assertions.assertTrue(timingWheel.cancel(1));
+        Assertions.assertFalse(timingWheel.cancel(1));
+        Assertions.assertFalse(timingWheel.contains(1));
+
+        List<Integer> expiredKeys = new ArrayList<>();
+        timingWheel.advance(10, expiredKeys::add);
+        Assertions.assertEquals(Collections.singletonList(2), expiredKeys);
+
+        timingWheel.add(3, 20);
+        timingWheel.clear();
+        timingWheel.advance(100, expiredKeys::add);
+        Assertions.assertEquals(Collections.singletonList(2), expiredKeys);
+    }
+
+    @Test
+    public void testAddBackInHandler() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(10, 4, 0);
+        timingWheel.add(1, 0);
+
+        List<Integer> expiredKeys = new ArrayList<>();
+        timingWheel.advance(0, key -> {
+            expiredKeys.add(key);
+            // the past deadline will expire in the next tick
+            timingWheel.add(key, 0);
+        });
+        Assertions.assertEquals(Collections.singletonList(1), expiredKeys);
+        Assertions.assertTrue(timingWheel.contains(1));
+
+        timingWheel.advance(10, expiredKeys::add);
+        Assertions.assertEquals(Arrays.asList(1, 1), expiredKeys);
+        Assertions.assertFalse(timingWheel.contains(1));
+    }
+}
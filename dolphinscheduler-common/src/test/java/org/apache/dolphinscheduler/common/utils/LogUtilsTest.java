@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testUtf8Length() {
+        String[] lines = {
+                "",
+                "[INFO] 2023-01-01 00:00:00.000 +0800 - task run",
+                // two bytes
+                "café üñîçødé",
+                // three bytes
+                "任务执行成功",
+                // surrogate pairs of four bytes
+                "😀 emoji 𠮷",
+                // unpaired surrogates
+                "\ud83d",
+                "\ude00 low",
+                "high \ud83d😀 mixed é任"
+        };
+        for (String line : lines) {
+            Assertions.assertEquals(line.getBytes(StandardCharsets.UTF_8).length, LogUtils.utf8Length(line), line);
+        }
+    }
+
+    @Test
+    public void testReadFileChunkFromLocal() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        Files.write(logFile, content);
+        String path = logFile.toString();
+
+        Assertions.assertArrayEquals("0123".getBytes(StandardCharsets.UTF_8),
+                LogUtils.readFileChunkFromLocal(path, 0, 4));
+        Assertions.assertArrayEquals("4567".getBytes(StandardCharsets.UTF_8),
+                LogUtils.readFileChunkFromLocal(path, 4, 4));
+        // the last chunk is shorter than the requested length
+        Assertions.assertArrayEquals("89".getBytes(StandardCharsets.UTF_8),
+                LogUtils.readFileChunkFromLocal(path, 8, 4));
+        Assertions.assertArrayEquals(content, LogUtils.readFileChunkFromLocal(path, 0, 1024));
+
+        Assertions.assertEquals(0, LogUtils.readFileChunkFromLocal(path, 10, 4).length);
+        Assertions.assertEquals(0, LogUtils.readFileChunkFromLocal(path, 20, 4).length);
+        Assertions.assertEquals(0, LogUtils.readFileChunkFromLocal(path, -1, 4).length);
+        Assertions.assertEquals(0, LogUtils.readFileChunkFromLocal(path, 0, 0).length);
+        Assertions.assertEquals(0,
+                LogUtils.readFileChunkFromLocal(tempDir.resolve("absent.log").toString(), 0, 4).length);
+    }
+}
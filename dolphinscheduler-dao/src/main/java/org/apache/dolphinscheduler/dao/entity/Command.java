@@ -30,6 +30,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
@@ -110,6 +111,18 @@ public class Command {
     @TableField("test_flag")
     private int testFlag;
 
+    /**
+     * the master address which claimed this command, only used by the lease claim based command fetcher
+     */
+    @TableField(value = "claim_host", updateStrategy = FieldStrategy.IGNORED)
+    private String claimHost;
+
+    /**
+     * the claim lease expire time, once expired the command can be claimed by other master
+     */
+    @TableField(value = "claim_expire_time", updateStrategy = FieldStrategy.IGNORED)
+    private Date claimExpireTime;
+
     public Command(
                    CommandType commandType,
                    TaskDependType taskDependType,
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.CommandCount;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -52,9 +53,46 @@ public interface CommandMapper extends BaseMapper<Command> {
 
     /**
      * query command page by slot
+     * @param excludedWorkerGroups the commands of these worker groups will not be queried
      * @return command list
      */
     List<Command> queryCommandPageBySlot(@Param("limit") int limit,
                                          @Param("masterCount") int masterCount,
-                                         @Param("thisMasterSlot") int thisMasterSlot);
+                                         @Param("thisMasterSlot") int thisMasterSlot,
+                                         @Param("excludedWorkerGroups") Collection<String> excludedWorkerGroups);
+
+    /**
+     * query the id of commands which are not claimed or whose claim lease has expired,
+     * the selected rows will be locked and the rows locked by other masters will be skipped if the database supports
+     * @param limit max size
+     * @param currentTime current time, used to find the expired claims
+     * @param excludedWorkerGroups the commands of these worker groups will not be queried
+     * @return command id list
+     */
+    List<Integer> queryClaimableCommandIds(@Param("limit") int limit,
+                                           @Param("currentTime") Date currentTime,
+                                           @Param("excludedWorkerGroups") Collection<String> excludedWorkerGroups);
+
+    /**
+     * claim the given commands, the command which has been claimed by other master and the lease is not expired
+     * will not be updated
+     * @param ids command ids
+     * @param claimHost the master address which claim the commands
+     * @param claimExpireTime the claim lease expire time
+     * @param currentTime current time, used to find the expired claims
+     * @return update count
+     */
+    int claimCommands(@Param("ids") List<Integer> ids,
+                      @Param("claimHost") String claimHost,
+                      @Param("claimExpireTime") Date claimExpireTime,
+                      @Param("currentTime") Date currentTime);
+
+    /**
+     * query the commands in the given ids which are claimed by the given master
+     * @param ids command ids
+     * @param claimHost the master address
+     * @return command list
+     */
+    List<Command> queryClaimedCommands(@Param("ids") List<Integer> ids,
+                                       @Param("claimHost") String claimHost);
 }
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao.repository;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -37,6 +38,14 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
      */
     boolean upsertTaskInstance(TaskInstance taskInstance);
 
+    /**
+     * Update the task instances by id in one jdbc batch.
+     *
+     * @param taskInstances task instances
+     * @return the task instances which are not updated since their rows don't exist
+     */
+    List<TaskInstance> updateBatchById(Collection<TaskInstance> taskInstances);
+
     /**
      * Submit a task instance to DB.
      * @param taskInstance task instance
@@ -28,8 +28,16 @@ import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -49,6 +57,9 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
     @Autowired
     private ProcessInstanceMapper processInstanceMapper;
 
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
     public TaskInstanceDaoImpl(@NonNull TaskInstanceMapper taskInstanceMapper) {
         super(taskInstanceMapper);
     }
@@ -62,6 +73,41 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
         }
     }
 
+    @Override
+    public List<TaskInstance> updateBatchById(Collection<TaskInstance> taskInstances) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return Collections.emptyList();
+        }
+        List<Integer> updateCounts = new ArrayList<>(taskInstances.size());
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            TaskInstanceMapper taskInstanceMapper = sqlSession.getMapper(TaskInstanceMapper.class);
+            for (TaskInstance taskInstance : taskInstances) {
+                taskInstanceMapper.updateById(taskInstance);
+            }
+            // each update is added into the batch in order, so the update counts are in the order of the task
+            // instances
+            for (BatchResult batchResult : sqlSession.flushStatements()) {
+                for (int updateCount : batchResult.getUpdateCounts()) {
+                    updateCounts.add(updateCount);
+                }
+            }
+            sqlSession.commit();
+        }
+        if (updateCounts.size() != taskInstances.size()) {
+            throw new IllegalStateException("The update counts size: " + updateCounts.size()
+                    + " doesn't match the task instances size: " + taskInstances.size());
+        }
+        List<TaskInstance> notUpdatedTaskInstances = new ArrayList<>();
+        int index = 0;
+        for (TaskInstance taskInstance : taskInstances) {
+            // some drivers return SUCCESS_NO_INFO for the batch statements, treat it as updated
+            if (updateCounts.get(index++) == 0) {
+                notUpdatedTaskInstances.add(taskInstance);
+            }
+        }
+        return notUpdatedTaskInstances;
+    }
+
     @Override
     public boolean submitTaskInstanceToDB(TaskInstance taskInstance, ProcessInstance processInstance) {
         WorkflowExecutionStatus processInstanceState = processInstance.getState();
@@ -339,6 +339,8 @@ CREATE TABLE t_ds_command
     process_instance_id        int(11) DEFAULT 0,
     process_definition_version int(11) DEFAULT 0,
     test_flag                  int NULL DEFAULT 0,
+    claim_host                 varchar(255) DEFAULT NULL,
+    claim_expire_time          datetime DEFAULT NULL,
     PRIMARY KEY (id),
     KEY                        priority_id_index (process_instance_priority, id)
 );
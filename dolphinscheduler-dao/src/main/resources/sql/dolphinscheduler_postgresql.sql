@@ -270,6 +270,8 @@ CREATE TABLE t_ds_command (
   process_instance_id       int DEFAULT 0,
   process_definition_version int DEFAULT 0,
   test_flag                 int DEFAULT NULL ,
+  claim_host                varchar(255) DEFAULT NULL ,
+  claim_expire_time         timestamp DEFAULT NULL ,
   PRIMARY KEY (id)
 ) ;
 
@@ -412,3 +412,25 @@ END IF;
 END;
 
 d//
+delimiter ;
+
+-- uc_dolphin_T_t_ds_command_R_claim_host
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_command_R_claim_host;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_command_R_claim_host()
+BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_command'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME ='claim_host')
+   THEN
+ALTER TABLE t_ds_command ADD `claim_host` varchar(255) DEFAULT NULL COMMENT 'the master which claimed the command';
+ALTER TABLE t_ds_command ADD `claim_expire_time` datetime DEFAULT NULL COMMENT 'claim lease expire time';
+END IF;
+END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_command_R_claim_host;
+DROP PROCEDURE uc_dolphin_T_t_ds_command_R_claim_host;
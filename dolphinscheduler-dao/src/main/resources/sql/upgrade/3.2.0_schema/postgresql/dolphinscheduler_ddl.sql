@@ -315,3 +315,6 @@ CREATE INDEX idx_sub_workflow_instance_id ON t_ds_relation_sub_workflow (sub_wor
 END IF;
 END;
 $$ LANGUAGE plpgsql;
+
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS claim_host varchar(255) DEFAULT NULL;
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS claim_expire_time timestamp DEFAULT NULL;
@@ -31,15 +31,19 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+
 /**
  * command mapper test
  */
@@ -172,11 +176,73 @@ public class CommandMapperTest extends BaseDaoTest {
         toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
     }
 
+    /**
+     * test claim commands
+     */
+    @Test
+    public void testClaimCommands() {
+        Command command = createCommand();
+        Date currentTime = new Date();
+        Date claimExpireTime = new Date(currentTime.getTime() + 60_000);
+
+        List<Integer> claimableIds = commandMapper.queryClaimableCommandIds(Integer.MAX_VALUE, currentTime, null);
+        Assertions.assertTrue(claimableIds.contains(command.getId()));
+
+        List<Integer> ids = Collections.singletonList(command.getId());
+        Assertions.assertEquals(1, commandMapper.claimCommands(ids, "master1", claimExpireTime, currentTime));
+        Assertions.assertEquals(1, commandMapper.queryClaimedCommands(ids, "master1").size());
+
+        // the claimed command cannot be claimed by other master before the lease expired
+        claimableIds = commandMapper.queryClaimableCommandIds(Integer.MAX_VALUE, currentTime, null);
+        Assertions.assertFalse(claimableIds.contains(command.getId()));
+        Assertions.assertEquals(0, commandMapper.claimCommands(ids, "master2", claimExpireTime, currentTime));
+        Assertions.assertTrue(commandMapper.queryClaimedCommands(ids, "master2").isEmpty());
+
+        // the command can be reclaimed after the lease expired
+        Date afterExpireTime = new Date(claimExpireTime.getTime() + 1000);
+        claimableIds = commandMapper.queryClaimableCommandIds(Integer.MAX_VALUE, afterExpireTime, null);
+        Assertions.assertTrue(claimableIds.contains(command.getId()));
+        Assertions.assertEquals(1, commandMapper.claimCommands(ids, "master2",
+                new Date(afterExpireTime.getTime() + 60_000), afterExpireTime));
+        Assertions.assertEquals(1, commandMapper.queryClaimedCommands(ids, "master2").size());
+    }
+
+    /**
+     * test the commands of the excluded worker groups are not queried
+     */
+    @Test
+    public void testQueryCommandExcludeWorkerGroups() {
+        Command defaultCommand = createCommand();
+        Command noWorkerGroupCommand = createCommand();
+        commandMapper.update(null, new UpdateWrapper<Command>()
+                .set("worker_group", null)
+                .eq("id", noWorkerGroupCommand.getId()));
+        Command otherCommand = createCommand();
+        otherCommand.setWorkerGroup("other");
+        commandMapper.updateById(otherCommand);
+        Date currentTime = new Date();
+
+        List<Integer> ids = commandMapper.queryClaimableCommandIds(Integer.MAX_VALUE, currentTime,
+                Collections.singletonList("other"));
+        Assertions.assertTrue(ids.contains(defaultCommand.getId()));
+        Assertions.assertTrue(ids.contains(noWorkerGroupCommand.getId()));
+        Assertions.assertFalse(ids.contains(otherCommand.getId()));
+
+        // the command without worker group belongs to the default worker group
+        ids = commandMapper.queryCommandPageBySlot(Integer.MAX_VALUE, 1, 0,
+                Collections.singletonList(Constants.DEFAULT_WORKER_GROUP)).stream()
+                .map(Command::getId)
+                .collect(Collectors.toList());
+        Assertions.assertFalse(ids.contains(defaultCommand.getId()));
+        Assertions.assertFalse(ids.contains(noWorkerGroupCommand.getId()));
+        Assertions.assertTrue(ids.contains(otherCommand.getId()));
+    }
+
     private boolean toTestQueryCommandPageBySlot(int masterCount, int thisMasterSlot) {
         Command command = createCommand();
         Integer id = command.getId();
         boolean hit = id % masterCount == thisMasterSlot;
-        List<Command> commandList = commandMapper.queryCommandPageBySlot(1, masterCount, thisMasterSlot);
+        List<Command> commandList = commandMapper.queryCommandPageBySlot(1, masterCount, thisMasterSlot, null);
         if (hit) {
             Assertions.assertEquals(id, commandList.get(0).getId());
         } else {
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to wake up the master command loop when there are new commands, the signals sent before the loop waiting
+ * will be merged into one.
+ */
+@Component
+public class CommandFetchSignal {
+
+    private final Semaphore signal = new Semaphore(0);
+
+    /**
+     * Wake up the waiting command loop, or let the next wait return immediately.
+     */
+    public void signal() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    /**
+     * Wait until signaled or timeout.
+     *
+     * @param timeoutMillis max wait time
+     * @return true if signaled, false if timeout
+     */
+    public boolean await(long timeoutMillis) throws InterruptedException {
+        boolean signaled = signal.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        // merge the signals which are sent concurrently
+        signal.drainPermits();
+        return signaled;
+    }
+}
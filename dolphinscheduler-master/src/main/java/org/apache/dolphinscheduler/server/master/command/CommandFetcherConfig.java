@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * command fetcher config
+ */
+@Configuration
+public class CommandFetcherConfig {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    @Autowired
+    private CommandService commandService;
+
+    @Bean
+    public ICommandFetcher commandFetcher() {
+        CommandFetchStrategy.CommandFetchStrategyType type = masterConfig.getCommandFetchStrategy().getType();
+        switch (type) {
+            case ID_SLOT_BASED:
+                return new IdSlotBasedCommandFetcher(masterConfig, serverNodeManager, commandService);
+            case LEASE_CLAIM_BASED:
+                return new LeaseClaimBasedCommandFetcher(masterConfig, commandService);
+            default:
+                throw new IllegalArgumentException("unSupport command fetch strategy " + type);
+        }
+    }
+}
@@ -15,24 +15,24 @@
  * limitations under the License.
  */
 
-package org.apache.dolphinscheduler.server.master.registry;
+package org.apache.dolphinscheduler.server.master.command;
 
-import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.dao.entity.Command;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * The listener used in {@link ServerNodeManager} to notify the change of worker info.
+ * The command fetcher used to fetch commands which should be handled by the current master.
  */
-public interface WorkerInfoChangeListener {
+public interface ICommandFetcher {
 
     /**
-     * Used to notify the change of worker info.
+     * Fetch commands
      *
-     * @param workerGroups   worker groups map, key is worker group name, value is worker address.
-     * @param workerNodeInfo worker node info map, key is worker address, value is worker info.
+     * @param excludedWorkerGroups the commands of these worker groups will not be fetched, used to apply back pressure
+     * @return command list which need to be handled
      */
-    void notify(Map<String, Set<String>> workerGroups, Map<String, WorkerHeartBeat> workerNodeInfo);
+    List<Command> fetchCommands(Collection<String> excludedWorkerGroups);
 
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which will fetch the command by id slot, each master only fetch the command whose
+ * id % masterCount = slot.
+ */
+@Slf4j
+public class IdSlotBasedCommandFetcher implements ICommandFetcher {
+
+    private final MasterConfig masterConfig;
+
+    private final ServerNodeManager serverNodeManager;
+
+    private final CommandService commandService;
+
+    public IdSlotBasedCommandFetcher(MasterConfig masterConfig,
+                                     ServerNodeManager serverNodeManager,
+                                     CommandService commandService) {
+        this.masterConfig = masterConfig;
+        this.serverNodeManager = serverNodeManager;
+        this.commandService = commandService;
+    }
+
+    @Override
+    public List<Command> fetchCommands(Collection<String> excludedWorkerGroups) {
+        long scheduleStartTime = System.currentTimeMillis();
+        int thisMasterSlot = serverNodeManager.getSlot();
+        int masterCount = serverNodeManager.getMasterSize();
+        if (masterCount <= 0) {
+            log.warn("Master count: {} is invalid, the current slot: {}", masterCount, thisMasterSlot);
+            return Collections.emptyList();
+        }
+        int pageSize = masterConfig.getFetchCommandNum();
+        final List<Command> result = commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot,
+                excludedWorkerGroups);
+        if (CollectionUtils.isNotEmpty(result)) {
+            long cost = System.currentTimeMillis() - scheduleStartTime;
+            log.info(
+                    "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, current slot: {}, total slot size: {}",
+                    result.size(), cost, thisMasterSlot, masterCount);
+            ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        }
+        return result;
+    }
+}
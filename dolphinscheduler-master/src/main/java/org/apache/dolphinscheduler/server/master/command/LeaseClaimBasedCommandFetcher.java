@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which will atomically claim a batch of commands with a lease, the claimed commands will not be
+ * fetched by other masters until the lease is expired. So the commands will not be stranded when the master count
+ * changes, and the commands claimed by a crashed master will be reclaimed after the lease expired.
+ */
+@Slf4j
+public class LeaseClaimBasedCommandFetcher implements ICommandFetcher {
+
+    private final MasterConfig masterConfig;
+
+    private final CommandService commandService;
+
+    public LeaseClaimBasedCommandFetcher(MasterConfig masterConfig, CommandService commandService) {
+        this.masterConfig = masterConfig;
+        this.commandService = commandService;
+    }
+
+    @Override
+    public List<Command> fetchCommands(Collection<String> excludedWorkerGroups) {
+        long scheduleStartTime = System.currentTimeMillis();
+        final List<Command> result = commandService.claimCommands(
+                masterConfig.getFetchCommandNum(),
+                masterConfig.getMasterAddress(),
+                masterConfig.getCommandFetchStrategy().getClaimLease().toMillis(),
+                excludedWorkerGroups);
+        if (CollectionUtils.isNotEmpty(result)) {
+            long cost = System.currentTimeMillis() - scheduleStartTime;
+            log.info("Master schedule bootstrap claim command success, claim command size: {}, cost: {}ms",
+                    result.size(), cost);
+            ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class CommandFetchStrategy {
+
+    private CommandFetchStrategyType type = CommandFetchStrategyType.ID_SLOT_BASED;
+
+    /**
+     * The lease of the claimed command, only used when the type is LEASE_CLAIM_BASED.
+     * If the master doesn't handle the claimed command in the lease, the command will be reclaimed by other master.
+     */
+    private Duration claimLease = Duration.ofMinutes(5);
+
+    /**
+     * The min/max idle interval of the command loop when there is no command, the interval will be doubled after each
+     * empty fetch until reach the max. The loop will be woken up immediately once a new command is notified.
+     */
+    private Duration minIdleInterval = Duration.ofMillis(100);
+
+    private Duration maxIdleInterval = Duration.ofSeconds(1);
+
+    public enum CommandFetchStrategyType {
+        /**
+         * Each master fetch the command whose id % masterCount = slot.
+         */
+        ID_SLOT_BASED,
+        /**
+         * Each master atomically claim a batch of commands with a lease, need the database support `SKIP LOCKED`.
+         */
+        LEASE_CLAIM_BASED,
+        ;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.config;
 
+import org.apache.dolphinscheduler.common.model.HeartBeatDeltaConfig;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
@@ -54,25 +55,46 @@ public class MasterConfig implements Validator {
      * The max batch size used to fetch command from database.
      */
     private int fetchCommandNum = 10;
+    /**
+     * The strategy used to fetch command from database.
+     */
+    private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
     /**
      * The thread number used to prepare processInstance. This number shouldn't bigger than fetchCommandNum.
      */
     private int preExecThreads = 10;
+    /**
+     * The shard number of the workflow event looper, each shard has its own thread, the events of the same workflow
+     * instance will always be handled by the same shard.
+     */
+    private int workflowEventLooperShardNum = Runtime.getRuntime().availableProcessors();
     /**
      * todo: We may need to split the process/task into different thread size.
      * The thread number used to handle processInstance and task event.
      * Will create two thread poll to execute {@link WorkflowExecuteRunnable} and {@link TaskExecuteRunnable}.
      */
     private int execThreads = 10;
+    /**
+     * The max number of the compiled workflow graphs cached by definition code and version, set to 0 to disable it.
+     */
+    private int workflowGraphCacheSize = 1000;
 
     // todo: change to sync thread pool/ async thread pool ?
     private int masterTaskExecuteThreadPoolSize = Runtime.getRuntime().availableProcessors();
 
     private int masterAsyncTaskStateCheckThreadPoolSize = Runtime.getRuntime().availableProcessors();
     /**
-     * The task dispatch thread pool size.
+     * The task dispatch thread number of each worker group.
      */
     private int dispatchTaskNumber = 3;
+    /**
+     * The waiting dispatch queue of each worker group.
+     */
+    private TaskDispatchQueueConfig taskDispatchQueue = new TaskDispatchQueueConfig();
+    /**
+     * The write-behind persistence of the task instance state changes reported by workers.
+     */
+    private TaskInstancePersistConfig taskInstancePersist = new TaskInstancePersistConfig();
     /**
      * Worker select strategy.
      */
@@ -81,6 +103,10 @@ public class MasterConfig implements Validator {
      * Master heart beat task execute interval.
      */
     private Duration heartbeatInterval = Duration.ofSeconds(10);
+    /**
+     * Write the heartbeat into registry only when it changed more than the deltas.
+     */
+    private HeartBeatDeltaConfig heartbeatDelta = new HeartBeatDeltaConfig();
     /**
      * task submit max retry times.
      */
@@ -125,18 +151,64 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFetchCommandNum() <= 0) {
             errors.rejectValue("fetch-command-num", null, "should be a positive value");
         }
+        CommandFetchStrategy commandFetchStrategy = masterConfig.getCommandFetchStrategy();
+        if (commandFetchStrategy.getClaimLease().toMillis() <= 0) {
+            errors.rejectValue("command-fetch-strategy", null, "claim-lease should be a valid duration");
+        }
+        if (commandFetchStrategy.getMinIdleInterval().toMillis() <= 0
+                || commandFetchStrategy.getMaxIdleInterval().compareTo(commandFetchStrategy.getMinIdleInterval()) < 0) {
+            errors.rejectValue("command-fetch-strategy", null,
+                    "min-idle-interval should be positive and not bigger than max-idle-interval");
+        }
         if (masterConfig.getPreExecThreads() <= 0) {
             errors.rejectValue("per-exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getWorkflowEventLooperShardNum() <= 0) {
+            errors.rejectValue("workflow-event-looper-shard-num", null, "should be a positive value");
+        }
         if (masterConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getWorkflowGraphCacheSize() < 0) {
+            errors.rejectValue("workflow-graph-cache-size", null, "should not be a negative value");
+        }
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
+        TaskDispatchQueueConfig taskDispatchQueueConfig = masterConfig.getTaskDispatchQueue();
+        if (taskDispatchQueueConfig.getCapacityPerWorkerGroup() <= 0) {
+            errors.rejectValue("task-dispatch-queue", null, "capacity-per-worker-group should be a positive value");
+        }
+        if (taskDispatchQueueConfig.getRetryInitialInterval().toMillis() <= 0
+                || taskDispatchQueueConfig.getRetryMaxInterval()
+                        .compareTo(taskDispatchQueueConfig.getRetryInitialInterval()) < 0) {
+            errors.rejectValue("task-dispatch-queue", null,
+                    "retry-initial-interval should be a valid duration and not bigger than retry-max-interval");
+        }
+        if (taskDispatchQueueConfig.getBatchSize() <= 0) {
+            errors.rejectValue("task-dispatch-queue", null, "batch-size should be a positive value");
+        }
+        if (taskDispatchQueueConfig.getBatchWindow().toMillis() < 0) {
+            errors.rejectValue("task-dispatch-queue", null, "batch-window should be a valid duration");
+        }
+        if (taskDispatchQueueConfig.getPartitionIdleTimeout().toMillis() <= 0) {
+            errors.rejectValue("task-dispatch-queue", null, "partition-idle-timeout should be a valid duration");
+        }
+        TaskInstancePersistConfig taskInstancePersistConfig = masterConfig.getTaskInstancePersist();
+        if (taskInstancePersistConfig.getFlushInterval().toMillis() < 0) {
+            errors.rejectValue("task-instance-persist", null, "flush-interval should be a valid duration");
+        }
+        if (taskInstancePersistConfig.getBatchSize() <= 0) {
+            errors.rejectValue("task-instance-persist", null, "batch-size should be a positive value");
+        }
         if (masterConfig.getHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("heartbeat-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getHeartbeatDelta().isEnabled()
+                && masterConfig.getHeartbeatDelta().getKeepAliveInterval().compareTo(heartbeatInterval) < 0) {
+            errors.rejectValue("heartbeat-delta", null,
+                    "keep-alive-interval should not be less than heartbeat-interval");
+        }
         if (masterConfig.getTaskCommitRetryTimes() <= 0) {
             errors.rejectValue("task-commit-retry-times", null, "should be a positive value");
         }
@@ -171,11 +243,17 @@ public class MasterConfig implements Validator {
     private void printConfig() {
         log.info("Master config: listenPort -> {} ", listenPort);
         log.info("Master config: fetchCommandNum -> {} ", fetchCommandNum);
+        log.info("Master config: commandFetchStrategy -> {} ", commandFetchStrategy);
         log.info("Master config: preExecThreads -> {} ", preExecThreads);
+        log.info("Master config: workflowEventLooperShardNum -> {} ", workflowEventLooperShardNum);
         log.info("Master config: execThreads -> {} ", execThreads);
+        log.info("Master config: workflowGraphCacheSize -> {} ", workflowGraphCacheSize);
         log.info("Master config: dispatchTaskNumber -> {} ", dispatchTaskNumber);
+        log.info("Master config: taskDispatchQueue -> {} ", taskDispatchQueue);
+        log.info("Master config: taskInstancePersist -> {} ", taskInstancePersist);
         log.info("Master config: hostSelector -> {} ", hostSelector);
         log.info("Master config: heartbeatInterval -> {} ", heartbeatInterval);
+        log.info("Master config: heartbeatDelta -> {} ", heartbeatDelta);
         log.info("Master config: taskCommitRetryTimes -> {} ", taskCommitRetryTimes);
         log.info("Master config: taskCommitInterval -> {} ", taskCommitInterval);
         log.info("Master config: stateWheelInterval -> {} ", stateWheelInterval);
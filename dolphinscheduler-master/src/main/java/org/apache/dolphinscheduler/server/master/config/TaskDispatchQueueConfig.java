@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class TaskDispatchQueueConfig {
+
+    /**
+     * The max waiting dispatch task number of each worker group, once a worker group reach the capacity, the master
+     * will stop consuming new commands of the worker group until the waiting tasks are dispatched.
+     */
+    private int capacityPerWorkerGroup = 10000;
+
+    /**
+     * The delay before retrying a failed dispatch task, the delay will be doubled after each failure of the same task
+     * until reach the max.
+     */
+    private Duration retryInitialInterval = Duration.ofSeconds(1);
+
+    private Duration retryMaxInterval = Duration.ofSeconds(30);
+
+    /**
+     * The max task number dispatched in one batch, the tasks bound for the same worker in a batch are sent in one
+     * request. It's disabled by default, since the workers which are not upgraded yet cannot handle the batch request,
+     * should only be enabled once all the workers are upgraded.
+     */
+    private int batchSize = 1;
+
+    /**
+     * The max time to wait for more tasks to form a batch after taking the first task.
+     */
+    private Duration batchWindow = Duration.ofMillis(10);
+
+    /**
+     * The partition of a worker group which is empty and idle for the timeout will be removed with its dispatch
+     * threads and metrics, e.g. the worker group is deleted or renamed, it will be created again once needed.
+     */
+    private Duration partitionIdleTimeout = Duration.ofMinutes(10);
+
+}
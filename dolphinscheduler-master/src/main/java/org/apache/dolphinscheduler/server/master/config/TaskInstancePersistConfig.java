@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class TaskInstancePersistConfig {
+
+    /**
+     * The max time an updated task instance waits before it is flushed into db, the updates of the same task instance
+     * within it are coalesced into one.
+     */
+    private Duration flushInterval = Duration.ofMillis(10);
+
+    /**
+     * The max task instance number flushed in one jdbc batch, a flush is triggered once the pending task instances
+     * reach it.
+     */
+    private int batchSize = 100;
+
+}
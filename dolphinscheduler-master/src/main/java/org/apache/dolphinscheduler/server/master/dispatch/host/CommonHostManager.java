@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.WorkerTopology;
 
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -56,10 +57,12 @@ public abstract class CommonHostManager implements HostManager {
 
     protected List<HostWorker> getWorkerCandidates(String workerGroup) throws WorkerGroupNotFoundException {
         List<HostWorker> hostWorkers = new ArrayList<>();
-        Set<String> nodes = serverNodeManager.getWorkerGroupNodes(workerGroup);
+        // read the nodes and their heartbeats from the same snapshot
+        WorkerTopology workerTopology = serverNodeManager.getWorkerTopology();
+        Set<String> nodes = workerTopology.getWorkerGroupNodes(workerGroup);
         if (CollectionUtils.isNotEmpty(nodes)) {
             for (String node : nodes) {
-                serverNodeManager.getWorkerNodeInfo(node).ifPresent(
+                workerTopology.getWorkerNodeInfo(node).ifPresent(
                         workerNodeInfo -> hostWorkers
                                 .add(HostWorker.of(node, workerNodeInfo.getWorkerHostWeight(), workerGroup)));
             }
@@ -29,4 +29,18 @@ public interface HostManager {
 
     Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException;
 
+    /**
+     * Select a host to execute the given task, the implementation may count the task as in flight on the selected host
+     * until {@link #releaseTask(int)} is called.
+     */
+    default Optional<Host> select(String workerGroup, int taskInstanceId) throws WorkerGroupNotFoundException {
+        return select(workerGroup);
+    }
+
+    /**
+     * Called once the task is acknowledged by the host, or failed to dispatch.
+     */
+    default void releaseTask(int taskInstanceId) {
+    }
+
 }
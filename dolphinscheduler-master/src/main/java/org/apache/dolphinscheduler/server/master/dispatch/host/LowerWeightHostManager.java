@@ -22,23 +22,24 @@ import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeightHeap;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
-import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
-import org.apache.dolphinscheduler.server.master.registry.WorkerInfoChangeListener;
-
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.InFlightTasks;
+import org.apache.dolphinscheduler.server.master.registry.WorkerTopology;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
-import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicReference;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -48,34 +49,42 @@ import lombok.extern.slf4j.Slf4j;
 public class LowerWeightHostManager extends CommonHostManager {
 
     /**
-     * selector
+     * The task is no longer counted as in flight after this timeout, in case the acknowledgement is lost.
      */
-    private LowerWeightRoundRobin selector;
+    private static final Duration IN_FLIGHT_TASK_TIMEOUT = Duration.ofMinutes(1);
+
+    private final InFlightTasks inFlightTasks = new InFlightTasks(IN_FLIGHT_TASK_TIMEOUT);
 
     /**
-     * worker host weights
+     * worker host weights, derived from a worker topology and replaced as a whole when the topology changed
      */
-    private ConcurrentHashMap<String, Set<HostWeight>> workerHostWeightsMap;
-
-    private final ReentrantReadWriteLock workerGroupLock = new ReentrantReadWriteLock();
-
-    private final ReentrantReadWriteLock.ReadLock workerGroupReadLock = workerGroupLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock workerGroupWriteLock = workerGroupLock.writeLock();
+    private final AtomicReference<WorkerHostWeights> workerHostWeightsSnapshot =
+            new AtomicReference<>(new WorkerHostWeights(-1, Collections.emptyMap(), Collections.emptyMap()));
 
-    @PostConstruct
-    public void init() {
-        this.selector = new LowerWeightRoundRobin();
-        this.workerHostWeightsMap = new ConcurrentHashMap<>();
-        serverNodeManager.addWorkerInfoChangeListener(new WorkerWeightListener());
+    @Override
+    public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
+        HostWeight hostWeight = getWorkerHostWeights().getHostWeightHeap(workerGroup).select();
+        return hostWeight == null ? Optional.empty() : Optional.of(hostWeight.getHost());
     }
 
     @Override
-    public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
-        Set<HostWeight> workerHostWeights = getWorkerHostWeights(workerGroup);
-        if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return Optional.ofNullable(selector.select(workerHostWeights).getHost());
+    public Optional<Host> select(String workerGroup, int taskInstanceId) throws WorkerGroupNotFoundException {
+        WorkerHostWeights workerHostWeights = getWorkerHostWeights();
+        HostWeightHeap hostWeightHeap = workerHostWeights.getHostWeightHeap(workerGroup);
+        // the task may be dispatched again after a failure
+        inFlightTasks.release(taskInstanceId).ifPresent(address -> workerHostWeights.update(address, null));
+        HostWeight hostWeight = hostWeightHeap.select(taskInstanceId);
+        if (hostWeight == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        workerHostWeights.update(hostWeight.getHost().getAddress(), hostWeightHeap);
+        return Optional.of(hostWeight.getHost());
+    }
+
+    @Override
+    public void releaseTask(int taskInstanceId) {
+        inFlightTasks.release(taskInstanceId)
+                .ifPresent(address -> workerHostWeightsSnapshot.get().update(address, null));
     }
 
     @Override
@@ -83,51 +92,36 @@ public class LowerWeightHostManager extends CommonHostManager {
         throw new UnsupportedOperationException("not support");
     }
 
-    private class WorkerWeightListener implements WorkerInfoChangeListener {
-
-        @Override
-        public void notify(Map<String, Set<String>> workerGroups, Map<String, WorkerHeartBeat> workerNodeInfo) {
-            syncWorkerResources(workerGroups, workerNodeInfo);
-        }
-
-        /**
-         * Sync worker resource.
-         *
-         * @param workerGroupNodes  worker group nodes, key is worker group, value is worker group nodes.
-         * @param workerNodeInfoMap worker node info map, key is worker node, value is worker info.
-         */
-        private void syncWorkerResources(final Map<String, Set<String>> workerGroupNodes,
-                                         final Map<String, WorkerHeartBeat> workerNodeInfoMap) {
-            try {
-                Map<String, Set<HostWeight>> workerHostWeights = new HashMap<>();
-                for (Map.Entry<String, Set<String>> entry : workerGroupNodes.entrySet()) {
-                    String workerGroup = entry.getKey();
-                    Set<String> nodes = entry.getValue();
-                    Set<HostWeight> hostWeights = new HashSet<>(nodes.size());
-                    for (String node : nodes) {
-                        WorkerHeartBeat heartbeat = workerNodeInfoMap.getOrDefault(node, null);
-                        Optional<HostWeight> hostWeightOpt = getHostWeight(node, workerGroup, heartbeat);
-                        hostWeightOpt.ifPresent(hostWeights::add);
-                    }
-                    if (!hostWeights.isEmpty()) {
-                        workerHostWeights.put(workerGroup, hostWeights);
-                    }
-                }
-                syncWorkerHostWeight(workerHostWeights);
-            } catch (Throwable ex) {
-                log.error("Sync worker resource error", ex);
+    /**
+     * Build the host weight heap of each worker group from the given topology.
+     *
+     * @param workerTopology worker topology
+     * @param previous       the host weights built from the previous topology
+     */
+    private WorkerHostWeights buildWorkerHostWeights(WorkerTopology workerTopology, WorkerHostWeights previous) {
+        Map<String, HostWeightHeap> hostWeightHeaps = new HashMap<>();
+        Map<String, List<HostWeightHeap>> hostHeapIndex = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : workerTopology.getWorkerGroupNodes().entrySet()) {
+            String workerGroup = entry.getKey();
+            Set<String> nodes = entry.getValue();
+            List<HostWeight> hostWeights = new ArrayList<>(nodes.size());
+            for (String node : nodes) {
+                WorkerHeartBeat heartbeat = workerTopology.getWorkerNodeInfo(node).orElse(null);
+                Optional<HostWeight> hostWeightOpt = getHostWeight(node, workerGroup, heartbeat);
+                hostWeightOpt.ifPresent(hostWeights::add);
             }
-        }
-
-        private void syncWorkerHostWeight(Map<String, Set<HostWeight>> workerHostWeights) {
-            workerGroupWriteLock.lock();
-            try {
-                workerHostWeightsMap.clear();
-                workerHostWeightsMap.putAll(workerHostWeights);
-            } finally {
-                workerGroupWriteLock.unlock();
+            if (hostWeights.isEmpty()) {
+                continue;
+            }
+            HostWeightHeap hostWeightHeap = new HostWeightHeap(hostWeights, inFlightTasks,
+                    previous.getHostWeightHeaps().get(workerGroup));
+            hostWeightHeaps.put(workerGroup, hostWeightHeap);
+            for (HostWeight hostWeight : hostWeights) {
+                hostHeapIndex.computeIfAbsent(hostWeight.getHost().getAddress(), key -> new ArrayList<>())
+                        .add(hostWeightHeap);
             }
         }
+        return new WorkerHostWeights(workerTopology.getVersion(), hostWeightHeaps, hostHeapIndex);
     }
 
     public Optional<HostWeight> getHostWeight(String addr, String workerGroup, WorkerHeartBeat heartBeat) {
@@ -155,16 +149,52 @@ public class LowerWeightHostManager extends CommonHostManager {
                         heartBeat.getStartupTime()));
     }
 
-    private Set<HostWeight> getWorkerHostWeights(String workerGroup) throws WorkerGroupNotFoundException {
-        workerGroupReadLock.lock();
-        try {
-            Set<HostWeight> hostWeights = workerHostWeightsMap.get(workerGroup);
-            if (hostWeights == null) {
+    private WorkerHostWeights getWorkerHostWeights() {
+        WorkerTopology workerTopology = serverNodeManager.getWorkerTopology();
+        WorkerHostWeights current = workerHostWeightsSnapshot.get();
+        if (current.getTopologyVersion() < workerTopology.getVersion()) {
+            inFlightTasks.releaseExpiredTasks();
+            // the concurrent dispatchers may rebuild the same version, only the newer one is kept
+            WorkerHostWeights rebuilt = buildWorkerHostWeights(workerTopology, current);
+            current = workerHostWeightsSnapshot.accumulateAndGet(rebuilt,
+                    (prev, next) -> next.getTopologyVersion() > prev.getTopologyVersion() ? next : prev);
+        }
+        return current;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class WorkerHostWeights {
+
+        private final long topologyVersion;
+
+        /**
+         * worker group -> host weight heap
+         */
+        private final Map<String, HostWeightHeap> hostWeightHeaps;
+
+        /**
+         * host address -> the host weight heaps of all worker groups containing the host
+         */
+        private final Map<String, List<HostWeightHeap>> hostHeapIndex;
+
+        HostWeightHeap getHostWeightHeap(String workerGroup) throws WorkerGroupNotFoundException {
+            HostWeightHeap hostWeightHeap = hostWeightHeaps.get(workerGroup);
+            if (hostWeightHeap == null) {
                 throw new WorkerGroupNotFoundException("Can not find worker group " + workerGroup);
             }
-            return hostWeights;
-        } finally {
-            workerGroupReadLock.unlock();
+            return hostWeightHeap;
+        }
+
+        /**
+         * Update the order of the host in all its worker groups, except the one which is already up to date.
+         */
+        void update(String address, HostWeightHeap updatedHeap) {
+            for (HostWeightHeap hostWeightHeap : hostHeapIndex.getOrDefault(address, Collections.emptyList())) {
+                if (hostWeightHeap != updatedHeap) {
+                    hostWeightHeap.update(address);
+                }
+            }
         }
     }
 
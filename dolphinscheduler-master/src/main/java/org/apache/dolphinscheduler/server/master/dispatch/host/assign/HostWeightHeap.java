@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An indexed min heap of the hosts in one worker group, used to select the host with the lowest load in O(log n).
+ * <p>
+ * The hosts are ordered by the waiting task count in the heartbeat plus the {@link InFlightTasks in flight} task count,
+ * then by a virtual pass which grows by the weight of the host each time it is selected, so among the hosts with the
+ * same load, the one with the lower weight is selected more often. The in flight task count is shared by all the worker
+ * groups of a host, so the heap needs to be {@link #update updated} once the count changed outside it.
+ */
+public class HostWeightHeap {
+
+    /**
+     * The minimum step of the pass, so that the hosts with zero weight are still selected in turn.
+     */
+    private static final double MIN_STRIDE = 1;
+
+    private final InFlightTasks inFlightTasks;
+
+    private final Node[] nodes;
+
+    private final Map<String, Node> nodeIndex;
+
+    /**
+     * @param hostWeights   hosts of the worker group
+     * @param inFlightTasks in flight tasks of all hosts
+     * @param previous      the previous heap of the worker group, used to inherit the pass of the hosts, can be null
+     */
+    public HostWeightHeap(Collection<HostWeight> hostWeights, InFlightTasks inFlightTasks, HostWeightHeap previous) {
+        this.inFlightTasks = inFlightTasks;
+        this.nodes = new Node[hostWeights.size()];
+        this.nodeIndex = new HashMap<>(hostWeights.size() * 2);
+        Map<String, Double> previousPasses = previous == null ? new HashMap<>() : previous.getPasses();
+        // the new hosts start at the lowest pass, so they neither starve nor take over the worker group
+        double lowestPass = previousPasses.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        int index = 0;
+        for (HostWeight hostWeight : hostWeights) {
+            String address = hostWeight.getHost().getAddress();
+            Node node = new Node(hostWeight, index, previousPasses.getOrDefault(address, lowestPass));
+            nodes[index++] = node;
+            nodeIndex.put(address, node);
+        }
+        for (int i = nodes.length / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Select the host with the lowest load.
+     *
+     * @return the selected host, null if the heap is empty
+     */
+    public synchronized HostWeight select() {
+        if (nodes.length == 0) {
+            return null;
+        }
+        Node node = nodes[0];
+        node.pass += Math.max(node.hostWeight.getWeight(), MIN_STRIDE);
+        siftDown(0);
+        return node.hostWeight;
+    }
+
+    /**
+     * Select the host with the lowest load and count the task as in flight on it.
+     *
+     * @return the selected host, null if the heap is empty
+     */
+    public synchronized HostWeight select(int taskInstanceId) {
+        if (nodes.length == 0) {
+            return null;
+        }
+        // the load of the top host only grows, so it will be sifted down together with the pass
+        inFlightTasks.add(taskInstanceId, nodes[0].hostWeight.getHost().getAddress());
+        return select();
+    }
+
+    /**
+     * Restore the order of the given host after its in flight task count changed.
+     */
+    public synchronized void update(String address) {
+        Node node = nodeIndex.get(address);
+        if (node == null) {
+            return;
+        }
+        siftUp(node.index);
+        siftDown(node.index);
+    }
+
+    public boolean contains(String address) {
+        return nodeIndex.containsKey(address);
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    private synchronized Map<String, Double> getPasses() {
+        Map<String, Double> passes = new HashMap<>(nodes.length * 2);
+        for (Node node : nodes) {
+            passes.put(node.hostWeight.getHost().getAddress(), node.pass);
+        }
+        return passes;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(nodes[index], nodes[parent]) >= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < nodes.length && compare(nodes[left], nodes[smallest]) < 0) {
+                smallest = left;
+            }
+            if (right < nodes.length && compare(nodes[right], nodes[smallest]) < 0) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Node node = nodes[i];
+        nodes[i] = nodes[j];
+        nodes[j] = node;
+        nodes[i].index = i;
+        nodes[j].index = j;
+    }
+
+    private int compare(Node a, Node b) {
+        int result = Integer.compare(load(a), load(b));
+        if (result != 0) {
+            return result;
+        }
+        return Double.compare(a.pass, b.pass);
+    }
+
+    private int load(Node node) {
+        return node.hostWeight.getWaitingTaskCount()
+                + inFlightTasks.getTaskCount(node.hostWeight.getHost().getAddress());
+    }
+
+    private static class Node {
+
+        private final HostWeight hostWeight;
+
+        private int index;
+
+        private double pass;
+
+        Node(HostWeight hostWeight, int index, double pass) {
+            this.hostWeight = hostWeight;
+            this.index = index;
+            this.pass = pass;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Track the tasks which are dispatched to a host but not yet acknowledged by it.
+ * <p>
+ * The waiting task count in the worker heartbeat is only refreshed every few seconds, so the master counts these tasks
+ * by itself, otherwise a burst of tasks will all go to the host which looked idle at the last heartbeat.
+ */
+public class InFlightTasks {
+
+    private final long timeoutMillis;
+
+    /**
+     * taskInstanceId -> in flight task
+     */
+    private final Map<Integer, InFlightTask> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * host address -> in flight task count
+     */
+    private final Map<String, AtomicInteger> hostTaskCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param timeout the task is no longer counted after the timeout, in case the acknowledgement is lost
+     */
+    public InFlightTasks(Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Count the task as in flight on the given host, if the task is already in flight on another host, e.g. the
+     * dispatch is retried, it will be moved to the given host.
+     */
+    public void add(int taskInstanceId, String address) {
+        InFlightTask previous = tasks.put(taskInstanceId, new InFlightTask(address, System.currentTimeMillis()));
+        hostTaskCount(address).incrementAndGet();
+        if (previous != null) {
+            hostTaskCount(previous.address).decrementAndGet();
+        }
+    }
+
+    /**
+     * Stop counting the task.
+     *
+     * @return the host address which the task was in flight on, empty if the task is not in flight
+     */
+    public Optional<String> release(int taskInstanceId) {
+        InFlightTask inFlightTask = tasks.remove(taskInstanceId);
+        if (inFlightTask == null) {
+            return Optional.empty();
+        }
+        hostTaskCount(inFlightTask.address).decrementAndGet();
+        return Optional.of(inFlightTask.address);
+    }
+
+    /**
+     * Stop counting the tasks which are in flight longer than the timeout.
+     *
+     * @return the host addresses whose in flight task count changed
+     */
+    public Set<String> releaseExpiredTasks() {
+        Set<String> addresses = new HashSet<>();
+        long expireTime = System.currentTimeMillis() - timeoutMillis;
+        for (Map.Entry<Integer, InFlightTask> entry : tasks.entrySet()) {
+            InFlightTask inFlightTask = entry.getValue();
+            if (inFlightTask.dispatchTime < expireTime && tasks.remove(entry.getKey(), inFlightTask)) {
+                hostTaskCount(inFlightTask.address).decrementAndGet();
+                addresses.add(inFlightTask.address);
+            }
+        }
+        return addresses;
+    }
+
+    public int getTaskCount(String address) {
+        AtomicInteger taskCount = hostTaskCounts.get(address);
+        return taskCount == null ? 0 : taskCount.get();
+    }
+
+    private AtomicInteger hostTaskCount(String address) {
+        return hostTaskCounts.computeIfAbsent(address, key -> new AtomicInteger());
+    }
+
+    @AllArgsConstructor
+    private static class InFlightTask {
+
+        private final String address;
+
+        private final long dispatchTime;
+    }
+}
@@ -20,18 +20,19 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskExecuteResultMessageAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -54,7 +55,7 @@ public class TaskResultEventHandler implements TaskEventHandler {
     private ProcessService processService;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstancePersistService taskInstancePersistService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -78,40 +79,49 @@ public class TaskResultEventHandler implements TaskEventHandler {
                     "Handle task result event error, cannot find the taskInstance from cache, will discord this event");
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
-        if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+        TaskInstance latestTaskInstance = taskInstancePersistService.getLatestTaskInstance(taskInstance);
+        if (latestTaskInstance.getState().isFinished()) {
+            TaskInstancePersistService.runAfterPersisted(taskInstancePersistService.whenPersisted(taskInstanceId),
+                    taskEvent, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task result event error, the task instance is already finished, will discord this event");
         }
-        dataQualityResultOperator.operateDqExecuteResult(taskEvent, taskInstance);
+        dataQualityResultOperator.operateDqExecuteResult(taskEvent, latestTaskInstance);
 
-        TaskInstance oldTaskInstance = new TaskInstance();
-        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
+        // change the out params on a copy, the cached task instance is not changed until the result is committed
+        TaskInstance changedTaskInstance = new TaskInstance();
+        TaskInstanceUtils.copyTaskInstance(latestTaskInstance, changedTaskInstance);
         try {
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setEndTime(taskEvent.getEndTime());
-            taskInstance.setVarPool(taskEvent.getVarPool());
-            processService.changeOutParam(taskInstance);
-            taskInstanceDao.updateById(taskInstance);
-            sendAckToWorker(taskEvent);
+            changedTaskInstance.setVarPool(taskEvent.getVarPool());
+            processService.changeOutParam(changedTaskInstance);
         } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            throw new TaskEventHandleError("Handle task result event error, save taskInstance to db error", ex);
+            throw new TaskEventHandleError("Handle task result event error, change the out params error", ex);
         }
+        String taskParams = changedTaskInstance.getTaskParams();
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
                 .taskInstanceId(taskEvent.getTaskInstanceId())
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
-
+        // the changes are applied to the cached task instance only after they are committed into db, then ack the
+        // worker and move on the workflow
+        CompletableFuture<Void> future = taskInstancePersistService.persist(taskInstance, resultTaskInstance -> {
+            resultTaskInstance.setStartTime(taskEvent.getStartTime());
+            resultTaskInstance.setHost(taskEvent.getWorkerAddress());
+            resultTaskInstance.setLogPath(taskEvent.getLogPath());
+            resultTaskInstance.setExecutePath(taskEvent.getExecutePath());
+            resultTaskInstance.setPid(taskEvent.getProcessId());
+            resultTaskInstance.setAppLink(taskEvent.getAppIds());
+            resultTaskInstance.setState(taskEvent.getState());
+            resultTaskInstance.setEndTime(taskEvent.getEndTime());
+            resultTaskInstance.setVarPool(taskEvent.getVarPool());
+            resultTaskInstance.setTaskParams(taskParams);
+        });
+        TaskInstancePersistService.runAfterPersisted(future, taskEvent, () -> {
+            sendAckToWorker(taskEvent);
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        });
     }
 
     public void sendAckToWorker(TaskEvent taskEvent) {
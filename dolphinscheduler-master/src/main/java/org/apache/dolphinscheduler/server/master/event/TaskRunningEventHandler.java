@@ -20,16 +20,16 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
-import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskExecuteRunningMessageAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -44,7 +44,7 @@ public class TaskRunningEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstancePersistService taskInstancePersistService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -68,41 +68,34 @@ public class TaskRunningEventHandler implements TaskEventHandler {
                     "Handle running event error, cannot find the taskInstance from cache, will discord this event");
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
-        if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+        if (taskInstancePersistService.getLatestTaskInstance(taskInstance).getState().isFinished()) {
+            TaskInstancePersistService.runAfterPersisted(taskInstancePersistService.whenPersisted(taskInstanceId),
+                    taskEvent, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task running event error, this task instance is already finished, this event is delay, will discard this event");
         }
 
-        TaskInstance oldTaskInstance = new TaskInstance();
-        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            if (!taskInstanceDao.updateById(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
-            }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
-            }
-            throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed", ex);
-        }
-
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
                 .taskInstanceId(taskEvent.getTaskInstanceId())
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        // the changes are applied to the cached task instance only after they are committed into db, then ack the
+        // worker and move on the workflow
+        CompletableFuture<Void> future = taskInstancePersistService.persist(taskInstance, changedTaskInstance -> {
+            changedTaskInstance.setState(taskEvent.getState());
+            changedTaskInstance.setStartTime(taskEvent.getStartTime());
+            changedTaskInstance.setHost(taskEvent.getWorkerAddress());
+            changedTaskInstance.setLogPath(taskEvent.getLogPath());
+            changedTaskInstance.setExecutePath(taskEvent.getExecutePath());
+            changedTaskInstance.setPid(taskEvent.getProcessId());
+            changedTaskInstance.setAppLink(taskEvent.getAppIds());
+        });
+        TaskInstancePersistService.runAfterPersisted(future, taskEvent, () -> {
+            sendAckToWorker(taskEvent);
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        });
     }
 
     private void sendAckToWorker(TaskEvent taskEvent) {
@@ -19,15 +19,15 @@ package org.apache.dolphinscheduler.server.master.event;
 
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
-import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskUpdateRuntimeAckMessage;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -42,7 +42,7 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstancePersistService taskInstancePersistService;
 
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError {
@@ -63,29 +63,21 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
                     "Handle running event error, cannot find the taskInstance from cache, will discord this event");
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
-        if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+        if (taskInstancePersistService.getLatestTaskInstance(taskInstance).getState().isFinished()) {
+            TaskInstancePersistService.runAfterPersisted(taskInstancePersistService.whenPersisted(taskInstanceId),
+                    taskEvent, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task running event error, this task instance is already finished, this event is delay, will discard this event");
         }
 
-        TaskInstance oldTaskInstance = new TaskInstance();
-        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setPid(taskEvent.getProcessId());
-            if (!taskInstanceDao.updateById(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
-            }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
-            }
-            throw new TaskEventHandleError("Handle task update pid  event error, update taskInstance to db failed", ex);
-        }
+        // the changes are applied to the cached task instance only after they are committed into db, then ack the
+        // worker
+        CompletableFuture<Void> future = taskInstancePersistService.persist(taskInstance, changedTaskInstance -> {
+            changedTaskInstance.setStartTime(taskEvent.getStartTime());
+            changedTaskInstance.setHost(taskEvent.getWorkerAddress());
+            changedTaskInstance.setPid(taskEvent.getProcessId());
+        });
+        TaskInstancePersistService.runAfterPersisted(future, taskEvent, () -> sendAckToWorker(taskEvent));
 
     }
 
@@ -17,34 +17,80 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The workflow event queue is split into shards by workflow instance id, the events of the same workflow instance
+ * will always be added into the same shard, so they can be handled in order while the events of different workflow
+ * instances are handled in parallel.
+ */
 @Component
 @Slf4j
 public class WorkflowEventQueue {
 
-    private static final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<WorkflowEvent>[] workflowEventQueueShards;
+
+    /**
+     * Increased once the queue is cleared, so the looper drops the events it holds and the retries scheduled before.
+     */
+    private final AtomicInteger clearedVersion = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public WorkflowEventQueue(MasterConfig masterConfig) {
+        int shardNum = masterConfig.getWorkflowEventLooperShardNum();
+        this.workflowEventQueueShards = new LinkedBlockingQueue[shardNum];
+        for (int i = 0; i < shardNum; i++) {
+            LinkedBlockingQueue<WorkflowEvent> workflowEventQueueShard = new LinkedBlockingQueue<>();
+            workflowEventQueueShards[i] = workflowEventQueueShard;
+            MasterServerMetrics.registerWorkflowEventQueueSizeGauge(i, workflowEventQueueShard::size);
+        }
+    }
 
     /**
      * Add a workflow event.
      */
     public void addEvent(WorkflowEvent workflowEvent) {
-        workflowEventQueue.add(workflowEvent);
+        workflowEventQueueShards[getShardIndex(workflowEvent.getWorkflowInstanceId())].add(workflowEvent);
         log.info("Added workflow event to workflowEvent queue, event: {}", workflowEvent);
     }
 
     /**
-     * Pool the head of the workflow event queue and wait an workflow event.
+     * Pool the head of the given workflow event queue shard and wait an workflow event.
      */
-    public WorkflowEvent poolEvent() throws InterruptedException {
-        return workflowEventQueue.take();
+    public WorkflowEvent poolEvent(int shardIndex) throws InterruptedException {
+        return workflowEventQueueShards[shardIndex].take();
+    }
+
+    public int getShardNum() {
+        return workflowEventQueueShards.length;
     }
 
+    /**
+     * Clear the queued events, and the events held by the looper, see {@link #getClearedVersion()}.
+     */
     public void clearWorkflowEventQueue() {
-        workflowEventQueue.clear();
+        clearedVersion.incrementAndGet();
+        for (LinkedBlockingQueue<WorkflowEvent> workflowEventQueueShard : workflowEventQueueShards) {
+            workflowEventQueueShard.clear();
+        }
+    }
+
+    /**
+     * Get the times the queue has been cleared, the events polled under an older version are stale.
+     */
+    public int getClearedVersion() {
+        return clearedVersion.get();
+    }
+
+    private int getShardIndex(int workflowInstanceId) {
+        return Math.floorMod(workflowInstanceId, workflowEventQueueShards.length);
     }
 }
@@ -67,6 +67,8 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                         if (processInstance.getTimeout() > 0) {
                             stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
                         }
+                        // handle the state events which are submitted before the workflow started
+                        workflowExecuteThreadPool.executeEvent(workflowExecuteRunnable);
                     } else if (WorkflowStartStatus.FAILED == workflowStartStatus) {
                         log.error(
                                 "Failed to submit the workflow instance, will resend the workflow start event: {}",
@@ -76,7 +78,7 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                                 .type(StateEventType.PROCESS_SUBMIT_FAILED)
                                 .status(WorkflowExecutionStatus.FAILURE)
                                 .build();
-                        workflowExecuteRunnable.addStateEvent(stateEvent);
+                        workflowExecuteThreadPool.submitStateEvent(stateEvent);
                     }
                 });
     }
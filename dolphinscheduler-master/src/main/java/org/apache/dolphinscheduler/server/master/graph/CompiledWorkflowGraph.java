@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The compiled graph of a workflow definition version, it is shared by all the workflow instances of the version,
+ * so it must never be changed after it is compiled.
+ */
+@Getter
+public class CompiledWorkflowGraph {
+
+    private final long processDefinitionCode;
+
+    private final int processDefinitionVersion;
+
+    /**
+     * All the task nodes of the version, in the order of compiling.
+     */
+    private final List<TaskNode> taskNodes;
+
+    /**
+     * The graph contains all the task nodes, used when the workflow instance starts from the beginning.
+     */
+    private final WorkflowGraph fullWorkflowGraph;
+
+    public CompiledWorkflowGraph(long processDefinitionCode,
+                                 int processDefinitionVersion,
+                                 List<TaskNode> taskNodes,
+                                 WorkflowGraph fullWorkflowGraph) {
+        checkNotNull(taskNodes, "taskNodes can not be null");
+        checkNotNull(fullWorkflowGraph, "fullWorkflowGraph can not be null");
+        this.processDefinitionCode = processDefinitionCode;
+        this.processDefinitionVersion = processDefinitionVersion;
+        this.taskNodes = Collections.unmodifiableList(taskNodes);
+        this.fullWorkflowGraph = fullWorkflowGraph;
+    }
+
+}
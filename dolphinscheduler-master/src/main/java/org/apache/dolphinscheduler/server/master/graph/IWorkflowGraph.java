@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 
+import java.util.List;
+
 public interface IWorkflowGraph {
 
     TaskNode getTaskNodeByCode(Long taskCode);
@@ -30,4 +32,16 @@ public interface IWorkflowGraph {
 
     boolean isForbiddenTask(Long taskCode);
 
+    /**
+     * Get the upstream task codes in the dag which the given task depends on, the forbidden upstream tasks are
+     * replaced by their own upstream tasks.
+     */
+    List<Long> getIndirectDepTaskCodes(Long taskCode);
+
+    /**
+     * Get the downstream task codes in the dag which depend on the given task, it is the reverse of
+     * {@link #getIndirectDepTaskCodes(Long)}.
+     */
+    List<Long> getIndirectPostTaskCodes(Long taskCode);
+
 }
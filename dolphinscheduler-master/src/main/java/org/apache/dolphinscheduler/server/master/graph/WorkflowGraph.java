@@ -23,6 +23,10 @@ import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +40,14 @@ public class WorkflowGraph implements IWorkflowGraph {
 
     private final Set<Long> forbiddenTaskCodes;
 
+    /**
+     * The forbidden task chains are resolved once when the graph is built, since the graph is shared by the workflow
+     * instances and the dependencies are checked on every task state change.
+     */
+    private final Map<Long, List<Long>> indirectDepTaskCodes;
+
+    private final Map<Long, List<Long>> indirectPostTaskCodes;
+
     public WorkflowGraph(List<TaskNode> taskNodes,
                          DAG<Long, TaskNode, TaskNodeRelation> dag) {
         checkNotNull(taskNodes, "taskNodes can not be null");
@@ -45,6 +57,41 @@ public class WorkflowGraph implements IWorkflowGraph {
         this.dag = dag;
         forbiddenTaskCodes =
                 taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet());
+
+        Map<Long, List<Long>> resolvedDepTaskCodes = new HashMap<>();
+        Map<Long, List<Long>> postTaskCodes = new HashMap<>();
+        for (Long taskCode : dag.getAllNodesList()) {
+            for (Long depTaskCode : resolveIndirectDepTaskCodes(taskCode, resolvedDepTaskCodes)) {
+                postTaskCodes.computeIfAbsent(depTaskCode, k -> new ArrayList<>()).add(taskCode);
+            }
+        }
+        postTaskCodes.replaceAll((taskCode, codes) -> Collections.unmodifiableList(codes));
+        this.indirectDepTaskCodes = resolvedDepTaskCodes;
+        this.indirectPostTaskCodes = postTaskCodes;
+    }
+
+    private List<Long> resolveIndirectDepTaskCodes(Long taskCode, Map<Long, List<Long>> resolvedDepTaskCodes) {
+        List<Long> resolved = resolvedDepTaskCodes.get(taskCode);
+        if (resolved != null) {
+            return resolved;
+        }
+        // If workflow start with startNode or recoveryNode, taskNode may be null
+        TaskNode taskNode = dag.getNode(taskCode);
+        if (taskNode == null || taskNode.getDepList() == null) {
+            resolvedDepTaskCodes.put(taskCode, Collections.emptyList());
+            return Collections.emptyList();
+        }
+        Set<Long> depTaskCodes = new LinkedHashSet<>();
+        for (Long depTaskCode : taskNode.getDepList()) {
+            if (isForbiddenTask(depTaskCode)) {
+                depTaskCodes.addAll(resolveIndirectDepTaskCodes(depTaskCode, resolvedDepTaskCodes));
+            } else if (dag.containsNode(depTaskCode)) {
+                depTaskCodes.add(depTaskCode);
+            }
+        }
+        resolved = Collections.unmodifiableList(new ArrayList<>(depTaskCodes));
+        resolvedDepTaskCodes.put(taskCode, resolved);
+        return resolved;
     }
 
     @Override
@@ -66,4 +113,14 @@ public class WorkflowGraph implements IWorkflowGraph {
         return forbiddenTaskCodes.contains(taskCode);
     }
 
+    @Override
+    public List<Long> getIndirectDepTaskCodes(Long taskCode) {
+        return indirectDepTaskCodes.getOrDefault(taskCode, Collections.emptyList());
+    }
+
+    @Override
+    public List<Long> getIndirectPostTaskCodes(Long taskCode) {
+        return indirectPostTaskCodes.getOrDefault(taskCode, Collections.emptyList());
+    }
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import java.util.concurrent.ExecutionException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Cache the compiled workflow graph by the process definition code and version.
+ * <p>
+ * A workflow definition version never changes once it is created, so the compiled graph can be shared by all the
+ * workflow instances of the version, the cache is bounded by {@link MasterConfig#getWorkflowGraphCacheSize()} and
+ * the least recently used graphs are evicted first.
+ */
+@Slf4j
+@Component
+public class WorkflowGraphCache {
+
+    private final Cache<String, CompiledWorkflowGraph> cache;
+
+    public WorkflowGraphCache(MasterConfig masterConfig) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(masterConfig.getWorkflowGraphCacheSize())
+                .build();
+        MasterServerMetrics.registerWorkflowGraphCacheSizeGauge(cache::size);
+    }
+
+    public CompiledWorkflowGraph get(long processDefinitionCode,
+                                     int processDefinitionVersion,
+                                     WorkflowGraphCompiler compiler) throws Exception {
+        String key = processDefinitionCode + "-" + processDefinitionVersion;
+        CompiledWorkflowGraph compiledWorkflowGraph = cache.getIfPresent(key);
+        if (compiledWorkflowGraph != null) {
+            MasterServerMetrics.incWorkflowGraphCacheHit();
+            return compiledWorkflowGraph;
+        }
+        MasterServerMetrics.incWorkflowGraphCacheMiss();
+        try {
+            // the concurrent misses of the same version will wait for the first one to compile
+            return cache.get(key, () -> {
+                long startTime = System.currentTimeMillis();
+                CompiledWorkflowGraph compiled = compiler.compile(processDefinitionCode, processDefinitionVersion);
+                MasterServerMetrics.recordWorkflowGraphCompileTime(System.currentTimeMillis() - startTime);
+                log.debug("Compiled workflow graph of definition: {}, version: {}", processDefinitionCode,
+                        processDefinitionVersion);
+                return compiled;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface WorkflowGraphCompiler {
+
+        CompiledWorkflowGraph compile(long processDefinitionCode, int processDefinitionVersion) throws Exception;
+    }
+
+}
@@ -22,7 +22,9 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.ImmutableDAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
@@ -64,29 +66,58 @@ public class WorkflowGraphFactory {
     @Autowired
     private TaskDefinitionLogDao taskDefinitionLogDao;
 
+    @Autowired
+    private WorkflowGraphCache workflowGraphCache;
+
     public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
+        CompiledWorkflowGraph compiledWorkflowGraph = workflowGraphCache.get(
+                workflowInstance.getProcessDefinitionCode(),
+                workflowInstance.getProcessDefinitionVersion(),
+                this::compileWorkflowGraph);
+
+        List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
+        List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
+        if (workflowInstance.getTaskDependType() == TaskDependType.TASK_POST
+                && startNodeNameList.isEmpty()
+                && recoveryTaskNodeCodeList.isEmpty()) {
+            return compiledWorkflowGraph.getFullWorkflowGraph();
+        }
+        // only filter the shared task nodes by the start nodes, the task nodes will not be changed
+        List<TaskNode> taskNodeList = compiledWorkflowGraph.getTaskNodes();
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = buildDagGraph(taskNodeList, startNodeNameList,
+                recoveryTaskNodeCodeList, workflowInstance.getTaskDependType());
+        return new WorkflowGraph(taskNodeList, dagGraph);
+    }
 
+    private CompiledWorkflowGraph compileWorkflowGraph(long processDefinitionCode,
+                                                       int processDefinitionVersion) throws Exception {
         List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(workflowInstance.getProcessDefinitionCode(),
-                        workflowInstance.getProcessDefinitionVersion());
+                processService.findRelationByCode(processDefinitionCode, processDefinitionVersion);
         List<TaskDefinitionLog> taskDefinitionLogs =
                 taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
         List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
 
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = buildDagGraph(taskNodeList, Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST);
+        return new CompiledWorkflowGraph(processDefinitionCode, processDefinitionVersion, taskNodeList,
+                new WorkflowGraph(taskNodeList, dagGraph));
+    }
+
+    private DAG<Long, TaskNode, TaskNodeRelation> buildDagGraph(List<TaskNode> taskNodeList,
+                                                                List<Long> startNodeNameList,
+                                                                List<Long> recoveryTaskNodeCodeList,
+                                                                TaskDependType taskDependType) throws Exception {
         // generate process to get DAG info
-        List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
-        List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
         ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, startNodeNameList, recoveryTaskNodeCodeList,
-                workflowInstance.getTaskDependType());
+                taskDependType);
         if (processDag == null) {
             log.error("ProcessDag is null");
             throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
         }
-        // generate process dag
-        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = DagHelper.buildDagGraph(processDag);
+        // generate process dag, freeze it since it is shared by the workflow instances of the same version
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = ImmutableDAG.copyOf(DagHelper.buildDagGraph(processDag));
         log.debug("Build dag success, dag: {}", dagGraph);
-
-        return new WorkflowGraph(taskNodeList, dagGraph);
+        return dagGraph;
     }
 
     /**
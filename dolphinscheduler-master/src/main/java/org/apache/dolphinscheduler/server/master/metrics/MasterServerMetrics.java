@@ -17,9 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -40,6 +45,25 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workflowGraphCacheHitCounter =
+            Counter.builder("ds.master.workflow.graph.cache.count")
+                    .tag("result", "hit")
+                    .description("Workflow graph cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workflowGraphCacheMissCounter =
+            Counter.builder("ds.master.workflow.graph.cache.count")
+                    .tag("result", "miss")
+                    .description("Workflow graph cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workflowGraphCompileTimer =
+            Timer.builder("ds.master.workflow.graph.compile.duration")
+                    .description("Time spent compiling a workflow graph of a definition version")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -48,4 +72,34 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public synchronized void registerWorkflowEventQueueSizeGauge(int shard, Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.event.queue.size", function)
+                .tag("shard", String.valueOf(shard))
+                .description("The workflow event queue size of each workflow event looper shard")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void incWorkflowGraphCacheHit() {
+        workflowGraphCacheHitCounter.increment();
+    }
+
+    public void incWorkflowGraphCacheMiss() {
+        workflowGraphCacheMissCounter.increment();
+    }
+
+    public void recordWorkflowGraphCompileTime(long milliseconds) {
+        workflowGraphCompileTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void registerWorkflowGraphCacheSizeGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.graph.cache.size", function)
+                .description("The number of cached workflow graphs")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventHandleTime(int shard, long milliseconds) {
+        Metrics.globalRegistry.timer("ds.master.workflow.event.handle.duration", "shard", String.valueOf(shard))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
 }
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -27,14 +29,22 @@ import lombok.experimental.UtilityClass;
 import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
 
     private final Map<String, Counter> taskInstanceCounters = new HashMap<>();
 
+    private final Map<String, Counter> taskDispatchWorkerGroupCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> taskDispatchWaitingTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Gauge> taskDispatchWaitingQueueSizeGauges = new ConcurrentHashMap<>();
+
     private final Set<String> taskInstanceStates = ImmutableSet.of(
             "submit", "timeout", "finish", "failover", "retry", "dispatch", "success", "kill", "fail", "stop");
 
@@ -65,6 +75,23 @@ public class TaskMetrics {
                     .description("Number of errors during task dispatch")
                     .register(Metrics.globalRegistry);
 
+    private final DistributionSummary taskInstancePersistBatchSize =
+            DistributionSummary.builder("ds.task.instance.persist.batch.size")
+                    .description("The task instance number flushed into db in one batch")
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    private final Timer taskInstancePersistTimer =
+            Timer.builder("ds.task.instance.persist.duration")
+                    .description("The duration of flushing a batch of task instances into db")
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    private final Counter taskInstancePersistFailCounter =
+            Counter.builder("ds.task.instance.persist.failure.count")
+                    .description("Number of failed task instance batch flushes, the batches will be retried")
+                    .register(Metrics.globalRegistry);
+
     public synchronized void registerTaskPrepared(Supplier<Number> consumer) {
         Gauge.builder("ds.task.prepared", consumer)
                 .description("Task prepared count")
@@ -83,6 +110,67 @@ public class TaskMetrics {
         taskDispatchCounter.increment();
     }
 
+    public synchronized void registerTaskDispatchWaitingQueueSizeGauge(String workerGroup,
+                                                                       Supplier<Number> function) {
+        taskDispatchWaitingQueueSizeGauges.put(workerGroup,
+                Gauge.builder("ds.task.dispatch.waiting.queue.size", function)
+                        .tag("worker_group", workerGroup)
+                        .description("The waiting dispatch task number of each worker group")
+                        .register(Metrics.globalRegistry));
+    }
+
+    /**
+     * Remove the dispatch meters of the worker group, e.g. its dispatch waiting queue partition is removed.
+     */
+    public synchronized void removeTaskDispatchWorkerGroupMeters(String workerGroup) {
+        Gauge gauge = taskDispatchWaitingQueueSizeGauges.remove(workerGroup);
+        if (gauge != null) {
+            Metrics.globalRegistry.remove(gauge);
+        }
+        Counter counter = taskDispatchWorkerGroupCounters.remove(workerGroup);
+        if (counter != null) {
+            Metrics.globalRegistry.remove(counter);
+        }
+        Timer timer = taskDispatchWaitingTimers.remove(workerGroup);
+        if (timer != null) {
+            Metrics.globalRegistry.remove(timer);
+        }
+    }
+
+    public void incTaskDispatchByWorkerGroup(String workerGroup) {
+        taskDispatchWorkerGroupCounters.computeIfAbsent(workerGroup,
+                group -> Counter.builder("ds.task.dispatch.worker.group.count")
+                        .tag("worker_group", group)
+                        .description("Task dispatch count of each worker group")
+                        .register(Metrics.globalRegistry))
+                .increment();
+    }
+
+    public void recordTaskDispatchWaitingTime(String workerGroup, long milliseconds) {
+        taskDispatchWaitingTimers.computeIfAbsent(workerGroup,
+                group -> Timer.builder("ds.task.dispatch.waiting.duration")
+                        .tag("worker_group", group)
+                        .description("The duration from a task is submitted to the dispatch queue to it is dispatched")
+                        .publishPercentileHistogram()
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void registerTaskInstancePersistPendingGauge(Supplier<Number> function) {
+        Gauge.builder("ds.task.instance.persist.pending", function)
+                .description("The task instance number waiting to be flushed into db")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordTaskInstancePersist(int batchSize, long milliseconds) {
+        taskInstancePersistBatchSize.record(batchSize);
+        taskInstancePersistTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incTaskInstancePersistFailed() {
+        taskInstancePersistFailCounter.increment();
+    }
+
     public void incTaskInstanceByState(final String state) {
         if (taskInstanceCounters.get(state) == null) {
             return;
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.master.processor;
 
 import org.apache.dolphinscheduler.common.enums.CacheType;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.cache.CacheExpireRequest;
@@ -45,7 +44,7 @@ public class CacheProcessor implements MasterRpcProcessor {
 
     @Override
     public void process(Channel channel, Message message) {
-        CacheExpireRequest cacheExpireRequest = JSONUtils.parseObject(message.getBody(), CacheExpireRequest.class);
+        CacheExpireRequest cacheExpireRequest = message.parseBody(CacheExpireRequest.class);
 
         log.info("received command : {}", cacheExpireRequest);
 
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
@@ -46,7 +45,7 @@ public class MasterTaskKillProcessor implements MasterRpcProcessor {
 
     @Override
     public void process(Channel channel, Message message) {
-        TaskKillRequest taskKillRequest = JSONUtils.parseObject(message.getBody(), TaskKillRequest.class);
+        TaskKillRequest taskKillRequest = message.parseBody(TaskKillRequest.class);
         log.info("Master receive task kill request: {}", taskKillRequest);
         int taskInstanceId = taskKillRequest.getTaskInstanceId();
         try (LogUtils.MDCAutoClosableContext mdcAutoClosableContext = LogUtils.setTaskInstanceIdMDC(taskInstanceId)) {
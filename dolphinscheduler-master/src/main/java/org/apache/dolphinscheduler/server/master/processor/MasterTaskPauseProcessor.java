@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
@@ -40,7 +39,7 @@ public class MasterTaskPauseProcessor implements MasterRpcProcessor {
 
     @Override
     public void process(Channel channel, Message message) {
-        TaskPauseRequest taskPauseRequest = JSONUtils.parseObject(message.getBody(), TaskPauseRequest.class);
+        TaskPauseRequest taskPauseRequest = message.parseBody(TaskPauseRequest.class);
         MasterTaskExecuteRunnable masterTaskExecuteRunnable =
                 MasterTaskExecuteRunnableHolder.getMasterTaskExecuteRunnable(taskPauseRequest.getTaskInstanceId());
         if (masterTaskExecuteRunnable == null) {
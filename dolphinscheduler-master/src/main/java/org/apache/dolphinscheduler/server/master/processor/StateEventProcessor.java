@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.server.master.processor;
 
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -50,7 +49,7 @@ public class StateEventProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         WorkflowStateEventChangeRequest workflowStateEventChangeRequest =
-                JSONUtils.parseObject(message.getBody(), WorkflowStateEventChangeRequest.class);
+                message.parseBody(WorkflowStateEventChangeRequest.class);
         StateEvent stateEvent;
         if (workflowStateEventChangeRequest.getDestTaskInstanceId() == 0) {
             stateEvent = createWorkflowStateEvent(workflowStateEventChangeRequest);
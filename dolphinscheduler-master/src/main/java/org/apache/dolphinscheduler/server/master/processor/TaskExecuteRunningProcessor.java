@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskExecuteRunningMessage;
@@ -51,7 +50,7 @@ public class TaskExecuteRunningProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskExecuteRunningMessage taskExecuteRunningMessage =
-                JSONUtils.parseObject(message.getBody(), TaskExecuteRunningMessage.class);
+                message.parseBody(TaskExecuteRunningMessage.class);
         log.info("taskExecuteRunningCommand: {}", taskExecuteRunningMessage);
 
         TaskEvent taskEvent = TaskEvent.newRunningEvent(taskExecuteRunningMessage,
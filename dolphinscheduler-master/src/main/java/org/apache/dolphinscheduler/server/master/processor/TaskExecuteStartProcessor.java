@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
 import org.apache.dolphinscheduler.remote.command.Message;
@@ -50,7 +49,7 @@ public class TaskExecuteStartProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskExecuteStartMessage taskExecuteStartMessage =
-                JSONUtils.parseObject(message.getBody(), TaskExecuteStartMessage.class);
+                message.parseBody(TaskExecuteStartMessage.class);
         log.info("taskExecuteStartCommand: {}", taskExecuteStartMessage);
 
         TaskDefinition taskDefinition = taskDefinitionDao.findTaskDefinition(
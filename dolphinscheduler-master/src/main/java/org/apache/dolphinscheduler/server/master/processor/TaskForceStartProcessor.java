@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.master.processor;
 
 import org.apache.dolphinscheduler.common.enums.StateEventType;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -44,7 +43,7 @@ public class TaskForceStartProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskForceStartRequest taskEventChangeCommand =
-                JSONUtils.parseObject(message.getBody(), TaskForceStartRequest.class);
+                message.parseBody(TaskForceStartRequest.class);
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEventChangeCommand.getProcessInstanceId())
                 .taskInstanceId(taskEventChangeCommand.getTaskInstanceId())
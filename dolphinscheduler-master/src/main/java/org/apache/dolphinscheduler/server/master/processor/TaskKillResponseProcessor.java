@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskKillResponse;
@@ -45,7 +44,7 @@ public class TaskKillResponseProcessor implements MasterRpcProcessor {
      */
     @Override
     public void process(Channel channel, Message message) {
-        TaskKillResponse responseCommand = JSONUtils.parseObject(message.getBody(), TaskKillResponse.class);
+        TaskKillResponse responseCommand = message.parseBody(TaskKillResponse.class);
         log.info("[TaskInstance-{}] Received task kill response command : {}",
                 responseCommand.getTaskInstanceId(), responseCommand);
     }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskUpdateRuntimeMessage;
@@ -51,7 +50,7 @@ public class TaskUpdateRuntimeProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskUpdateRuntimeMessage taskUpdatePidRequest =
-                JSONUtils.parseObject(message.getBody(), TaskUpdateRuntimeMessage.class);
+                message.parseBody(TaskUpdateRuntimeMessage.class);
         log.info("taskUpdatePidCommand: {}", taskUpdatePidRequest);
 
         TaskEvent taskEvent = TaskEvent.newUpdatePidEvent(taskUpdatePidRequest,
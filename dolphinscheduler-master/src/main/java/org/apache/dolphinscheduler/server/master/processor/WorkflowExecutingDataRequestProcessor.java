@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.workflow.WorkflowExecutingDataRequest;
@@ -48,7 +47,7 @@ public class WorkflowExecutingDataRequestProcessor implements MasterRpcProcessor
     @Override
     public void process(Channel channel, Message message) {
         WorkflowExecutingDataRequest requestCommand =
-                JSONUtils.parseObject(message.getBody(), WorkflowExecutingDataRequest.class);
+                message.parseBody(WorkflowExecutingDataRequest.class);
 
         log.info("received command, processInstanceId:{}", requestCommand.getProcessInstanceId());
 
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.workflow.WorkflowMetricsCleanUpRequest;
@@ -34,7 +33,7 @@ public class WorkflowMetricsCleanUpProcessor implements MasterRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         WorkflowMetricsCleanUpRequest workflowMetricsCleanUpRequest =
-                JSONUtils.parseObject(message.getBody(), WorkflowMetricsCleanUpRequest.class);
+                message.parseBody(WorkflowMetricsCleanUpRequest.class);
 
         ProcessInstanceMetrics.cleanUpProcessInstanceCountMetricsByDefinitionCode(
                 workflowMetricsCleanUpRequest.getProcessDefinitionCode());
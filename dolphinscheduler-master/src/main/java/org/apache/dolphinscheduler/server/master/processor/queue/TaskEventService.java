@@ -17,15 +17,15 @@
 
 package org.apache.dolphinscheduler.server.master.processor.queue;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -52,36 +52,30 @@ public class TaskEventService {
      */
     private Thread taskEventThread;
 
-    private Thread taskEventHandlerThread;
-
     @Autowired
     private TaskExecuteThreadPool taskExecuteThreadPool;
 
+    @Autowired
+    private HostManager hostManager;
+
     @PostConstruct
     public void start() {
         this.taskEventThread = new TaskEventDispatchThread();
         log.info("TaskEvent dispatch thread starting");
         this.taskEventThread.start();
         log.info("TaskEvent dispatch thread started");
-
-        this.taskEventHandlerThread = new TaskEventHandlerThread();
-        log.info("TaskEvent handle thread staring");
-        this.taskEventHandlerThread.start();
-        log.info("TaskEvent handle thread started");
     }
 
     @PreDestroy
     public void stop() {
         try {
             this.taskEventThread.interrupt();
-            this.taskEventHandlerThread.interrupt();
             if (!eventQueue.isEmpty()) {
                 List<TaskEvent> remainEvents = new ArrayList<>(eventQueue.size());
                 eventQueue.drainTo(remainEvents);
                 for (TaskEvent taskEvent : remainEvents) {
                     taskExecuteThreadPool.submitTaskEvent(taskEvent);
                 }
-                taskExecuteThreadPool.eventHandler();
             }
         } catch (Exception e) {
             log.error("TaskEventService stop error:", e);
@@ -94,6 +88,10 @@ public class TaskEventService {
      * @param taskEvent taskEvent
      */
     public void addEvent(TaskEvent taskEvent) {
+        if (taskEvent.getEvent() == TaskEventType.RUNNING || taskEvent.getEvent() == TaskEventType.RESULT) {
+            // the task has been taken by the worker, or failed to dispatch
+            hostManager.releaseTask(taskEvent.getTaskInstanceId());
+        }
         eventQueue.add(taskEvent);
     }
 
@@ -123,31 +121,4 @@ public class TaskEventService {
             log.info("StateEventResponseWorker stopped");
         }
     }
-
-    /**
-     * event handler thread
-     */
-    class TaskEventHandlerThread extends BaseDaemonThread {
-
-        protected TaskEventHandlerThread() {
-            super("TaskEventHandlerThread");
-        }
-
-        @Override
-        public void run() {
-            log.info("event handler thread started");
-            while (!ServerLifeCycleManager.isStopped()) {
-                try {
-                    taskExecuteThreadPool.eventHandler();
-                    TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("TaskEvent handle thread interrupted, will return this loop");
-                    break;
-                } catch (Exception e) {
-                    log.error("event handler thread error", e);
-                }
-            }
-        }
-    }
 }
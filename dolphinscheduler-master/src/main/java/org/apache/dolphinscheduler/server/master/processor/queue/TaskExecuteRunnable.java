@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,6 +41,11 @@ public class TaskExecuteRunnable implements Runnable {
 
     private final Map<TaskEventType, TaskEventHandler> taskEventHandlerMap;
 
+    /**
+     * whether a drain of the events has been scheduled in {@link TaskExecuteThreadPool}
+     */
+    private final AtomicBoolean eventsDrainScheduled = new AtomicBoolean(false);
+
     public TaskExecuteRunnable(int processInstanceId, Map<TaskEventType, TaskEventHandler> taskEventHandlerMap) {
         this.processInstanceId = processInstanceId;
         this.taskEventHandlerMap = taskEventHandlerMap;
@@ -89,6 +95,19 @@ public class TaskExecuteRunnable implements Runnable {
         return processInstanceId;
     }
 
+    /**
+     * Mark the events drain as scheduled.
+     *
+     * @return false if the drain has already been scheduled
+     */
+    public boolean tryScheduleEventsDrain() {
+        return eventsDrainScheduled.compareAndSet(false, true);
+    }
+
+    public void finishEventsDrain() {
+        eventsDrainScheduled.set(false);
+    }
+
     public boolean addEvent(TaskEvent event) {
         if (event.getProcessInstanceId() != this.processInstanceId) {
             log.warn(
@@ -42,8 +42,6 @@ import org.springframework.util.concurrent.ListenableFutureCallback;
 @Slf4j
 public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
 
-    private final ConcurrentHashMap<String, TaskExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
-
     @Autowired
     private MasterConfig masterConfig;
 
@@ -87,51 +85,57 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
         }
         TaskExecuteRunnable taskExecuteRunnable = taskExecuteThreadMap.computeIfAbsent(taskEvent.getProcessInstanceId(),
                 (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap));
-        taskExecuteRunnable.addEvent(taskEvent);
-    }
-
-    public void eventHandler() {
-        for (TaskExecuteRunnable taskExecuteThread : taskExecuteThreadMap.values()) {
-            executeEvent(taskExecuteThread);
+        if (taskExecuteRunnable.addEvent(taskEvent)) {
+            executeEvent(taskExecuteRunnable);
         }
     }
 
+    /**
+     * Schedule a drain of the events belong to the given workflow, at most one drain of a workflow is scheduled at the
+     * same time. Once the drain finished, the workflow will be scheduled again if new events arrived in the meantime.
+     */
     public void executeEvent(TaskExecuteRunnable taskExecuteThread) {
         if (taskExecuteThread.isEmpty()) {
             return;
         }
-        if (multiThreadFilterMap.containsKey(taskExecuteThread.getKey())) {
+        if (!taskExecuteThread.tryScheduleEventsDrain()) {
             return;
         }
-        multiThreadFilterMap.put(taskExecuteThread.getKey(), taskExecuteThread);
-        ListenableFuture future = this.submitListenable(taskExecuteThread::run);
-        future.addCallback(new ListenableFutureCallback() {
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(taskExecuteThread::run);
+        } catch (Exception e) {
+            taskExecuteThread.finishEventsDrain();
+            throw e;
+        }
+        future.addCallback(new ListenableFutureCallback<Object>() {
 
             @Override
             public void onFailure(Throwable ex) {
                 Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
                 log.error("[WorkflowInstance-{}] persist event failed", processInstanceId, ex);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    log.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                afterEventsDrain(taskExecuteThread);
             }
 
             @Override
             public void onSuccess(Object result) {
                 Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
                 log.info("[WorkflowInstance-{}] persist events succeeded", processInstanceId);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    log.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                afterEventsDrain(taskExecuteThread);
             }
         });
     }
+
+    private void afterEventsDrain(TaskExecuteRunnable taskExecuteThread) {
+        Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
+        if (!processInstanceExecCacheManager.contains(processInstanceId)) {
+            taskExecuteThreadMap.remove(processInstanceId);
+            log.info(
+                    "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
+                    processInstanceId);
+        }
+        taskExecuteThread.finishEventsDrain();
+        // the events added during the drain are not handled, since the drain flag was still set
+        executeEvent(taskExecuteThread);
+    }
 }
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstancePersistConfig;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind persistence of the task instances updated by the task events.
+ * <p>
+ * The changes are applied to a snapshot of the cached task instance, the snapshots of the same task instance are
+ * coalesced into the latest one and flushed into db in jdbc batches, once the pending task instances reach the batch
+ * size or the flush interval elapsed. The changes are applied to the cached task instance only after the batch is
+ * committed, so the uncommitted state is never visible to the workflow, and the returned future completes after that,
+ * so the caller should ack the worker in it. A failed batch is retried until it is committed.
+ * <p>
+ * The other updates of the cached task instances, e.g. kill, should be written by {@link #update(TaskInstance)}, which
+ * is ordered with the batch flushing, so the stale snapshots never overwrite them. The pending changes of a task
+ * instance which is already finished are discarded.
+ */
+@Component
+@Slf4j
+public class TaskInstancePersistService {
+
+    /**
+     * The task instances waiting to be flushed, guarded by this.
+     */
+    private final Map<Integer, PendingTaskInstance> pendingTaskInstances = new LinkedHashMap<>();
+
+    /**
+     * The task instances being flushed, guarded by this.
+     */
+    private Map<Integer, PendingTaskInstance> flushingTaskInstances = Collections.emptyMap();
+
+    /**
+     * Held while writing into db, so the batch flushing and the direct updates are written in order.
+     */
+    private final Object writeLock = new Object();
+
+    private Thread taskInstanceFlushThread;
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @PostConstruct
+    public void start() {
+        TaskMetrics.registerTaskInstancePersistPendingGauge(this::getPendingSize);
+        this.taskInstanceFlushThread = new TaskInstanceFlushThread();
+        log.info("TaskInstance flush thread starting");
+        this.taskInstanceFlushThread.start();
+        log.info("TaskInstance flush thread started");
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            this.taskInstanceFlushThread.interrupt();
+            this.taskInstanceFlushThread.join(Constants.SLEEP_TIME_MILLIS);
+            if (this.taskInstanceFlushThread.isAlive()) {
+                log.warn("TaskInstance flush thread is still flushing, skip flushing the remain task instances");
+                return;
+            }
+            Map<Integer, PendingTaskInstance> remainTaskInstances;
+            while (!(remainTaskInstances = takeBatch()).isEmpty()) {
+                if (!flush(remainTaskInstances)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("TaskInstancePersistService stop error:", e);
+        }
+    }
+
+    /**
+     * Persist the changes of the given cached task instance, the changes are applied to the cached task instance once
+     * they are committed into db.
+     *
+     * @param taskInstance cached task instance
+     * @param changes      changes of the task instance, it may be applied more than once
+     * @return the future which completes once the changes are committed into db and applied to the cached task
+     * instance
+     */
+    public CompletableFuture<Void> persist(TaskInstance taskInstance, Consumer<TaskInstance> changes) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            PendingTaskInstance pendingTaskInstance =
+                    pendingTaskInstances.computeIfAbsent(taskInstance.getId(),
+                            id -> new PendingTaskInstance(taskInstance));
+            pendingTaskInstance.changes.add(changes);
+            pendingTaskInstance.futures.add(future);
+            // the snapshot contains the uncommitted changes being flushed, since they will be committed before it
+            TaskInstance snapshot = taskInstance;
+            PendingTaskInstance flushingTaskInstance = flushingTaskInstances.get(taskInstance.getId());
+            if (flushingTaskInstance != null) {
+                snapshot = createSnapshot(snapshot, flushingTaskInstance.changes);
+            }
+            pendingTaskInstance.snapshot = createSnapshot(snapshot, pendingTaskInstance.changes);
+            if (pendingTaskInstances.size() == 1
+                    || pendingTaskInstances.size() >= getConfig().getBatchSize()) {
+                notifyAll();
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Update the given cached task instance into db directly, the pending snapshots of it are rebased onto it, so they
+     * won't overwrite this update once flushed. It waits for the batch being flushed.
+     *
+     * @param taskInstance cached task instance
+     * @return true if the task instance is updated
+     */
+    public boolean update(TaskInstance taskInstance) {
+        synchronized (writeLock) {
+            synchronized (this) {
+                // the batch may be taken but not written yet
+                TaskInstance snapshot = taskInstance;
+                PendingTaskInstance flushingTaskInstance = flushingTaskInstances.get(taskInstance.getId());
+                if (flushingTaskInstance != null) {
+                    flushingTaskInstance.snapshot = createSnapshot(snapshot, flushingTaskInstance.changes);
+                    snapshot = flushingTaskInstance.snapshot;
+                }
+                PendingTaskInstance pendingTaskInstance = pendingTaskInstances.get(taskInstance.getId());
+                if (pendingTaskInstance != null) {
+                    pendingTaskInstance.snapshot = createSnapshot(snapshot, pendingTaskInstance.changes);
+                }
+            }
+            return taskInstanceDao.updateById(taskInstance);
+        }
+    }
+
+    /**
+     * Get the future which completes once the pending updates of the given task instance are committed, it completes
+     * immediately if there is no pending update.
+     *
+     * @param taskInstanceId task instance id
+     */
+    public synchronized CompletableFuture<Void> whenPersisted(int taskInstanceId) {
+        PendingTaskInstance pendingTaskInstance = pendingTaskInstances.get(taskInstanceId);
+        if (pendingTaskInstance == null) {
+            pendingTaskInstance = flushingTaskInstances.get(taskInstanceId);
+        }
+        if (pendingTaskInstance == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pendingTaskInstance.futures.add(future);
+        return future;
+    }
+
+    /**
+     * Get the latest state of the given cached task instance including the uncommitted changes, the returned task
+     * instance should not be modified.
+     *
+     * @param taskInstance cached task instance
+     */
+    public synchronized TaskInstance getLatestTaskInstance(TaskInstance taskInstance) {
+        PendingTaskInstance pendingTaskInstance = pendingTaskInstances.get(taskInstance.getId());
+        if (pendingTaskInstance == null) {
+            pendingTaskInstance = flushingTaskInstances.get(taskInstance.getId());
+        }
+        return pendingTaskInstance == null ? taskInstance : pendingTaskInstance.snapshot;
+    }
+
+    /**
+     * Run the callback of the task event once the future completes normally, e.g. ack the worker. The callback runs on
+     * the flush thread, so its failure and the failure of the future are logged here, otherwise they are dropped.
+     *
+     * @param future    future returned by {@link #persist} or {@link #whenPersisted}
+     * @param taskEvent task event which is persisted
+     * @param callback  callback of the task event
+     */
+    public static void runAfterPersisted(CompletableFuture<Void> future, TaskEvent taskEvent, Runnable callback) {
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Persist the task event: {} failed, will not ack the worker", taskEvent, throwable);
+                return;
+            }
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.error("Handle the persisted task event: {} error", taskEvent, e);
+            }
+        });
+    }
+
+    public synchronized int getPendingSize() {
+        return pendingTaskInstances.size() + flushingTaskInstances.size();
+    }
+
+    /**
+     * Wait until the pending task instances reach the batch size or the flush interval elapsed since the first one
+     * came, then take a batch of them.
+     */
+    synchronized Map<Integer, PendingTaskInstance> awaitBatch() throws InterruptedException {
+        while (pendingTaskInstances.isEmpty()) {
+            wait();
+        }
+        long deadline = System.currentTimeMillis() + getConfig().getFlushInterval().toMillis();
+        long remainingMillis;
+        while (pendingTaskInstances.size() < getConfig().getBatchSize()
+                && (remainingMillis = deadline - System.currentTimeMillis()) > 0) {
+            wait(remainingMillis);
+        }
+        return takeBatch();
+    }
+
+    private synchronized Map<Integer, PendingTaskInstance> takeBatch() {
+        Map<Integer, PendingTaskInstance> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<Integer, PendingTaskInstance>> iterator = pendingTaskInstances.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < getConfig().getBatchSize()) {
+            Map.Entry<Integer, PendingTaskInstance> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+        flushingTaskInstances = batch;
+        return batch;
+    }
+
+    /**
+     * Flush the batch into db, the changes are applied to the cached task instances and the futures are completed if
+     * success, otherwise the batch is put back to be retried. The futures of the task instances whose rows don't exist
+     * are completed exceptionally, their changes are discarded. The changes of the task instances which are already
+     * finished are neither written nor applied, but their futures are completed.
+     *
+     * @return true if the batch is committed
+     */
+    boolean flush(Map<Integer, PendingTaskInstance> batch) {
+        synchronized (writeLock) {
+            return doFlush(batch);
+        }
+    }
+
+    private boolean doFlush(Map<Integer, PendingTaskInstance> batch) {
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        synchronized (this) {
+            for (PendingTaskInstance pendingTaskInstance : batch.values()) {
+                // the task instance is finished by other updates, e.g. kill, its pending changes are stale
+                if (!pendingTaskInstance.taskInstance.getState().isFinished()) {
+                    taskInstances.add(pendingTaskInstance.snapshot);
+                }
+            }
+        }
+        long startTime = System.currentTimeMillis();
+        List<TaskInstance> notUpdatedTaskInstances;
+        try {
+            notUpdatedTaskInstances = taskInstanceDao.updateBatchById(taskInstances);
+        } catch (Exception e) {
+            log.error("Flush {} task instances into db failed, will retry later", taskInstances.size(), e);
+            TaskMetrics.incTaskInstancePersistFailed();
+            putBack(batch);
+            return false;
+        }
+        TaskMetrics.recordTaskInstancePersist(taskInstances.size(), System.currentTimeMillis() - startTime);
+
+        Set<Integer> notUpdatedTaskInstanceIds = notUpdatedTaskInstances.stream()
+                .map(TaskInstance::getId)
+                .collect(Collectors.toSet());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<CompletableFuture<Void>> failedFutures = new ArrayList<>();
+        synchronized (this) {
+            flushingTaskInstances = Collections.emptyMap();
+            for (PendingTaskInstance pendingTaskInstance : batch.values()) {
+                if (notUpdatedTaskInstanceIds.contains(pendingTaskInstance.snapshot.getId())) {
+                    log.error("Flush task instance: {} into db failed, the task instance doesn't exist",
+                            pendingTaskInstance.snapshot.getId());
+                    failedFutures.addAll(pendingTaskInstance.futures);
+                    continue;
+                }
+                if (pendingTaskInstance.taskInstance.getState().isFinished()) {
+                    log.info("Discard the pending changes of task instance: {}, it is already finished: {}",
+                            pendingTaskInstance.taskInstance.getId(), pendingTaskInstance.taskInstance.getState());
+                } else {
+                    pendingTaskInstance.changes.forEach(change -> change.accept(pendingTaskInstance.taskInstance));
+                }
+                futures.addAll(pendingTaskInstance.futures);
+            }
+        }
+        for (CompletableFuture<Void> future : failedFutures) {
+            future.completeExceptionally(new IllegalStateException("The task instance doesn't exist in db"));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.complete(null);
+            } catch (Exception e) {
+                log.error("Handle the persisted task instance error", e);
+            }
+        }
+        return true;
+    }
+
+    private synchronized void putBack(Map<Integer, PendingTaskInstance> batch) {
+        flushingTaskInstances = Collections.emptyMap();
+        for (Map.Entry<Integer, PendingTaskInstance> entry : batch.entrySet()) {
+            PendingTaskInstance newerTaskInstance = pendingTaskInstances.get(entry.getKey());
+            if (newerTaskInstance == null) {
+                pendingTaskInstances.put(entry.getKey(), entry.getValue());
+            } else {
+                // keep the newer snapshot which contains the older changes, the changes are applied and the futures are
+                // completed in the order they are added
+                newerTaskInstance.changes.addAll(0, entry.getValue().changes);
+                newerTaskInstance.futures.addAll(0, entry.getValue().futures);
+            }
+        }
+    }
+
+    private TaskInstance createSnapshot(TaskInstance taskInstance, List<Consumer<TaskInstance>> changes) {
+        TaskInstance snapshot = new TaskInstance();
+        TaskInstanceUtils.copyTaskInstance(taskInstance, snapshot);
+        changes.forEach(change -> change.accept(snapshot));
+        return snapshot;
+    }
+
+    private TaskInstancePersistConfig getConfig() {
+        return masterConfig.getTaskInstancePersist();
+    }
+
+    static class PendingTaskInstance {
+
+        /**
+         * The cached task instance which the changes are applied to once committed.
+         */
+        private final TaskInstance taskInstance;
+
+        /**
+         * The snapshot of the cached task instance with the changes applied, which is written into db.
+         */
+        private TaskInstance snapshot;
+
+        private final List<Consumer<TaskInstance>> changes = new ArrayList<>();
+
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        PendingTaskInstance(TaskInstance taskInstance) {
+            this.taskInstance = taskInstance;
+        }
+    }
+
+    class TaskInstanceFlushThread extends BaseDaemonThread {
+
+        protected TaskInstanceFlushThread() {
+            super("TaskInstanceFlushThread");
+        }
+
+        @Override
+        public void run() {
+            while (!ServerLifeCycleManager.isStopped()) {
+                try {
+                    if (!flush(awaitBatch())) {
+                        TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("TaskInstance flush thread interrupted, will return this loop");
+                    break;
+                } catch (Exception e) {
+                    log.error("TaskInstance flush thread error", e);
+                }
+            }
+        }
+    }
+}
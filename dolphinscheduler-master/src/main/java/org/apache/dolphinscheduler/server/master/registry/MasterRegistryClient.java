@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.registry.api.ConnectionState;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
@@ -66,6 +67,11 @@ public class MasterRegistryClient implements AutoCloseable {
             registry();
             registryClient.addConnectionStateListener(
                     new MasterConnectionStateListener(masterConfig, registryClient, masterConnectStrategy));
+            registryClient.addConnectionStateListener(state -> {
+                if (state == ConnectionState.RECONNECTED) {
+                    masterHeartBeatTask.forceWriteNextHeartBeat();
+                }
+            });
             registryClient.subscribe(RegistryNodeType.ALL_SERVERS.getRegistryPath(), new MasterRegistryDataListener());
         } catch (Exception e) {
             throw new RegistryException("Master registry client start up error", e);
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.registry;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -34,28 +33,22 @@ import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.service.queue.MasterPriorityQueue;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 
 import javax.annotation.PreDestroy;
 
@@ -71,22 +64,28 @@ public class ServerNodeManager implements InitializingBean {
 
     private final Lock masterLock = new ReentrantLock();
 
-    private final ReentrantReadWriteLock workerGroupLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock workerGroupReadLock = workerGroupLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock workerGroupWriteLock = workerGroupLock.writeLock();
+    /**
+     * Serialize the writers of the worker topology, the readers never take it.
+     */
+    private final Lock workerTopologyLock = new ReentrantLock();
 
-    private final ReentrantReadWriteLock workerNodeInfoLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock workerNodeInfoReadLock = workerNodeInfoLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock workerNodeInfoWriteLock = workerNodeInfoLock.writeLock();
+    /**
+     * The latest worker topology, combining the worker heartbeats in registry and the worker groups in db.
+     */
+    private volatile WorkerTopology workerTopology = WorkerTopology.EMPTY;
 
     /**
-     * worker group nodes, workerGroup -> ips, combining registryWorkerGroupNodes and dbWorkerGroupNodes
+     * The worker groups loaded from db at the last sync, guarded by {@link #workerTopologyLock}.
      */
-    private final ConcurrentHashMap<String, Set<String>> workerGroupNodes = new ConcurrentHashMap<>();
+    private List<WorkerGroup> dbWorkerGroups = Collections.emptyList();
 
-    private final Set<String> masterNodes = new HashSet<>();
+    /**
+     * The raw heartbeat of each worker at the last sync, guarded by {@link #workerTopologyLock}, used to skip parsing
+     * the heartbeats which are not changed.
+     */
+    private final Map<String, String> workerHeartBeatJsons = new HashMap<>();
 
-    private final Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>();
+    private final Set<String> masterNodes = new HashSet<>();
 
     /**
      * executor service
@@ -107,8 +106,6 @@ public class ServerNodeManager implements InitializingBean {
     @Autowired
     private MasterConfig masterConfig;
 
-    private final List<WorkerInfoChangeListener> workerInfoChangeListeners = new ArrayList<>();
-
     private volatile int currentSlot = 0;
 
     private volatile int totalSlot = 0;
@@ -155,12 +152,83 @@ public class ServerNodeManager implements InitializingBean {
     }
 
     /**
-     * Refresh worker nodes and worker group mapping information
+     * Refresh worker nodes and worker group mapping information, the worker nodes are rebuilt from the registry, so
+     * the workers which are gone from the registry are removed even if their remove events are missed or raced.
      */
     private void refreshWorkerNodesAndGroupMappings() {
-        updateWorkerNodes();
-        updateWorkerGroupMappings();
-        notifyWorkerInfoChangeListeners();
+        Map<String, String> workerNodeMaps = registryClient.getServerMaps(RegistryNodeType.WORKER);
+        List<WorkerGroup> workerGroups = workerGroupMapper.queryAllWorkerGroup();
+
+        workerTopologyLock.lock();
+        try {
+            boolean changed = !workerGroups.equals(dbWorkerGroups);
+            dbWorkerGroups = workerGroups;
+            Map<String, WorkerHeartBeat> currentWorkerNodeInfo = workerTopology.getWorkerNodeInfo();
+            Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>();
+            for (Map.Entry<String, String> entry : workerNodeMaps.entrySet()) {
+                String workerAddress = entry.getKey();
+                String heartBeatJson = entry.getValue();
+                WorkerHeartBeat heartBeat = currentWorkerNodeInfo.get(workerAddress);
+                if (heartBeat == null || !Objects.equals(heartBeatJson, workerHeartBeatJsons.get(workerAddress))) {
+                    heartBeat = JSONUtils.parseObject(heartBeatJson, WorkerHeartBeat.class);
+                    if (heartBeat == null) {
+                        continue;
+                    }
+                    workerHeartBeatJsons.put(workerAddress, heartBeatJson);
+                    changed = true;
+                }
+                workerNodeInfo.put(workerAddress, heartBeat);
+            }
+            for (String workerAddress : currentWorkerNodeInfo.keySet()) {
+                if (!workerNodeInfo.containsKey(workerAddress)) {
+                    log.info("Worker: {} is not in the registry, remove it", workerAddress);
+                    workerHeartBeatJsons.remove(workerAddress);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                publishWorkerTopology(workerNodeInfo);
+            }
+        } finally {
+            workerTopologyLock.unlock();
+        }
+    }
+
+    /**
+     * Apply the change of a single worker to the topology.
+     *
+     * @param workerAddress worker address
+     * @param heartBeatJson the latest heartbeat of the worker, null means the worker is removed
+     */
+    private void syncSingleWorkerNodeInfo(String workerAddress, String heartBeatJson) {
+        workerTopologyLock.lock();
+        try {
+            Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>(workerTopology.getWorkerNodeInfo());
+            if (heartBeatJson == null) {
+                workerHeartBeatJsons.remove(workerAddress);
+                if (workerNodeInfo.remove(workerAddress) == null) {
+                    return;
+                }
+            } else {
+                if (workerNodeInfo.containsKey(workerAddress)
+                        && heartBeatJson.equals(workerHeartBeatJsons.get(workerAddress))) {
+                    return;
+                }
+                WorkerHeartBeat heartBeat = JSONUtils.parseObject(heartBeatJson, WorkerHeartBeat.class);
+                if (heartBeat == null) {
+                    return;
+                }
+                workerHeartBeatJsons.put(workerAddress, heartBeatJson);
+                workerNodeInfo.put(workerAddress, heartBeat);
+            }
+            publishWorkerTopology(workerNodeInfo);
+        } finally {
+            workerTopologyLock.unlock();
+        }
+    }
+
+    private void publishWorkerTopology(Map<String, WorkerHeartBeat> workerNodeInfo) {
+        workerTopology = WorkerTopology.of(workerTopology.getVersion() + 1, dbWorkerGroups, workerNodeInfo);
     }
 
     /**
@@ -178,15 +246,16 @@ public class ServerNodeManager implements InitializingBean {
                     String[] parts = path.split("/");
                     final String workerAddress = parts[parts.length - 1];
 
-                    // todo: update workerNodeInfo
                     log.debug("received subscribe event : {}", event);
                     if (type == Type.ADD) {
                         log.info("Worker: {} added, currentNode : {}", path, workerAddress);
+                        syncWorkerHeartBeat(workerAddress, data);
                     } else if (type == Type.REMOVE) {
                         log.info("Worker node : {} down.", path);
+                        syncSingleWorkerNodeInfo(workerAddress, null);
                         alertDao.sendServerStoppedAlert(1, path, "WORKER");
                     } else if (type == Type.UPDATE) {
-                        syncSingleWorkerNodeInfo(workerAddress, JSONUtils.parseObject(data, WorkerHeartBeat.class));
+                        syncWorkerHeartBeat(workerAddress, data);
                     }
                 } catch (Exception ex) {
                     log.error("WorkerGroupListener capture data change and get data failed", ex);
@@ -194,13 +263,11 @@ public class ServerNodeManager implements InitializingBean {
             }
         }
 
-        private void syncSingleWorkerNodeInfo(String workerAddress, WorkerHeartBeat info) {
-            workerNodeInfoWriteLock.lock();
-            try {
-                workerNodeInfo.put(workerAddress, info);
-            } finally {
-                workerNodeInfoWriteLock.unlock();
+        private void syncWorkerHeartBeat(String workerAddress, String data) {
+            if (StringUtils.isEmpty(data)) {
+                return;
             }
+            syncSingleWorkerNodeInfo(workerAddress, data);
         }
     }
 
@@ -246,49 +313,6 @@ public class ServerNodeManager implements InitializingBean {
 
     }
 
-    private void updateWorkerNodes() {
-        workerGroupWriteLock.lock();
-        try {
-            Map<String, String> workerNodeMaps = registryClient.getServerMaps(RegistryNodeType.WORKER);
-            for (Map.Entry<String, String> entry : workerNodeMaps.entrySet()) {
-                workerNodeInfo.put(entry.getKey(), JSONUtils.parseObject(entry.getValue(), WorkerHeartBeat.class));
-            }
-        } finally {
-            workerGroupWriteLock.unlock();
-        }
-    }
-
-    private void updateWorkerGroupMappings() {
-        List<WorkerGroup> workerGroups = workerGroupMapper.queryAllWorkerGroup();
-        Map<String, Set<String>> tmpWorkerGroupMappings = new HashMap<>();
-        try {
-            workerNodeInfoReadLock.lock();
-            for (WorkerGroup workerGroup : workerGroups) {
-                String workerGroupName = workerGroup.getName();
-                String[] workerAddresses = workerGroup.getAddrList().split(Constants.COMMA);
-                if (ArrayUtils.isEmpty(workerAddresses)) {
-                    continue;
-                }
-                Set<String> activeWorkerNodes = Arrays.stream(workerAddresses)
-                        .filter(workerNodeInfo::containsKey).collect(Collectors.toSet());
-                tmpWorkerGroupMappings.put(workerGroupName, activeWorkerNodes);
-            }
-            if (!tmpWorkerGroupMappings.containsKey(Constants.DEFAULT_WORKER_GROUP)) {
-                tmpWorkerGroupMappings.put(Constants.DEFAULT_WORKER_GROUP, workerNodeInfo.keySet());
-            }
-        } finally {
-            workerNodeInfoReadLock.unlock();
-        }
-
-        workerGroupWriteLock.lock();
-        try {
-            workerGroupNodes.clear();
-            workerGroupNodes.putAll(tmpWorkerGroupMappings);
-        } finally {
-            workerGroupWriteLock.unlock();
-        }
-    }
-
     /**
      * sync master nodes
      *
@@ -313,13 +337,15 @@ public class ServerNodeManager implements InitializingBean {
         }
     }
 
+    /**
+     * Get the latest worker topology, the returned snapshot will never change.
+     */
+    public WorkerTopology getWorkerTopology() {
+        return workerTopology;
+    }
+
     public Map<String, Set<String>> getWorkerGroupNodes() {
-        workerGroupReadLock.lock();
-        try {
-            return Collections.unmodifiableMap(workerGroupNodes);
-        } finally {
-            workerGroupReadLock.unlock();
-        }
+        return workerTopology.getWorkerGroupNodes();
     }
 
     /**
@@ -329,52 +355,15 @@ public class ServerNodeManager implements InitializingBean {
      * @return worker nodes
      */
     public Set<String> getWorkerGroupNodes(String workerGroup) throws WorkerGroupNotFoundException {
-        workerGroupReadLock.lock();
-        try {
-            if (StringUtils.isEmpty(workerGroup)) {
-                workerGroup = Constants.DEFAULT_WORKER_GROUP;
-            }
-            Set<String> nodes = workerGroupNodes.get(workerGroup);
-            if (nodes == null) {
-                throw new WorkerGroupNotFoundException(String.format("WorkerGroup: %s is invalidated", workerGroup));
-            }
-            if (CollectionUtils.isEmpty(nodes)) {
-                return Collections.emptySet();
-            }
-            return Collections.unmodifiableSet(nodes);
-        } finally {
-            workerGroupReadLock.unlock();
-        }
+        return workerTopology.getWorkerGroupNodes(workerGroup);
     }
 
     public Map<String, WorkerHeartBeat> getWorkerNodeInfo() {
-        return Collections.unmodifiableMap(workerNodeInfo);
+        return workerTopology.getWorkerNodeInfo();
     }
 
     public Optional<WorkerHeartBeat> getWorkerNodeInfo(String workerServerAddress) {
-        workerNodeInfoReadLock.lock();
-        try {
-            return Optional.ofNullable(workerNodeInfo.getOrDefault(workerServerAddress, null));
-        } finally {
-            workerNodeInfoReadLock.unlock();
-        }
-    }
-
-    /**
-     * Add the resource change listener, when the resource changed, the listener will be notified.
-     *
-     * @param listener will be trigger, when the worker node info changed.
-     */
-    public synchronized void addWorkerInfoChangeListener(WorkerInfoChangeListener listener) {
-        workerInfoChangeListeners.add(listener);
-    }
-
-    private void notifyWorkerInfoChangeListeners() {
-        Map<String, Set<String>> workerGroupNodeMap = getWorkerGroupNodes();
-        Map<String, WorkerHeartBeat> workerNodeInfoMap = getWorkerNodeInfo();
-        for (WorkerInfoChangeListener listener : workerInfoChangeListeners) {
-            listener.notify(workerGroupNodeMap, workerNodeInfoMap);
-        }
+        return workerTopology.getWorkerNodeInfo(workerServerAddress);
     }
 
     @PreDestroy
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * An immutable snapshot of the worker nodes and the worker group mappings.
+ * <p>
+ * {@link ServerNodeManager} publishes a new snapshot with a bigger version on each change, so the readers never see a
+ * half updated topology and don't need any lock.
+ */
+@Getter
+public final class WorkerTopology {
+
+    public static final WorkerTopology EMPTY = of(0, Collections.emptyList(), Collections.emptyMap());
+
+    private final long version;
+
+    /**
+     * worker group nodes, workerGroup -> worker addresses
+     */
+    private final Map<String, Set<String>> workerGroupNodes;
+
+    /**
+     * worker node info, worker address -> heartbeat
+     */
+    private final Map<String, WorkerHeartBeat> workerNodeInfo;
+
+    private WorkerTopology(long version,
+                           Map<String, Set<String>> workerGroupNodes,
+                           Map<String, WorkerHeartBeat> workerNodeInfo) {
+        this.version = version;
+        this.workerGroupNodes = workerGroupNodes;
+        this.workerNodeInfo = workerNodeInfo;
+    }
+
+    /**
+     * Build a topology, the worker group only contains the workers which are alive in the given worker node info.
+     *
+     * @param version        version of the topology
+     * @param workerGroups   worker groups defined in the db
+     * @param workerNodeInfo worker node info, worker address -> heartbeat
+     */
+    public static WorkerTopology of(long version,
+                                    Collection<WorkerGroup> workerGroups,
+                                    Map<String, WorkerHeartBeat> workerNodeInfo) {
+        Map<String, WorkerHeartBeat> nodeInfo = Collections.unmodifiableMap(new HashMap<>(workerNodeInfo));
+        Map<String, Set<String>> groupNodes = new HashMap<>();
+        for (WorkerGroup workerGroup : workerGroups) {
+            String[] workerAddresses = workerGroup.getAddrList().split(Constants.COMMA);
+            if (ArrayUtils.isEmpty(workerAddresses)) {
+                continue;
+            }
+            Set<String> activeWorkerNodes = Arrays.stream(workerAddresses)
+                    .filter(nodeInfo::containsKey).collect(Collectors.toSet());
+            groupNodes.put(workerGroup.getName(), Collections.unmodifiableSet(activeWorkerNodes));
+        }
+        if (!groupNodes.containsKey(Constants.DEFAULT_WORKER_GROUP)) {
+            groupNodes.put(Constants.DEFAULT_WORKER_GROUP, nodeInfo.keySet());
+        }
+        return new WorkerTopology(version, Collections.unmodifiableMap(groupNodes), nodeInfo);
+    }
+
+    /**
+     * get worker group nodes
+     *
+     * @param workerGroup workerGroup, the default worker group will be used if it is empty
+     * @return worker nodes
+     * @throws WorkerGroupNotFoundException if the worker group doesn't exist
+     */
+    public Set<String> getWorkerGroupNodes(String workerGroup) throws WorkerGroupNotFoundException {
+        if (StringUtils.isEmpty(workerGroup)) {
+            workerGroup = Constants.DEFAULT_WORKER_GROUP;
+        }
+        Set<String> nodes = workerGroupNodes.get(workerGroup);
+        if (nodes == null) {
+            throw new WorkerGroupNotFoundException(String.format("WorkerGroup: %s is invalidated", workerGroup));
+        }
+        return nodes;
+    }
+
+    public Optional<WorkerHeartBeat> getWorkerNodeInfo(String workerAddress) {
+        return Optional.ofNullable(workerNodeInfo.get(workerAddress));
+    }
+
+}
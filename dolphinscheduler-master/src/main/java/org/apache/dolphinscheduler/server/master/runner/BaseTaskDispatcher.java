@@ -19,11 +19,7 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import org.apache.dolphinscheduler.common.enums.TaskEventType;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
-import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.task.TaskDispatchRequest;
 import org.apache.dolphinscheduler.remote.command.task.TaskDispatchResponse;
@@ -38,7 +34,6 @@ import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
-import java.util.Date;
 import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
@@ -72,6 +67,10 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
         }
         taskExecuteRunnable.getTaskExecutionContext().setHost(taskInstanceDispatchHost.getAddress());
         doDispatch(taskExecuteRunnable);
+        onDispatchSuccess(taskExecuteRunnable, taskInstanceDispatchHost);
+    }
+
+    protected void onDispatchSuccess(TaskExecuteRunnable taskExecuteRunnable, Host taskInstanceDispatchHost) {
         taskExecuteRunnable.getTaskInstance().setHost(taskInstanceDispatchHost.getAddress());
         log.info("Success dispatch task {} to {}.", taskExecuteRunnable.getTaskExecutionContext().getTaskName(),
                 taskInstanceDispatchHost.getAddress());
@@ -87,7 +86,7 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
             Message message = masterRpcClient.sendSyncCommand(Host.of(taskExecutionContext.getHost()),
                     taskDispatchRequest.convert2Command());
             TaskDispatchResponse taskDispatchResponse =
-                    JSONUtils.parseObject(message.getBody(), TaskDispatchResponse.class);
+                    message.parseBody(TaskDispatchResponse.class);
             if (!taskDispatchResponse.isDispatchSuccess()) {
                 throw new TaskDispatchException(String.format("Dispatch task to %s failed, response is: %s",
                         taskExecutionContext.getHost(), taskDispatchResponse));
@@ -112,21 +111,7 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
         taskEventService.addEvent(taskEvent);
     }
 
-    private void addDispatchFailedEvent(TaskExecuteRunnable taskExecuteRunnable) {
-        TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
-        TaskEvent taskEvent = TaskEvent.builder()
-                .processInstanceId(taskExecutionContext.getProcessInstanceId())
-                .taskInstanceId(taskExecutionContext.getTaskInstanceId())
-                .state(TaskExecutionStatus.FAILURE)
-                .logPath(taskExecutionContext.getLogPath())
-                .executePath(taskExecutionContext.getExecutePath())
-                .appIds(taskExecutionContext.getAppIds())
-                .processId(taskExecutionContext.getProcessId())
-                .varPool(taskExecutionContext.getVarPool())
-                .startTime(DateUtils.timeStampToDate(taskExecutionContext.getStartTime()))
-                .endTime(new Date())
-                .event(TaskEventType.RESULT)
-                .build();
-        taskEventService.addEvent(taskEvent);
+    protected void addDispatchFailedEvent(TaskExecuteRunnable taskExecuteRunnable) {
+        taskEventService.addEvent(TaskEvent.newDispatchFailedEvent(taskExecuteRunnable.getTaskExecutionContext()));
     }
 }
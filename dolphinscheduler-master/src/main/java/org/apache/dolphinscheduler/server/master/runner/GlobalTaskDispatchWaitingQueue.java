@@ -17,30 +17,148 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.utils.TaskUtils;
 
-import java.util.concurrent.PriorityBlockingQueue;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * The waiting dispatch tasks are partitioned by worker group, the master tasks are in a separate partition.
+ */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueue {
 
-    private final PriorityBlockingQueue<DefaultTaskExecuteRunnable> queue = new PriorityBlockingQueue<>();
+    public static final String MASTER_TASK_PARTITION = "[master]";
+
+    private final Map<String, TaskDispatchWaitingQueuePartition> partitions = new ConcurrentHashMap<>();
+
+    private final List<Consumer<TaskDispatchWaitingQueuePartition>> partitionCreatedListeners =
+            new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<TaskDispatchWaitingQueuePartition>> partitionRemovedListeners =
+            new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private MasterConfig masterConfig;
 
     public void submitNeedToDispatchTaskExecuteRunnable(DefaultTaskExecuteRunnable priorityTaskExecuteRunnable) {
-        queue.put(priorityTaskExecuteRunnable);
+        String partitionName = getPartitionName(priorityTaskExecuteRunnable);
+        // the partition may be closed as idle after it's got, then a new partition will be created
+        while (!getOrCreatePartition(partitionName).submit(priorityTaskExecuteRunnable)) {
+            log.debug("The task dispatch waiting queue partition: {} is closed, will submit to the new one",
+                    partitionName);
+        }
     }
 
-    public DefaultTaskExecuteRunnable takeNeedToDispatchTaskExecuteRunnable() throws InterruptedException {
-        return queue.take();
+    public int getWaitingDispatchTaskNumber() {
+        return partitions.values().stream().mapToInt(TaskDispatchWaitingQueuePartition::getWaitingTaskNumber).sum();
     }
 
-    public int getWaitingDispatchTaskNumber() {
-        return queue.size();
+    /**
+     * Whether the master task partition reaches its capacity, it's shared by all the worker groups, so no command
+     * should be fetched once it's full.
+     */
+    public boolean isMasterTaskPartitionFull() {
+        TaskDispatchWaitingQueuePartition partition = partitions.get(MASTER_TASK_PARTITION);
+        return partition != null && partition.isFull();
+    }
+
+    /**
+     * Get the worker groups whose partition reaches its capacity, used to apply back pressure to the commands of the
+     * worker groups before they are fetched.
+     */
+    public Set<String> getFullWorkerGroups() {
+        return partitions.values().stream()
+                .filter(partition -> !MASTER_TASK_PARTITION.equals(partition.getName()))
+                .filter(TaskDispatchWaitingQueuePartition::isFull)
+                .map(TaskDispatchWaitingQueuePartition::getName)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Register a listener which will be called when a partition is created, the existing partitions will be passed to
+     * the listener immediately.
+     */
+    public synchronized void registerPartitionCreatedListener(Consumer<TaskDispatchWaitingQueuePartition> listener) {
+        partitions.values().forEach(listener);
+        partitionCreatedListeners.add(listener);
+    }
+
+    /**
+     * Register a listener which will be called when a partition is removed.
+     */
+    public void registerPartitionRemovedListener(Consumer<TaskDispatchWaitingQueuePartition> listener) {
+        partitionRemovedListeners.add(listener);
+    }
+
+    /**
+     * Remove the partitions which are empty and idle for the given time, so the partitions, their dispatch threads and
+     * metrics of the deleted or renamed worker groups are not leaked.
+     */
+    public synchronized void removeIdlePartitions(long idleMillis) {
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        for (TaskDispatchWaitingQueuePartition partition : partitions.values()) {
+            if (!partition.closeIfIdleSince(idleSince)) {
+                continue;
+            }
+            partitions.remove(partition.getName());
+            TaskMetrics.removeTaskDispatchWorkerGroupMeters(partition.getName());
+            log.info("Removed idle task dispatch waiting queue partition: {}", partition.getName());
+            for (Consumer<TaskDispatchWaitingQueuePartition> listener : partitionRemovedListeners) {
+                listener.accept(partition);
+            }
+        }
+    }
+
+    private TaskDispatchWaitingQueuePartition getOrCreatePartition(String partitionName) {
+        TaskDispatchWaitingQueuePartition partition = partitions.get(partitionName);
+        if (partition != null) {
+            return partition;
+        }
+        synchronized (this) {
+            partition = partitions.get(partitionName);
+            if (partition != null) {
+                return partition;
+            }
+            partition = new TaskDispatchWaitingQueuePartition(partitionName,
+                    masterConfig.getTaskDispatchQueue().getCapacityPerWorkerGroup());
+            partitions.put(partitionName, partition);
+            TaskMetrics.registerTaskDispatchWaitingQueueSizeGauge(partitionName,
+                    partition::getWaitingTaskNumber);
+            log.info("Created task dispatch waiting queue partition: {}", partitionName);
+            for (Consumer<TaskDispatchWaitingQueuePartition> listener : partitionCreatedListeners) {
+                listener.accept(partition);
+            }
+            return partition;
+        }
+    }
+
+    private String getPartitionName(DefaultTaskExecuteRunnable taskExecuteRunnable) {
+        if (TaskUtils.isMasterTask(taskExecuteRunnable.getTaskInstance().getTaskType())) {
+            return MASTER_TASK_PARTITION;
+        }
+        return normalizeWorkerGroup(taskExecuteRunnable.getTaskExecutionContext().getWorkerGroup());
+    }
+
+    private String normalizeWorkerGroup(String workerGroup) {
+        return StringUtils.isBlank(workerGroup) ? Constants.DEFAULT_WORKER_GROUP : workerGroup;
     }
 
 }
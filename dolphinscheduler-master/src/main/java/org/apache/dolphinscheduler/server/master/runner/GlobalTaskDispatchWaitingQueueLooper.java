@@ -17,23 +17,46 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskDispatchQueueConfig;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+import org.apache.dolphinscheduler.server.master.runner.TaskDispatchWaitingQueuePartition.WaitingTask;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Start {@link MasterConfig#getDispatchTaskNumber()} dispatch threads for each partition of the
+ * {@link GlobalTaskDispatchWaitingQueue}. Each thread takes a batch of tasks in a small window, the tasks bound for the
+ * same worker are sent in one request. The failed task will be put back to its partition after a delay, which is
+ * doubled after each failure, so a failed task will not block other tasks. The task whose workflow or itself is no
+ * longer active is dropped from its partition instead, the task whose worker group is not found is failed by the
+ * {@link TaskDispatcher} and is not retried.
+ */
 @Slf4j
 @Component
-public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
+public class GlobalTaskDispatchWaitingQueueLooper implements AutoCloseable {
 
     @Autowired
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
@@ -41,59 +64,198 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
-    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+    @Autowired
+    private MasterConfig masterConfig;
 
-    private final AtomicInteger DISPATCHED_TIMES = new AtomicInteger();
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
-    private static final Integer MAX_DISPATCHED_FAILED_TIMES = 100;
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    public GlobalTaskDispatchWaitingQueueLooper() {
-        super("GlobalTaskDispatchWaitingQueueLooper");
-    }
+    private final List<TaskDispatchThread> taskDispatchThreads = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService dispatchRetryExecutor;
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("The GlobalTaskDispatchWaitingQueueLooper already started, will not start again");
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
-        super.start();
+        dispatchRetryExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("TaskDispatchRetryThread");
+        globalTaskDispatchWaitingQueue.registerPartitionRemovedListener(this::stopTaskDispatchThreads);
+        globalTaskDispatchWaitingQueue.registerPartitionCreatedListener(this::startTaskDispatchThreads);
+        long partitionIdleTimeoutMillis = masterConfig.getTaskDispatchQueue().getPartitionIdleTimeout().toMillis();
+        dispatchRetryExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                globalTaskDispatchWaitingQueue.removeIdlePartitions(partitionIdleTimeoutMillis);
+            } catch (Exception e) {
+                log.error("Remove idle task dispatch waiting queue partitions error", e);
+            }
+        }, partitionIdleTimeoutMillis, partitionIdleTimeoutMillis, TimeUnit.MILLISECONDS);
         log.info("GlobalTaskDispatchWaitingQueueLooper started...");
     }
 
-    @Override
-    public void run() {
-        DefaultTaskExecuteRunnable defaultTaskExecuteRunnable;
-        while (RUNNING_FLAG.get()) {
-            try {
-                defaultTaskExecuteRunnable = globalTaskDispatchWaitingQueue.takeNeedToDispatchTaskExecuteRunnable();
-            } catch (InterruptedException e) {
-                log.warn("Get waiting dispatch task failed, the current thread has been interrupted, will stop loop");
-                Thread.currentThread().interrupt();
-                break;
+    private void startTaskDispatchThreads(TaskDispatchWaitingQueuePartition partition) {
+        for (int i = 0; i < masterConfig.getDispatchTaskNumber(); i++) {
+            TaskDispatchThread taskDispatchThread = new TaskDispatchThread(partition, i);
+            taskDispatchThreads.add(taskDispatchThread);
+            taskDispatchThread.start();
+        }
+        log.info("Started {} dispatch threads for partition: {}", masterConfig.getDispatchTaskNumber(),
+                partition.getName());
+    }
+
+    /**
+     * The removed partition has no waiting task, so its dispatch threads are blocked in taking tasks.
+     */
+    private void stopTaskDispatchThreads(TaskDispatchWaitingQueuePartition partition) {
+        for (TaskDispatchThread taskDispatchThread : taskDispatchThreads) {
+            if (taskDispatchThread.partition == partition) {
+                taskDispatchThread.interrupt();
+                taskDispatchThreads.remove(taskDispatchThread);
             }
+        }
+        log.info("Stopped the dispatch threads for partition: {}", partition.getName());
+    }
+
+    private void dispatch(TaskDispatchWaitingQueuePartition partition, List<WaitingTask> waitingTasks) {
+        Map<TaskDispatcher, List<WaitingTask>> dispatcherWaitingTasks = new LinkedHashMap<>();
+        for (WaitingTask waitingTask : waitingTasks) {
+            if (!isTaskActive(waitingTask.getTaskExecuteRunnable())) {
+                onTaskInactive(partition, waitingTask);
+                continue;
+            }
+            TaskDispatcher taskDispatcher = taskDispatchFactory
+                    .getTaskDispatcher(waitingTask.getTaskExecuteRunnable().getTaskInstance().getTaskType());
+            dispatcherWaitingTasks.computeIfAbsent(taskDispatcher, dispatcher -> new ArrayList<>()).add(waitingTask);
+        }
+        dispatcherWaitingTasks.forEach((taskDispatcher, dispatcherTasks) -> {
+            Map<Integer, Exception> failedTasks;
             try {
-                final TaskDispatcher taskDispatcher = taskDispatchFactory
-                        .getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance().getTaskType());
-                taskDispatcher.dispatchTask(defaultTaskExecuteRunnable);
-                DISPATCHED_TIMES.set(0);
+                failedTasks = taskDispatcher.dispatchTasks(dispatcherTasks.stream()
+                        .map(WaitingTask::getTaskExecuteRunnable)
+                        .collect(Collectors.toList()));
             } catch (Exception e) {
-                globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable);
-                if (DISPATCHED_TIMES.incrementAndGet() > MAX_DISPATCHED_FAILED_TIMES) {
-                    ThreadUtils.sleep(10 * 1000L);
+                failedTasks = new HashMap<>();
+                for (WaitingTask waitingTask : dispatcherTasks) {
+                    failedTasks.put(waitingTask.getTaskExecuteRunnable().getTaskInstance().getId(), e);
+                }
+            }
+            for (WaitingTask waitingTask : dispatcherTasks) {
+                Exception failedCause =
+                        failedTasks.get(waitingTask.getTaskExecuteRunnable().getTaskInstance().getId());
+                if (failedCause == null) {
+                    onDispatchSuccess(partition, waitingTask);
+                } else {
+                    onDispatchFailed(partition, waitingTask, failedCause);
                 }
-                log.error("Dispatch task failed", e);
             }
+        });
+    }
+
+    private void onDispatchSuccess(TaskDispatchWaitingQueuePartition partition, WaitingTask waitingTask) {
+        TaskMetrics.incTaskDispatchByWorkerGroup(partition.getName());
+        TaskMetrics.recordTaskDispatchWaitingTime(partition.getName(),
+                System.currentTimeMillis() - waitingTask.getSubmitTime());
+        // complete the task at last, the meters are removed with the partition once it's empty
+        partition.complete();
+    }
+
+    private void onDispatchFailed(TaskDispatchWaitingQueuePartition partition, WaitingTask waitingTask,
+                                  Exception failedCause) {
+        final DefaultTaskExecuteRunnable defaultTaskExecuteRunnable = waitingTask.getTaskExecuteRunnable();
+        int failedTimes = waitingTask.incrementFailedTimes();
+        long retryDelayMillis = getRetryDelayMillis(failedTimes);
+        log.error("Dispatch task {} failed {} times, will retry after {} ms",
+                defaultTaskExecuteRunnable.getTaskInstance().getName(), failedTimes, retryDelayMillis, failedCause);
+        dispatchRetryExecutor.schedule(() -> {
+            if (isTaskActive(defaultTaskExecuteRunnable)) {
+                partition.resubmit(waitingTask);
+            } else {
+                onTaskInactive(partition, waitingTask);
+            }
+        }, retryDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void onTaskInactive(TaskDispatchWaitingQueuePartition partition, WaitingTask waitingTask) {
+        partition.complete();
+        log.info("The task {} or its workflow is no longer active, drop it from the dispatch waiting queue",
+                waitingTask.getTaskExecuteRunnable().getTaskInstance().getName());
+    }
+
+    /**
+     * The task should not be dispatched once it's finished, e.g. killed, or its workflow is finished or removed from
+     * the cache.
+     */
+    private boolean isTaskActive(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+        TaskExecutionStatus taskExecutionStatus = defaultTaskExecuteRunnable.getTaskInstance().getState();
+        if (taskExecutionStatus != null && taskExecutionStatus.isFinished()) {
+            return false;
         }
-        log.info("GlobalTaskDispatchWaitingQueueLooper started...");
+        WorkflowExecuteRunnable workflowExecuteRunnable = processInstanceExecCacheManager
+                .getByProcessInstanceId(defaultTaskExecuteRunnable.getWorkflowInstance().getId());
+        if (workflowExecuteRunnable == null) {
+            return false;
+        }
+        WorkflowExecutionStatus workflowExecutionStatus =
+                workflowExecuteRunnable.getWorkflowExecuteContext().getWorkflowInstance().getState();
+        return workflowExecutionStatus == null || !workflowExecutionStatus.isFinished();
+    }
+
+    private long getRetryDelayMillis(int failedTimes) {
+        TaskDispatchQueueConfig taskDispatchQueueConfig = masterConfig.getTaskDispatchQueue();
+        long retryMaxIntervalMillis = taskDispatchQueueConfig.getRetryMaxInterval().toMillis();
+        long retryDelayMillis = taskDispatchQueueConfig.getRetryInitialInterval().toMillis();
+        for (int i = 1; i < failedTimes && retryDelayMillis < retryMaxIntervalMillis; i++) {
+            retryDelayMillis <<= 1;
+        }
+        return Math.min(retryDelayMillis, retryMaxIntervalMillis);
     }
 
     @Override
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            taskDispatchThreads.forEach(Thread::interrupt);
+            dispatchRetryExecutor.shutdownNow();
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         }
     }
+
+    private class TaskDispatchThread extends BaseDaemonThread {
+
+        private final TaskDispatchWaitingQueuePartition partition;
+
+        private TaskDispatchThread(TaskDispatchWaitingQueuePartition partition, int index) {
+            super("TaskDispatchThread-" + partition.getName() + "-" + index);
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            final TaskDispatchQueueConfig taskDispatchQueueConfig = masterConfig.getTaskDispatchQueue();
+            final int batchSize = taskDispatchQueueConfig.getBatchSize();
+            final long batchWindowMillis = taskDispatchQueueConfig.getBatchWindow().toMillis();
+            while (RUNNING_FLAG.get() && !partition.isClosed()) {
+                List<WaitingTask> waitingTasks = new ArrayList<>();
+                try {
+                    waitingTasks.add(partition.take());
+                    if (batchSize > 1) {
+                        // coalesce the tasks submitted in the window, so that the tasks bound for the same host
+                        // can be sent in one request
+                        partition.drainTo(waitingTasks, batchSize - 1, batchWindowMillis);
+                    }
+                } catch (InterruptedException e) {
+                    log.warn("Get waiting dispatch task failed, the current thread has been interrupted, "
+                            + "will stop loop");
+                    Thread.currentThread().interrupt();
+                    // the taken tasks are dropped since the server is closing
+                    break;
+                }
+                dispatch(partition, waitingTasks);
+            }
+            log.info("TaskDispatchThread of partition: {} stopped...", partition.getName());
+        }
+    }
 }
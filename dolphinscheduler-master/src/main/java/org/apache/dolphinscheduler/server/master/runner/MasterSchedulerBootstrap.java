@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.command.CommandFetchSignal;
+import org.apache.dolphinscheduler.server.master.command.ICommandFetcher;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
@@ -32,14 +34,12 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
 import org.apache.dolphinscheduler.server.master.exception.MasterException;
 import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
-import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
-import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 import org.apache.dolphinscheduler.service.command.CommandService;
 
 import org.apache.commons.collections4.CollectionUtils;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -72,11 +72,17 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     private WorkflowEventLooper workflowEventLooper;
 
     @Autowired
-    private ServerNodeManager serverNodeManager;
+    private ICommandFetcher commandFetcher;
+
+    @Autowired
+    private CommandFetchSignal commandFetchSignal;
 
     @Autowired
     private MasterTaskExecutorBootstrap masterTaskExecutorBootstrap;
 
+    @Autowired
+    private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
+
     protected MasterSchedulerBootstrap() {
         super("MasterCommandLoopThread");
     }
@@ -106,6 +112,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
      */
     @Override
     public void run() {
+        final long minIdleIntervalMillis = masterConfig.getCommandFetchStrategy().getMinIdleInterval().toMillis();
+        final long maxIdleIntervalMillis = masterConfig.getCommandFetchStrategy().getMaxIdleInterval().toMillis();
+        long idleIntervalMillis = minIdleIntervalMillis;
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
@@ -122,12 +131,27 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = findCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
+                if (globalTaskDispatchWaitingQueue.isMasterTaskPartitionFull()) {
+                    log.warn("The task dispatch waiting queue of master tasks is full, cannot consumes commands.");
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                // the commands of a worker group whose task dispatch waiting queue is full are not fetched, so they
+                // are neither claimed nor block the commands of other worker groups
+                Set<String> fullWorkerGroups = globalTaskDispatchWaitingQueue.getFullWorkerGroups();
+                if (!fullWorkerGroups.isEmpty()) {
+                    log.warn(
+                            "The task dispatch waiting queue of worker groups {} is full, cannot consumes their commands.",
+                            fullWorkerGroups);
+                }
+                List<Command> commands = findCommands(fullWorkerGroups);
+                if (CollectionUtils.isEmpty(commands)) {
+                    // indicate that no command, wait until a new command is notified or the idle interval passed
+                    commandFetchSignal.await(idleIntervalMillis);
+                    idleIntervalMillis = Math.min(idleIntervalMillis * 2, maxIdleIntervalMillis);
+                    continue;
+                }
+                idleIntervalMillis = minIdleIntervalMillis;
 
                 commands.parallelStream()
                         .forEach(command -> {
@@ -161,26 +185,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
-    private List<Command> findCommands() throws MasterException {
+    private List<Command> findCommands(Set<String> excludedWorkerGroups) throws MasterException {
         try {
-            long scheduleStartTime = System.currentTimeMillis();
-            int thisMasterSlot = serverNodeManager.getSlot();
-            int masterCount = serverNodeManager.getMasterSize();
-            if (masterCount <= 0) {
-                log.warn("Master count: {} is invalid, the current slot: {}", masterCount, thisMasterSlot);
-                return Collections.emptyList();
-            }
-            int pageSize = masterConfig.getFetchCommandNum();
-            final List<Command> result =
-                    commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
-            if (CollectionUtils.isNotEmpty(result)) {
-                long cost = System.currentTimeMillis() - scheduleStartTime;
-                log.info(
-                        "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, current slot: {}, total slot size: {}",
-                        result.size(), cost, thisMasterSlot, masterCount);
-                ProcessInstanceMetrics.recordCommandQueryTime(cost);
-            }
-            return result;
+            return commandFetcher.fetchCommands(excludedWorkerGroups);
         } catch (Exception ex) {
             throw new MasterException("Master loop command from database error", ex);
         }
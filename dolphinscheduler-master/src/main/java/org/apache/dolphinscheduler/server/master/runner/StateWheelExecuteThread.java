@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.HashedTimingWheel;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
@@ -35,8 +36,11 @@ import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -53,25 +57,36 @@ import org.springframework.stereotype.Component;
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * The check candidates are held in {@link HashedTimingWheel}s keyed by their deadline, so each round only visits the
+ * candidates which may be due, the candidate will be checked again when it fires, and be added back if it is not due.
  */
 @Component
 @Slf4j
 public class StateWheelExecuteThread extends BaseDaemonThread {
 
+    private static final int TICKS_PER_WHEEL = 512;
+
+    /**
+     * ProcessInstance timeout check wheel, element is the processInstanceId.
+     */
+    private HashedTimingWheel<Integer> processInstanceTimeoutCheckWheel;
+
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * task time out check wheel
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceTimeoutCheckWheel;
 
     /**
-     * task time out check list
+     * task retry check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceRetryCheckWheel;
 
     /**
-     * task retry check list
+     * The workflow instances which have task instances waiting to retry, used to find out the ready stop workflow
+     * instance without waiting for the retry interval.
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Set<TaskInstanceKey>> workflowInstanceRetryCheckTasks = new ConcurrentHashMap<>();
 
     @Autowired
     private MasterConfig masterConfig;
@@ -89,6 +104,10 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
 
     @PostConstruct
     public void startWheelThread() {
+        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
+        processInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
+        taskInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
+        taskInstanceRetryCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
         super.start();
     }
 
@@ -97,9 +116,11 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
         final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkProcess4Timeout();
+                long now = System.currentTimeMillis();
+                taskInstanceTimeoutCheckWheel.advance(now, this::checkTask4Timeout);
+                checkProcess4ReadyStop();
+                taskInstanceRetryCheckWheel.advance(now, this::checkTask4Retry);
+                processInstanceTimeoutCheckWheel.advance(now, this::checkProcess4Timeout);
             } catch (Exception e) {
                 log.error("state wheel thread check error:", e);
             }
@@ -114,58 +135,58 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
+        long deadline = getTimeoutDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+        processInstanceTimeoutCheckWheel.add(processInstance.getId(), deadline);
         log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
+        boolean removeFlag = processInstanceTimeoutCheckWheel.cancel(processInstanceId);
         if (removeFlag) {
             log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
-            try (
-                    LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setWorkflowInstanceIdMDC(processInstanceId)) {
-                WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
-                        processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
-                    continue;
-                }
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-                if (processInstance == null) {
-                    log.warn("Check workflow timeout failed, the workflowInstance is null");
-                    continue;
-                }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        (long) processInstance.getTimeout()
-                                * Constants.SEC_2_MINUTES_TIME_UNIT);
-                if (timeRemain < 0) {
-                    log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    log.info("Workflow instance timeout, added timeout event");
-                }
-            } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
+    private void checkProcess4Timeout(Integer processInstanceId) {
+        try (
+                LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
+                        LogUtils.setWorkflowInstanceIdMDC(processInstanceId)) {
+            WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
+                    processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
+                return;
+            }
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+            if (processInstance == null) {
+                log.warn("Check workflow timeout failed, the workflowInstance is null");
+                processInstanceTimeoutCheckWheel.add(processInstanceId, getNextCheckTime());
+                return;
+            }
+            long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
+                    (long) processInstance.getTimeout()
+                            * Constants.SEC_2_MINUTES_TIME_UNIT);
+            if (timeRemain < 0) {
+                log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                log.info("Workflow instance timeout, added timeout event");
+            } else {
+                processInstanceTimeoutCheckWheel.add(processInstanceId,
+                        getTimeoutDeadline(processInstance.getStartTime(), processInstance.getTimeout()));
             }
+        } catch (Exception ex) {
+            log.error("Check workflow instance timeout error, will check it again in the next round", ex);
+            // the fired entry has been removed from the wheel, add it back so the check is not lost
+            processInstanceTimeoutCheckWheel.add(processInstanceId, getNextCheckTime());
         }
     }
 
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutCheckWheel.contains(taskInstanceKey)) {
             log.warn("Task instance is already in timeout check list");
             return;
         }
@@ -175,21 +196,22 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
+            taskInstanceTimeoutCheckWheel.add(taskInstanceKey,
+                    getTimeoutDeadline(taskInstance.getStartTime(), taskDefinition.getTimeout()));
             log.info("Timeout flag is open, added task instance into timeout check list");
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        taskInstanceTimeoutCheckWheel.cancel(taskInstanceKey);
         log.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryCheckWheel.contains(taskInstanceKey)) {
             log.warn("Task instance is already in retry check list");
             return;
         }
@@ -198,134 +220,229 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             log.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
+        if (!taskInstanceRetryCheckWheel.add(taskInstanceKey, getRetryDeadline(taskInstance))) {
+            log.warn("Task instance is already in retry check list");
+            return;
+        }
+        workflowInstanceRetryCheckTasks.compute(processInstance.getId(), (processInstanceId, taskInstanceKeys) -> {
+            if (taskInstanceKeys == null) {
+                taskInstanceKeys = ConcurrentHashMap.newKeySet();
+            }
+            taskInstanceKeys.add(taskInstanceKey);
+            return taskInstanceKeys;
+        });
         log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        removeTask4RetryCheck(taskInstanceKey);
         log.info("remove task instance from retry check list");
     }
 
+    private void removeTask4RetryCheck(TaskInstanceKey taskInstanceKey) {
+        taskInstanceRetryCheckWheel.cancel(taskInstanceKey);
+        workflowInstanceRetryCheckTasks.computeIfPresent(taskInstanceKey.getProcessInstanceId(),
+                (processInstanceId, taskInstanceKeys) -> {
+                    taskInstanceKeys.remove(taskInstanceKey);
+                    return taskInstanceKeys.isEmpty() ? null : taskInstanceKeys;
+                });
+    }
+
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
+        processInstanceTimeoutCheckWheel.clear();
+        taskInstanceTimeoutCheckWheel.clear();
+        taskInstanceRetryCheckWheel.clear();
+        workflowInstanceRetryCheckTasks.clear();
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
+    private void checkTask4Timeout(TaskInstanceKey taskInstanceKey) {
+        try (
+                LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
+                        LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId())) {
+            int processInstanceId = taskInstanceKey.getProcessInstanceId();
+            long taskCode = taskInstanceKey.getTaskCode();
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
+                return;
+            }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
+                                + "will remove this check task",
+                        taskCode);
+                return;
+            }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
+                long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
+                        (long) taskInstance.getTaskDefine().getTimeout()
+                                * Constants.SEC_2_MINUTES_TIME_UNIT);
+                if (timeRemain < 0) {
+                    log.info("Task instance is timeout, adding task timeout event and remove the check");
+                    addTaskTimeoutEvent(taskInstance);
+                } else {
+                    taskInstanceTimeoutCheckWheel.add(taskInstanceKey, getTimeoutDeadline(
+                            taskInstance.getStartTime(), taskInstance.getTaskDefine().getTimeout()));
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Check task timeout error, will check it again in the next round, taskInstanceKey: {}",
+                    taskInstanceKey, ex);
+            taskInstanceTimeoutCheckWheel.add(taskInstanceKey, getNextCheckTime());
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
+    }
+
+    /**
+     * The ready stop workflow instance should be stopped even if its task instances are still waiting to retry, so
+     * the workflow instances which have waiting retry task instances are checked in each round.
+     */
+    private void checkProcess4ReadyStop() {
+        for (Integer processInstanceId : workflowInstanceRetryCheckTasks.keySet()) {
             try (
                     LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId())) {
-                int processInstanceId = taskInstanceKey.getProcessInstanceId();
-                long taskCode = taskInstanceKey.getTaskCode();
-
+                            LogUtils.setWorkflowInstanceIdMDC(processInstanceId)) {
                 WorkflowExecuteRunnable workflowExecuteThread =
                         processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
                 if (workflowExecuteThread == null) {
                     log.warn(
-                            "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+                            "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
+                                    + "will remove the check tasks of this workflow instance");
+                    removeWorkflowInstance4RetryCheck(processInstanceId);
                     continue;
                 }
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
-                if (!taskInstanceOptional.isPresent()) {
+                ProcessInstance processInstance =
+                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+                if (processInstance.getState().isReadyStop()) {
                     log.warn(
-                            "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
-                                    + "will remove this check task",
-                            taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            (long) taskInstance.getTaskDefine().getTimeout()
-                                    * Constants.SEC_2_MINUTES_TIME_UNIT);
-                    if (timeRemain < 0) {
-                        log.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    }
+                            "The process instance is ready to stop, will send process stop event and remove the check tasks");
+                    addProcessStopEvent(processInstance);
+                    removeWorkflowInstance4RetryCheck(processInstanceId);
                 }
             } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+                log.error("Check workflow instance ready stop error, workflowInstanceId: {}", processInstanceId, ex);
             }
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
+    private void removeWorkflowInstance4RetryCheck(int processInstanceId) {
+        Set<TaskInstanceKey> taskInstanceKeys = workflowInstanceRetryCheckTasks.remove(processInstanceId);
+        if (taskInstanceKeys != null) {
+            taskInstanceKeys.forEach(taskInstanceRetryCheckWheel::cancel);
         }
+    }
 
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
-            int processInstanceId = taskInstanceKey.getProcessInstanceId();
-            long taskCode = taskInstanceKey.getTaskCode();
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+    /**
+     * Add the fired retry check back to the wheel if it's still tracked by its workflow instance, otherwise the key
+     * would be left in {@link #workflowInstanceRetryCheckTasks} without a check.
+     */
+    private void rearmTask4RetryCheck(TaskInstanceKey taskInstanceKey) {
+        Set<TaskInstanceKey> taskInstanceKeys =
+                workflowInstanceRetryCheckTasks.get(taskInstanceKey.getProcessInstanceId());
+        if (taskInstanceKeys != null && taskInstanceKeys.contains(taskInstanceKey)) {
+            taskInstanceRetryCheckWheel.add(taskInstanceKey, getNextCheckTime());
+        }
+    }
 
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+    private void checkTask4Retry(TaskInstanceKey taskInstanceKey) {
+        int processInstanceId = taskInstanceKey.getProcessInstanceId();
+        long taskCode = taskInstanceKey.getTaskCode();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
+                                + "will remove this check task");
+                removeTask4RetryCheck(taskInstanceKey);
+                return;
+            }
 
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
-                                    + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+
+            if (processInstance.getState().isReadyStop()) {
+                log.warn(
+                        "The process instance is ready to stop, will send process stop event and remove the check task");
+                addProcessStopEvent(processInstance);
+                removeWorkflowInstance4RetryCheck(processInstanceId);
+                return;
+            }
 
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
+                removeTask4RetryCheck(taskInstanceKey);
+                return;
+            }
 
-                if (processInstance.getState().isReadyStop()) {
-                    log.warn(
-                            "The process instance is ready to stop, will send process stop event and remove the check task");
-                    addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
-                }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            // We check the status to avoid when we do worker failover we submit a failover task, this task may be
+            // resubmit by this
+            // thread
+            if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
+                    && taskInstance.retryTaskIntervalOverTime()) {
+                // reset taskInstance endTime and state
+                // todo relative function: TaskInstance.retryTaskIntervalOverTime,
+                // WorkflowExecuteThread.cloneRetryTaskInstance
+                log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
+                        taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+                taskInstance.setEndTime(null);
+                taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+                addTaskRetryEvent(taskInstance);
+                removeTask4RetryCheck(taskInstanceKey);
+            } else {
+                taskInstanceRetryCheckWheel.add(taskInstanceKey,
+                        Math.max(getRetryDeadline(taskInstance), getNextCheckTime()));
+            }
+        } catch (Exception ex) {
+            log.error("Check task retry error, will check it again in the next round, taskInstanceKey: {}",
+                    taskInstanceKey, ex);
+            rearmTask4RetryCheck(taskInstanceKey);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
+        }
+    }
 
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
+    /**
+     * The check candidate which doesn't start yet will be checked again after the timeout, since it will start
+     * later than now.
+     */
+    private long getTimeoutDeadline(Date startTime, int timeoutMinutes) {
+        long baseTime = startTime == null ? System.currentTimeMillis() : startTime.getTime();
+        return baseTime + (long) timeoutMinutes * Constants.SEC_2_MINUTES_TIME_UNIT * 1000L;
+    }
 
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                // We check the status to avoid when we do worker failover we submit a failover task, this task may be
-                // resubmit by this
-                // thread
-                if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
-                        && taskInstance.retryTaskIntervalOverTime()) {
-                    // reset taskInstance endTime and state
-                    // todo relative function: TaskInstance.retryTaskIntervalOverTime,
-                    // WorkflowExecuteThread.cloneRetryTaskInstance
-                    log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
-                            taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
-                    taskInstance.setEndTime(null);
-                    taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-
-                    addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                }
-            } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+    /**
+     * Get the time when the retry interval of the task instance is over, see
+     * {@link TaskInstance#retryTaskIntervalOverTime()}, which is compared in seconds.
+     */
+    private long getRetryDeadline(TaskInstance taskInstance) {
+        if (taskInstance.getState() != TaskExecutionStatus.FAILURE
+                || taskInstance.getMaxRetryTimes() == 0
+                || taskInstance.getRetryInterval() == 0
+                || taskInstance.getEndTime() == null) {
+            return System.currentTimeMillis();
         }
+        return taskInstance.getEndTime().getTime()
+                + ((long) taskInstance.getRetryInterval() * Constants.SEC_2_MINUTES_TIME_UNIT + 1) * 1000L;
+    }
+
+    private long getNextCheckTime() {
+        return System.currentTimeMillis() + masterConfig.getStateWheelInterval().toMillis();
     }
 
     private void addProcessStopEvent(ProcessInstance processInstance) {
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Track the number of unresolved dependencies of each task in a workflow instance, a dependency is resolved once it
+ * is completed or skipped.
+ * <p>
+ * The count of a task is computed from the graph when it is first queried, then it is maintained incrementally: a
+ * task changing its resolved state only updates the counts of its downstream tasks, so it costs O(out-degree)
+ * instead of walking all the upstream tasks on every check.
+ */
+public class TaskDependencyTracker {
+
+    private final IWorkflowGraph workflowGraph;
+
+    private final Set<Long> resolvedTaskCodes = new HashSet<>();
+
+    private final Map<Long, Integer> unresolvedDependencyCounts = new HashMap<>();
+
+    public TaskDependencyTracker(IWorkflowGraph workflowGraph) {
+        this.workflowGraph = workflowGraph;
+    }
+
+    public synchronized void setResolved(Long taskCode, boolean resolved) {
+        boolean changed = resolved ? resolvedTaskCodes.add(taskCode) : resolvedTaskCodes.remove(taskCode);
+        if (!changed) {
+            return;
+        }
+        int delta = resolved ? -1 : 1;
+        for (Long postTaskCode : workflowGraph.getIndirectPostTaskCodes(taskCode)) {
+            unresolvedDependencyCounts.computeIfPresent(postTaskCode, (k, count) -> count + delta);
+        }
+    }
+
+    /**
+     * @return true if there is any upstream task of the given task neither completed nor skipped
+     */
+    public synchronized boolean hasUnresolvedDependency(Long taskCode) {
+        return unresolvedDependencyCounts.computeIfAbsent(taskCode, this::countUnresolvedDependency) > 0;
+    }
+
+    public synchronized void clear() {
+        resolvedTaskCodes.clear();
+        unresolvedDependencyCounts.clear();
+    }
+
+    private int countUnresolvedDependency(Long taskCode) {
+        int count = 0;
+        for (Long depTaskCode : workflowGraph.getIndirectDepTaskCodes(taskCode)) {
+            if (!resolvedTaskCodes.contains(depTaskCode)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * The waiting dispatch tasks of one worker group, each partition is dispatched by its own threads, so an unreachable
+ * worker group will not block the dispatch of other worker groups.
+ */
+public class TaskDispatchWaitingQueuePartition {
+
+    @Getter
+    private final String name;
+
+    private final int capacity;
+
+    private final PriorityBlockingQueue<WaitingTask> queue = new PriorityBlockingQueue<>();
+
+    /**
+     * The task number which is submitted but not dispatched, the tasks waiting to retry are included.
+     */
+    private final AtomicInteger waitingTaskNumber = new AtomicInteger();
+
+    private volatile long lastActiveTime = System.currentTimeMillis();
+
+    /**
+     * The closed partition is removed from the {@link GlobalTaskDispatchWaitingQueue}, no task can be submitted to it.
+     */
+    @Getter
+    private volatile boolean closed;
+
+    public TaskDispatchWaitingQueuePartition(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Submit the task to the partition.
+     *
+     * @return false if the partition is closed, the task should be submitted to the new partition of the worker group
+     */
+    public synchronized boolean submit(DefaultTaskExecuteRunnable taskExecuteRunnable) {
+        if (closed) {
+            return false;
+        }
+        waitingTaskNumber.incrementAndGet();
+        lastActiveTime = System.currentTimeMillis();
+        queue.put(new WaitingTask(taskExecuteRunnable, lastActiveTime));
+        return true;
+    }
+
+    /**
+     * Close the partition if there is no waiting task and no task is submitted or completed since the given time.
+     *
+     * @return true if the partition is closed
+     */
+    public synchronized boolean closeIfIdleSince(long idleSince) {
+        if (!closed && waitingTaskNumber.get() == 0 && lastActiveTime < idleSince) {
+            closed = true;
+        }
+        return closed;
+    }
+
+    /**
+     * Put the failed task back, the task is still counted as waiting, so it will not be counted again.
+     */
+    public void resubmit(WaitingTask waitingTask) {
+        queue.put(waitingTask);
+    }
+
+    public WaitingTask take() throws InterruptedException {
+        return queue.take();
+    }
+
+    /**
+     * Drain at most maxSize tasks into the given list, wait until the window passed if there are not enough tasks.
+     */
+    public void drainTo(List<WaitingTask> waitingTasks, int maxSize, long windowMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + windowMillis;
+        int drained = queue.drainTo(waitingTasks, maxSize);
+        while (drained < maxSize) {
+            long remainMillis = deadline - System.currentTimeMillis();
+            if (remainMillis <= 0) {
+                return;
+            }
+            WaitingTask waitingTask = queue.poll(remainMillis, TimeUnit.MILLISECONDS);
+            if (waitingTask == null) {
+                return;
+            }
+            waitingTasks.add(waitingTask);
+            drained++;
+            drained += queue.drainTo(waitingTasks, maxSize - drained);
+        }
+    }
+
+    /**
+     * Mark the task is leaving the partition, should be called once the task is dispatched or dropped.
+     */
+    public void complete() {
+        lastActiveTime = System.currentTimeMillis();
+        waitingTaskNumber.decrementAndGet();
+    }
+
+    public int getWaitingTaskNumber() {
+        return waitingTaskNumber.get();
+    }
+
+    public boolean isFull() {
+        return waitingTaskNumber.get() >= capacity;
+    }
+
+    @Getter
+    public static class WaitingTask implements Comparable<WaitingTask> {
+
+        private final DefaultTaskExecuteRunnable taskExecuteRunnable;
+
+        private final long submitTime;
+
+        private int failedTimes;
+
+        private WaitingTask(DefaultTaskExecuteRunnable taskExecuteRunnable, long submitTime) {
+            this.taskExecuteRunnable = taskExecuteRunnable;
+            this.submitTime = submitTime;
+        }
+
+        public int incrementFailedTimes() {
+            return ++failedTimes;
+        }
+
+        @Override
+        public int compareTo(WaitingTask other) {
+            return taskExecuteRunnable.compareTo(other.taskExecuteRunnable);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The parsed varPool of a task instance or a workflow instance, the properties are keyed by the prop name.
+ * <p>
+ * It is immutable: merging or filtering returns a new varPool and leaves this one untouched, so a parsed varPool can
+ * be shared by the downstream tasks. The json is only generated when it is asked for, and only once.
+ */
+public final class VarPool {
+
+    private static final String EMPTY_JSON = "[]";
+
+    public static final VarPool EMPTY = new VarPool(Collections.emptyMap(), EMPTY_JSON);
+
+    private final Map<String, Property> properties;
+
+    private volatile String json;
+
+    private VarPool(Map<String, Property> properties, String json) {
+        this.properties = properties;
+        this.json = json;
+    }
+
+    public static VarPool parse(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return EMPTY;
+        }
+        return new VarPool(toMap(JSONUtils.toList(json, Property.class)), json);
+    }
+
+    public static VarPool of(Collection<Property> properties) {
+        if (properties.isEmpty()) {
+            return EMPTY;
+        }
+        return new VarPool(toMap(properties), null);
+    }
+
+    /**
+     * @return true if this varPool is parsed from or serialized to the given json, then it can be reused
+     */
+    public boolean isSameJson(String json) {
+        if (this == EMPTY) {
+            return StringUtils.isEmpty(json) || EMPTY_JSON.equals(json);
+        }
+        String currentJson = this.json;
+        return currentJson == json || Objects.equals(currentJson, json);
+    }
+
+    public Collection<Property> getProperties() {
+        return properties.values();
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    /**
+     * Merge the given varPool into a new varPool, the properties of the given varPool override the properties with
+     * the same prop name.
+     */
+    public VarPool merge(VarPool other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Map<String, Property> merged = new LinkedHashMap<>(properties);
+        merged.keySet().removeAll(other.properties.keySet());
+        merged.putAll(other.properties);
+        return new VarPool(Collections.unmodifiableMap(merged), null);
+    }
+
+    public VarPool filter(Predicate<Property> predicate) {
+        Map<String, Property> filtered = new LinkedHashMap<>();
+        for (Property property : properties.values()) {
+            if (predicate.test(property)) {
+                filtered.put(property.getProp(), property);
+            }
+        }
+        if (filtered.size() == properties.size()) {
+            return this;
+        }
+        return filtered.isEmpty() ? EMPTY : new VarPool(Collections.unmodifiableMap(filtered), null);
+    }
+
+    public String toJson() {
+        String currentJson = json;
+        if (currentJson == null) {
+            currentJson = JSONUtils.toJsonString(properties.values());
+            json = currentJson;
+        }
+        return currentJson;
+    }
+
+    private static Map<String, Property> toMap(Collection<Property> properties) {
+        Map<String, Property> map = new LinkedHashMap<>();
+        for (Property property : properties) {
+            map.put(property.getProp(), property);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+}
@@ -27,10 +27,16 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleExcept
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
@@ -40,9 +46,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Loop the {@link WorkflowEventQueue}, each queue shard is handled by its own {@link WorkflowEventLooperShard} thread.
+ * The events of the same workflow instance are handled in order, the failed event will be retried after a delay,
+ * and the following events of the same workflow instance will be held until the failed event is handled.
+ */
 @Component
 @Slf4j
-public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseable {
+public class WorkflowEventLooper implements AutoCloseable {
 
     @Autowired
     private WorkflowEventQueue workflowEventQueue;
@@ -52,11 +63,11 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
 
     private final Map<WorkflowEventType, WorkflowEventHandler> workflowEventHandlerMap = new HashMap<>();
 
-    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+    private final List<WorkflowEventLooperShard> workflowEventLooperShards = new ArrayList<>();
 
-    protected WorkflowEventLooper() {
-        super("WorkflowEventLooper");
-    }
+    private ScheduledExecutorService workflowEventRetryExecutor;
+
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
     @PostConstruct
     public void init() {
@@ -65,27 +76,106 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
                         workflowEventHandler));
     }
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("WorkflowEventLooper thread has already started, will not start again");
             return;
         }
         log.info("WorkflowEventLooper starting...");
-        super.start();
-        log.info("WorkflowEventLooper started...");
+        workflowEventRetryExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("WorkflowEventRetryThread");
+        for (int i = 0; i < workflowEventQueue.getShardNum(); i++) {
+            WorkflowEventLooperShard workflowEventLooperShard = new WorkflowEventLooperShard(i);
+            workflowEventLooperShards.add(workflowEventLooperShard);
+            workflowEventLooperShard.start();
+        }
+        log.info("WorkflowEventLooper started, shard size: {}", workflowEventLooperShards.size());
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (!RUNNING_FLAG.compareAndSet(true, false)) {
+            log.info("WorkflowEventLooper thread is not start, no need to close");
+            return;
+        }
+        log.info("WorkflowEventLooper is closing...");
+        workflowEventLooperShards.forEach(Thread::interrupt);
+        workflowEventRetryExecutor.shutdownNow();
+        log.info("WorkflowEventLooper closed...");
     }
 
-    public void run() {
-        WorkflowEvent workflowEvent;
-        while (RUNNING_FLAG.get()) {
-            try {
-                workflowEvent = workflowEventQueue.poolEvent();
-            } catch (InterruptedException e) {
-                log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
-                Thread.currentThread().interrupt();
-                break;
+    private class WorkflowEventLooperShard extends BaseDaemonThread {
+
+        private final int shardIndex;
+
+        /**
+         * The workflow instances which have a failed event waiting to retry, the head of the deque is the failed event,
+         * and the rest are the following events held to keep the order. Only accessed by the shard thread.
+         */
+        private final Map<Integer, Deque<WorkflowEvent>> blockedWorkflowEvents = new HashMap<>();
+
+        /**
+         * The cleared version of the queue when the last event is polled, the blocked events are dropped once the
+         * queue is cleared. Only accessed by the shard thread.
+         */
+        private int clearedVersion = workflowEventQueue.getClearedVersion();
+
+        WorkflowEventLooperShard(int shardIndex) {
+            super("WorkflowEventLooper-" + shardIndex);
+            this.shardIndex = shardIndex;
+        }
+
+        @Override
+        public void run() {
+            WorkflowEvent workflowEvent;
+            while (RUNNING_FLAG.get()) {
+                try {
+                    workflowEvent = workflowEventQueue.poolEvent(shardIndex);
+                } catch (InterruptedException e) {
+                    log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                int currentClearedVersion = workflowEventQueue.getClearedVersion();
+                if (currentClearedVersion != clearedVersion) {
+                    log.info("WorkflowEvent queue is cleared, drop the blocked events of {} workflow instances",
+                            blockedWorkflowEvents.size());
+                    blockedWorkflowEvents.clear();
+                    clearedVersion = currentClearedVersion;
+                }
+                Deque<WorkflowEvent> blockedEvents = blockedWorkflowEvents.get(workflowEvent.getWorkflowInstanceId());
+                if (blockedEvents == null) {
+                    if (!handleWorkflowEvent(workflowEvent)) {
+                        blockWorkflowEvent(workflowEvent);
+                    }
+                    continue;
+                }
+                if (blockedEvents.peekFirst() != workflowEvent) {
+                    // there is a former event of this workflow waiting to retry, hold this event to keep the order
+                    blockedEvents.addLast(workflowEvent);
+                    continue;
+                }
+                // the retried event, once handled, continue to handle the held events
+                while (!blockedEvents.isEmpty()) {
+                    WorkflowEvent blockedEvent = blockedEvents.peekFirst();
+                    if (!handleWorkflowEvent(blockedEvent)) {
+                        scheduleRetry(blockedEvent);
+                        break;
+                    }
+                    blockedEvents.pollFirst();
+                }
+                if (blockedEvents.isEmpty()) {
+                    blockedWorkflowEvents.remove(workflowEvent.getWorkflowInstanceId());
+                }
             }
+        }
+
+        /**
+         * Handle the given workflow event.
+         *
+         * @return false if the event need to be retried
+         */
+        private boolean handleWorkflowEvent(WorkflowEvent workflowEvent) {
+            long startTime = System.currentTimeMillis();
             try (
                     LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
                             LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId())) {
@@ -94,32 +184,43 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
                         workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
                 workflowEventHandler.handleWorkflowEvent(workflowEvent);
                 log.info("Success handle WorkflowEvent: {}", workflowEvent);
+                return true;
             } catch (WorkflowEventHandleException workflowEventHandleException) {
                 log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
                         workflowEventHandleException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                return false;
             } catch (WorkflowEventHandleError workflowEventHandleError) {
                 log.error("Handle workflow event error, will drop this event: {}",
                         workflowEvent,
                         workflowEventHandleError);
+                return true;
             } catch (Exception unknownException) {
                 log.error("Handle workflow event failed, get a unknown exception, will retry again: {}", workflowEvent,
                         unknownException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                return false;
+            } finally {
+                MasterServerMetrics.recordWorkflowEventHandleTime(shardIndex,
+                        System.currentTimeMillis() - startTime);
             }
         }
-    }
 
-    @Override
-    public void close() throws Exception {
-        if (!RUNNING_FLAG.compareAndSet(true, false)) {
-            log.info("WorkflowEventLooper thread is not start, no need to close");
-            return;
+        private void blockWorkflowEvent(WorkflowEvent workflowEvent) {
+            Deque<WorkflowEvent> blockedEvents = new ArrayDeque<>();
+            blockedEvents.addLast(workflowEvent);
+            blockedWorkflowEvents.put(workflowEvent.getWorkflowInstanceId(), blockedEvents);
+            scheduleRetry(workflowEvent);
+        }
+
+        private void scheduleRetry(WorkflowEvent workflowEvent) {
+            // the same event instance will be added back, so that we can distinguish it from the held events, unless
+            // the
+            // queue has been cleared since the event was polled
+            int pollClearedVersion = clearedVersion;
+            workflowEventRetryExecutor.schedule(() -> {
+                if (workflowEventQueue.getClearedVersion() == pollClearedVersion) {
+                    workflowEventQueue.addEvent(workflowEvent);
+                }
+            }, Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
         }
-        log.info("WorkflowEventLooper is closing...");
-        this.interrupt();
-        log.info("WorkflowEventLooper closed...");
     }
 }
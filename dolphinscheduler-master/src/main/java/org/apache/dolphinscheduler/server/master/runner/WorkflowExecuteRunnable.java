@@ -81,6 +81,7 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.exception.TaskExecuteRunnableCreateException;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
@@ -139,6 +140,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
     private final TaskInstanceDao taskInstanceDao;
 
+    private final TaskInstancePersistService taskInstancePersistService;
+
     private final ProcessAlertManager processAlertManager;
 
     private final MasterRpcClient masterRpcClient;
@@ -217,6 +220,28 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      */
     private final Map<Long, TaskInstance> waitToRetryTaskInstanceMap = new ConcurrentHashMap<>();
 
+    /**
+     * the number of unresolved dependencies of each task, it is updated along with completeTaskSet and skipTaskNodeMap
+     */
+    private final TaskDependencyTracker taskDependencyTracker;
+
+    /**
+     * the parsed varPool of the task instances, taskInstanceId as key
+     */
+    private final Map<Integer, VarPool> taskVarPoolCache = new ConcurrentHashMap<>();
+
+    /**
+     * the parsed varPool of the workflow instance
+     */
+    private volatile VarPool workflowVarPool = VarPool.EMPTY;
+
+    private int syncedSkipTaskCount;
+
+    /**
+     * whether a drain of the stateEvents has been scheduled in {@link WorkflowExecuteThreadPool}
+     */
+    private final AtomicBoolean eventsDrainScheduled = new AtomicBoolean(false);
+
     private final StateWheelExecuteThread stateWheelExecuteThread;
 
     private final CuringParamsService curingParamsService;
@@ -236,6 +261,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                    @NonNull StateWheelExecuteThread stateWheelExecuteThread,
                                    @NonNull CuringParamsService curingParamsService,
                                    @NonNull TaskInstanceDao taskInstanceDao,
+                                   @NonNull TaskInstancePersistService taskInstancePersistService,
                                    @NonNull DefaultTaskExecuteRunnableFactory defaultTaskExecuteRunnableFactory) {
         this.processService = processService;
         this.commandService = commandService;
@@ -247,7 +273,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         this.stateWheelExecuteThread = stateWheelExecuteThread;
         this.curingParamsService = curingParamsService;
         this.taskInstanceDao = taskInstanceDao;
+        this.taskInstancePersistService = taskInstancePersistService;
         this.defaultTaskExecuteRunnableFactory = defaultTaskExecuteRunnableFactory;
+        this.taskDependencyTracker = new TaskDependencyTracker(workflowExecuteContext.getWorkflowGraph());
         TaskMetrics.registerTaskPrepared(readyToSubmitTaskQueue::size);
     }
 
@@ -337,6 +365,19 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         return this.stateEvents.size();
     }
 
+    /**
+     * Mark the stateEvents drain as scheduled.
+     *
+     * @return false if the drain has already been scheduled
+     */
+    public boolean tryScheduleEventsDrain() {
+        return eventsDrainScheduled.compareAndSet(false, true);
+    }
+
+    public void finishEventsDrain() {
+        eventsDrainScheduled.set(false);
+    }
+
     public boolean checkForceStartAndWakeUp(StateEvent stateEvent) {
         TaskGroupQueue taskGroupQueue = processService.loadTaskGroupQueue(stateEvent.getTaskInstanceId());
         if (taskGroupQueue.getForceStart() == Flag.YES.getCode()) {
@@ -397,7 +438,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             stateWheelExecuteThread.removeTask4RetryCheck(workflowInstance, taskInstance);
 
             if (taskInstance.getState().isSuccess()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 mergeTaskInstanceVarPool(taskInstance);
                 processInstanceDao.upsertProcessInstance(workflowInstance);
                 // save the cacheKey only if the task is defined as cache task and the task is success
@@ -412,7 +453,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 log.info("Retry taskInstance taskInstance state: {}", taskInstance.getState());
                 retryTaskInstance(taskInstance);
             } else if (taskInstance.getState().isFailure()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 // There are child nodes and the failure policy is: CONTINUE
                 if (workflowInstance.getFailureStrategy() == FailureStrategy.CONTINUE && DagHelper.haveAllNodeAfterNode(
                         taskInstance.getTaskCode(),
@@ -426,7 +467,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 }
             } else if (taskInstance.getState().isFinished()) {
                 // todo: when the task instance type is pause, then it should not in completeTaskSet
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
             }
             log.info("TaskInstance finished will try to update the workflow instance state, task code:{} state:{}",
                     taskInstance.getTaskCode(),
@@ -437,7 +478,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         } catch (Exception ex) {
             log.error("Task finish failed, get a exception, will remove this taskInstance from completeTaskSet", ex);
             // remove the task from complete map, so that we can finish in the next time.
-            completeTaskSet.remove(taskInstance.getTaskCode());
+            removeCompleteTask(taskInstance.getTaskCode());
             throw ex;
         }
     }
@@ -800,7 +841,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         // do we need to clear?
         taskExecuteRunnableMap.clear();
         dependFailedTaskSet.clear();
-        completeTaskSet.clear();
+        clearCompleteTasks();
         errorTaskMap.clear();
 
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
@@ -829,7 +870,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                         TaskInstance oldTaskInstance = taskInstanceMap.get(oldTaskInstanceId);
                         if (!oldTaskInstance.getState().isFinished() && task.getState().isFinished()) {
                             task.setFlag(Flag.NO);
-                            taskInstanceDao.updateById(task);
+                            taskInstancePersistService.update(task);
                             continue;
                         }
                     }
@@ -840,7 +881,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
                     if (task.isTaskComplete()) {
                         log.info("TaskInstance is already complete.");
-                        completeTaskSet.add(task.getTaskCode());
+                        addCompleteTask(task.getTaskCode());
                         continue;
                     }
                     if (task.isConditionsTask() || DagHelper.haveConditionsAfterNode(task.getTaskCode(),
@@ -851,7 +892,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                         if (task.getState().isNeedFaultTolerance()) {
                             log.info("TaskInstance needs fault tolerance, will be added to standby list.");
                             task.setFlag(Flag.NO);
-                            taskInstanceDao.updateById(task);
+                            taskInstancePersistService.update(task);
 
                             // tolerantTaskInstance add to standby list directly
                             TaskInstance tolerantTaskInstance = cloneTolerantTaskInstance(task);
@@ -941,7 +982,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                     if (taskInstance.getId() != oldTaskInstanceId) {
                         TaskInstance oldTaskInstance = taskInstanceMap.get(oldTaskInstanceId);
                         oldTaskInstance.setFlag(Flag.NO);
-                        taskInstanceDao.updateById(oldTaskInstance);
+                        taskInstancePersistService.update(oldTaskInstance);
                         validTaskMap.remove(taskInstance.getTaskCode());
                         taskExecuteRunnableMap.remove(taskInstance.getTaskCode());
                     }
@@ -1158,7 +1199,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         return taskInstance;
     }
 
-    public void getPreVarPool(TaskInstance taskInstance, Set<Long> preTask) {
+    public void getPreVarPool(TaskInstance taskInstance, Collection<Long> preTask) {
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
         Map<String, Property> allProperty = new HashMap<>();
         Map<String, TaskInstance> allTaskInstance = new HashMap<>();
@@ -1177,16 +1218,12 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 if (preTaskInstance == null) {
                     continue;
                 }
-                String preVarPool = preTaskInstance.getVarPool();
-                if (StringUtils.isNotEmpty(preVarPool)) {
-                    List<Property> properties = JSONUtils.toList(preVarPool, Property.class);
-                    for (Property info : properties) {
-                        setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
-                    }
+                for (Property info : getTaskVarPool(preTaskInstance).getProperties()) {
+                    setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
                 }
             }
             if (allProperty.size() > 0) {
-                taskInstance.setVarPool(JSONUtils.toJsonString(allProperty.values()));
+                setTaskVarPool(taskInstance, VarPool.of(allProperty.values()));
             }
         } else {
             if (StringUtils.isNotEmpty(workflowInstance.getVarPool())) {
@@ -1195,15 +1232,54 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         }
     }
 
+    /**
+     * Get the parsed varPool of the task instance, it is parsed again only if the varPool json is changed.
+     */
+    private VarPool getTaskVarPool(TaskInstance taskInstance) {
+        String varPoolJson = taskInstance.getVarPool();
+        if (taskInstance.getId() == null) {
+            return VarPool.parse(varPoolJson);
+        }
+        VarPool varPool = taskVarPoolCache.get(taskInstance.getId());
+        if (varPool == null || !varPool.isSameJson(varPoolJson)) {
+            varPool = VarPool.parse(varPoolJson);
+            taskVarPoolCache.put(taskInstance.getId(), varPool);
+        }
+        return varPool;
+    }
+
+    private void setTaskVarPool(TaskInstance taskInstance, VarPool varPool) {
+        taskInstance.setVarPool(varPool.toJson());
+        if (taskInstance.getId() != null) {
+            taskVarPoolCache.put(taskInstance.getId(), varPool);
+        }
+    }
+
+    private VarPool getWorkflowVarPool() {
+        String varPoolJson = workflowExecuteContext.getWorkflowInstance().getVarPool();
+        VarPool varPool = workflowVarPool;
+        if (!varPool.isSameJson(varPoolJson)) {
+            varPool = VarPool.parse(varPoolJson);
+            workflowVarPool = varPool;
+        }
+        return varPool;
+    }
+
+    private void setWorkflowVarPool(VarPool varPool) {
+        workflowVarPool = varPool;
+        workflowExecuteContext.getWorkflowInstance().setVarPool(varPool.toJson());
+    }
+
     public Collection<TaskInstance> getAllTaskInstances() {
         return taskInstanceMap.values();
     }
 
     private void setVarPoolValue(Map<String, Property> allProperty,
                                  Map<String, TaskInstance> allTaskInstance,
-                                 TaskInstance preTaskInstance, Property thisProperty) {
-        // for this taskInstance all the param in this part is IN.
-        thisProperty.setDirect(Direct.IN);
+                                 TaskInstance preTaskInstance, Property preProperty) {
+        // for this taskInstance all the param in this part is IN, copy it since the varPool of the pre task is shared
+        Property thisProperty = preProperty.getDirect() == Direct.IN ? preProperty
+                : new Property(preProperty.getProp(), Direct.IN, preProperty.getType(), preProperty.getValue());
         // get the pre taskInstance Property's name
         String proName = thisProperty.getProp();
         // if the Previous nodes have the Property of same name
@@ -1270,6 +1346,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
         Set<Long> submitTaskNodeList =
                 DagHelper.parsePostNodes(parentNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
+        syncSkippedTasks();
         List<TaskInstance> taskInstances = new ArrayList<>();
         for (Long taskNode : submitTaskNodeList) {
             TaskNode taskNodeObject = dag.getNode(taskNode);
@@ -1287,7 +1364,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                         existTaskInstance.setFlag(Flag.NO);
                         existTaskInstance.setState(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
                         validTaskMap.remove(existTaskInstance.getTaskCode());
-                        taskInstanceDao.updateById(existTaskInstance);
+                        taskInstancePersistService.update(existTaskInstance);
                         existTaskInstance = cloneTolerantTaskInstance(existTaskInstance);
                         log.info("task {} cannot be take over will generate a tolerant task instance",
                                 existTaskInstance.getName());
@@ -1303,19 +1380,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(parentNodeCode);
             if (existTaskInstanceOptional.isPresent()) {
                 TaskInstance endTaskInstance = taskInstanceMap.get(existTaskInstanceOptional.get().getId());
-                String taskInstanceVarPool = endTaskInstance.getVarPool();
-                if (StringUtils.isNotEmpty(taskInstanceVarPool)) {
-                    Set<Property> taskProperties = new HashSet<>(JSONUtils.toList(taskInstanceVarPool, Property.class));
-                    String processInstanceVarPool = workflowInstance.getVarPool();
-                    if (StringUtils.isNotEmpty(processInstanceVarPool)) {
-                        Set<Property> properties =
-                                new HashSet<>(JSONUtils.toList(processInstanceVarPool, Property.class));
-                        properties.addAll(taskProperties);
-                        workflowInstance.setVarPool(JSONUtils.toJsonString(properties));
-                    } else {
-                        workflowInstance.setVarPool(JSONUtils.toJsonString(taskProperties));
-                    }
-                }
+                mergeTaskInstanceVarPool(endTaskInstance);
             }
         }
 
@@ -1359,7 +1424,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 return false;
             }
             WorkflowHostChangeResponse workflowHostChangeResponse =
-                    JSONUtils.parseObject(message.getBody(), WorkflowHostChangeResponse.class);
+                    message.parseBody(WorkflowHostChangeResponse.class);
             if (workflowHostChangeResponse == null || !workflowHostChangeResponse.isSuccess()) {
                 log.error(
                         "Takeover task instance failed, receive a failed response from worker: {}, will try to create a new task instance",
@@ -1390,23 +1455,22 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      * @return DependResult
      */
     private DependResult isTaskDepsComplete(Long taskCode) {
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
+        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
+        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowGraph.getDag();
 
         Collection<Long> startNodes = dag.getBeginNode();
         // if vertex,returns true directly
         if (startNodes.contains(taskCode)) {
             return DependResult.SUCCESS;
         }
+        // dependencies must be fully completed
+        if (taskDependencyTracker.hasUnresolvedDependency(taskCode)) {
+            return DependResult.WAITING;
+        }
         TaskNode taskNode = dag.getNode(taskCode);
-        List<Long> indirectDepCodeList = new ArrayList<>();
-        setIndirectDepList(taskCode, indirectDepCodeList);
+        List<Long> indirectDepCodeList = workflowGraph.getIndirectDepTaskCodes(taskCode);
         for (Long depsNode : indirectDepCodeList) {
-            if (dag.containsNode(depsNode) && !skipTaskNodeMap.containsKey(depsNode)) {
-                // dependencies must be fully completed
-                if (!completeTaskSet.contains(depsNode)) {
-                    return DependResult.WAITING;
-                }
-
+            if (!skipTaskNodeMap.containsKey(depsNode)) {
                 Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(depsNode);
                 if (!existTaskInstanceOptional.isPresent()) {
                     return DependResult.NON_EXEC;
@@ -1433,33 +1497,37 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
         }
         log.info("The dependTasks of task all success, currentTaskCode: {}, dependTaskCodes: {}",
-                taskCode, Arrays.toString(completeTaskSet.toArray()));
+                taskCode, indirectDepCodeList);
         return DependResult.SUCCESS;
     }
 
+    private void addCompleteTask(Long taskCode) {
+        completeTaskSet.add(taskCode);
+        taskDependencyTracker.setResolved(taskCode, true);
+    }
+
+    private void removeCompleteTask(Long taskCode) {
+        completeTaskSet.remove(taskCode);
+        taskDependencyTracker.setResolved(taskCode, skipTaskNodeMap.containsKey(taskCode));
+    }
+
+    private void clearCompleteTasks() {
+        completeTaskSet.clear();
+        taskDependencyTracker.clear();
+        syncedSkipTaskCount = 0;
+        syncSkippedTasks();
+    }
+
     /**
-     * This function is specially used to handle the dependency situation where the parent node is a prohibited node.
-     * When the parent node is a forbidden node, the dependency relationship should continue to be traced
-     *
-     * @param taskCode            taskCode
-     * @param indirectDepCodeList All indirectly dependent nodes
+     * The skipped tasks are only added by {@link DagHelper}, sync them to the dependency tracker after calling it.
      */
-    private void setIndirectDepList(Long taskCode, List<Long> indirectDepCodeList) {
-        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowGraph.getDag();
-        TaskNode taskNode = dag.getNode(taskCode);
-        // If workflow start with startNode or recoveryNode, taskNode may be null
-        if (taskNode == null) {
+    private void syncSkippedTasks() {
+        // the skipped tasks are never removed, so there is nothing new if the size does not change
+        if (skipTaskNodeMap.size() == syncedSkipTaskCount) {
             return;
         }
-
-        for (Long depsNode : taskNode.getDepList()) {
-            if (workflowGraph.isForbiddenTask(depsNode)) {
-                setIndirectDepList(depsNode, indirectDepCodeList);
-            } else {
-                indirectDepCodeList.add(depsNode);
-            }
-        }
+        skipTaskNodeMap.keySet().forEach(taskCode -> taskDependencyTracker.setResolved(taskCode, true));
+        syncedSkipTaskCount = skipTaskNodeMap.size();
     }
 
     /**
@@ -1472,6 +1540,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             // condition task need check the branch to run
             List<Long> nextTaskList =
                     DagHelper.parseConditionTask(dependNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
+            syncSkippedTasks();
             if (!nextTaskList.contains(nextNodeCode)) {
                 log.info(
                         "DependTask is a condition task, and its next condition branch does not hava current task, " +
@@ -1873,7 +1942,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                             "Task {} has been forced success, put it into complete task list and stop retrying, taskInstanceId: {}",
                             task.getName(), task.getId());
                     removeTaskFromStandbyList(task);
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     submitPostNode(task.getTaskCode());
@@ -1884,9 +1953,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             if (task.isFirstRun()) {
                 // get pre task ,get all the task varPool to this task
                 // Do not use dag.getPreviousNodes because of the dag may be miss the upstream node
-                String preTasks = workflowExecuteContext.getWorkflowGraph()
-                        .getTaskNodeByCode(task.getTaskCode()).getPreTasks();
-                Set<Long> preTaskList = new HashSet<>(JSONUtils.toList(preTasks, Long.class));
+                List<Long> preTaskList = workflowExecuteContext.getWorkflowGraph()
+                        .getTaskNodeByCode(task.getTaskCode()).getDepList();
                 getPreVarPool(task, preTaskList);
             }
             DependResult dependResult = getDependResultForTask(task);
@@ -1901,7 +1969,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                 workflowInstance.getId(),
                                 task.getTaskCode());
                     }
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     errorTaskMap.put(task.getTaskCode(), task.getId());
@@ -2098,41 +2166,33 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
         for (TaskInstance taskInstance : removeTaskInstances) {
             taskInstance.setFlag(Flag.NO);
-            taskInstanceDao.updateById(taskInstance);
+            taskInstancePersistService.update(taskInstance);
         }
 
         Set<String> removeSet = new HashSet<>();
         for (TaskInstance taskInstance : removeTaskInstances) {
-            String taskVarPool = taskInstance.getVarPool();
-            if (StringUtils.isNotEmpty(taskVarPool)) {
-                List<Property> properties = JSONUtils.toList(taskVarPool, Property.class);
-                List<String> keys = properties.stream()
-                        .filter(property -> property.getDirect().equals(Direct.OUT))
-                        .map(property -> String.format("%s_%s", property.getProp(), property.getType()))
-                        .collect(Collectors.toList());
-                removeSet.addAll(keys);
-            }
+            List<String> keys = getTaskVarPool(taskInstance).getProperties().stream()
+                    .filter(property -> property.getDirect().equals(Direct.OUT))
+                    .map(property -> String.format("%s_%s", property.getProp(), property.getType()))
+                    .collect(Collectors.toList());
+            removeSet.addAll(keys);
         }
 
         // remove varPool data and update process instance
         // TODO: we can remove this snippet if : we get varPool from pre taskInstance instead of process instance when
         // task can not get pre task from incomplete dag
-        List<Property> processProperties = JSONUtils.toList(workflowInstance.getVarPool(), Property.class);
-        processProperties = processProperties.stream()
+        setWorkflowVarPool(getWorkflowVarPool()
                 .filter(property -> !(property.getDirect().equals(Direct.IN)
-                        && removeSet.contains(String.format("%s_%s", property.getProp(), property.getType()))))
-                .collect(Collectors.toList());
-
-        workflowInstance.setVarPool(JSONUtils.toJsonString(processProperties));
+                        && removeSet.contains(String.format("%s_%s", property.getProp(), property.getType())))));
         processInstanceDao.updateById(workflowInstance);
 
         // remove task instance from taskInstanceMap, completeTaskSet, validTaskMap, errorTaskMap
         // completeTaskSet remove dependency taskInstanceMap, so the sort can't change
-        completeTaskSet.removeIf(taskCode -> {
-            Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(taskCode);
-            return existTaskInstanceOptional
-                    .filter(taskInstance -> dag.containsNode(taskInstance.getTaskCode())).isPresent();
-        });
+        List<Long> removeTaskCodes = completeTaskSet.stream()
+                .filter(taskCode -> getTaskInstance(taskCode)
+                        .filter(taskInstance -> dag.containsNode(taskInstance.getTaskCode())).isPresent())
+                .collect(Collectors.toList());
+        removeTaskCodes.forEach(this::removeCompleteTask);
         taskInstanceMap.entrySet().removeIf(entry -> dag.containsNode(entry.getValue().getTaskCode()));
         validTaskMap.entrySet().removeIf(entry -> dag.containsNode(entry.getKey()));
         errorTaskMap.entrySet().removeIf(entry -> dag.containsNode(entry.getKey()));
@@ -2144,7 +2204,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         if (taskId.equals(taskInstance.getId())) {
             taskInstance.setCacheKey(taskIdAndCacheKey.getRight());
             try {
-                taskInstanceDao.updateById(taskInstance);
+                taskInstancePersistService.update(taskInstance);
             } catch (Exception e) {
                 log.error("update task instance cache key failed", e);
             }
@@ -2165,24 +2225,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
     }
 
     private void mergeTaskInstanceVarPool(TaskInstance taskInstance) {
-        String taskVarPoolJson = taskInstance.getVarPool();
-        if (StringUtils.isEmpty(taskVarPoolJson)) {
+        VarPool taskVarPool = getTaskVarPool(taskInstance);
+        if (taskVarPool.isEmpty()) {
             return;
         }
-        ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
-        String processVarPoolJson = workflowInstance.getVarPool();
-        if (StringUtils.isEmpty(processVarPoolJson)) {
-            workflowInstance.setVarPool(taskVarPoolJson);
-            return;
-        }
-        List<Property> processVarPool = new ArrayList<>(JSONUtils.toList(processVarPoolJson, Property.class));
-        List<Property> taskVarPool = JSONUtils.toList(taskVarPoolJson, Property.class);
-        Set<String> newProcessVarPoolKeys = taskVarPool.stream().map(Property::getProp).collect(Collectors.toSet());
-        processVarPool = processVarPool.stream().filter(property -> !newProcessVarPoolKeys.contains(property.getProp()))
-                .collect(Collectors.toList());
-
-        processVarPool.addAll(taskVarPool);
-
-        workflowInstance.setVarPool(JSONUtils.toJsonString(processVarPool));
+        setWorkflowVarPool(getWorkflowVarPool().merge(taskVarPool));
     }
 }
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -63,6 +64,9 @@ public class WorkflowExecuteRunnableFactory {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstancePersistService taskInstancePersistService;
+
     @Autowired
     private MasterConfig masterConfig;
 
@@ -90,6 +94,7 @@ public class WorkflowExecuteRunnableFactory {
                     stateWheelExecuteThread,
                     curingGlobalParamsService,
                     taskInstanceDao,
+                    taskInstancePersistService,
                     defaultTaskExecuteRunnableFactory);
         } catch (Exception ex) {
             throw new WorkflowCreateException("Create workflow execute runnable failed", ex);
@@ -34,7 +34,6 @@ import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -71,11 +70,6 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StateWheelExecuteThread stateWheelExecuteThread;
 
-    /**
-     * multi-thread filter, avoid handling workflow at the same time
-     */
-    private ConcurrentHashMap<Integer, WorkflowExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
-
     @PostConstruct
     private void init() {
         this.setDaemon(true);
@@ -95,12 +89,16 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                     stateEvent);
             return;
         }
-        workflowExecuteThread.addStateEvent(stateEvent);
+        if (!workflowExecuteThread.addStateEvent(stateEvent)) {
+            return;
+        }
         log.info("Submit state event success, stateEvent: {}", stateEvent);
+        executeEvent(workflowExecuteThread);
     }
 
     /**
-     * Handle the events belong to the given workflow.
+     * Schedule a drain of the events belong to the given workflow, at most one drain of a workflow is scheduled at the
+     * same time. Once the drain finished, the workflow will be scheduled again if new events arrived in the meantime.
      */
     public void executeEvent(final WorkflowExecuteRunnable workflowExecuteThread) {
         if (!workflowExecuteThread.isStart() || workflowExecuteThread.eventSize() == 0) {
@@ -110,12 +108,17 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 workflowExecuteThread.getWorkflowExecuteContext();
         Integer workflowInstanceId = workflowExecuteRunnableContext.getWorkflowInstance().getId();
 
-        if (multiThreadFilterMap.containsKey(workflowInstanceId)) {
-            log.debug("The workflow has been executed by another thread");
+        if (!workflowExecuteThread.tryScheduleEventsDrain()) {
+            log.debug("The workflow events drain has already been scheduled");
             return;
         }
-        multiThreadFilterMap.put(workflowInstanceId, workflowExecuteThread);
-        ListenableFuture<?> future = this.submitListenable(workflowExecuteThread::handleEvents);
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(workflowExecuteThread::handleEvents);
+        } catch (Exception e) {
+            workflowExecuteThread.finishEventsDrain();
+            throw e;
+        }
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -125,10 +128,11 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                     log.error("Workflow instance events handle failed", ex);
                     notifyProcessChanged(
                             workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance());
-                    multiThreadFilterMap.remove(workflowInstanceId);
                 } finally {
+                    workflowExecuteThread.finishEventsDrain();
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
+                executeEvent(workflowExecuteThread);
             }
 
             @Override
@@ -148,10 +152,12 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 } catch (Exception e) {
                     log.error("Workflow instance is finished, but notify changed error", e);
                 } finally {
-                    // make sure the process has been removed from multiThreadFilterMap
-                    multiThreadFilterMap.remove(workflowInstanceId);
+                    // make sure the drain flag is reset, otherwise the workflow will never be scheduled again
+                    workflowExecuteThread.finishEventsDrain();
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
+                // the events added during the drain are not handled, since the drain flag was still set
+                executeEvent(workflowExecuteThread);
             }
         });
     }
@@ -21,6 +21,10 @@ import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroup
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Used to do task dispatcher.
  */
@@ -28,4 +32,21 @@ public interface TaskDispatcher {
 
     void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException, WorkerGroupNotFoundException;
 
+    /**
+     * Dispatch a batch of tasks, the implementation may send the tasks bound for the same host in one request.
+     *
+     * @return the failure cause of each failed task, key is the task instance id
+     */
+    default Map<Integer, Exception> dispatchTasks(List<? extends TaskExecuteRunnable> taskExecuteRunnables) {
+        Map<Integer, Exception> failedTasks = new HashMap<>();
+        for (TaskExecuteRunnable taskExecuteRunnable : taskExecuteRunnables) {
+            try {
+                dispatchTask(taskExecuteRunnable);
+            } catch (Exception e) {
+                failedTasks.put(taskExecuteRunnable.getTaskInstance().getId(), e);
+            }
+        }
+        return failedTasks;
+    }
+
 }
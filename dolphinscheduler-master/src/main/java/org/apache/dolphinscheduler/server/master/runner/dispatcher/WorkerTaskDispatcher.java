@@ -19,16 +19,29 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchRequest;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchResponse;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchResponse;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -50,8 +63,94 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
 
     @Override
     protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecuteRunnable) throws WorkerGroupNotFoundException {
-        String workerGroup = taskExecuteRunnable.getTaskExecutionContext().getWorkerGroup();
-        return hostManager.select(workerGroup);
+        TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        return hostManager.select(taskExecutionContext.getWorkerGroup(), taskExecutionContext.getTaskInstanceId());
+    }
+
+    @Override
+    public void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
+        try {
+            super.dispatchTask(taskExecuteRunnable);
+        } catch (TaskDispatchException e) {
+            hostManager.releaseTask(taskExecuteRunnable.getTaskExecutionContext().getTaskInstanceId());
+            throw e;
+        }
+    }
+
+    /**
+     * Select the host of each task first, then send the tasks bound for the same worker in one
+     * {@link TaskBatchDispatchRequest}, so that a fan-out of tasks will not pay a round trip for each task.
+     */
+    @Override
+    public Map<Integer, Exception> dispatchTasks(List<? extends TaskExecuteRunnable> taskExecuteRunnables) {
+        if (taskExecuteRunnables.size() == 1) {
+            return super.dispatchTasks(taskExecuteRunnables);
+        }
+        Map<Integer, Exception> failedTasks = new HashMap<>();
+        Map<Host, List<TaskExecuteRunnable>> hostTaskExecuteRunnables = new LinkedHashMap<>();
+        for (TaskExecuteRunnable taskExecuteRunnable : taskExecuteRunnables) {
+            Optional<Host> taskInstanceDispatchHost;
+            try {
+                taskInstanceDispatchHost = getTaskInstanceDispatchHost(taskExecuteRunnable);
+            } catch (WorkerGroupNotFoundException workerGroupNotFoundException) {
+                log.error("Dispatch task: {} failed, worker group not found.",
+                        taskExecuteRunnable.getTaskExecutionContext().getTaskName(), workerGroupNotFoundException);
+                addDispatchFailedEvent(taskExecuteRunnable);
+                continue;
+            }
+            if (!taskInstanceDispatchHost.isPresent()) {
+                failedTasks.put(taskExecuteRunnable.getTaskInstance().getId(),
+                        new TaskDispatchException("Cannot find the host to execute task."));
+                continue;
+            }
+            taskExecuteRunnable.getTaskExecutionContext().setHost(taskInstanceDispatchHost.get().getAddress());
+            hostTaskExecuteRunnables.computeIfAbsent(taskInstanceDispatchHost.get(), host -> new ArrayList<>())
+                    .add(taskExecuteRunnable);
+        }
+        hostTaskExecuteRunnables.forEach((host, hostTasks) -> failedTasks.putAll(doBatchDispatch(host, hostTasks)));
+        failedTasks.keySet().forEach(hostManager::releaseTask);
+        return failedTasks;
+    }
 
+    private Map<Integer, Exception> doBatchDispatch(Host host, List<TaskExecuteRunnable> taskExecuteRunnables) {
+        Map<Integer, Exception> failedTasks = new HashMap<>();
+        List<TaskExecutionContext> taskExecutionContexts = taskExecuteRunnables.stream()
+                .map(TaskExecuteRunnable::getTaskExecutionContext)
+                .collect(Collectors.toList());
+        Map<Integer, TaskDispatchResponse> taskDispatchResponses;
+        try {
+            Message message = masterRpcClient.sendSyncCommand(host,
+                    new TaskBatchDispatchRequest(taskExecutionContexts).convert2Command());
+            TaskBatchDispatchResponse taskBatchDispatchResponse =
+                    message.parseBody(TaskBatchDispatchResponse.class);
+            taskDispatchResponses = taskBatchDispatchResponse.getTaskDispatchResponses().stream()
+                    .collect(Collectors.toMap(TaskDispatchResponse::getTaskInstanceId, response -> response,
+                            (first, second) -> second));
+        } catch (InterruptedException e) {
+            // This exception should only happen when we close the server.
+            Thread.currentThread().interrupt();
+            TaskDispatchException taskDispatchException = new TaskDispatchException(
+                    String.format("Batch dispatch tasks to %s failed, get response failed", host), e);
+            taskExecuteRunnables.forEach(taskExecuteRunnable -> failedTasks
+                    .put(taskExecuteRunnable.getTaskInstance().getId(), taskDispatchException));
+            return failedTasks;
+        } catch (RemotingException e) {
+            TaskDispatchException taskDispatchException =
+                    new TaskDispatchException(String.format("Batch dispatch tasks to %s failed", host), e);
+            taskExecuteRunnables.forEach(taskExecuteRunnable -> failedTasks
+                    .put(taskExecuteRunnable.getTaskInstance().getId(), taskDispatchException));
+            return failedTasks;
+        }
+        for (TaskExecuteRunnable taskExecuteRunnable : taskExecuteRunnables) {
+            Integer taskInstanceId = taskExecuteRunnable.getTaskInstance().getId();
+            TaskDispatchResponse taskDispatchResponse = taskDispatchResponses.get(taskInstanceId);
+            if (taskDispatchResponse == null || !taskDispatchResponse.isDispatchSuccess()) {
+                failedTasks.put(taskInstanceId, new TaskDispatchException(
+                        String.format("Dispatch task to %s failed, response is: %s", host, taskDispatchResponse)));
+                continue;
+            }
+            onDispatchSuccess(taskExecuteRunnable, host);
+        }
+        return failedTasks;
     }
 }
@@ -18,11 +18,11 @@
 package org.apache.dolphinscheduler.server.master.runner.operator;
 
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.remote.command.task.TaskKillRequest;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 
@@ -40,7 +40,7 @@ import org.springframework.stereotype.Component;
 public class TaskKillOperator implements TaskOperator {
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstancePersistService taskInstancePersistService;
 
     @Autowired
     private MasterRpcClient masterRpcClient;
@@ -65,7 +65,7 @@ public class TaskKillOperator implements TaskOperator {
     private void killTaskInstanceInDB(TaskInstance taskInstance) {
         taskInstance.setState(TaskExecutionStatus.KILL);
         taskInstance.setEndTime(new Date());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstancePersistService.update(taskInstance);
     }
 
     private void killRemoteTaskInstanceInThreadPool(TaskInstance taskInstance) throws RemotingException {
@@ -18,12 +18,12 @@
 package org.apache.dolphinscheduler.server.master.runner.operator;
 
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskTimeoutStrategy;
 import org.apache.dolphinscheduler.remote.command.task.TaskKillRequest;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 
@@ -41,7 +41,7 @@ import org.springframework.stereotype.Component;
 public class TaskTimeoutOperator implements TaskOperator {
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstancePersistService taskInstancePersistService;
 
     @Autowired
     private MasterRpcClient masterRpcClient;
@@ -73,7 +73,7 @@ public class TaskTimeoutOperator implements TaskOperator {
     private void timeoutTaskInstanceInDB(TaskInstance taskInstance) {
         taskInstance.setState(TaskExecutionStatus.FAILURE);
         taskInstance.setEndTime(new Date());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstancePersistService.update(taskInstance);
     }
 
     private void killRemoteTaskInstanceInThreadPool(TaskInstance taskInstance) throws RemotingException {
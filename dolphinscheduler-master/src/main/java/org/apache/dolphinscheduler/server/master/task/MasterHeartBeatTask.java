@@ -19,8 +19,9 @@ package org.apache.dolphinscheduler.server.master.task;
 
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.model.BaseHeartBeatTask;
+import org.apache.dolphinscheduler.common.model.HeartBeatDeltaConfig;
+import org.apache.dolphinscheduler.common.model.HeartBeatEncoder;
 import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
@@ -41,7 +42,8 @@ public class MasterHeartBeatTask extends BaseHeartBeatTask<MasterHeartBeat> {
 
     public MasterHeartBeatTask(@NonNull MasterConfig masterConfig,
                                @NonNull RegistryClient registryClient) {
-        super("MasterHeartBeatTask", masterConfig.getHeartbeatInterval().toMillis());
+        super("MasterHeartBeatTask", masterConfig.getHeartbeatInterval().toMillis(),
+                masterConfig.getHeartbeatDelta().getKeepAliveIntervalMillis());
         this.masterConfig = masterConfig;
         this.registryClient = registryClient;
         this.heartBeatPath = masterConfig.getMasterRegistryPath();
@@ -64,9 +66,17 @@ public class MasterHeartBeatTask extends BaseHeartBeatTask<MasterHeartBeat> {
 
     @Override
     public void writeHeartBeat(MasterHeartBeat masterHeartBeat) {
-        String masterHeartBeatJson = JSONUtils.toJsonString(masterHeartBeat);
+        String masterHeartBeatJson =
+                HeartBeatEncoder.encode(masterHeartBeat, masterConfig.getHeartbeatDelta().isEnabled());
         registryClient.persistEphemeral(heartBeatPath, masterHeartBeatJson);
         log.debug("Success write master heartBeatInfo into registry, masterRegistryPath: {}, heartBeatInfo: {}",
                 heartBeatPath, masterHeartBeatJson);
     }
+
+    @Override
+    protected boolean isHeartBeatChanged(MasterHeartBeat lastHeartBeat, MasterHeartBeat heartBeat) {
+        HeartBeatDeltaConfig heartbeatDelta = masterConfig.getHeartbeatDelta();
+        return heartbeatDelta.isCpuUsageChanged(lastHeartBeat.getCpuUsage(), heartBeat.getCpuUsage())
+                || heartbeatDelta.isMemoryUsageChanged(lastHeartBeat.getMemoryUsage(), heartBeat.getMemoryUsage());
+    }
 }
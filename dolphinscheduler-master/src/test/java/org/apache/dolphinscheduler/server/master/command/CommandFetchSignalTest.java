@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandFetchSignalTest {
+
+    @Test
+    public void testAwaitTimeout() throws InterruptedException {
+        CommandFetchSignal commandFetchSignal = new CommandFetchSignal();
+
+        long startTime = System.currentTimeMillis();
+        Assertions.assertFalse(commandFetchSignal.await(100));
+        Assertions.assertTrue(System.currentTimeMillis() - startTime >= 100);
+    }
+
+    @Test
+    public void testSignalWakeUpAwait() throws Exception {
+        CommandFetchSignal commandFetchSignal = new CommandFetchSignal();
+        CompletableFuture<Boolean> awaitFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return commandFetchSignal.await(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        Thread.sleep(100);
+        commandFetchSignal.signal();
+        Assertions.assertTrue(awaitFuture.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testMergeSignals() throws InterruptedException {
+        CommandFetchSignal commandFetchSignal = new CommandFetchSignal();
+        commandFetchSignal.signal();
+        commandFetchSignal.signal();
+        commandFetchSignal.signal();
+
+        // the signals sent before waiting let the next wait return immediately, only once
+        Assertions.assertTrue(commandFetchSignal.await(0));
+        Assertions.assertFalse(commandFetchSignal.await(0));
+    }
+}
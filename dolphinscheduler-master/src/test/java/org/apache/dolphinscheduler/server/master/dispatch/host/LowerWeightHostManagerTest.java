@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.WorkerTopology;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class LowerWeightHostManagerTest {
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @InjectMocks
+    private LowerWeightHostManager lowerWeightHostManager;
+
+    @Test
+    public void testSelectFollowsTopologyVersion() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>();
+        workerNodeInfo.put("127.0.0.1:1234", heartBeat(Constants.NORMAL_NODE_STATUS));
+        Mockito.when(serverNodeManager.getWorkerTopology())
+                .thenReturn(WorkerTopology.of(1, Collections.emptyList(), workerNodeInfo));
+        Optional<Host> host = lowerWeightHostManager.select("default");
+        Assertions.assertTrue(host.isPresent());
+        Assertions.assertEquals("127.0.0.1:1234", host.get().getAddress());
+
+        // the host weights are rebuilt once a newer topology is published
+        workerNodeInfo.put("127.0.0.1:1234", heartBeat(Constants.BUSY_NODE_STATUE));
+        workerNodeInfo.put("127.0.0.2:1234", heartBeat(Constants.NORMAL_NODE_STATUS));
+        Mockito.when(serverNodeManager.getWorkerTopology())
+                .thenReturn(WorkerTopology.of(2, Collections.emptyList(), workerNodeInfo));
+        host = lowerWeightHostManager.select("default");
+        Assertions.assertTrue(host.isPresent());
+        Assertions.assertEquals("127.0.0.2:1234", host.get().getAddress());
+
+        Assertions.assertThrows(WorkerGroupNotFoundException.class, () -> lowerWeightHostManager.select("g1"));
+    }
+
+    @Test
+    public void testSelectCountsInFlightTasks() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>();
+        workerNodeInfo.put("127.0.0.1:1234", heartBeat(Constants.NORMAL_NODE_STATUS));
+        workerNodeInfo.put("127.0.0.2:1234", heartBeat(Constants.NORMAL_NODE_STATUS));
+        WorkerGroup workerGroup = new WorkerGroup();
+        workerGroup.setName("g1");
+        workerGroup.setAddrList("127.0.0.1:1234");
+        Mockito.when(serverNodeManager.getWorkerTopology())
+                .thenReturn(WorkerTopology.of(1, Collections.singletonList(workerGroup), workerNodeInfo));
+
+        // the host in both worker groups is loaded by the task dispatched through g1
+        Assertions.assertEquals("127.0.0.1:1234", lowerWeightHostManager.select("g1", 1).get().getAddress());
+        Assertions.assertEquals("127.0.0.2:1234", lowerWeightHostManager.select("default", 2).get().getAddress());
+        Assertions.assertEquals("127.0.0.1:1234", lowerWeightHostManager.select("default", 3).get().getAddress());
+
+        lowerWeightHostManager.releaseTask(1);
+        lowerWeightHostManager.releaseTask(3);
+        Assertions.assertEquals("127.0.0.1:1234", lowerWeightHostManager.select("default", 4).get().getAddress());
+    }
+
+    private WorkerHeartBeat heartBeat(int serverStatus) {
+        return WorkerHeartBeat.builder()
+                .serverStatus(serverStatus)
+                .startupTime(System.currentTimeMillis() - 60 * 60 * 1000)
+                .build();
+    }
+
+}
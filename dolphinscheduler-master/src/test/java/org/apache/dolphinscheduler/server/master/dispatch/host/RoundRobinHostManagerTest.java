@@ -23,7 +23,9 @@ import org.apache.dolphinscheduler.server.master.dispatch.ExecutionContextTestUt
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.WorkerTopology;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
@@ -34,8 +36,6 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.google.common.collect.Sets;
-
 /**
  * round robin host manager test
  */
@@ -50,7 +50,7 @@ public class RoundRobinHostManagerTest {
 
     @Test
     public void testSelectWithEmptyResult() throws WorkerGroupNotFoundException {
-        Mockito.when(serverNodeManager.getWorkerGroupNodes("default")).thenReturn(null);
+        Mockito.when(serverNodeManager.getWorkerTopology()).thenReturn(WorkerTopology.EMPTY);
         ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
         Optional<Host> emptyHost = roundRobinHostManager.select(context.getWorkerGroup());
         Assertions.assertFalse(emptyHost.isPresent());
@@ -58,9 +58,8 @@ public class RoundRobinHostManagerTest {
 
     @Test
     public void testSelectWithResult() throws WorkerGroupNotFoundException {
-        Mockito.when(serverNodeManager.getWorkerGroupNodes("default")).thenReturn(Sets.newHashSet("192.168.1.1:22"));
-        Mockito.when(serverNodeManager.getWorkerNodeInfo("192.168.1.1:22"))
-                .thenReturn(Optional.of(new WorkerHeartBeat()));
+        Mockito.when(serverNodeManager.getWorkerTopology()).thenReturn(WorkerTopology.of(1,
+                Collections.emptyList(), Collections.singletonMap("192.168.1.1:22", new WorkerHeartBeat())));
         ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
         Optional<Host> host = roundRobinHostManager.select(context.getWorkerGroup());
         Assertions.assertTrue(host.isPresent());
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HostWeightHeapTest {
+
+    @Test
+    public void testSelectSpreadsInFlightTasks() {
+        InFlightTasks inFlightTasks = new InFlightTasks(Duration.ofMinutes(1));
+        HostWeightHeap hostWeightHeap = new HostWeightHeap(Arrays.asList(
+                hostWeight("192.158.2.1:11", 1, 0),
+                hostWeight("192.158.2.2:22", 1, 0),
+                hostWeight("192.158.2.3:33", 1, 2)), inFlightTasks, null);
+
+        for (int taskInstanceId = 1; taskInstanceId <= 7; taskInstanceId++) {
+            Assertions.assertNotNull(hostWeightHeap.select(taskInstanceId));
+        }
+        // the waiting task count plus the in flight task count is 3 on every host
+        Assertions.assertEquals(3, inFlightTasks.getTaskCount("192.158.2.1:11"));
+        Assertions.assertEquals(3, inFlightTasks.getTaskCount("192.158.2.2:22"));
+        Assertions.assertEquals(1, inFlightTasks.getTaskCount("192.158.2.3:33"));
+
+        String address = inFlightTasks.release(1).get();
+        Assertions.assertFalse(inFlightTasks.release(1).isPresent());
+        hostWeightHeap.update(address);
+        Assertions.assertEquals(address, hostWeightHeap.select(8).getHost().getAddress());
+    }
+
+    @Test
+    public void testSelectByWeight() {
+        InFlightTasks inFlightTasks = new InFlightTasks(Duration.ofMinutes(1));
+        HostWeightHeap hostWeightHeap = new HostWeightHeap(Arrays.asList(
+                hostWeight("192.158.2.1:11", 1, 0),
+                hostWeight("192.158.2.2:22", 2, 0)), inFlightTasks, null);
+
+        Map<String, Integer> selectedTimes = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            selectedTimes.merge(hostWeightHeap.select().getHost().getAddress(), 1, Integer::sum);
+        }
+        // the lower weight host is selected twice as often
+        Assertions.assertEquals(20, selectedTimes.get("192.158.2.1:11"), 1);
+        Assertions.assertEquals(10, selectedTimes.get("192.158.2.2:22"), 1);
+    }
+
+    @Test
+    public void testInheritPass() {
+        InFlightTasks inFlightTasks = new InFlightTasks(Duration.ofMinutes(1));
+        HostWeightHeap previous = new HostWeightHeap(Arrays.asList(
+                hostWeight("192.158.2.1:11", 1, 0),
+                hostWeight("192.158.2.2:22", 1, 0)), inFlightTasks, null);
+        String first = previous.select().getHost().getAddress();
+
+        HostWeightHeap hostWeightHeap = new HostWeightHeap(Arrays.asList(
+                hostWeight("192.158.2.1:11", 1, 0),
+                hostWeight("192.158.2.2:22", 1, 0)), inFlightTasks, previous);
+        Assertions.assertNotEquals(first, hostWeightHeap.select().getHost().getAddress());
+    }
+
+    private HostWeight hostWeight(String address, double cpu, int waitingTaskCount) {
+        return new HostWeight(HostWorker.of(address, 100, "default"), cpu, 0, 0, waitingTaskCount,
+                System.currentTimeMillis() - 60 * 60 * 1000);
+    }
+}
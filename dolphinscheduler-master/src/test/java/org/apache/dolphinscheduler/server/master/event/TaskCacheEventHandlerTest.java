@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
@@ -63,6 +64,9 @@ class TaskCacheEventHandlerTest {
     @Mock
     private TaskInstanceDao taskInstanceDao;
 
+    @Mock
+    private TaskInstancePersistService taskInstancePersistService;
+
     @Test
     void testHandleTaskEvent() {
         TaskEvent taskEvent = Mockito.mock(TaskEvent.class);
@@ -107,6 +111,7 @@ class TaskCacheEventHandlerTest {
         Assertions.assertEquals(Flag.YES, taskInstance.getFlag());
         Assertions.assertEquals(taskInstanceId, taskInstance.getId());
         Assertions.assertEquals(processInstanceId, taskInstance.getProcessInstanceId());
+        Mockito.verify(taskInstancePersistService).update(taskInstance);
     }
 
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WorkflowGraphCacheTest {
+
+    @Test
+    public void testGetCompiledGraphOncePerVersion() throws Exception {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setWorkflowGraphCacheSize(10);
+        WorkflowGraphCache workflowGraphCache = new WorkflowGraphCache(masterConfig);
+        AtomicInteger compileTimes = new AtomicInteger();
+        WorkflowGraphCache.WorkflowGraphCompiler compiler = (code, version) -> {
+            compileTimes.incrementAndGet();
+            return compile(code, version);
+        };
+
+        CompiledWorkflowGraph graph = workflowGraphCache.get(1L, 1, compiler);
+        Assertions.assertSame(graph, workflowGraphCache.get(1L, 1, compiler));
+        Assertions.assertEquals(1, compileTimes.get());
+
+        CompiledWorkflowGraph newVersionGraph = workflowGraphCache.get(1L, 2, compiler);
+        Assertions.assertNotSame(graph, newVersionGraph);
+        Assertions.assertEquals(2, newVersionGraph.getProcessDefinitionVersion());
+        Assertions.assertEquals(2, compileTimes.get());
+    }
+
+    @Test
+    public void testCompileFailedNotCached() {
+        MasterConfig masterConfig = new MasterConfig();
+        WorkflowGraphCache workflowGraphCache = new WorkflowGraphCache(masterConfig);
+        AtomicInteger compileTimes = new AtomicInteger();
+        WorkflowGraphCache.WorkflowGraphCompiler compiler = (code, version) -> {
+            compileTimes.incrementAndGet();
+            throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+        };
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> workflowGraphCache.get(1L, 1, compiler));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> workflowGraphCache.get(1L, 1, compiler));
+        Assertions.assertEquals(2, compileTimes.get());
+    }
+
+    @Test
+    public void testCacheDisabled() throws Exception {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setWorkflowGraphCacheSize(0);
+        WorkflowGraphCache workflowGraphCache = new WorkflowGraphCache(masterConfig);
+        AtomicInteger compileTimes = new AtomicInteger();
+        WorkflowGraphCache.WorkflowGraphCompiler compiler = (code, version) -> {
+            compileTimes.incrementAndGet();
+            return compile(code, version);
+        };
+
+        workflowGraphCache.get(1L, 1, compiler);
+        workflowGraphCache.get(1L, 1, compiler);
+        Assertions.assertEquals(2, compileTimes.get());
+    }
+
+    private CompiledWorkflowGraph compile(long code, int version) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(1L);
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        dag.addNode(taskNode.getCode(), taskNode);
+        return new CompiledWorkflowGraph(code, version, Collections.singletonList(taskNode),
+                new WorkflowGraph(Collections.singletonList(taskNode), dag));
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WorkflowGraphTest {
+
+    @Test
+    public void testIndirectDepTaskCodes() {
+        // 1 -> 2(forbidden) -> 3(forbidden) -> 4
+        // 5 ----------------------------------> 4
+        // 1 -> 6
+        List<TaskNode> taskNodes = Arrays.asList(
+                taskNode(1L, false),
+                taskNode(2L, true, 1L),
+                taskNode(3L, true, 2L),
+                taskNode(4L, false, 3L, 5L),
+                taskNode(5L, false),
+                taskNode(6L, false, 1L));
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        taskNodes.forEach(taskNode -> dag.addNode(taskNode.getCode(), taskNode));
+        taskNodes.forEach(taskNode -> taskNode.getDepList().forEach(dep -> dag.addEdge(dep, taskNode.getCode())));
+
+        WorkflowGraph workflowGraph = new WorkflowGraph(taskNodes, dag);
+        Assertions.assertEquals(Arrays.asList(1L, 5L), workflowGraph.getIndirectDepTaskCodes(4L));
+        Assertions.assertEquals(Collections.singletonList(1L), workflowGraph.getIndirectDepTaskCodes(6L));
+        Assertions.assertEquals(Collections.emptyList(), workflowGraph.getIndirectDepTaskCodes(1L));
+        Assertions.assertEquals(Arrays.asList(2L, 3L, 4L, 6L), sorted(workflowGraph.getIndirectPostTaskCodes(1L)));
+        Assertions.assertEquals(Collections.singletonList(4L), workflowGraph.getIndirectPostTaskCodes(5L));
+        Assertions.assertEquals(Collections.emptyList(), workflowGraph.getIndirectPostTaskCodes(4L));
+    }
+
+    @Test
+    public void testIndirectDepTaskCodesOutOfDag() {
+        // start from 2, the upstream task 1 is not in the dag
+        List<TaskNode> taskNodes = Arrays.asList(taskNode(1L, false), taskNode(2L, false, 1L));
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        dag.addNode(2L, taskNodes.get(1));
+
+        WorkflowGraph workflowGraph = new WorkflowGraph(taskNodes, dag);
+        Assertions.assertEquals(Collections.emptyList(), workflowGraph.getIndirectDepTaskCodes(2L));
+        Assertions.assertEquals(Collections.emptyList(), workflowGraph.getIndirectPostTaskCodes(1L));
+    }
+
+    private TaskNode taskNode(long code, boolean forbidden, Long... preTasks) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setRunFlag(forbidden ? Constants.FLOWNODE_RUN_FLAG_FORBIDDEN : Constants.FLOWNODE_RUN_FLAG_NORMAL);
+        taskNode.setPreTasks(JSONUtils.toJsonString(Arrays.asList(preTasks)));
+        return taskNode;
+    }
+
+    private List<Long> sorted(List<Long> codes) {
+        Long[] array = codes.toArray(new Long[0]);
+        Arrays.sort(array);
+        return Arrays.asList(array);
+    }
+
+}
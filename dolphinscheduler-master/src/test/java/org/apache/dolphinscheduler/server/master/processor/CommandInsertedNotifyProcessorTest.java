@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.workflow.CommandInsertedNotifyRequest;
+import org.apache.dolphinscheduler.server.master.command.CommandFetchSignal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.netty.channel.Channel;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandInsertedNotifyProcessorTest {
+
+    @InjectMocks
+    private CommandInsertedNotifyProcessor commandInsertedNotifyProcessor;
+
+    @Spy
+    private CommandFetchSignal commandFetchSignal = new CommandFetchSignal();
+
+    @Mock
+    private Channel channel;
+
+    @Test
+    public void testProcessWakeUpCommandLoop() throws Exception {
+        // the command loop waits for the next fetch
+        CompletableFuture<Boolean> commandLoop = CompletableFuture.supplyAsync(() -> {
+            try {
+                return commandFetchSignal.await(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        Message message = new CommandInsertedNotifyRequest(1).convert2Command();
+        commandInsertedNotifyProcessor.process(channel, message);
+        Assertions.assertTrue(commandLoop.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.StreamTaskInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskExecuteThreadPoolTest {
+
+    private TaskExecuteThreadPool taskExecuteThreadPool;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
+
+    @Mock
+    private TaskEventHandler taskEventHandler;
+
+    @BeforeEach
+    public void before() {
+        Mockito.when(taskEventHandler.getHandleEventType()).thenReturn(TaskEventType.RESULT);
+        taskExecuteThreadPool = new TaskExecuteThreadPool();
+        ReflectionTestUtils.setField(taskExecuteThreadPool, "masterConfig", new MasterConfig());
+        ReflectionTestUtils.setField(taskExecuteThreadPool, "processInstanceExecCacheManager",
+                processInstanceExecCacheManager);
+        ReflectionTestUtils.setField(taskExecuteThreadPool, "streamTaskInstanceExecCacheManager",
+                streamTaskInstanceExecCacheManager);
+        ReflectionTestUtils.setField(taskExecuteThreadPool, "taskEventHandlerList",
+                Collections.singletonList(taskEventHandler));
+        ReflectionTestUtils.invokeMethod(taskExecuteThreadPool, "init");
+        taskExecuteThreadPool.initialize();
+    }
+
+    @AfterEach
+    public void after() {
+        taskExecuteThreadPool.shutdown();
+    }
+
+    @Test
+    public void testHandleEventOnceSubmitted() throws Exception {
+        Mockito.when(processInstanceExecCacheManager.contains(1)).thenReturn(true);
+        TaskEvent firstEvent = TaskEvent.builder().processInstanceId(1).taskInstanceId(1)
+                .event(TaskEventType.RESULT).build();
+        TaskEvent secondEvent = TaskEvent.builder().processInstanceId(1).taskInstanceId(2)
+                .event(TaskEventType.RESULT).build();
+
+        taskExecuteThreadPool.submitTaskEvent(firstEvent);
+        Mockito.verify(taskEventHandler, Mockito.timeout(1000)).handleTaskEvent(firstEvent);
+
+        taskExecuteThreadPool.submitTaskEvent(secondEvent);
+        Mockito.verify(taskEventHandler, Mockito.timeout(1000)).handleTaskEvent(secondEvent);
+    }
+}
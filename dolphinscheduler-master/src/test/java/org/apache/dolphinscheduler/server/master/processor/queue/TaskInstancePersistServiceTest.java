@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstancePersistConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskInstancePersistServiceTest {
+
+    @InjectMocks
+    private TaskInstancePersistService taskInstancePersistService;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    public void before() {
+        Mockito.lenient().when(masterConfig.getTaskInstancePersist()).thenReturn(new TaskInstancePersistConfig());
+    }
+
+    @Test
+    public void testCoalesceUpdatesOfSameTaskInstance() throws InterruptedException {
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        TaskInstance taskInstance2 = createTaskInstance(2, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        CompletableFuture<Void> runningFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION));
+        CompletableFuture<Void> resultFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.SUCCESS));
+        CompletableFuture<Void> otherFuture = taskInstancePersistService.persist(taskInstance2,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION));
+        Assertions.assertEquals(2, taskInstancePersistService.getPendingSize());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS,
+                taskInstancePersistService.getLatestTaskInstance(taskInstance1).getState());
+
+        List<Integer> completedOrder = new ArrayList<>();
+        runningFuture.thenRun(() -> completedOrder.add(1));
+        resultFuture.thenRun(() -> completedOrder.add(2));
+
+        Map<Integer, TaskInstancePersistService.PendingTaskInstance> batch = taskInstancePersistService.awaitBatch();
+        Assertions.assertFalse(taskInstancePersistService.whenPersisted(1).isDone());
+        Assertions.assertEquals(TaskExecutionStatus.SUBMITTED_SUCCESS, taskInstance1.getState());
+        Assertions.assertTrue(taskInstancePersistService.flush(batch));
+
+        ArgumentCaptor<Collection<TaskInstance>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(taskInstanceDao).updateBatchById(captor.capture());
+        List<TaskInstance> flushed = new ArrayList<>(captor.getValue());
+        Assertions.assertEquals(2, flushed.size());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, flushed.get(0).getState());
+
+        Assertions.assertTrue(runningFuture.isDone());
+        Assertions.assertTrue(resultFuture.isDone());
+        Assertions.assertTrue(otherFuture.isDone());
+        Assertions.assertEquals(2, completedOrder.size());
+        Assertions.assertEquals(1, completedOrder.get(0));
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskInstance1.getState());
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, taskInstance2.getState());
+        Assertions.assertEquals(0, taskInstancePersistService.getPendingSize());
+        Assertions.assertTrue(taskInstancePersistService.whenPersisted(1).isDone());
+        Assertions.assertSame(taskInstance1, taskInstancePersistService.getLatestTaskInstance(taskInstance1));
+    }
+
+    @Test
+    public void testFlushSnapshotOfTaskInstance() throws InterruptedException {
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        CompletableFuture<Void> runningFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION));
+        // the changes made to the cached task instance after persisting are not written by this flush
+        taskInstance1.setHost("127.0.0.1:1234");
+
+        Assertions.assertTrue(taskInstancePersistService.flush(taskInstancePersistService.awaitBatch()));
+        ArgumentCaptor<Collection<TaskInstance>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(taskInstanceDao).updateBatchById(captor.capture());
+        TaskInstance flushed = captor.getValue().iterator().next();
+        Assertions.assertNotSame(taskInstance1, flushed);
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, flushed.getState());
+        Assertions.assertNull(flushed.getHost());
+
+        Assertions.assertTrue(runningFuture.isDone());
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, taskInstance1.getState());
+        Assertions.assertEquals("127.0.0.1:1234", taskInstance1.getHost());
+    }
+
+    @Test
+    public void testRetryFailedBatch() throws InterruptedException {
+        Mockito.doThrow(new RuntimeException("db error"))
+                .doReturn(Collections.emptyList())
+                .when(taskInstanceDao).updateBatchById(Mockito.any());
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        CompletableFuture<Void> runningFuture = taskInstancePersistService.persist(taskInstance1, taskInstance -> {
+            taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+            taskInstance.setHost("127.0.0.1:1234");
+        });
+
+        Map<Integer, TaskInstancePersistService.PendingTaskInstance> batch = taskInstancePersistService.awaitBatch();
+        // persisted while the previous changes are being flushed
+        CompletableFuture<Void> resultFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.SUCCESS));
+        Assertions.assertEquals("127.0.0.1:1234",
+                taskInstancePersistService.getLatestTaskInstance(taskInstance1).getHost());
+        Assertions.assertFalse(taskInstancePersistService.flush(batch));
+        Assertions.assertFalse(runningFuture.isDone());
+        Assertions.assertEquals(TaskExecutionStatus.SUBMITTED_SUCCESS, taskInstance1.getState());
+        Assertions.assertNull(taskInstance1.getHost());
+        Assertions.assertEquals(1, taskInstancePersistService.getPendingSize());
+
+        Assertions.assertTrue(taskInstancePersistService.flush(taskInstancePersistService.awaitBatch()));
+        Assertions.assertTrue(runningFuture.isDone());
+        Assertions.assertTrue(resultFuture.isDone());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskInstance1.getState());
+        Assertions.assertEquals("127.0.0.1:1234", taskInstance1.getHost());
+    }
+
+    @Test
+    public void testNotAckMissingTaskInstance() throws InterruptedException {
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        TaskInstance taskInstance2 = createTaskInstance(2, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        Mockito.when(taskInstanceDao.updateBatchById(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    Collection<TaskInstance> taskInstances = invocation.getArgument(0);
+                    return taskInstances.stream()
+                            .filter(taskInstance -> taskInstance.getId() == 1)
+                            .collect(Collectors.toList());
+                });
+        CompletableFuture<Void> missingFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.SUCCESS));
+        CompletableFuture<Void> otherFuture = taskInstancePersistService.persist(taskInstance2,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.SUCCESS));
+
+        Assertions.assertTrue(taskInstancePersistService.flush(taskInstancePersistService.awaitBatch()));
+        Assertions.assertTrue(missingFuture.isCompletedExceptionally());
+        Assertions.assertEquals(TaskExecutionStatus.SUBMITTED_SUCCESS, taskInstance1.getState());
+        Assertions.assertTrue(otherFuture.isDone());
+        Assertions.assertFalse(otherFuture.isCompletedExceptionally());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskInstance2.getState());
+        Assertions.assertEquals(0, taskInstancePersistService.getPendingSize());
+    }
+
+    @Test
+    public void testDiscardChangesOfFinishedTaskInstance() throws InterruptedException {
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        CompletableFuture<Void> runningFuture = taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION));
+        // the task instance is killed before the running changes are flushed
+        taskInstance1.setState(TaskExecutionStatus.KILL);
+        Mockito.when(taskInstanceDao.updateById(taskInstance1)).thenReturn(true);
+        Assertions.assertTrue(taskInstancePersistService.update(taskInstance1));
+
+        Assertions.assertTrue(taskInstancePersistService.flush(taskInstancePersistService.awaitBatch()));
+        ArgumentCaptor<Collection<TaskInstance>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(taskInstanceDao).updateBatchById(captor.capture());
+        Assertions.assertTrue(captor.getValue().isEmpty());
+        Assertions.assertTrue(runningFuture.isDone());
+        Assertions.assertFalse(runningFuture.isCompletedExceptionally());
+        Assertions.assertEquals(TaskExecutionStatus.KILL, taskInstance1.getState());
+    }
+
+    @Test
+    public void testRebasePendingSnapshotOnUpdate() throws InterruptedException {
+        TaskInstance taskInstance1 = createTaskInstance(1, TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstancePersistService.persist(taskInstance1,
+                taskInstance -> taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION));
+        Map<Integer, TaskInstancePersistService.PendingTaskInstance> batch = taskInstancePersistService.awaitBatch();
+        taskInstancePersistService.persist(taskInstance1, taskInstance -> taskInstance.setHost("127.0.0.1:1234"));
+
+        // the batch is taken but not written yet
+        taskInstance1.setFlag(Flag.NO);
+        taskInstancePersistService.update(taskInstance1);
+        Mockito.verify(taskInstanceDao).updateById(taskInstance1);
+        Assertions.assertEquals(Flag.NO, taskInstancePersistService.getLatestTaskInstance(taskInstance1).getFlag());
+
+        Assertions.assertTrue(taskInstancePersistService.flush(batch));
+        Assertions.assertTrue(taskInstancePersistService.flush(taskInstancePersistService.awaitBatch()));
+        ArgumentCaptor<Collection<TaskInstance>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(taskInstanceDao, Mockito.times(2)).updateBatchById(captor.capture());
+        TaskInstance flushedRunning = captor.getAllValues().get(0).iterator().next();
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, flushedRunning.getState());
+        Assertions.assertEquals(Flag.NO, flushedRunning.getFlag());
+        TaskInstance flushedHost = captor.getAllValues().get(1).iterator().next();
+        Assertions.assertEquals("127.0.0.1:1234", flushedHost.getHost());
+        Assertions.assertEquals(Flag.NO, flushedHost.getFlag());
+        Assertions.assertEquals(Flag.NO, taskInstance1.getFlag());
+    }
+
+    @Test
+    public void testRunAfterPersisted() {
+        TaskEvent taskEvent = new TaskEvent();
+        List<Integer> callbacks = new ArrayList<>();
+        CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+        TaskInstancePersistService.runAfterPersisted(failedFuture, taskEvent, () -> callbacks.add(1));
+        failedFuture.completeExceptionally(new IllegalStateException("The task instance doesn't exist in db"));
+        Assertions.assertTrue(callbacks.isEmpty());
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TaskInstancePersistService.runAfterPersisted(future, taskEvent, () -> {
+            callbacks.add(2);
+            throw new IllegalStateException("send ack error");
+        });
+        Assertions.assertDoesNotThrow(() -> future.complete(null));
+        Assertions.assertEquals(Collections.singletonList(2), callbacks);
+    }
+
+    private TaskInstance createTaskInstance(int id, TaskExecutionStatus state) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setState(state);
+        taskInstance.setTaskParams("{}");
+        return taskInstance;
+    }
+}
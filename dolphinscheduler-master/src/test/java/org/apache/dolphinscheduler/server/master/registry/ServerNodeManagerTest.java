@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class ServerNodeManagerTest {
+
+    @InjectMocks
+    private ServerNodeManager serverNodeManager;
+
+    @Mock
+    private RegistryClient registryClient;
+
+    @Mock
+    private WorkerGroupMapper workerGroupMapper;
+
+    @Test
+    public void testRefreshRemoveWorkerNotInRegistry() throws WorkerGroupNotFoundException {
+        Mockito.when(workerGroupMapper.queryAllWorkerGroup()).thenReturn(Collections.emptyList());
+        Map<String, String> workerNodeMaps = new HashMap<>();
+        workerNodeMaps.put("127.0.0.1:1234", JSONUtils.toJsonString(new WorkerHeartBeat()));
+        workerNodeMaps.put("127.0.0.2:1234", JSONUtils.toJsonString(new WorkerHeartBeat()));
+        Mockito.when(registryClient.getServerMaps(RegistryNodeType.WORKER)).thenReturn(workerNodeMaps);
+        refreshWorkerNodesAndGroupMappings();
+        WorkerTopology workerTopology = serverNodeManager.getWorkerTopology();
+        Assertions.assertEquals(workerNodeMaps.keySet(), workerTopology.getWorkerNodeInfo().keySet());
+
+        // the heartbeats which are not changed don't publish a new topology
+        refreshWorkerNodesAndGroupMappings();
+        Assertions.assertSame(workerTopology, serverNodeManager.getWorkerTopology());
+
+        // the worker is gone from the registry, e.g. its remove event is raced by the refresh
+        workerNodeMaps.remove("127.0.0.2:1234");
+        refreshWorkerNodesAndGroupMappings();
+        workerTopology = serverNodeManager.getWorkerTopology();
+        Assertions.assertEquals(Collections.singleton("127.0.0.1:1234"), workerTopology.getWorkerNodeInfo().keySet());
+        Assertions.assertEquals(Collections.singleton("127.0.0.1:1234"),
+                workerTopology.getWorkerGroupNodes("default"));
+    }
+
+    private void refreshWorkerNodesAndGroupMappings() {
+        ReflectionTestUtils.invokeMethod(serverNodeManager, "refreshWorkerNodesAndGroupMappings");
+    }
+}
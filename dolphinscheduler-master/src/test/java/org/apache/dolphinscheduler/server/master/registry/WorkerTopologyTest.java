@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+
+public class WorkerTopologyTest {
+
+    @Test
+    public void testOf() throws WorkerGroupNotFoundException {
+        WorkerGroup workerGroup = new WorkerGroup();
+        workerGroup.setName("g1");
+        workerGroup.setAddrList("127.0.0.1:1234,127.0.0.3:1234");
+        Map<String, WorkerHeartBeat> workerNodeInfo = new HashMap<>();
+        workerNodeInfo.put("127.0.0.1:1234", new WorkerHeartBeat());
+        workerNodeInfo.put("127.0.0.2:1234", new WorkerHeartBeat());
+
+        WorkerTopology workerTopology =
+                WorkerTopology.of(2, Collections.singletonList(workerGroup), workerNodeInfo);
+        // the topology must not be affected by the change of the source map
+        workerNodeInfo.clear();
+
+        Assertions.assertEquals(2, workerTopology.getVersion());
+        Assertions.assertEquals(Sets.newHashSet("127.0.0.1:1234"), workerTopology.getWorkerGroupNodes("g1"));
+        Assertions.assertEquals(Sets.newHashSet("127.0.0.1:1234", "127.0.0.2:1234"),
+                workerTopology.getWorkerGroupNodes("default"));
+        Assertions.assertEquals(Sets.newHashSet("127.0.0.1:1234", "127.0.0.2:1234"),
+                workerTopology.getWorkerGroupNodes(""));
+        Assertions.assertTrue(workerTopology.getWorkerNodeInfo("127.0.0.2:1234").isPresent());
+        Assertions.assertFalse(workerTopology.getWorkerNodeInfo("127.0.0.3:1234").isPresent());
+        Assertions.assertThrows(WorkerGroupNotFoundException.class, () -> workerTopology.getWorkerGroupNodes("g2"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> workerTopology.getWorkerGroupNodes("g1").add("127.0.0.2:1234"));
+    }
+
+}
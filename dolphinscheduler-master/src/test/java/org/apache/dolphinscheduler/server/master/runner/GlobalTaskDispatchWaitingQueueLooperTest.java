@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static org.apache.dolphinscheduler.server.master.runner.TaskDispatchWaitingQueuePartitionTest.createTaskExecuteRunnable;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
+import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
+import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Metrics;
+
+public class GlobalTaskDispatchWaitingQueueLooperTest {
+
+    private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
+
+    private GlobalTaskDispatchWaitingQueueLooper globalTaskDispatchWaitingQueueLooper;
+
+    private TaskDispatcher taskDispatcher;
+
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    private ProcessInstance workflowInstance;
+
+    @BeforeEach
+    public void setUp() {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setDispatchTaskNumber(1);
+        masterConfig.getTaskDispatchQueue().setRetryInitialInterval(Duration.ofMillis(10));
+        masterConfig.getTaskDispatchQueue().setRetryMaxInterval(Duration.ofMillis(10));
+        masterConfig.getTaskDispatchQueue().setCapacityPerWorkerGroup(1);
+
+        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        ReflectionTestUtils.setField(globalTaskDispatchWaitingQueue, "masterConfig", masterConfig);
+
+        taskDispatcher = Mockito.mock(TaskDispatcher.class);
+        TaskDispatchFactory taskDispatchFactory = Mockito.mock(TaskDispatchFactory.class);
+        Mockito.when(taskDispatchFactory.getTaskDispatcher(Mockito.anyString())).thenReturn(taskDispatcher);
+
+        workflowInstance = new ProcessInstance();
+        workflowInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        WorkflowExecuteRunnable workflowExecuteRunnable = Mockito.mock(WorkflowExecuteRunnable.class,
+                Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(workflowExecuteRunnable.getWorkflowExecuteContext().getWorkflowInstance())
+                .thenReturn(workflowInstance);
+        processInstanceExecCacheManager = Mockito.mock(ProcessInstanceExecCacheManager.class);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+
+        globalTaskDispatchWaitingQueueLooper = new GlobalTaskDispatchWaitingQueueLooper();
+        ReflectionTestUtils.setField(globalTaskDispatchWaitingQueueLooper, "globalTaskDispatchWaitingQueue",
+                globalTaskDispatchWaitingQueue);
+        ReflectionTestUtils.setField(globalTaskDispatchWaitingQueueLooper, "taskDispatchFactory",
+                taskDispatchFactory);
+        ReflectionTestUtils.setField(globalTaskDispatchWaitingQueueLooper, "masterConfig", masterConfig);
+        ReflectionTestUtils.setField(globalTaskDispatchWaitingQueueLooper, "processInstanceExecCacheManager",
+                processInstanceExecCacheManager);
+        globalTaskDispatchWaitingQueueLooper.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        globalTaskDispatchWaitingQueueLooper.close();
+    }
+
+    @Test
+    public void testDispatchSuccess() {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable(1, Priority.MEDIUM);
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(taskExecuteRunnable);
+
+        Mockito.verify(taskDispatcher, Mockito.timeout(5000))
+                .dispatchTasks(Collections.singletonList(taskExecuteRunnable));
+        awaitNoWaitingTask();
+    }
+
+    @Test
+    public void testRemoveIdlePartition() throws InterruptedException {
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(
+                createTaskExecuteRunnable(1, Priority.MEDIUM));
+        awaitNoWaitingTask();
+        List<?> taskDispatchThreads = (List<?>) ReflectionTestUtils.getField(globalTaskDispatchWaitingQueueLooper,
+                "taskDispatchThreads");
+        Assertions.assertEquals(1, taskDispatchThreads.size());
+        Thread taskDispatchThread = (Thread) taskDispatchThreads.get(0);
+
+        // the partition is not idle for long enough
+        globalTaskDispatchWaitingQueue.removeIdlePartitions(60_000);
+        Assertions.assertEquals(1, taskDispatchThreads.size());
+        Assertions.assertNotNull(Metrics.globalRegistry.find("ds.task.dispatch.waiting.queue.size")
+                .tag("worker_group", "default").gauge());
+
+        Thread.sleep(10);
+        globalTaskDispatchWaitingQueue.removeIdlePartitions(1);
+        Assertions.assertTrue(taskDispatchThreads.isEmpty());
+        taskDispatchThread.join(5000);
+        Assertions.assertFalse(taskDispatchThread.isAlive());
+        Assertions.assertNull(Metrics.globalRegistry.find("ds.task.dispatch.waiting.queue.size")
+                .tag("worker_group", "default").gauge());
+        Assertions.assertNull(Metrics.globalRegistry.find("ds.task.dispatch.waiting.duration")
+                .tag("worker_group", "default").timer());
+
+        // the partition is created again once needed
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(
+                createTaskExecuteRunnable(1, Priority.MEDIUM));
+        Mockito.verify(taskDispatcher, Mockito.timeout(5000).times(2)).dispatchTasks(Mockito.anyList());
+        awaitNoWaitingTask();
+        Assertions.assertEquals(1, taskDispatchThreads.size());
+    }
+
+    @Test
+    public void testDropInactiveTask() {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable(1, Priority.MEDIUM);
+        taskExecuteRunnable.getTaskInstance().setState(TaskExecutionStatus.KILL);
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(taskExecuteRunnable);
+
+        awaitNoWaitingTask();
+        Mockito.verify(taskDispatcher, Mockito.never()).dispatchTasks(Mockito.anyList());
+    }
+
+    @Test
+    public void testRetryUntilWorkflowFinished() {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable(1, Priority.MEDIUM);
+        Mockito.when(taskDispatcher.dispatchTasks(Mockito.anyList()))
+                .thenReturn(Collections.singletonMap(1, new TaskDispatchException("no host")));
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(taskExecuteRunnable);
+
+        // the failed task is retried and still waiting
+        Mockito.verify(taskDispatcher, Mockito.timeout(5000).atLeast(2)).dispatchTasks(Mockito.anyList());
+        Assertions.assertEquals(1, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
+        // the task without worker group is in the default partition, only the default worker group is full
+        Assertions.assertEquals(Collections.singleton("default"), globalTaskDispatchWaitingQueue.getFullWorkerGroups());
+        Assertions.assertFalse(globalTaskDispatchWaitingQueue.isMasterTaskPartitionFull());
+
+        workflowInstance.setState(WorkflowExecutionStatus.STOP);
+        awaitNoWaitingTask();
+    }
+
+    private void awaitNoWaitingTask() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber() != 0
+                && System.currentTimeMillis() < deadline) {
+            ThreadUtils.sleep(10);
+        }
+        Assertions.assertEquals(0, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.thread.HashedTimingWheel;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class StateWheelExecuteThreadTest {
+
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @BeforeEach
+    public void before() {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setStateWheelInterval(Duration.ofMillis(5));
+        processInstanceExecCacheManager = Mockito.mock(ProcessInstanceExecCacheManager.class);
+
+        stateWheelExecuteThread = new StateWheelExecuteThread();
+        ReflectionTestUtils.setField(stateWheelExecuteThread, "masterConfig", masterConfig);
+        ReflectionTestUtils.setField(stateWheelExecuteThread, "processInstanceExecCacheManager",
+                processInstanceExecCacheManager);
+        // init the wheels without starting the thread, the wheels are advanced by the test
+        for (String wheel : new String[]{"processInstanceTimeoutCheckWheel", "taskInstanceTimeoutCheckWheel",
+                "taskInstanceRetryCheckWheel"}) {
+            ReflectionTestUtils.setField(stateWheelExecuteThread, wheel, new HashedTimingWheel<>(5, 16));
+        }
+    }
+
+    @Test
+    public void testRearmRetryCheckWhenCheckFailed() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setTaskCode(2L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setTaskDefine(new TaskDefinition());
+        TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
+        stateWheelExecuteThread.addTask4RetryCheck(processInstance, taskInstance);
+
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1))
+                .thenThrow(new IllegalStateException("Mock check failed"));
+        advanceRetryCheckWheel();
+
+        // the fired check is added back, and the workflow instance is still tracked
+        Assertions.assertTrue(getRetryCheckWheel().contains(taskInstanceKey));
+        Assertions.assertTrue(getWorkflowInstanceRetryCheckTasks().containsKey(1));
+
+        // the check is removed with its workflow instance once the workflow instance is gone
+        Mockito.reset(processInstanceExecCacheManager);
+        advanceRetryCheckWheel();
+        Assertions.assertFalse(getRetryCheckWheel().contains(taskInstanceKey));
+        Assertions.assertFalse(getWorkflowInstanceRetryCheckTasks().containsKey(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRearmProcessTimeoutCheckWhenCheckFailed() {
+        HashedTimingWheel<Integer> processTimeoutCheckWheel = (HashedTimingWheel<Integer>) ReflectionTestUtils
+                .getField(stateWheelExecuteThread, "processInstanceTimeoutCheckWheel");
+        processTimeoutCheckWheel.add(1, System.currentTimeMillis());
+
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1))
+                .thenThrow(new IllegalStateException("Mock check failed"));
+        processTimeoutCheckWheel.advance(System.currentTimeMillis() + 10,
+                processInstanceId -> ReflectionTestUtils.invokeMethod(stateWheelExecuteThread,
+                        "checkProcess4Timeout", processInstanceId));
+
+        Assertions.assertTrue(processTimeoutCheckWheel.contains(1));
+    }
+
+    private void advanceRetryCheckWheel() {
+        getRetryCheckWheel().advance(System.currentTimeMillis() + 10,
+                taskInstanceKey -> ReflectionTestUtils.invokeMethod(stateWheelExecuteThread, "checkTask4Retry",
+                        taskInstanceKey));
+    }
+
+    @SuppressWarnings("unchecked")
+    private HashedTimingWheel<TaskInstanceKey> getRetryCheckWheel() {
+        return (HashedTimingWheel<TaskInstanceKey>) ReflectionTestUtils.getField(stateWheelExecuteThread,
+                "taskInstanceRetryCheckWheel");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, ?> getWorkflowInstanceRetryCheckTasks() {
+        return (Map<Integer, ?>) ReflectionTestUtils.getField(stateWheelExecuteThread,
+                "workflowInstanceRetryCheckTasks");
+    }
+}
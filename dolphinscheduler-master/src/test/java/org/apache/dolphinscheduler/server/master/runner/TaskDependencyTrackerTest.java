@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class TaskDependencyTrackerTest {
+
+    @Test
+    public void testHasUnresolvedDependency() {
+        // 1 -> 3, 2 -> 3
+        IWorkflowGraph workflowGraph = Mockito.mock(IWorkflowGraph.class);
+        Mockito.when(workflowGraph.getIndirectDepTaskCodes(3L)).thenReturn(Arrays.asList(1L, 2L));
+        Mockito.when(workflowGraph.getIndirectPostTaskCodes(1L)).thenReturn(Collections.singletonList(3L));
+        Mockito.when(workflowGraph.getIndirectPostTaskCodes(2L)).thenReturn(Collections.singletonList(3L));
+        TaskDependencyTracker taskDependencyTracker = new TaskDependencyTracker(workflowGraph);
+
+        taskDependencyTracker.setResolved(1L, true);
+        Assertions.assertTrue(taskDependencyTracker.hasUnresolvedDependency(3L));
+        Assertions.assertFalse(taskDependencyTracker.hasUnresolvedDependency(1L));
+
+        taskDependencyTracker.setResolved(2L, true);
+        taskDependencyTracker.setResolved(2L, true);
+        Assertions.assertFalse(taskDependencyTracker.hasUnresolvedDependency(3L));
+
+        taskDependencyTracker.setResolved(1L, false);
+        Assertions.assertTrue(taskDependencyTracker.hasUnresolvedDependency(3L));
+        taskDependencyTracker.setResolved(1L, true);
+        Assertions.assertFalse(taskDependencyTracker.hasUnresolvedDependency(3L));
+
+        taskDependencyTracker.clear();
+        Assertions.assertTrue(taskDependencyTracker.hasUnresolvedDependency(3L));
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.runner.TaskDispatchWaitingQueuePartition.WaitingTask;
+import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.operator.TaskOperatorManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class TaskDispatchWaitingQueuePartitionTest {
+
+    @Test
+    public void testSubmitAndComplete() throws InterruptedException {
+        TaskDispatchWaitingQueuePartition partition = new TaskDispatchWaitingQueuePartition("default", 2);
+        partition.submit(createTaskExecuteRunnable(1, Priority.MEDIUM));
+        Assertions.assertEquals(1, partition.getWaitingTaskNumber());
+        Assertions.assertFalse(partition.isFull());
+        partition.submit(createTaskExecuteRunnable(2, Priority.MEDIUM));
+        Assertions.assertTrue(partition.isFull());
+
+        // the taken task is still waiting until it's completed
+        WaitingTask waitingTask = partition.take();
+        Assertions.assertEquals(2, partition.getWaitingTaskNumber());
+
+        // the resubmitted task is not counted again
+        partition.resubmit(waitingTask);
+        Assertions.assertEquals(2, partition.getWaitingTaskNumber());
+
+        partition.take();
+        partition.complete();
+        Assertions.assertEquals(1, partition.getWaitingTaskNumber());
+        Assertions.assertFalse(partition.isFull());
+    }
+
+    @Test
+    public void testTakeByPriority() throws InterruptedException {
+        TaskDispatchWaitingQueuePartition partition = new TaskDispatchWaitingQueuePartition("default", 10);
+        partition.submit(createTaskExecuteRunnable(1, Priority.LOW));
+        partition.submit(createTaskExecuteRunnable(2, Priority.HIGHEST));
+        partition.submit(createTaskExecuteRunnable(3, Priority.MEDIUM));
+
+        Assertions.assertEquals(2, partition.take().getTaskExecuteRunnable().getTaskInstance().getId());
+        Assertions.assertEquals(3, partition.take().getTaskExecuteRunnable().getTaskInstance().getId());
+        Assertions.assertEquals(1, partition.take().getTaskExecuteRunnable().getTaskInstance().getId());
+    }
+
+    @Test
+    public void testDrainTo() throws InterruptedException {
+        TaskDispatchWaitingQueuePartition partition = new TaskDispatchWaitingQueuePartition("default", 10);
+        for (int i = 1; i <= 3; i++) {
+            partition.submit(createTaskExecuteRunnable(i, Priority.MEDIUM));
+        }
+
+        List<WaitingTask> waitingTasks = new ArrayList<>();
+        partition.drainTo(waitingTasks, 2, 1000);
+        Assertions.assertEquals(2, waitingTasks.size());
+
+        // return once the window passed even if there are not enough tasks
+        waitingTasks.clear();
+        long start = System.currentTimeMillis();
+        partition.drainTo(waitingTasks, 2, 50);
+        Assertions.assertEquals(1, waitingTasks.size());
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 50);
+    }
+
+    @Test
+    public void testCloseIfIdle() throws InterruptedException {
+        TaskDispatchWaitingQueuePartition partition = new TaskDispatchWaitingQueuePartition("default", 10);
+        Assertions.assertTrue(partition.submit(createTaskExecuteRunnable(1, Priority.MEDIUM)));
+
+        // the partition with waiting task cannot be closed
+        Assertions.assertFalse(partition.closeIfIdleSince(System.currentTimeMillis() + 1000));
+        partition.take();
+        partition.complete();
+
+        // the partition is active since the given time
+        Assertions.assertFalse(partition.closeIfIdleSince(System.currentTimeMillis() - 1000));
+
+        Assertions.assertTrue(partition.closeIfIdleSince(System.currentTimeMillis() + 1000));
+        Assertions.assertTrue(partition.isClosed());
+        Assertions.assertFalse(partition.submit(createTaskExecuteRunnable(2, Priority.MEDIUM)));
+        Assertions.assertEquals(0, partition.getWaitingTaskNumber());
+    }
+
+    static DefaultTaskExecuteRunnable createTaskExecuteRunnable(int taskInstanceId, Priority workflowPriority) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setProcessInstancePriority(workflowPriority);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setName("task-" + taskInstanceId);
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskInstancePriority(Priority.MEDIUM);
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setProcessInstanceId(1);
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        return new DefaultTaskExecuteRunnable(processInstance, taskInstance, taskExecutionContext,
+                Mockito.mock(TaskOperatorManager.class));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VarPoolTest {
+
+    @Test
+    public void testParse() {
+        Assertions.assertSame(VarPool.EMPTY, VarPool.parse(null));
+        Assertions.assertSame(VarPool.EMPTY, VarPool.parse(""));
+        Assertions.assertTrue(VarPool.EMPTY.isSameJson("[]"));
+
+        String json = JSONUtils.toJsonString(Arrays.asList(
+                new Property("a", Direct.OUT, DataType.VARCHAR, "1"),
+                new Property("b", Direct.OUT, DataType.VARCHAR, "2")));
+        VarPool varPool = VarPool.parse(json);
+        Assertions.assertEquals(2, varPool.getProperties().size());
+        Assertions.assertTrue(varPool.isSameJson(json));
+        Assertions.assertSame(json, varPool.toJson());
+        Assertions.assertFalse(varPool.isSameJson("[]"));
+    }
+
+    @Test
+    public void testMerge() {
+        VarPool workflowVarPool = VarPool.of(Arrays.asList(
+                new Property("a", Direct.IN, DataType.VARCHAR, "1"),
+                new Property("b", Direct.IN, DataType.VARCHAR, "2")));
+        VarPool taskVarPool = VarPool.of(Arrays.asList(
+                new Property("b", Direct.OUT, DataType.VARCHAR, "3"),
+                new Property("c", Direct.OUT, DataType.VARCHAR, "4")));
+
+        VarPool merged = workflowVarPool.merge(taskVarPool);
+        List<Property> properties = JSONUtils.toList(merged.toJson(), Property.class);
+        Assertions.assertEquals(3, properties.size());
+        Assertions.assertEquals(new Property("a", Direct.IN, DataType.VARCHAR, "1"), properties.get(0));
+        Assertions.assertEquals(new Property("b", Direct.OUT, DataType.VARCHAR, "3"), properties.get(1));
+        Assertions.assertEquals(new Property("c", Direct.OUT, DataType.VARCHAR, "4"), properties.get(2));
+        Assertions.assertTrue(merged.isSameJson(merged.toJson()));
+
+        // copy on write, the merged varPools are not changed
+        Assertions.assertEquals(2, workflowVarPool.getProperties().size());
+        Assertions.assertEquals(2, taskVarPool.getProperties().size());
+        Assertions.assertSame(workflowVarPool, workflowVarPool.merge(VarPool.EMPTY));
+        Assertions.assertSame(taskVarPool, VarPool.EMPTY.merge(taskVarPool));
+    }
+
+    @Test
+    public void testFilter() {
+        VarPool varPool = VarPool.of(Arrays.asList(
+                new Property("a", Direct.IN, DataType.VARCHAR, "1"),
+                new Property("b", Direct.OUT, DataType.VARCHAR, "2")));
+        Assertions.assertSame(varPool, varPool.filter(property -> true));
+        Assertions.assertSame(VarPool.EMPTY, varPool.filter(property -> false));
+        VarPool filtered = varPool.filter(property -> property.getDirect() == Direct.OUT);
+        Assertions.assertEquals(1, filtered.getProperties().size());
+        Assertions.assertEquals(2, varPool.getProperties().size());
+    }
+
+}
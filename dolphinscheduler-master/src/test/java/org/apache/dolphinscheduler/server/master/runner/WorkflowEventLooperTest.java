@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleException;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class WorkflowEventLooperTest {
+
+    private WorkflowEventQueue workflowEventQueue;
+
+    private RecordWorkflowEventHandler workflowEventHandler;
+
+    private WorkflowEventLooper workflowEventLooper;
+
+    @BeforeEach
+    public void before() {
+        MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
+        Mockito.when(masterConfig.getWorkflowEventLooperShardNum()).thenReturn(2);
+        workflowEventQueue = new WorkflowEventQueue(masterConfig);
+        workflowEventHandler = new RecordWorkflowEventHandler();
+
+        workflowEventLooper = new WorkflowEventLooper();
+        ReflectionTestUtils.setField(workflowEventLooper, "workflowEventQueue", workflowEventQueue);
+        ReflectionTestUtils.setField(workflowEventLooper, "workflowEventHandlerList",
+                Collections.singletonList(workflowEventHandler));
+        workflowEventLooper.init();
+        workflowEventLooper.start();
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        workflowEventLooper.close();
+    }
+
+    @Test
+    public void testHandleEventsOfWorkflowInstanceInOrder() throws InterruptedException {
+        List<WorkflowEvent> workflowEvents = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            WorkflowEvent workflowEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, i % 4);
+            workflowEvents.add(workflowEvent);
+            workflowEventQueue.addEvent(workflowEvent);
+        }
+        awaitHandled(100);
+
+        for (int workflowInstanceId = 0; workflowInstanceId < 4; workflowInstanceId++) {
+            assertSameEvents(filter(workflowEvents, workflowInstanceId),
+                    filter(workflowEventHandler.handledEvents, workflowInstanceId));
+        }
+    }
+
+    @Test
+    public void testReplayBlockedEventsAfterRetry() throws InterruptedException {
+        WorkflowEvent failedEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent heldEvent1 = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent heldEvent2 = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent otherEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 3);
+        workflowEventHandler.failOnceEvents.add(failedEvent);
+
+        workflowEventQueue.addEvent(failedEvent);
+        workflowEventQueue.addEvent(heldEvent1);
+        workflowEventQueue.addEvent(otherEvent);
+        workflowEventQueue.addEvent(heldEvent2);
+
+        // the event of other workflow instance in the same shard is not held
+        awaitHandled(1);
+        assertSameEvents(Collections.singletonList(otherEvent), workflowEventHandler.handledEvents);
+
+        awaitHandled(4);
+        assertSameEvents(Arrays.asList(otherEvent, failedEvent, heldEvent1, heldEvent2),
+                workflowEventHandler.handledEvents);
+    }
+
+    @Test
+    public void testDropBlockedEventsAfterClear() throws InterruptedException {
+        WorkflowEvent failedEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent heldEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        workflowEventHandler.failOnceEvents.add(failedEvent);
+
+        workflowEventQueue.addEvent(failedEvent);
+        workflowEventQueue.addEvent(heldEvent);
+        awaitFailed(failedEvent);
+        workflowEventQueue.clearWorkflowEventQueue();
+
+        // the new event is not held by the stale events
+        WorkflowEvent newEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        workflowEventQueue.addEvent(newEvent);
+        awaitHandled(1);
+        assertSameEvents(Collections.singletonList(newEvent), workflowEventHandler.handledEvents);
+
+        // the scheduled retry is discarded
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        assertSameEvents(Collections.singletonList(newEvent), workflowEventHandler.handledEvents);
+    }
+
+    private void awaitHandled(int handledSize) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (workflowEventHandler.handledEvents.size() < handledSize && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(handledSize, workflowEventHandler.handledEvents.size());
+    }
+
+    private void awaitFailed(WorkflowEvent workflowEvent) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (workflowEventHandler.failOnceEvents.contains(workflowEvent) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(workflowEventHandler.failOnceEvents.contains(workflowEvent));
+    }
+
+    private static List<WorkflowEvent> filter(List<WorkflowEvent> workflowEvents, int workflowInstanceId) {
+        synchronized (workflowEvents) {
+            return workflowEvents.stream()
+                    .filter(workflowEvent -> workflowEvent.getWorkflowInstanceId() == workflowInstanceId)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void assertSameEvents(List<WorkflowEvent> expected, List<WorkflowEvent> actual) {
+        synchronized (actual) {
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertSame(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    private static class RecordWorkflowEventHandler implements WorkflowEventHandler {
+
+        private final List<WorkflowEvent> handledEvents = Collections.synchronizedList(new ArrayList<>());
+
+        private final Set<WorkflowEvent> failOnceEvents = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        @Override
+        public void handleWorkflowEvent(WorkflowEvent workflowEvent) throws WorkflowEventHandleException {
+            // the events are equal by value, compare by identity
+            if (failOnceEvents.removeIf(failOnceEvent -> failOnceEvent == workflowEvent)) {
+                throw new WorkflowEventHandleException("Mock handle failed");
+            }
+            handledEvents.add(workflowEvent);
+        }
+
+        @Override
+        public WorkflowEventType getHandleWorkflowEventType() {
+            return WorkflowEventType.START_WORKFLOW;
+        }
+    }
+}
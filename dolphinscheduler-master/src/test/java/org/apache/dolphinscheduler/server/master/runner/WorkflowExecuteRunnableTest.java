@@ -37,6 +37,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstancePersistService;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -147,6 +148,7 @@ public class WorkflowExecuteRunnableTest {
                         stateWheelExecuteThread,
                         curingGlobalParamsService,
                         taskInstanceDao,
+                        Mockito.mock(TaskInstancePersistService.class),
                         defaultTaskExecuteRunnableFactory));
     }
 
@@ -362,6 +364,15 @@ public class WorkflowExecuteRunnableTest {
 
     }
 
+    @Test
+    public void testScheduleEventsDrain() {
+        Assertions.assertTrue(workflowExecuteThread.tryScheduleEventsDrain());
+        Assertions.assertFalse(workflowExecuteThread.tryScheduleEventsDrain());
+
+        workflowExecuteThread.finishEventsDrain();
+        Assertions.assertTrue(workflowExecuteThread.tryScheduleEventsDrain());
+    }
+
     private List<Schedule> zeroSchedulerList() {
         return Collections.emptyList();
     }
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.event.WorkflowStartEventHandler;
+import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class WorkflowExecuteThreadPoolTest {
+
+    private static final int WORKFLOW_INSTANCE_ID = 1;
+
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    private final Queue<StateEvent> stateEvents = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean started = new AtomicBoolean(true);
+
+    private final AtomicInteger drainTimes = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setId(WORKFLOW_INSTANCE_ID);
+        workflowInstance.setIsSubProcess(Flag.NO);
+        workflowInstance.setProcessDefinitionCode(1L);
+        IWorkflowExecuteContext workflowExecuteContext = Mockito.mock(IWorkflowExecuteContext.class);
+        Mockito.when(workflowExecuteContext.getWorkflowInstance()).thenReturn(workflowInstance);
+
+        // the mock keeps the events and the drain flag like the real runnable
+        AtomicBoolean eventsDrainScheduled = new AtomicBoolean(false);
+        workflowExecuteRunnable = Mockito.mock(WorkflowExecuteRunnable.class);
+        Mockito.when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        Mockito.when(workflowExecuteRunnable.isStart()).thenAnswer(invocation -> started.get());
+        Mockito.when(workflowExecuteRunnable.eventSize()).thenAnswer(invocation -> stateEvents.size());
+        Mockito.when(workflowExecuteRunnable.addStateEvent(Mockito.any()))
+                .thenAnswer(invocation -> stateEvents.add(invocation.getArgument(0)));
+        Mockito.when(workflowExecuteRunnable.tryScheduleEventsDrain())
+                .thenAnswer(invocation -> eventsDrainScheduled.compareAndSet(false, true));
+        Mockito.doAnswer(invocation -> {
+            eventsDrainScheduled.set(false);
+            return null;
+        }).when(workflowExecuteRunnable).finishEventsDrain();
+
+        processInstanceExecCacheManager = Mockito.mock(ProcessInstanceExecCacheManager.class);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(WORKFLOW_INSTANCE_ID))
+                .thenReturn(workflowExecuteRunnable);
+
+        workflowExecuteThreadPool = new WorkflowExecuteThreadPool();
+        ReflectionTestUtils.setField(workflowExecuteThreadPool, "masterConfig", new MasterConfig());
+        ReflectionTestUtils.setField(workflowExecuteThreadPool, "processService", Mockito.mock(ProcessService.class));
+        ReflectionTestUtils.setField(workflowExecuteThreadPool, "processInstanceExecCacheManager",
+                processInstanceExecCacheManager);
+        ReflectionTestUtils.setField(workflowExecuteThreadPool, "stateWheelExecuteThread",
+                Mockito.mock(StateWheelExecuteThread.class));
+        ReflectionTestUtils.invokeMethod(workflowExecuteThreadPool, "init");
+        workflowExecuteThreadPool.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        workflowExecuteThreadPool.shutdown();
+    }
+
+    @Test
+    public void testRedrainEventsSubmittedDuringDrainOnSuccess() {
+        Mockito.doAnswer(invocation -> {
+            drainEventsAndSubmitOneMore();
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+
+        workflowExecuteThreadPool.submitStateEvent(newStateEvent());
+
+        // the event submitted during the first drain is handled by the drain scheduled once the first one finished
+        Mockito.verify(workflowExecuteRunnable, Mockito.timeout(5000).times(2)).handleEvents();
+        Mockito.verify(workflowExecuteRunnable, Mockito.timeout(5000).times(2)).finishEventsDrain();
+        Assertions.assertTrue(stateEvents.isEmpty());
+    }
+
+    @Test
+    public void testRedrainEventsSubmittedDuringDrainOnFailure() {
+        Mockito.doAnswer(invocation -> {
+            drainEventsAndSubmitOneMore();
+            throw new RuntimeException("handle events failed");
+        }).when(workflowExecuteRunnable).handleEvents();
+
+        workflowExecuteThreadPool.submitStateEvent(newStateEvent());
+
+        Mockito.verify(workflowExecuteRunnable, Mockito.timeout(5000).times(2)).handleEvents();
+        Mockito.verify(workflowExecuteRunnable, Mockito.timeout(5000).times(2)).finishEventsDrain();
+        Assertions.assertTrue(stateEvents.isEmpty());
+    }
+
+    @Test
+    public void testStartEventHandlerTriggersFirstDrain() throws Exception {
+        started.set(false);
+        Mockito.doAnswer(invocation -> {
+            stateEvents.clear();
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+        Mockito.when(workflowExecuteRunnable.call()).thenAnswer(invocation -> {
+            started.set(true);
+            return WorkflowStartStatus.SUCCESS;
+        });
+
+        // the event submitted before the workflow started is kept until the workflow started
+        workflowExecuteThreadPool.submitStateEvent(newStateEvent());
+        Assertions.assertEquals(1, stateEvents.size());
+        Mockito.verify(workflowExecuteRunnable, Mockito.never()).handleEvents();
+
+        WorkflowStartEventHandler workflowStartEventHandler = new WorkflowStartEventHandler();
+        ReflectionTestUtils.setField(workflowStartEventHandler, "processInstanceExecCacheManager",
+                processInstanceExecCacheManager);
+        ReflectionTestUtils.setField(workflowStartEventHandler, "stateWheelExecuteThread",
+                Mockito.mock(StateWheelExecuteThread.class));
+        ReflectionTestUtils.setField(workflowStartEventHandler, "workflowExecuteThreadPool",
+                workflowExecuteThreadPool);
+        workflowStartEventHandler.handleWorkflowEvent(
+                new WorkflowEvent(WorkflowEventType.START_WORKFLOW, WORKFLOW_INSTANCE_ID));
+
+        Mockito.verify(workflowExecuteRunnable, Mockito.timeout(5000)).handleEvents();
+        Assertions.assertTrue(stateEvents.isEmpty());
+    }
+
+    /**
+     * The first drain submits another event, which can't schedule a drain since the current one is still running.
+     */
+    private void drainEventsAndSubmitOneMore() {
+        stateEvents.clear();
+        if (drainTimes.incrementAndGet() == 1) {
+            workflowExecuteThreadPool.submitStateEvent(newStateEvent());
+            Assertions.assertEquals(1, stateEvents.size());
+        }
+    }
+
+    private StateEvent newStateEvent() {
+        return WorkflowStateEvent.builder()
+                .processInstanceId(WORKFLOW_INSTANCE_ID)
+                .type(StateEventType.PROCESS_STATE_CHANGE)
+                .build();
+    }
+}
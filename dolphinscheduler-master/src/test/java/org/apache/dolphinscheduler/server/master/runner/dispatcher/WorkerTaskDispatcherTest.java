@@ -17,7 +17,10 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchResponse;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchResponse;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
@@ -26,6 +29,8 @@ import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventServic
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
@@ -43,7 +48,8 @@ public class WorkerTaskDispatcherTest {
         MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
         MasterRpcClient masterRpcClient = Mockito.mock(MasterRpcClient.class);
         HostManager hostManager = Mockito.mock(HostManager.class);
-        Mockito.when(hostManager.select(Mockito.any())).thenReturn(Optional.of(Host.of("localhost:1234")));
+        Mockito.when(hostManager.select(Mockito.any(), Mockito.anyInt()))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
         WorkerTaskDispatcher workerTaskDispatcher =
                 new WorkerTaskDispatcher(taskEventService, masterConfig, masterRpcClient, hostManager);
 
@@ -52,4 +58,39 @@ public class WorkerTaskDispatcherTest {
         Optional<Host> taskInstanceDispatchHost = workerTaskDispatcher.getTaskInstanceDispatchHost(taskExecuteRunnable);
         Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
     }
+
+    @Test
+    public void dispatchTasksInBatch() throws Exception {
+        TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
+        MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
+        MasterRpcClient masterRpcClient = Mockito.mock(MasterRpcClient.class);
+        HostManager hostManager = Mockito.mock(HostManager.class);
+        Mockito.when(hostManager.select(Mockito.any(), Mockito.anyInt()))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
+        TaskBatchDispatchResponse taskBatchDispatchResponse = new TaskBatchDispatchResponse(Arrays.asList(
+                TaskDispatchResponse.success(1), TaskDispatchResponse.failed(2, "Task dispatch queue is full")));
+        Mockito.when(masterRpcClient.sendSyncCommand(Mockito.any(), Mockito.any()))
+                .thenReturn(taskBatchDispatchResponse.convert2Command(1L));
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(taskEventService, masterConfig, masterRpcClient, hostManager);
+
+        Map<Integer, Exception> failedTasks = workerTaskDispatcher.dispatchTasks(
+                Arrays.asList(mockTaskExecuteRunnable(1), mockTaskExecuteRunnable(2)));
+        Mockito.verify(masterRpcClient, Mockito.times(1)).sendSyncCommand(Mockito.any(), Mockito.any());
+        Assertions.assertEquals(1, failedTasks.size());
+        Assertions.assertTrue(failedTasks.containsKey(2));
+        Mockito.verify(hostManager).releaseTask(2);
+        Mockito.verify(hostManager, Mockito.never()).releaseTask(1);
+    }
+
+    private TaskExecuteRunnable mockTaskExecuteRunnable(int taskInstanceId) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        TaskExecuteRunnable taskExecuteRunnable = Mockito.mock(TaskExecuteRunnable.class);
+        Mockito.when(taskExecuteRunnable.getTaskInstance()).thenReturn(taskInstance);
+        Mockito.when(taskExecuteRunnable.getTaskExecutionContext()).thenReturn(taskExecutionContext);
+        return taskExecuteRunnable;
+    }
 }
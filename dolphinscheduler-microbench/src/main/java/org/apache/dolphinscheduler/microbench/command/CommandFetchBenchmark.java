@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.command;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the latency of fetching a batch of commands by id slot and by lease claim, against an embedded H2 database
+ * with the given size of queued commands.
+ * The claim is rolled back after each invocation, so that the queue size keeps the same during the benchmark.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandFetchBenchmark extends AbstractBaseBenchmark {
+
+    private static final String SLOT_QUERY_SQL = "select * from t_ds_command where id % ? = ? "
+            + "order by process_instance_priority, id asc limit ?";
+
+    private static final String CLAIMABLE_QUERY_SQL = "select id from t_ds_command "
+            + "where claim_expire_time is null or claim_expire_time < ? "
+            + "order by process_instance_priority, id asc limit ? for update";
+
+    private static final String CLAIM_SQL = "update t_ds_command set claim_host = ?, claim_expire_time = ? "
+            + "where id in (%s) and (claim_expire_time is null or claim_expire_time < ?)";
+
+    private static final String CLAIMED_QUERY_SQL = "select * from t_ds_command where claim_host = ? and id in (%s) "
+            + "order by process_instance_priority, id asc";
+
+    private static final String CLAIM_HOST = "127.0.0.1:5678";
+
+    @Param({"100000"})
+    private int queuedCommandSize;
+
+    @Param({"10"})
+    private int fetchSize;
+
+    @Param({"3"})
+    private int masterCount;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:command_fetch_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=true", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_command");
+            statement.execute("CREATE TABLE t_ds_command ("
+                    + "id int NOT NULL AUTO_INCREMENT, "
+                    + "command_type tinyint DEFAULT NULL, "
+                    + "process_definition_code bigint DEFAULT NULL, "
+                    + "command_param text, "
+                    + "process_instance_priority int DEFAULT 2, "
+                    + "worker_group varchar(255), "
+                    + "start_time datetime DEFAULT NULL, "
+                    + "update_time datetime DEFAULT NULL, "
+                    + "claim_host varchar(255) DEFAULT NULL, "
+                    + "claim_expire_time datetime DEFAULT NULL, "
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX priority_id_index ON t_ds_command (process_instance_priority, id)");
+        }
+        connection.setAutoCommit(false);
+        try (
+                PreparedStatement insert = connection.prepareStatement(
+                        "insert into t_ds_command (command_type, process_definition_code, command_param, "
+                                + "process_instance_priority, worker_group, start_time, update_time) "
+                                + "values (0, ?, '{}', ?, 'default', ?, ?)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < queuedCommandSize; i++) {
+                insert.setLong(1, i);
+                insert.setInt(2, i % 5);
+                insert.setTimestamp(3, now);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_command");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int idSlotBasedFetch() throws SQLException {
+        int fetched = 0;
+        try (PreparedStatement query = connection.prepareStatement(SLOT_QUERY_SQL)) {
+            query.setInt(1, masterCount);
+            query.setInt(2, masterCount - 1);
+            query.setInt(3, fetchSize);
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    fetched++;
+                }
+            }
+        }
+        connection.commit();
+        return fetched;
+    }
+
+    @Benchmark
+    public int leaseClaimBasedFetch() throws SQLException {
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+        Timestamp claimExpireTime = new Timestamp(currentTime.getTime() + TimeUnit.MINUTES.toMillis(5));
+        List<Integer> ids = new ArrayList<>(fetchSize);
+        try (PreparedStatement query = connection.prepareStatement(CLAIMABLE_QUERY_SQL)) {
+            query.setTimestamp(1, currentTime);
+            query.setInt(2, fetchSize);
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            connection.rollback();
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        try (PreparedStatement claim = connection.prepareStatement(String.format(CLAIM_SQL, placeholders))) {
+            claim.setString(1, CLAIM_HOST);
+            claim.setTimestamp(2, claimExpireTime);
+            for (int i = 0; i < ids.size(); i++) {
+                claim.setInt(3 + i, ids.get(i));
+            }
+            claim.setTimestamp(3 + ids.size(), currentTime);
+            claim.executeUpdate();
+        }
+        int fetched = 0;
+        try (PreparedStatement query = connection.prepareStatement(String.format(CLAIMED_QUERY_SQL, placeholders))) {
+            query.setString(1, CLAIM_HOST);
+            for (int i = 0; i < ids.size(); i++) {
+                query.setInt(2 + i, ids.get(i));
+            }
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    fetched++;
+                }
+            }
+        }
+        // rollback the claim to keep the queued command size unchanged
+        connection.rollback();
+        return fetched;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.ImmutableDAG;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the queries the master runs on each task completion between {@link DAG} and {@link ImmutableDAG}, on a
+ * random graph in which each node depends on up to 3 of the previous 50 nodes.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DAGBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"5000"})
+    private int nodeCount;
+
+    @Param({"mutable", "immutable"})
+    private String dagType;
+
+    private DAG<Long, String, String> dag;
+
+    private long nodeCode;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DAG<Long, String, String> mutableDag = new DAG<>();
+        Random random = new Random(1);
+        for (long i = 0; i < nodeCount; i++) {
+            mutableDag.addNode(i, "task-" + i);
+            int depCount = i == 0 ? 0 : random.nextInt(4);
+            for (int j = 0; j < depCount; j++) {
+                long dep = Math.max(0, i - 1 - random.nextInt(50));
+                mutableDag.addEdge(dep, i);
+            }
+        }
+        dag = "immutable".equals(dagType) ? ImmutableDAG.copyOf(mutableDag) : mutableDag;
+    }
+
+    @Benchmark
+    public void isTaskDepsComplete(Blackhole blackhole) {
+        Long code = nextNodeCode();
+        if (dag.getBeginNode().contains(code)) {
+            blackhole.consume(true);
+            return;
+        }
+        for (Long previousNode : dag.getPreviousNodes(code)) {
+            blackhole.consume(dag.getNode(previousNode));
+        }
+    }
+
+    @Benchmark
+    public void submitPostNode(Blackhole blackhole) {
+        Long code = nextNodeCode();
+        blackhole.consume(dag.getEndNode().contains(code));
+        for (Long subsequentNode : dag.getSubsequentNodes(code)) {
+            blackhole.consume(dag.getNode(subsequentNode));
+            blackhole.consume(dag.getIndegree(subsequentNode));
+        }
+    }
+
+    private Long nextNodeCode() {
+        nodeCode = (nodeCode + 1) % nodeCount;
+        return nodeCode;
+    }
+
+}
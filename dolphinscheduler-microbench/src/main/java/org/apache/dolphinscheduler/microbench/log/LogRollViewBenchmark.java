@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.log;
+
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the latency of reading the last page of a large task log, by scanning the file from the head and by seeking
+ * through the line offset index.
+ * The index is built by the first read during the warmup, the following reads only scan the appended bytes, so the
+ * measurement shows the cost of each rolling view poll of the UI.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LogRollViewBenchmark extends AbstractBaseBenchmark {
+
+    private static final String LOG_LINE = "[INFO] 2023-07-01 12:00:00.000 +0800 - "
+            + "org.apache.spark.scheduler.TaskSetManager: Finished task in stage 1.0 (TID %d) on executor 1";
+
+    @Param({"1024"})
+    private int logSizeMb;
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private Path logPath;
+
+    private int totalLines;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logPath = Files.createTempFile("roll-view-benchmark", ".log");
+        long logSize = logSizeMb * 1024L * 1024L;
+        long writtenSize = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8)) {
+            while (writtenSize < logSize) {
+                String line = String.format(LOG_LINE, totalLines++);
+                writer.write(line);
+                writer.write('\n');
+                writtenSize += line.length() + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logPath);
+    }
+
+    @Benchmark
+    public List<String> scanTail() throws IOException {
+        try (Stream<String> stream = Files.lines(logPath)) {
+            return stream.skip(totalLines - pageSize).limit(pageSize).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public List<String> indexedTail() throws IOException {
+        return LogLineIndex.readLines(logPath.toString(), totalLines - pageSize, pageSize);
+    }
+}
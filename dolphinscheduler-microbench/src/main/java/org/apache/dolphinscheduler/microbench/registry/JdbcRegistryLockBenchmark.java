@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.registry;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryLockMode;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockTicketMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.task.RegistryLockManager;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.task.SubscribeDataManager;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.h2.tools.RunScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+
+/**
+ * Compare the latency of acquiring a contended jdbc registry lock in SPIN and QUEUED mode, against an embedded H2
+ * database. Each benchmark thread simulates a master with its own registry lock manager, and all the masters acquire
+ * the same lock once in each iteration, just like the masters do failover when a server is down.
+ * The count of the executed sql statements per acquisition is logged at the end of each trial.
+ */
+@Slf4j
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+@Threads(JdbcRegistryLockBenchmark.MASTER_COUNT)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JdbcRegistryLockBenchmark extends AbstractBaseBenchmark {
+
+    static final int MASTER_COUNT = 10;
+
+    private static final String LOCK_KEY = "/lock/failover/master";
+
+    @Param({"SPIN", "QUEUED"})
+    private JdbcRegistryLockMode lockMode;
+
+    /**
+     * the default term refresh interval of the jdbc registry
+     */
+    @Param({"2000"})
+    private long termRefreshIntervalMillis;
+
+    private JdbcConnectionPool dataSource;
+
+    private SqlSessionManager sqlSessionManager;
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+
+    private final LongAdder acquisitionCount = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:jdbc_registry_lock_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=true",
+                "sa", "");
+        dataSource.setMaxConnections(MASTER_COUNT * 3);
+        try (
+                Connection connection = dataSource.getConnection();
+                Reader reader = new InputStreamReader(
+                        JdbcOperator.class.getClassLoader().getResourceAsStream("mysql_registry_init.sql"),
+                        StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, reader);
+        } catch (Exception e) {
+            throw new SQLException("Initialize the jdbc registry tables error", e);
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("jdbc-registry-lock-benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(JdbcRegistryDataMapper.class);
+        configuration.addMapper(JdbcRegistryLockMapper.class);
+        configuration.addMapper(JdbcRegistryLockTicketMapper.class);
+        configuration.addMapper(JdbcRegistryDataChangeEventMapper.class);
+        configuration.addInterceptor(sqlStatementCounter);
+        // each mapper call is executed in its own auto committed session
+        sqlSessionManager = SqlSessionManager.newInstance(new MybatisSqlSessionFactoryBuilder().build(configuration));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.info("lockMode: {}, sql statements per acquisition: {}", lockMode,
+                String.format("%.1f", sqlStatementCounter.count.doubleValue() / Math.max(1, acquisitionCount.sum())));
+        dataSource.dispose();
+    }
+
+    @Benchmark
+    public void acquireAndReleaseLock(SimulatedMaster master, Blackhole blackhole) {
+        master.registryLockManager.acquireLock(LOCK_KEY);
+        try {
+            // the work in the lock, e.g. failover
+            Blackhole.consumeCPU(1000);
+            blackhole.consume(master);
+        } finally {
+            master.registryLockManager.releaseLock(LOCK_KEY);
+            acquisitionCount.increment();
+        }
+    }
+
+    @Intercepts({
+            @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+            @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                    RowBounds.class, ResultHandler.class})})
+    private static class SqlStatementCounter implements Interceptor {
+
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            count.increment();
+            return invocation.proceed();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SimulatedMaster {
+
+        private SubscribeDataManager subscribeDataManager;
+
+        private RegistryLockManager registryLockManager;
+
+        @Setup(Level.Trial)
+        public void setup(JdbcRegistryLockBenchmark benchmark) {
+            JdbcRegistryProperties registryProperties = new JdbcRegistryProperties();
+            registryProperties.setTermRefreshInterval(Duration.ofMillis(benchmark.termRefreshIntervalMillis));
+            registryProperties.setLockMode(benchmark.lockMode);
+            SqlSessionManager sqlSessionManager = benchmark.sqlSessionManager;
+            JdbcOperator jdbcOperator = new JdbcOperator(registryProperties,
+                    sqlSessionManager.getMapper(JdbcRegistryDataMapper.class),
+                    sqlSessionManager.getMapper(JdbcRegistryLockMapper.class),
+                    sqlSessionManager.getMapper(JdbcRegistryLockTicketMapper.class),
+                    sqlSessionManager.getMapper(JdbcRegistryDataChangeEventMapper.class));
+            subscribeDataManager = new SubscribeDataManager(registryProperties, jdbcOperator);
+            registryLockManager = new RegistryLockManager(registryProperties, jdbcOperator, subscribeDataManager);
+            subscribeDataManager.start();
+            registryLockManager.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            registryLockManager.close();
+            subscribeDataManager.close();
+        }
+    }
+}
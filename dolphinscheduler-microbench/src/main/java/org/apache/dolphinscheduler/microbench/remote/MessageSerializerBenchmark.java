@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchRequest;
+import org.apache.dolphinscheduler.remote.command.task.TaskExecuteRunningMessage;
+import org.apache.dolphinscheduler.remote.command.task.TaskKillRequest;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializer;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the serialize/deserialize cost of the message body between the serializers, with the messages sent most
+ * often between master and worker. The body size of each message is logged when the trial starts.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Slf4j
+public class MessageSerializerBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"json", "protostuff"})
+    private String serializer;
+
+    private MessageSerializer messageSerializer;
+
+    private TaskDispatchRequest taskDispatchRequest;
+
+    private TaskExecuteRunningMessage taskExecuteRunningMessage;
+
+    private TaskKillRequest taskKillRequest;
+
+    private byte[] taskDispatchRequestBytes;
+
+    private byte[] taskExecuteRunningMessageBytes;
+
+    private byte[] taskKillRequestBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        messageSerializer = MessageSerializerFactory.getSerializer(serializer);
+
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(10001);
+        taskExecutionContext.setTaskName("shell-task");
+        taskExecutionContext.setTaskType("SHELL");
+        taskExecutionContext.setFirstSubmitTime(System.currentTimeMillis());
+        taskExecutionContext.setWorkflowInstanceHost("192.168.1.1:5678");
+        taskExecutionContext.setLogPath("/opt/dolphinscheduler/logs/20230101/1/1/10001.log");
+        taskExecutionContext.setExecutePath("/tmp/dolphinscheduler/exec/process/default/1/1/10001");
+        taskExecutionContext
+                .setTaskParams("{\"localParams\":[],\"rawScript\":\"echo hello world\",\"resourceList\":[]}");
+        taskExecutionContext.setTenantCode("default");
+        taskExecutionContext.setWorkerGroup("default");
+        taskExecutionContext.setProcessInstanceId(1001);
+        taskExecutionContext.setProcessDefineCode(9876543210L);
+        taskExecutionContext.setCurrentExecutionStatus(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        Map<String, String> definedParams = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            definedParams.put("param" + i, "value" + i);
+        }
+        taskExecutionContext.setDefinedParams(definedParams);
+        taskDispatchRequest = new TaskDispatchRequest(taskExecutionContext);
+
+        taskExecuteRunningMessage = new TaskExecuteRunningMessage();
+        taskExecuteRunningMessage.setTaskInstanceId(10001);
+        taskExecuteRunningMessage.setProcessInstanceId(1001);
+        taskExecuteRunningMessage.setStartTime(System.currentTimeMillis());
+        taskExecuteRunningMessage.setHost("192.168.1.2:1234");
+        taskExecuteRunningMessage.setStatus(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskExecuteRunningMessage.setLogPath(taskExecutionContext.getLogPath());
+        taskExecuteRunningMessage.setExecutePath(taskExecutionContext.getExecutePath());
+
+        taskKillRequest = new TaskKillRequest(10001);
+
+        taskDispatchRequestBytes = messageSerializer.serialize(taskDispatchRequest);
+        taskExecuteRunningMessageBytes = messageSerializer.serialize(taskExecuteRunningMessage);
+        taskKillRequestBytes = messageSerializer.serialize(taskKillRequest);
+        log.info("Body size of {}: TaskDispatchRequest: {}, TaskExecuteRunningMessage: {}, TaskKillRequest: {}",
+                serializer, taskDispatchRequestBytes.length, taskExecuteRunningMessageBytes.length,
+                taskKillRequestBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDispatchRequest() {
+        return messageSerializer.serialize(taskDispatchRequest);
+    }
+
+    @Benchmark
+    public TaskDispatchRequest deserializeTaskDispatchRequest() {
+        return messageSerializer.deserialize(taskDispatchRequestBytes, TaskDispatchRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskExecuteRunningMessage() {
+        return messageSerializer.serialize(taskExecuteRunningMessage);
+    }
+
+    @Benchmark
+    public TaskExecuteRunningMessage deserializeTaskExecuteRunningMessage() {
+        return messageSerializer.deserialize(taskExecuteRunningMessageBytes, TaskExecuteRunningMessage.class);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskKillRequest() {
+        return messageSerializer.serialize(taskKillRequest);
+    }
+
+    @Benchmark
+    public TaskKillRequest deserializeTaskKillRequest() {
+        return messageSerializer.deserialize(taskKillRequestBytes, TaskKillRequest.class);
+    }
+}
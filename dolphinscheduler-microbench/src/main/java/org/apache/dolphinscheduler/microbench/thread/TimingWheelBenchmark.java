@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.thread;
+
+import org.apache.dolphinscheduler.common.thread.HashedTimingWheel;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the cost of one check round and of adding/cancelling a timeout, between the timing wheel used by the
+ * StateWheelExecuteThread and the scanned queue used before, with the given size of scheduled timeouts.
+ * The expired timeouts are scheduled again, so that the scheduled size keeps the same during the benchmark.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimingWheelBenchmark extends AbstractBaseBenchmark {
+
+    private static final long TICK_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private static final long MAX_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    @Param({"100000"})
+    private int scheduledTimeoutSize;
+
+    private HashedTimingWheel<Integer> timingWheel;
+
+    private ConcurrentLinkedQueue<Integer> checkQueue;
+
+    private Map<Integer, Long> deadlines;
+
+    private long now;
+
+    private int nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        timingWheel = new HashedTimingWheel<>(TICK_MILLIS, 512, 0);
+        checkQueue = new ConcurrentLinkedQueue<>();
+        deadlines = new ConcurrentHashMap<>();
+        for (int i = 0; i < scheduledTimeoutSize; i++) {
+            long deadline = (long) (random.nextDouble() * MAX_TIMEOUT_MILLIS);
+            timingWheel.add(i, deadline);
+            checkQueue.add(i);
+            deadlines.put(i, deadline);
+        }
+        now = 0;
+        nextKey = scheduledTimeoutSize;
+    }
+
+    @Benchmark
+    public int timingWheelCheckRound() {
+        now += TICK_MILLIS;
+        int[] expired = {0};
+        timingWheel.advance(now, key -> {
+            expired[0]++;
+            timingWheel.add(key, now + MAX_TIMEOUT_MILLIS);
+        });
+        return expired[0];
+    }
+
+    @Benchmark
+    public int queueCheckRound() {
+        now += TICK_MILLIS;
+        int expired = 0;
+        for (Integer key : checkQueue) {
+            Long deadline = deadlines.get(key);
+            if (deadline != null && deadline < now) {
+                expired++;
+                deadlines.put(key, now + MAX_TIMEOUT_MILLIS);
+            }
+        }
+        return expired;
+    }
+
+    @Benchmark
+    public boolean timingWheelAddAndCancel() {
+        Integer key = nextKey++;
+        timingWheel.add(key, now + MAX_TIMEOUT_MILLIS);
+        return timingWheel.cancel(key);
+    }
+
+    @Benchmark
+    public boolean queueAddAndRemove() {
+        Integer key = nextKey++;
+        if (!checkQueue.contains(key)) {
+            checkQueue.add(key);
+        }
+        return checkQueue.remove(key);
+    }
+}
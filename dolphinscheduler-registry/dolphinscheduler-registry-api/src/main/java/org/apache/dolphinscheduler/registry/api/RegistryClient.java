@@ -84,18 +84,22 @@ public class RegistryClient {
                 continue;
             }
             Server server = new Server();
+            // the master and worker heartbeats may be in compact encoding, expose them in full field names
+            String resInfo = heartBeatJson;
             switch (registryNodeType) {
                 case MASTER:
                     MasterHeartBeat masterHeartBeat = JSONUtils.parseObject(heartBeatJson, MasterHeartBeat.class);
                     server.setCreateTime(new Date(masterHeartBeat.getStartupTime()));
                     server.setLastHeartbeatTime(new Date(masterHeartBeat.getReportTime()));
                     server.setId(masterHeartBeat.getProcessId());
+                    resInfo = JSONUtils.toJsonString(masterHeartBeat);
                     break;
                 case WORKER:
                     WorkerHeartBeat workerHeartBeat = JSONUtils.parseObject(heartBeatJson, WorkerHeartBeat.class);
                     server.setCreateTime(new Date(workerHeartBeat.getStartupTime()));
                     server.setLastHeartbeatTime(new Date(workerHeartBeat.getReportTime()));
                     server.setId(workerHeartBeat.getProcessId());
+                    resInfo = JSONUtils.toJsonString(workerHeartBeat);
                     break;
                 case ALERT_SERVER:
                     AlertServerHeartBeat alertServerHeartBeat =
@@ -105,7 +109,7 @@ public class RegistryClient {
                     server.setId(alertServerHeartBeat.getProcessId());
             }
 
-            server.setResInfo(heartBeatJson);
+            server.setResInfo(resInfo);
             // todo: add host, port in heartBeat Info, so that we don't need to parse this again
             server.setZkDirectory(registryNodeType.getRegistryPath() + "/" + serverPath);
             // set host and port
@@ -17,22 +17,28 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockTicketMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLockTicket;
+import org.apache.dolphinscheduler.registry.api.Event;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -40,16 +46,27 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(prefix = "registry", name = "type", havingValue = "jdbc")
 public class JdbcOperator {
 
-    @Autowired
-    private JdbcRegistryDataMapper jdbcRegistryDataMapper;
-    @Autowired
-    private JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    private final JdbcRegistryDataMapper jdbcRegistryDataMapper;
+    private final JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    private final JdbcRegistryLockTicketMapper jdbcRegistryLockTicketMapper;
+    private final JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper;
 
     private final long expireTimeWindow;
 
-    public JdbcOperator(JdbcRegistryProperties registryProperties) {
+    private final long dataChangeEventRetention;
+
+    public JdbcOperator(JdbcRegistryProperties registryProperties,
+                        JdbcRegistryDataMapper jdbcRegistryDataMapper,
+                        JdbcRegistryLockMapper jdbcRegistryLockMapper,
+                        JdbcRegistryLockTicketMapper jdbcRegistryLockTicketMapper,
+                        JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper) {
+        this.jdbcRegistryDataMapper = jdbcRegistryDataMapper;
+        this.jdbcRegistryLockMapper = jdbcRegistryLockMapper;
+        this.jdbcRegistryLockTicketMapper = jdbcRegistryLockTicketMapper;
+        this.jdbcRegistryDataChangeEventMapper = jdbcRegistryDataChangeEventMapper;
         this.expireTimeWindow =
                 registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        this.dataChangeEventRetention = registryProperties.getDataChangeEventRetention().toMillis();
     }
 
     public void healthCheck() {
@@ -67,6 +84,7 @@ public class JdbcOperator {
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
                 throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
             }
+            insertDataChangeEvent(Event.Type.UPDATE, key, value);
             return id;
         }
         jdbcRegistryData = JdbcRegistryData.builder()
@@ -76,6 +94,7 @@ public class JdbcOperator {
                 .lastTerm(System.currentTimeMillis())
                 .build();
         jdbcRegistryDataMapper.insert(jdbcRegistryData);
+        insertDataChangeEvent(Event.Type.ADD, key, value);
         return jdbcRegistryData.getId();
     }
 
@@ -86,6 +105,7 @@ public class JdbcOperator {
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
                 throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
             }
+            insertDataChangeEvent(Event.Type.UPDATE, key, value);
             return id;
         }
         jdbcRegistryData = JdbcRegistryData.builder()
@@ -95,15 +115,28 @@ public class JdbcOperator {
                 .lastTerm(System.currentTimeMillis())
                 .build();
         jdbcRegistryDataMapper.insert(jdbcRegistryData);
+        insertDataChangeEvent(Event.Type.ADD, key, value);
         return jdbcRegistryData.getId();
     }
 
     public void deleteDataByKey(String key) {
-        jdbcRegistryDataMapper.deleteByKey(key);
+        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
+        if (jdbcRegistryData == null) {
+            return;
+        }
+        if (jdbcRegistryDataMapper.deleteById(jdbcRegistryData.getId()) > 0) {
+            insertDataChangeEvent(Event.Type.REMOVE, key, jdbcRegistryData.getDataValue());
+        }
     }
 
     public void deleteDataById(long id) {
-        jdbcRegistryDataMapper.deleteById(id);
+        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectById(id);
+        if (jdbcRegistryData == null) {
+            return;
+        }
+        if (jdbcRegistryDataMapper.deleteById(id) > 0) {
+            insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getDataKey(), jdbcRegistryData.getDataValue());
+        }
     }
 
     public void clearExpireLock() {
@@ -111,8 +144,49 @@ public class JdbcOperator {
     }
 
     public void clearExpireEphemeralDate() {
-        jdbcRegistryDataMapper.clearExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
-                DataType.EPHEMERAL.getTypeValue());
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        List<JdbcRegistryData> expireEphemeralDates =
+                jdbcRegistryDataMapper.selectExpireEphemeralDate(expireTerm, DataType.EPHEMERAL.getTypeValue());
+        for (JdbcRegistryData jdbcRegistryData : expireEphemeralDates) {
+            // the data may be refreshed or deleted by others after queried, so only record the event if it is deleted
+            if (jdbcRegistryDataMapper.deleteExpireDataById(jdbcRegistryData.getId(), expireTerm) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getDataKey(),
+                        jdbcRegistryData.getDataValue());
+            }
+        }
+    }
+
+    public List<JdbcRegistryDataChangeEvent> queryDataChangeEventAfterId(long id, int limit) {
+        return jdbcRegistryDataChangeEventMapper.selectByIdAfter(id, limit);
+    }
+
+    /**
+     * Get the min id of the data change events, return null if there is no event.
+     */
+    public Long getMinDataChangeEventId() {
+        return jdbcRegistryDataChangeEventMapper.selectMinId();
+    }
+
+    /**
+     * Get the max id of the data change events, return null if there is no event.
+     */
+    public Long getMaxDataChangeEventId() {
+        return jdbcRegistryDataChangeEventMapper.selectMaxId();
+    }
+
+    public void clearExpireDataChangeEvent() {
+        jdbcRegistryDataChangeEventMapper
+                .deleteByCreateTimeBefore(new Date(System.currentTimeMillis() - dataChangeEventRetention));
+    }
+
+    private void insertDataChangeEvent(Event.Type eventType, String key, String value) {
+        JdbcRegistryDataChangeEvent jdbcRegistryDataChangeEvent = JdbcRegistryDataChangeEvent.builder()
+                .eventType(eventType.name())
+                .dataKey(key)
+                .dataValue(value)
+                .createTime(new Date())
+                .build();
+        jdbcRegistryDataChangeEventMapper.insert(jdbcRegistryDataChangeEvent);
     }
 
     public JdbcRegistryData getData(String key) throws SQLException {
@@ -147,13 +221,23 @@ public class JdbcOperator {
             jdbcRegistryLockMapper.insert(jdbcRegistryLock);
             return jdbcRegistryLock;
         } catch (Exception e) {
-            if (e instanceof SQLIntegrityConstraintViolationException) {
+            if (isIntegrityConstraintViolation(e)) {
                 return null;
             }
             throw e;
         }
     }
 
+    private boolean isIntegrityConstraintViolation(Exception e) {
+        if (e instanceof SQLIntegrityConstraintViolationException) {
+            return true;
+        }
+        // the exception may be translated by the SqlSessionTemplate, so check the sql state of the root cause
+        Throwable rootCause = ExceptionUtils.getRootCause(e);
+        return rootCause instanceof SQLException
+                && StringUtils.startsWith(((SQLException) rootCause).getSQLState(), "23");
+    }
+
     public JdbcRegistryLock getLockById(long lockId) throws SQLException {
         return jdbcRegistryLockMapper.selectById(lockId);
     }
@@ -162,6 +246,62 @@ public class JdbcOperator {
         return jdbcRegistryLockMapper.deleteById(lockId) > 0;
     }
 
+    /**
+     * Enqueue a ticket to wait for the target Lock.
+     */
+    public JdbcRegistryLockTicket insertLockTicket(String key) {
+        JdbcRegistryLockTicket jdbcRegistryLockTicket = JdbcRegistryLockTicket.builder()
+                .lockKey(key)
+                .lockOwner(JdbcRegistryConstant.LOCK_OWNER)
+                .lastTerm(System.currentTimeMillis())
+                .createTime(new Date())
+                .build();
+        jdbcRegistryLockTicketMapper.insert(jdbcRegistryLockTicket);
+        return jdbcRegistryLockTicket;
+    }
+
+    /**
+     * Get the ticket just before the given ticket of the same lock, return null if the given ticket is the first one.
+     */
+    public JdbcRegistryLockTicket getPredecessorLockTicket(JdbcRegistryLockTicket jdbcRegistryLockTicket) {
+        return jdbcRegistryLockTicketMapper.selectPredecessor(jdbcRegistryLockTicket.getLockKey(),
+                jdbcRegistryLockTicket.getId());
+    }
+
+    public boolean existLockTicket(long ticketId) {
+        return jdbcRegistryLockTicketMapper.selectById(ticketId) != null;
+    }
+
+    /**
+     * Delete the ticket, and notify the successor by the data change event.
+     */
+    public void deleteLockTicket(JdbcRegistryLockTicket jdbcRegistryLockTicket) {
+        if (jdbcRegistryLockTicketMapper.deleteById(jdbcRegistryLockTicket.getId()) > 0) {
+            insertDataChangeEvent(Event.Type.REMOVE,
+                    JdbcRegistryConstant.getLockTicketPath(jdbcRegistryLockTicket.getId()),
+                    jdbcRegistryLockTicket.getLockKey());
+        }
+    }
+
+    public void clearExpireLockTicket() {
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        for (JdbcRegistryLockTicket jdbcRegistryLockTicket : jdbcRegistryLockTicketMapper
+                .selectExpireTicket(expireTerm)) {
+            if (jdbcRegistryLockTicketMapper.deleteExpireTicketById(jdbcRegistryLockTicket.getId(), expireTerm) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE,
+                        JdbcRegistryConstant.getLockTicketPath(jdbcRegistryLockTicket.getId()),
+                        jdbcRegistryLockTicket.getLockKey());
+            }
+        }
+    }
+
+    public boolean updateLockTicketTerm(Collection<Long> ticketIds) {
+        if (CollectionUtils.isEmpty(ticketIds)) {
+            return true;
+        }
+        return jdbcRegistryLockTicketMapper.updateTermByIds(ticketIds, System.currentTimeMillis()) > 0;
+    }
+
     public boolean updateEphemeralDataTerm(Collection<Long> ephemeralDateIds) throws SQLException {
         if (CollectionUtils.isEmpty(ephemeralDateIds)) {
             return true;
@@ -17,8 +17,10 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockTicketMapper;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 
@@ -46,6 +48,8 @@ public class JdbcRegistryConfiguration {
     public SqlSessionTemplate jdbcRegistrySqlSessionTemplate(SqlSessionFactory jdbcRegistrySqlSessionFactory) {
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataMapper.class);
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryLockMapper.class);
+        jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataChangeEventMapper.class);
+        jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryLockTicketMapper.class);
         return new SqlSessionTemplate(jdbcRegistrySqlSessionFactory);
     }
 
@@ -54,9 +58,19 @@ public class JdbcRegistryConfiguration {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataMapper.class);
     }
 
+    @Bean
+    public JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
+        return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataChangeEventMapper.class);
+    }
+
     @Bean
     public JdbcRegistryLockMapper jdbcRegistryLockMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryLockMapper.class);
     }
 
+    @Bean
+    public JdbcRegistryLockTicketMapper jdbcRegistryLockTicketMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
+        return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryLockTicketMapper.class);
+    }
+
 }
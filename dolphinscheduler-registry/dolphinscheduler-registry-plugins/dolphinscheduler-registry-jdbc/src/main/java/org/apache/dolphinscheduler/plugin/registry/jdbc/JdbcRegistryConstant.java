@@ -27,5 +27,20 @@ public final class JdbcRegistryConstant {
 
     public static final long LOCK_ACQUIRE_INTERVAL = 1_000;
 
+    /**
+     * The interval to check the data change events when some one is waiting for a lock in QUEUED mode.
+     */
+    public static final long FAST_CHECK_INTERVAL = 100;
+
     public static final String LOCK_OWNER = NetUtils.getHost() + "_" + OSUtils.getProcessID();
+
+    /**
+     * The removal of a lock ticket is published as a data change event under this path, which is not a registry data.
+     */
+    public static final String LOCK_TICKET_PATH_PREFIX = "/jdbc-registry/lock-ticket/";
+
+    public static String getLockTicketPath(long ticketId) {
+        // end with the separator, otherwise the path of ticket 1 will be the prefix of the path of ticket 10
+        return LOCK_TICKET_PATH_PREFIX + ticketId + "/";
+    }
 }
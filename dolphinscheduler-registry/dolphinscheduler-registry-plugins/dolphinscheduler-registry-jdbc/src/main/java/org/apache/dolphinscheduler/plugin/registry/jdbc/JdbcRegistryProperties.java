@@ -42,6 +42,16 @@ public class JdbcRegistryProperties {
      * e.g. if you set 2, and latest two refresh error, then the ephemeral data/lock will be expire.
      */
     private int termExpireTimes = 3;
+    /**
+     * Used to clear the data change events, the events created before the retention will be deleted,
+     * if a registry client is behind the retention, it will reload the full registry data.
+     */
+    private Duration dataChangeEventRetention = Duration.ofMinutes(10);
+    /**
+     * Used to decide how to wait for the lock, the QUEUED mode will acquire the lock in order and avoid the waiters
+     * querying the database at a fixed interval.
+     */
+    private JdbcRegistryLockMode lockMode = JdbcRegistryLockMode.SPIN;
     private HikariConfig hikariConfig;
 
 }
@@ -43,11 +43,11 @@ public interface JdbcRegistryDataMapper extends BaseMapper<JdbcRegistryData> {
     @Update("update t_ds_jdbc_registry_data set data_value = #{data}, last_term = #{term} where id = #{id}")
     int updateDataAndTermById(@Param("id") long id, @Param("data") String data, @Param("term") long term);
 
-    @Delete("delete from t_ds_jdbc_registry_data where data_key = #{key}")
-    void deleteByKey(@Param("key") String key);
+    @Select("select * from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
+    List<JdbcRegistryData> selectExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
 
-    @Delete("delete from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
-    void clearExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
+    @Delete("delete from t_ds_jdbc_registry_data where id = #{id} and last_term < #{term}")
+    int deleteExpireDataById(@Param("id") long id, @Param("term") long term);
 
     @Update({"<script>",
             "update t_ds_jdbc_registry_data",
@@ -20,14 +20,17 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryLockMode;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLockTicket;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
 
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -44,20 +47,36 @@ public class RegistryLockManager implements AutoCloseable {
 
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
+    private final SubscribeDataManager subscribeDataManager;
     private final Map<String, JdbcRegistryLock> lockHoldMap;
+    /**
+     * The tickets of the locks which are waiting or held in QUEUED mode, lockKey as key.
+     */
+    private final Map<String, JdbcRegistryLockTicket> lockTicketMap;
     private final ScheduledExecutorService lockTermUpdateThreadPool;
+    /**
+     * The max time to wait for the removal of the predecessor ticket, then the predecessor will be checked again.
+     */
+    private final long lockTicketWaitTimeout;
 
-    public RegistryLockManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
+    public RegistryLockManager(JdbcRegistryProperties registryProperties,
+                               JdbcOperator jdbcOperator,
+                               SubscribeDataManager subscribeDataManager) {
         this.registryProperties = registryProperties;
         this.jdbcOperator = jdbcOperator;
+        this.subscribeDataManager = subscribeDataManager;
         this.lockHoldMap = new ConcurrentHashMap<>();
+        this.lockTicketMap = new ConcurrentHashMap<>();
+        this.lockTicketWaitTimeout =
+                registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
         this.lockTermUpdateThreadPool = Executors.newSingleThreadScheduledExecutor(
                 new ThreadFactoryBuilder().setNameFormat("JdbcRegistryLockTermRefreshThread").setDaemon(true).build());
     }
 
     public void start() {
         lockTermUpdateThreadPool.scheduleWithFixedDelay(
-                new LockTermRefreshTask(lockHoldMap, jdbcOperator),
+                new LockTermRefreshTask(lockHoldMap, lockTicketMap, jdbcOperator,
+                        registryProperties.getLockMode() == JdbcRegistryLockMode.QUEUED),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -69,20 +88,80 @@ public class RegistryLockManager implements AutoCloseable {
     public void acquireLock(String lockKey) throws RegistryException {
         // maybe we can use the computeIf absent
         lockHoldMap.computeIfAbsent(lockKey, key -> {
-            JdbcRegistryLock jdbcRegistryLock;
             try {
-                while ((jdbcRegistryLock = jdbcOperator.tryToAcquireLock(lockKey)) == null) {
-                    log.debug("Acquire the lock {} failed try again", key);
-                    // acquire failed, wait and try again
-                    ThreadUtils.sleep(JdbcRegistryConstant.LOCK_ACQUIRE_INTERVAL);
+                if (registryProperties.getLockMode() == JdbcRegistryLockMode.QUEUED) {
+                    return acquireLockInQueue(key);
                 }
+                return spinAcquireLock(key);
             } catch (SQLException e) {
                 throw new RegistryException("Acquire the lock error", e);
             }
-            return jdbcRegistryLock;
         });
     }
 
+    private JdbcRegistryLock spinAcquireLock(String lockKey) throws SQLException {
+        JdbcRegistryLock jdbcRegistryLock;
+        while ((jdbcRegistryLock = jdbcOperator.tryToAcquireLock(lockKey)) == null) {
+            log.debug("Acquire the lock {} failed try again", lockKey);
+            // acquire failed, wait and try again
+            ThreadUtils.sleep(JdbcRegistryConstant.LOCK_ACQUIRE_INTERVAL);
+        }
+        return jdbcRegistryLock;
+    }
+
+    /**
+     * Enqueue a ticket, and wait until all the tickets before it are removed, then acquire the lock.
+     */
+    private JdbcRegistryLock acquireLockInQueue(String lockKey) throws SQLException {
+        JdbcRegistryLockTicket lockTicket = jdbcOperator.insertLockTicket(lockKey);
+        lockTicketMap.put(lockKey, lockTicket);
+        try {
+            while (true) {
+                JdbcRegistryLockTicket predecessor = jdbcOperator.getPredecessorLockTicket(lockTicket);
+                if (predecessor != null) {
+                    awaitLockTicketRemoved(predecessor);
+                    continue;
+                }
+                // the lock may still be held by a waiter in SPIN mode or an expired holder
+                JdbcRegistryLock jdbcRegistryLock = jdbcOperator.tryToAcquireLock(lockKey);
+                if (jdbcRegistryLock != null) {
+                    return jdbcRegistryLock;
+                }
+                log.debug("Acquire the lock {} failed try again", lockKey);
+                ThreadUtils.sleep(JdbcRegistryConstant.LOCK_ACQUIRE_INTERVAL);
+            }
+        } catch (Exception e) {
+            lockTicketMap.remove(lockKey);
+            jdbcOperator.deleteLockTicket(lockTicket);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the removal event of the predecessor ticket, rather than query the database at a fixed interval.
+     */
+    private void awaitLockTicketRemoved(JdbcRegistryLockTicket predecessor) {
+        String lockTicketPath = JdbcRegistryConstant.getLockTicketPath(predecessor.getId());
+        CountDownLatch removedLatch = new CountDownLatch(1);
+        subscribeDataManager.addListener(lockTicketPath, event -> removedLatch.countDown());
+        subscribeDataManager.requestFastCheck();
+        try {
+            // the ticket may be removed before subscribed
+            if (!jdbcOperator.existLockTicket(predecessor.getId())) {
+                return;
+            }
+            if (!removedLatch.await(lockTicketWaitTimeout, TimeUnit.MILLISECONDS)) {
+                log.debug("Wait the lock ticket {} removed timeout, will check it again", predecessor);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryException("Acquire the lock interrupted", e);
+        } finally {
+            subscribeDataManager.cancelFastCheck();
+            subscribeDataManager.removeListener(lockTicketPath);
+        }
+    }
+
     public void releaseLock(String lockKey) {
         JdbcRegistryLock jdbcRegistryLock = lockHoldMap.get(lockKey);
         if (jdbcRegistryLock != null) {
@@ -90,6 +169,11 @@ public class RegistryLockManager implements AutoCloseable {
                 // the lock is unExit
                 jdbcOperator.releaseLock(jdbcRegistryLock.getId());
                 lockHoldMap.remove(lockKey);
+                // remove the ticket after the lock is released, then the successor will acquire the lock
+                JdbcRegistryLockTicket lockTicket = lockTicketMap.remove(lockKey);
+                if (lockTicket != null) {
+                    jdbcOperator.deleteLockTicket(lockTicket);
+                }
             } catch (SQLException e) {
                 throw new RegistryException(String.format("Release lock: %s error", lockKey), e);
             }
@@ -105,27 +189,39 @@ public class RegistryLockManager implements AutoCloseable {
     }
 
     /**
-     * This task is used to refresh the lock held by the current server.
+     * This task is used to refresh the lock and the lock ticket held by the current server.
      */
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
     static class LockTermRefreshTask implements Runnable {
 
         private final Map<String, JdbcRegistryLock> lockHoldMap;
+        private final Map<String, JdbcRegistryLockTicket> lockTicketMap;
         private final JdbcOperator jdbcOperator;
+        private final boolean queuedLockMode;
 
         public void run() {
             try {
-                if (lockHoldMap.isEmpty()) {
-                    return;
+                if (!lockHoldMap.isEmpty()) {
+                    List<Long> lockIds = lockHoldMap.values()
+                            .stream()
+                            .map(JdbcRegistryLock::getId)
+                            .collect(Collectors.toList());
+                    if (!jdbcOperator.updateLockTerm(lockIds)) {
+                        log.warn("Update the lock: {} term failed.", lockIds);
+                    }
+                    jdbcOperator.clearExpireLock();
                 }
-                List<Long> lockIds = lockHoldMap.values()
-                        .stream()
-                        .map(JdbcRegistryLock::getId)
-                        .collect(Collectors.toList());
-                if (!jdbcOperator.updateLockTerm(lockIds)) {
-                    log.warn("Update the lock: {} term failed.", lockIds);
+                if (queuedLockMode) {
+                    List<Long> ticketIds = lockTicketMap.values()
+                            .stream()
+                            .map(JdbcRegistryLockTicket::getId)
+                            .collect(Collectors.toList());
+                    if (!jdbcOperator.updateLockTicketTerm(ticketIds)) {
+                        log.warn("Update the lock ticket: {} term failed.", ticketIds);
+                    }
+                    // notify the successors of the crashed waiters
+                    jdbcOperator.clearExpireLockTicket();
                 }
-                jdbcOperator.clearExpireLock();
             } catch (Exception e) {
                 log.error("Update lock term error", e);
             }
@@ -18,37 +18,48 @@
 package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used to refresh if the subscribe path has been changed.
+ * <p>
+ * Each registry client tails the data change events after the last handled event, rather than query the full registry
+ * data, the full registry data is only loaded at the first time or the client is behind the event retention.
  */
 @Slf4j
 public class SubscribeDataManager implements AutoCloseable {
 
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
-    private final Map<String, List<SubscribeListener>> dataSubScribeMap = new ConcurrentHashMap<>();
+    private final SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
     private final ScheduledExecutorService dataSubscribeCheckThreadPool;
-    private final Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+    private final Map<String, String> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+    /**
+     * If it is greater than zero, the data change events will be checked in a shorter interval, e.g. some one is
+     * waiting for a lock ticket removed.
+     */
+    private final AtomicInteger fastCheckRequestCount = new AtomicInteger();
+    private long lastCheckTime;
 
     public SubscribeDataManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
         this.registryProperties = registryProperties;
@@ -60,92 +71,203 @@ public class SubscribeDataManager implements AutoCloseable {
     }
 
     public void start() {
-        dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
-                new RegistrySubscribeDataCheckTask(dataSubScribeMap, jdbcOperator, jdbcRegistryDataMap),
-                registryProperties.getTermRefreshInterval().toMillis(),
-                registryProperties.getTermRefreshInterval().toMillis(),
-                TimeUnit.MILLISECONDS);
+        long termRefreshInterval = registryProperties.getTermRefreshInterval().toMillis();
+        long termExpireTimeWindow = registryProperties.getTermExpireTimes() * termRefreshInterval;
+        RegistryDataChangeEventCheckTask checkTask = new RegistryDataChangeEventCheckTask(subscribeListenerTrie,
+                jdbcOperator, jdbcRegistryDataMap, termExpireTimeWindow);
+        long checkInterval = Math.min(termRefreshInterval, JdbcRegistryConstant.FAST_CHECK_INTERVAL);
+        dataSubscribeCheckThreadPool.scheduleWithFixedDelay(() -> {
+            long now = System.currentTimeMillis();
+            if (fastCheckRequestCount.get() > 0 || now - lastCheckTime >= termRefreshInterval) {
+                lastCheckTime = now;
+                checkTask.run();
+            }
+        }, termRefreshInterval, checkInterval, TimeUnit.MILLISECONDS);
+        long clearInterval = Math.max(registryProperties.getDataChangeEventRetention().toMillis() / 2,
+                registryProperties.getTermRefreshInterval().toMillis());
+        dataSubscribeCheckThreadPool.scheduleWithFixedDelay(() -> {
+            try {
+                jdbcOperator.clearExpireDataChangeEvent();
+            } catch (Exception e) {
+                log.error("Clear expire data change event from jdbc registry error", e);
+            }
+        }, clearInterval, clearInterval, TimeUnit.MILLISECONDS);
     }
 
     public void addListener(String path, SubscribeListener subscribeListener) {
-        dataSubScribeMap.computeIfAbsent(path, k -> new ArrayList<>()).add(subscribeListener);
+        subscribeListenerTrie.addListener(path, subscribeListener);
     }
 
     public void removeListener(String path) {
-        dataSubScribeMap.remove(path);
+        subscribeListenerTrie.removeListeners(path);
+    }
+
+    public void requestFastCheck() {
+        fastCheckRequestCount.incrementAndGet();
+    }
+
+    public void cancelFastCheck() {
+        fastCheckRequestCount.decrementAndGet();
     }
 
     public String getData(String path) {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMap.get(path);
-        if (jdbcRegistryData == null) {
-            return null;
-        }
-        return jdbcRegistryData.getDataValue();
+        return jdbcRegistryDataMap.get(path);
     }
 
     @Override
     public void close() {
         dataSubscribeCheckThreadPool.shutdownNow();
-        dataSubScribeMap.clear();
+        subscribeListenerTrie.clear();
     }
 
-    @RequiredArgsConstructor
-    static class RegistrySubscribeDataCheckTask implements Runnable {
+    static class RegistryDataChangeEventCheckTask implements Runnable {
+
+        private static final int FETCH_SIZE = 1000;
 
-        private final Map<String, List<SubscribeListener>> dataSubScribeMap;
+        private final SubscribeListenerTrie subscribeListenerTrie;
         private final JdbcOperator jdbcOperator;
-        private final Map<String, JdbcRegistryData> jdbcRegistryDataMap;
+        private final Map<String, String> jdbcRegistryDataMap;
+        /**
+         * If the events before a handled event are still invisible after this time window, they will be skipped.
+         */
+        private final long invisibleEventTimeout;
+
+        /**
+         * All the events whose id is not greater than this have been handled, -1 means the data is not loaded.
+         */
+        private long lastEventId = -1;
+        /**
+         * The handled events whose id is greater than lastEventId, the insert transaction of an event with smaller id
+         * may commit later, so the events are not always visible in order.
+         */
+        private final TreeSet<Long> handledEventIds = new TreeSet<>();
+        private long invisibleEventDetectedTime;
+
+        RegistryDataChangeEventCheckTask(SubscribeListenerTrie subscribeListenerTrie,
+                                         JdbcOperator jdbcOperator,
+                                         Map<String, String> jdbcRegistryDataMap,
+                                         long invisibleEventTimeout) {
+            this.subscribeListenerTrie = subscribeListenerTrie;
+            this.jdbcOperator = jdbcOperator;
+            this.jdbcRegistryDataMap = jdbcRegistryDataMap;
+            this.invisibleEventTimeout = invisibleEventTimeout;
+        }
 
         @Override
         public void run() {
-            // query the full data from database, and update the jdbcRegistryDataMap
             try {
-                Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
-                        .stream()
-                        .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
-                // find the different
-                List<JdbcRegistryData> addedData = new ArrayList<>();
-                List<JdbcRegistryData> deletedData = new ArrayList<>();
-                List<JdbcRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
-                    JdbcRegistryData newData = entry.getValue();
-                    JdbcRegistryData oldData = jdbcRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
-                    } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
-                        }
-                    }
+                if (lastEventId < 0) {
+                    reloadRegistryData();
+                    return;
+                }
+                tailDataChangeEvents();
+            } catch (Exception e) {
+                log.error("Query data change event from jdbc registry error", e);
+            }
+        }
+
+        /**
+         * Only called when the first queried event is not the next one of lastEventId, otherwise there is no need to
+         * query the min event id.
+         */
+        private boolean isBehindRetention() {
+            Long minEventId = jdbcOperator.getMinDataChangeEventId();
+            return minEventId != null && minEventId > lastEventId + 1 && !handledEventIds.contains(minEventId);
+        }
+
+        /**
+         * Query the full data from database and trigger the listener by the difference.
+         */
+        private void reloadRegistryData() {
+            // the max event id should be queried before the data, the events after it will be replayed
+            Long maxEventId = jdbcOperator.getMaxDataChangeEventId();
+            Map<String, String> currentJdbcDataMap = new HashMap<>();
+            for (JdbcRegistryData jdbcRegistryData : jdbcOperator.queryAllJdbcRegistryData()) {
+                currentJdbcDataMap.put(jdbcRegistryData.getDataKey(), jdbcRegistryData.getDataValue());
+            }
+            for (Map.Entry<String, String> entry : currentJdbcDataMap.entrySet()) {
+                String oldValue = jdbcRegistryDataMap.put(entry.getKey(), entry.getValue());
+                if (oldValue == null) {
+                    triggerListener(entry.getKey(), entry.getValue(), Event.Type.ADD);
+                } else if (!Objects.equals(oldValue, entry.getValue())) {
+                    triggerListener(entry.getKey(), entry.getValue(), Event.Type.UPDATE);
+                }
+            }
+            for (Map.Entry<String, String> entry : jdbcRegistryDataMap.entrySet()) {
+                if (!currentJdbcDataMap.containsKey(entry.getKey())) {
+                    jdbcRegistryDataMap.remove(entry.getKey());
+                    triggerListener(entry.getKey(), entry.getValue(), Event.Type.REMOVE);
                 }
-                for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
-                    if (!currentJdbcDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
+            }
+            lastEventId = maxEventId == null ? 0 : maxEventId;
+            handledEventIds.clear();
+            invisibleEventDetectedTime = 0;
+            log.info("Reload the jdbc registry data, data size: {}, last event id: {}", currentJdbcDataMap.size(),
+                    lastEventId);
+        }
+
+        private void tailDataChangeEvents() {
+            while (true) {
+                long lastHandledEventId = lastEventId;
+                List<JdbcRegistryDataChangeEvent> dataChangeEvents =
+                        jdbcOperator.queryDataChangeEventAfterId(lastEventId, FETCH_SIZE);
+                if (!dataChangeEvents.isEmpty() && dataChangeEvents.get(0).getId() > lastEventId + 1
+                        && isBehindRetention()) {
+                    reloadRegistryData();
+                    return;
+                }
+                for (JdbcRegistryDataChangeEvent dataChangeEvent : dataChangeEvents) {
+                    if (handledEventIds.add(dataChangeEvent.getId())) {
+                        handleDataChangeEvent(dataChangeEvent);
                     }
                 }
-                jdbcRegistryDataMap.clear();
-                jdbcRegistryDataMap.putAll(currentJdbcDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+                advanceLastEventId();
+                if (dataChangeEvents.size() < FETCH_SIZE || lastEventId == lastHandledEventId) {
+                    return;
                 }
-            } catch (Exception e) {
-                log.error("Query data from jdbc registry error");
             }
         }
 
-        private void triggerListener(List<JdbcRegistryData> dataList,
-                                     String subscribeKey,
-                                     List<SubscribeListener> subscribeListeners,
-                                     Event.Type type) {
-            for (JdbcRegistryData data : dataList) {
-                if (data.getDataKey().startsWith(subscribeKey)) {
-                    subscribeListeners.forEach(subscribeListener -> subscribeListener
-                            .notify(new Event(data.getDataKey(), data.getDataKey(), data.getDataValue(), type)));
+        private void advanceLastEventId() {
+            while (!handledEventIds.isEmpty()) {
+                long firstHandledEventId = handledEventIds.first();
+                if (firstHandledEventId == lastEventId + 1) {
+                    lastEventId = handledEventIds.pollFirst();
+                    invisibleEventDetectedTime = 0;
+                    continue;
+                }
+                // the events between lastEventId and firstHandledEventId are not committed or rolled back
+                long now = System.currentTimeMillis();
+                if (invisibleEventDetectedTime == 0) {
+                    invisibleEventDetectedTime = now;
+                    return;
+                }
+                if (now - invisibleEventDetectedTime < invisibleEventTimeout) {
+                    return;
+                }
+                log.warn("Skip the invisible jdbc registry data change events, id range: ({}, {})", lastEventId,
+                        firstHandledEventId);
+                lastEventId = firstHandledEventId - 1;
+                invisibleEventDetectedTime = 0;
+            }
+        }
+
+        private void handleDataChangeEvent(JdbcRegistryDataChangeEvent dataChangeEvent) {
+            Event.Type type = Event.Type.valueOf(dataChangeEvent.getEventType());
+            if (type == Event.Type.REMOVE) {
+                jdbcRegistryDataMap.remove(dataChangeEvent.getDataKey());
+            } else {
+                jdbcRegistryDataMap.put(dataChangeEvent.getDataKey(), dataChangeEvent.getDataValue());
+            }
+            triggerListener(dataChangeEvent.getDataKey(), dataChangeEvent.getDataValue(), type);
+        }
+
+        private void triggerListener(String key, String value, Event.Type type) {
+            for (SubscribeListener subscribeListener : subscribeListenerTrie.getListeners(key)) {
+                try {
+                    subscribeListener.notify(new Event(key, key, value, type));
+                } catch (Exception e) {
+                    log.error("Trigger the jdbc registry subscribe listener error, key: {}, type: {}", key, type, e);
                 }
             }
         }
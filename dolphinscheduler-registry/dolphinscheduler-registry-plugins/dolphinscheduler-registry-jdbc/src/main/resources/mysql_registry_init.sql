@@ -46,3 +46,31 @@ CREATE TABLE `t_ds_jdbc_registry_lock`
     unique (`lock_key`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8;
+
+
+DROP TABLE IF EXISTS `t_ds_jdbc_registry_data_change_event`;
+CREATE TABLE `t_ds_jdbc_registry_data_change_event`
+(
+    `id`          bigint(11)   NOT NULL AUTO_INCREMENT COMMENT 'primary key, the sequence of the change event',
+    `event_type`  varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, REMOVE',
+    `data_key`    varchar(256) NOT NULL COMMENT 'key, like zookeeper node path',
+    `data_value`  text         NOT NULL COMMENT 'data, like zookeeper node value',
+    `create_time` timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+
+DROP TABLE IF EXISTS `t_ds_jdbc_registry_lock_ticket`;
+CREATE TABLE `t_ds_jdbc_registry_lock_ticket`
+(
+    `id`          bigint(11)   NOT NULL AUTO_INCREMENT COMMENT 'primary key, the order of the lock waiters',
+    `lock_key`    varchar(256) NOT NULL COMMENT 'lock path',
+    `lock_owner`  varchar(256) NOT NULL COMMENT 'the lock waiter, ip_processId',
+    `last_term`   bigint       NOT NULL COMMENT 'last term time',
+    `create_time` timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',
+    PRIMARY KEY (`id`),
+    KEY `idx_lock_key` (`lock_key`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
@@ -43,3 +43,29 @@ create table t_ds_jdbc_registry_lock
     create_time      timestamp default current_timestamp not null
 );
 create unique index t_ds_jdbc_registry_lock_key_uindex on t_ds_jdbc_registry_lock (lock_key);
+
+
+DROP TABLE IF EXISTS t_ds_jdbc_registry_data_change_event;
+create table t_ds_jdbc_registry_data_change_event
+(
+    id          bigserial
+        constraint t_ds_jdbc_registry_data_change_event_pk primary key,
+    event_type  varchar                             not null,
+    data_key    varchar                             not null,
+    data_value  text                                not null,
+    create_time timestamp default current_timestamp not null
+);
+create index t_ds_jdbc_registry_data_change_event_create_time_index on t_ds_jdbc_registry_data_change_event (create_time);
+
+
+DROP TABLE IF EXISTS t_ds_jdbc_registry_lock_ticket;
+create table t_ds_jdbc_registry_lock_ticket
+(
+    id          bigserial
+        constraint t_ds_jdbc_registry_lock_ticket_pk primary key,
+    lock_key    varchar                             not null,
+    lock_owner  varchar                             not null,
+    last_term   bigint                              not null,
+    create_time timestamp default current_timestamp not null
+);
+create index t_ds_jdbc_registry_lock_ticket_lock_key_index on t_ds_jdbc_registry_lock_ticket (lock_key);
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryLockMode;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLockTicket;
+import org.apache.dolphinscheduler.registry.api.RegistryException;
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class RegistryLockManagerTest {
+
+    private static final String LOCK_KEY = "/lock/failover/master";
+
+    private JdbcOperator jdbcOperator;
+
+    private SubscribeDataManager subscribeDataManager;
+
+    /**
+     * The ticket table, ticket id as key.
+     */
+    private final ConcurrentSkipListMap<Long, JdbcRegistryLockTicket> lockTickets = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong lockTicketIdGenerator = new AtomicLong();
+
+    private final AtomicReference<JdbcRegistryLock> lockRow = new AtomicReference<>();
+
+    private final Map<String, SubscribeListener> listeners = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void before() throws SQLException {
+        jdbcOperator = Mockito.mock(JdbcOperator.class);
+        Mockito.when(jdbcOperator.insertLockTicket(Mockito.anyString())).thenAnswer(invocation -> {
+            JdbcRegistryLockTicket lockTicket = JdbcRegistryLockTicket.builder()
+                    .id(lockTicketIdGenerator.incrementAndGet())
+                    .lockKey(invocation.getArgument(0))
+                    .build();
+            lockTickets.put(lockTicket.getId(), lockTicket);
+            return lockTicket;
+        });
+        Mockito.when(jdbcOperator.getPredecessorLockTicket(Mockito.any())).thenAnswer(invocation -> {
+            JdbcRegistryLockTicket lockTicket = invocation.getArgument(0);
+            Map.Entry<Long, JdbcRegistryLockTicket> predecessor = lockTickets.lowerEntry(lockTicket.getId());
+            return predecessor == null ? null : predecessor.getValue();
+        });
+        Mockito.when(jdbcOperator.existLockTicket(Mockito.anyLong()))
+                .thenAnswer(invocation -> lockTickets.containsKey(invocation.<Long>getArgument(0)));
+        Mockito.doAnswer(invocation -> {
+            JdbcRegistryLockTicket lockTicket = invocation.getArgument(0);
+            lockTickets.remove(lockTicket.getId());
+            // publish the removal like the data change event
+            SubscribeListener listener = listeners.get(JdbcRegistryConstant.getLockTicketPath(lockTicket.getId()));
+            if (listener != null) {
+                listener.notify(null);
+            }
+            return null;
+        }).when(jdbcOperator).deleteLockTicket(Mockito.any());
+        Mockito.when(jdbcOperator.tryToAcquireLock(Mockito.anyString())).thenAnswer(invocation -> {
+            JdbcRegistryLock jdbcRegistryLock = JdbcRegistryLock.builder()
+                    .id(1L)
+                    .lockKey(invocation.getArgument(0))
+                    .build();
+            return lockRow.compareAndSet(null, jdbcRegistryLock) ? jdbcRegistryLock : null;
+        });
+        Mockito.when(jdbcOperator.releaseLock(Mockito.anyLong())).thenAnswer(invocation -> {
+            lockRow.set(null);
+            return true;
+        });
+
+        subscribeDataManager = Mockito.mock(SubscribeDataManager.class);
+        Mockito.doAnswer(invocation -> listeners.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(subscribeDataManager).addListener(Mockito.anyString(), Mockito.any());
+        Mockito.doAnswer(invocation -> listeners.remove(invocation.<String>getArgument(0)))
+                .when(subscribeDataManager).removeListener(Mockito.anyString());
+    }
+
+    @Test
+    public void testAcquireLockInTicketOrder() throws Exception {
+        RegistryLockManager master1 = createQueuedRegistryLockManager();
+        RegistryLockManager master2 = createQueuedRegistryLockManager();
+        RegistryLockManager master3 = createQueuedRegistryLockManager();
+        List<String> acquiredMasters = new CopyOnWriteArrayList<>();
+
+        master1.acquireLock(LOCK_KEY);
+        Assertions.assertEquals(1, lockTickets.size());
+        Assertions.assertNotNull(lockRow.get());
+
+        Thread master2Thread = acquireAndReleaseLockInThread(master2, "master2", acquiredMasters);
+        awaitLockTickets(2);
+        Thread master3Thread = acquireAndReleaseLockInThread(master3, "master3", acquiredMasters);
+        awaitLockTickets(3);
+
+        // the waiters wait for their predecessors rather than acquiring the held lock
+        ThreadUtils.sleep(100);
+        Assertions.assertTrue(acquiredMasters.isEmpty());
+        Mockito.verify(jdbcOperator, Mockito.times(1)).tryToAcquireLock(LOCK_KEY);
+
+        master1.releaseLock(LOCK_KEY);
+        master2Thread.join(5000);
+        master3Thread.join(5000);
+        Assertions.assertEquals(Arrays.asList("master2", "master3"), acquiredMasters);
+        Assertions.assertTrue(lockTickets.isEmpty());
+        Assertions.assertNull(lockRow.get());
+        Assertions.assertTrue(listeners.isEmpty());
+    }
+
+    @Test
+    public void testReleaseLock() throws SQLException {
+        RegistryLockManager registryLockManager = createQueuedRegistryLockManager();
+        registryLockManager.acquireLock(LOCK_KEY);
+        registryLockManager.releaseLock(LOCK_KEY);
+        Assertions.assertTrue(lockTickets.isEmpty());
+        Assertions.assertNull(lockRow.get());
+
+        // release a lock which is not held does nothing
+        registryLockManager.releaseLock(LOCK_KEY);
+        Mockito.verify(jdbcOperator, Mockito.times(1)).releaseLock(Mockito.anyLong());
+        Mockito.verify(jdbcOperator, Mockito.times(1)).deleteLockTicket(Mockito.any());
+    }
+
+    @Test
+    public void testRemoveLockTicketIfAcquireFailed() throws SQLException {
+        Mockito.when(jdbcOperator.tryToAcquireLock(Mockito.anyString())).thenThrow(new SQLException("db down"));
+        RegistryLockManager registryLockManager = createQueuedRegistryLockManager();
+
+        Assertions.assertThrows(RegistryException.class, () -> registryLockManager.acquireLock(LOCK_KEY));
+        Assertions.assertTrue(lockTickets.isEmpty());
+    }
+
+    private RegistryLockManager createQueuedRegistryLockManager() {
+        JdbcRegistryProperties registryProperties = new JdbcRegistryProperties();
+        registryProperties.setLockMode(JdbcRegistryLockMode.QUEUED);
+        return new RegistryLockManager(registryProperties, jdbcOperator, subscribeDataManager);
+    }
+
+    private Thread acquireAndReleaseLockInThread(RegistryLockManager registryLockManager,
+                                                 String master,
+                                                 List<String> acquiredMasters) {
+        Thread thread = new Thread(() -> {
+            registryLockManager.acquireLock(LOCK_KEY);
+            acquiredMasters.add(master);
+            registryLockManager.releaseLock(LOCK_KEY);
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void awaitLockTickets(int lockTicketNumber) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lockTickets.size() < lockTicketNumber) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "The lock ticket is not inserted");
+            ThreadUtils.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
+import org.apache.dolphinscheduler.registry.api.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class SubscribeDataManagerTest {
+
+    private JdbcOperator jdbcOperator;
+
+    private final Map<String, String> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+
+    private final List<String> notifiedEvents = new ArrayList<>();
+
+    private SubscribeDataManager.RegistryDataChangeEventCheckTask checkTask;
+
+    @BeforeEach
+    public void before() {
+        jdbcOperator = Mockito.mock(JdbcOperator.class);
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        subscribeListenerTrie.addListener("/nodes/worker",
+                event -> notifiedEvents.add(event.type() + " " + event.path()));
+        checkTask = new SubscribeDataManager.RegistryDataChangeEventCheckTask(subscribeListenerTrie, jdbcOperator,
+                jdbcRegistryDataMap, 0);
+    }
+
+    @Test
+    public void testLoadDataAndTailEvents() {
+        Mockito.when(jdbcOperator.getMaxDataChangeEventId()).thenReturn(10L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Arrays.asList(
+                JdbcRegistryData.builder().dataKey("/nodes/worker/w1").dataValue("1").build(),
+                JdbcRegistryData.builder().dataKey("/nodes/master/m1").dataValue("1").build()));
+        checkTask.run();
+        Assertions.assertEquals(Collections.singletonList("ADD /nodes/worker/w1"), notifiedEvents);
+        Assertions.assertEquals("1", jdbcRegistryDataMap.get("/nodes/master/m1"));
+
+        notifiedEvents.clear();
+        Mockito.when(jdbcOperator.getMinDataChangeEventId()).thenReturn(1L);
+        Mockito.when(jdbcOperator.queryDataChangeEventAfterId(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        event(11L, Event.Type.UPDATE, "/nodes/worker/w1", "2"),
+                        event(12L, Event.Type.ADD, "/nodes/worker/w2", "1"),
+                        event(13L, Event.Type.REMOVE, "/nodes/master/m1", "1")));
+        checkTask.run();
+        Assertions.assertEquals(Arrays.asList("UPDATE /nodes/worker/w1", "ADD /nodes/worker/w2"), notifiedEvents);
+        Assertions.assertEquals("2", jdbcRegistryDataMap.get("/nodes/worker/w1"));
+        Assertions.assertFalse(jdbcRegistryDataMap.containsKey("/nodes/master/m1"));
+
+        checkTask.run();
+        Mockito.verify(jdbcOperator, Mockito.times(1)).queryAllJdbcRegistryData();
+        Mockito.verify(jdbcOperator).queryDataChangeEventAfterId(Mockito.eq(13L), Mockito.anyInt());
+    }
+
+    @Test
+    public void testInvisibleEvent() {
+        Mockito.when(jdbcOperator.getMaxDataChangeEventId()).thenReturn(10L);
+        Mockito.when(jdbcOperator.getMinDataChangeEventId()).thenReturn(1L);
+        checkTask.run();
+
+        // the event 11 is not committed yet
+        Mockito.when(jdbcOperator.queryDataChangeEventAfterId(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Collections.singletonList(event(12L, Event.Type.ADD, "/nodes/worker/w2", "1")));
+        checkTask.run();
+        Assertions.assertEquals(Collections.singletonList("ADD /nodes/worker/w2"), notifiedEvents);
+
+        // the event 11 is visible now, the event 12 should not be handled again
+        Mockito.when(jdbcOperator.queryDataChangeEventAfterId(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        event(11L, Event.Type.ADD, "/nodes/worker/w1", "1"),
+                        event(12L, Event.Type.ADD, "/nodes/worker/w2", "1")));
+        checkTask.run();
+        Assertions.assertEquals(Arrays.asList("ADD /nodes/worker/w2", "ADD /nodes/worker/w1"), notifiedEvents);
+
+        checkTask.run();
+        Mockito.verify(jdbcOperator).queryDataChangeEventAfterId(Mockito.eq(12L), Mockito.anyInt());
+    }
+
+    @Test
+    public void testReloadDataIfBehindRetention() {
+        Mockito.when(jdbcOperator.getMaxDataChangeEventId()).thenReturn(10L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Collections.singletonList(
+                JdbcRegistryData.builder().dataKey("/nodes/worker/w1").dataValue("1").build()));
+        checkTask.run();
+
+        // the events between 11 and 19 have been cleared
+        Mockito.when(jdbcOperator.getMinDataChangeEventId()).thenReturn(20L);
+        Mockito.when(jdbcOperator.getMaxDataChangeEventId()).thenReturn(30L);
+        Mockito.when(jdbcOperator.queryDataChangeEventAfterId(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Collections.singletonList(event(20L, Event.Type.ADD, "/nodes/worker/w2", "1")));
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Collections.singletonList(
+                JdbcRegistryData.builder().dataKey("/nodes/worker/w2").dataValue("1").build()));
+        checkTask.run();
+        Assertions.assertEquals(
+                Arrays.asList("ADD /nodes/worker/w1", "ADD /nodes/worker/w2", "REMOVE /nodes/worker/w1"),
+                notifiedEvents);
+
+        checkTask.run();
+        Mockito.verify(jdbcOperator).queryDataChangeEventAfterId(Mockito.eq(30L), Mockito.anyInt());
+    }
+
+    private JdbcRegistryDataChangeEvent event(long id, Event.Type type, String key, String value) {
+        return JdbcRegistryDataChangeEvent.builder()
+                .id(id)
+                .eventType(type.name())
+                .dataKey(key)
+                .dataValue(value)
+                .build();
+    }
+}
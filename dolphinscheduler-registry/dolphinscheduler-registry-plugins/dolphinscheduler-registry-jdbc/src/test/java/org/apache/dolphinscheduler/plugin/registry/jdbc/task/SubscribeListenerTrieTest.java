@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SubscribeListenerTrieTest {
+
+    @Test
+    public void testGetListeners() {
+        SubscribeListener masterListener = event -> {
+        };
+        SubscribeListener workerListener = event -> {
+        };
+        SubscribeListener nodeListener = event -> {
+        };
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        subscribeListenerTrie.addListener("/nodes/master", masterListener);
+        subscribeListenerTrie.addListener("/nodes/worker", workerListener);
+        subscribeListenerTrie.addListener("/nodes", nodeListener);
+
+        Assertions.assertEquals(Arrays.asList(nodeListener, workerListener),
+                subscribeListenerTrie.getListeners("/nodes/worker/127.0.0.1:1234"));
+        Assertions.assertEquals(Arrays.asList(nodeListener, masterListener),
+                subscribeListenerTrie.getListeners("/nodes/master"));
+        Assertions.assertEquals(Collections.singletonList(nodeListener),
+                subscribeListenerTrie.getListeners("/nodes/alert-server"));
+        Assertions.assertTrue(subscribeListenerTrie.getListeners("/lock/failover").isEmpty());
+    }
+
+    @Test
+    public void testRemoveListeners() {
+        SubscribeListener masterListener = event -> {
+        };
+        SubscribeListener nodeListener = event -> {
+        };
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        subscribeListenerTrie.addListener("/nodes/master", masterListener);
+        subscribeListenerTrie.addListener("/nodes", nodeListener);
+
+        subscribeListenerTrie.removeListeners("/nodes/master");
+        Assertions.assertEquals(Collections.singletonList(nodeListener),
+                subscribeListenerTrie.getListeners("/nodes/master/127.0.0.1:5678"));
+
+        subscribeListenerTrie.removeListeners("/nodes");
+        subscribeListenerTrie.removeListeners("/not/exist");
+        Assertions.assertTrue(subscribeListenerTrie.getListeners("/nodes/master/127.0.0.1:5678").isEmpty());
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.remote;
 import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
 import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
 import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageContext;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
@@ -29,7 +30,10 @@ import org.apache.dolphinscheduler.remote.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
 import org.apache.dolphinscheduler.remote.handler.NettyClientHandler;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializer;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
 import org.apache.dolphinscheduler.remote.utils.CallerThreadExecutePolicy;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
@@ -82,8 +86,11 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final ScheduledExecutorService responseFutureExecutor;
 
+    private final MessageSerializer preferredSerializer;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.preferredSerializer = MessageSerializerFactory.getSerializer(clientConfig.getSerializer());
         if (Epoll.isAvailable()) {
             this.workerGroup =
                     new EpollEventLoopGroup(clientConfig.getWorkerThreads(), new NamedThreadFactory("NettyClient"));
@@ -125,7 +132,7 @@ public class NettyRemotingClient implements AutoCloseable {
                                 .addLast("client-idle-handler",
                                         new IdleStateHandler(Constants.NETTY_CLIENT_HEART_BEAT_TIME, 0, 0,
                                                 TimeUnit.MILLISECONDS))
-                                .addLast(new NettyDecoder(), clientHandler, encoder);
+                                .addLast(new NettyDecoder(clientConfig.getMaxFrameLength()), clientHandler, encoder);
                     }
                 });
         this.responseFutureExecutor.scheduleWithFixedDelay(ResponseFuture::scanFutureTable, 0, 1, TimeUnit.SECONDS);
@@ -166,6 +173,7 @@ public class NettyRemotingClient implements AutoCloseable {
                     invokeCallback,
                     releaseSemaphore);
             try {
+                prepareMessage(channel, command);
                 channel.writeAndFlush(command).addListener(future -> {
                     if (future.isSuccess()) {
                         responseFuture.setSendOk(true);
@@ -211,6 +219,7 @@ public class NettyRemotingClient implements AutoCloseable {
         }
         final long opaque = message.getOpaque();
         final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis, null, null);
+        prepareMessage(channel, message);
         channel.writeAndFlush(message).addListener(future -> {
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
@@ -248,6 +257,7 @@ public class NettyRemotingClient implements AutoCloseable {
             throw new RemotingException(String.format("connect to : %s fail", host));
         }
         try {
+            prepareMessage(channel, message);
             ChannelFuture future = channel.writeAndFlush(message).await();
             if (future.isSuccess()) {
                 log.debug("send command : {} , to : {} successfully.", message, host.getAddress());
@@ -265,6 +275,20 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Serialize the body in the caller thread by the serializer negotiated with the channel, so later changes of the
+     * body object are not sent. Until the channel has negotiated, the preferred serializer is declared to the server.
+     */
+    private void prepareMessage(final Channel channel, final Message message) {
+        if (!ChannelUtils.isMessageSerializerNegotiated(channel)
+                && preferredSerializer.getVersion() != Message.VERSION) {
+            message.getContext().put(MessageContext.ACCEPT_SERIALIZER,
+                    String.valueOf(preferredSerializer.getVersion()));
+        }
+        // the serialized body is kept by the message, the encoder reuses it if the serializer is not changed
+        message.serializeBody(ChannelUtils.getMessageSerializer(channel));
+    }
+
     /**
      * register processor
      *
@@ -161,7 +161,7 @@ public class NettyRemotingServer {
     private void initNettyChannel(SocketChannel ch) {
         ch.pipeline()
                 .addLast("encoder", new NettyEncoder())
-                .addLast("decoder", new NettyDecoder())
+                .addLast("decoder", new NettyDecoder(serverConfig.getMaxFrameLength()))
                 .addLast("server-idle-handle",
                         new IdleStateHandler(0, 0, Constants.NETTY_SERVER_HEART_BEAT_TIME, TimeUnit.MILLISECONDS))
                 .addLast("handler", serverHandler);
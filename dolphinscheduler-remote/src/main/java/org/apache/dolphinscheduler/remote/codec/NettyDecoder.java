@@ -19,27 +19,47 @@ package org.apache.dolphinscheduler.remote.codec;
 
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageContext;
-import org.apache.dolphinscheduler.remote.command.MessageHeader;
 import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializer;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
+import org.apache.dolphinscheduler.remote.utils.Constants;
 
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
 
 /**
  * netty decoder
+ * <p>
+ * The frame is: magic(1) version(1) type(1) opaque(8) context length(4) context body length(4) body. A frame is only
+ * decoded once all its bytes arrived, and the body is kept as a retained slice of the received buffer until the
+ * processor deserializes it, see {@link Message#parseBody(Class)} and {@link Message#release()}.
  */
 @Slf4j
-public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
+public class NettyDecoder extends ByteToMessageDecoder {
+
+    /**
+     * magic + version + type + opaque + context length
+     */
+    private static final int HEADER_LENGTH = 1 + 1 + 1 + 8 + 4;
+
+    private static final int CONTEXT_LENGTH_OFFSET = HEADER_LENGTH - 4;
+
+    private final int maxFrameLength;
 
     public NettyDecoder() {
-        super(State.MAGIC);
+        this(Constants.DEFAULT_MAX_FRAME_LENGTH);
     }
 
-    private final MessageHeader messageHeader = new MessageHeader();
+    public NettyDecoder(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
 
     /**
      * decode
@@ -50,67 +70,31 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
      */
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case MAGIC:
-                checkMagic(in.readByte());
-                checkpoint(State.VERSION);
-                // fallthru
-            case VERSION:
-                checkVersion(in.readByte());
-                checkpoint(State.COMMAND);
-                // fallthru
-            case COMMAND:
-                messageHeader.setType(in.readByte());
-                checkpoint(State.OPAQUE);
-                // fallthru
-            case OPAQUE:
-                messageHeader.setOpaque(in.readLong());
-                checkpoint(State.CONTEXT_LENGTH);
-                // fallthru
-            case CONTEXT_LENGTH:
-                messageHeader.setContextLength(in.readInt());
-                checkpoint(State.CONTEXT);
-                // fallthru
-            case CONTEXT:
-                byte[] context = new byte[messageHeader.getContextLength()];
-                in.readBytes(context);
-                messageHeader.setContext(context);
-                checkpoint(State.BODY_LENGTH);
-                // fallthru
-            case BODY_LENGTH:
-                messageHeader.setBodyLength(in.readInt());
-                checkpoint(State.BODY);
-                // fallthru
-            case BODY:
-                byte[] body = new byte[messageHeader.getBodyLength()];
-                in.readBytes(body);
-                //
-                Message packet = new Message();
-                packet.setType(commandType(messageHeader.getType()));
-                packet.setOpaque(messageHeader.getOpaque());
-                packet.setContext(MessageContext.valueOf(messageHeader.getContext()));
-                packet.setBody(body);
-                out.add(packet);
-                //
-                checkpoint(State.MAGIC);
-                break;
-            default:
-                log.warn("unknown decoder state {}", state());
+        if (in.readableBytes() < HEADER_LENGTH) {
+            return;
         }
-    }
-
-    /**
-     * get command type
-     *
-     * @param type type
-     */
-    private MessageType commandType(byte type) {
-        for (MessageType ct : MessageType.values()) {
-            if (ct.ordinal() == type) {
-                return ct;
-            }
+        int frameIndex = in.readerIndex();
+        checkMagic(in.getByte(frameIndex));
+        byte version = checkVersion(in.getByte(frameIndex + 1));
+        int contextLength = checkLength(in.getInt(frameIndex + CONTEXT_LENGTH_OFFSET), HEADER_LENGTH + 4);
+        if (in.readableBytes() < HEADER_LENGTH + contextLength + 4) {
+            return;
+        }
+        int bodyLength = checkLength(in.getInt(frameIndex + HEADER_LENGTH + contextLength),
+                HEADER_LENGTH + contextLength + 4);
+        if (in.readableBytes() < HEADER_LENGTH + contextLength + 4 + bodyLength) {
+            return;
         }
-        return null;
+
+        Message packet = new Message(in.getLong(frameIndex + 3));
+        packet.setType(MessageType.of(in.getByte(frameIndex + 2)));
+        in.skipBytes(HEADER_LENGTH);
+        packet.setContext(MessageContext.valueOf(in.slice(in.readerIndex(), contextLength)));
+        in.skipBytes(contextLength + 4);
+        packet.setBodyBuffer(in.readRetainedSlice(bodyLength));
+        packet.setVersion(version);
+        negotiateSerializer(ctx.channel(), packet);
+        out.add(packet);
     }
 
     /**
@@ -125,22 +109,57 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
     }
 
     /**
-     * check version
+     * check version, the version should be one of the known serializers
      */
-    private void checkVersion(byte version) {
-        if (version != Message.VERSION) {
+    private byte checkVersion(byte version) {
+        if (MessageSerializerFactory.getSerializer(version) == null) {
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
+        return version;
     }
 
-    enum State {
-        MAGIC,
-        VERSION,
-        COMMAND,
-        OPAQUE,
-        CONTEXT_LENGTH,
-        CONTEXT,
-        BODY_LENGTH,
-        BODY;
+    /**
+     * check the length read from the frame, so that an oversized frame fails before it is buffered
+     *
+     * @param length the length of the context or the body
+     * @param readLength the length of the frame before that part
+     */
+    private int checkLength(int length, int readLength) throws TooLongFrameException {
+        if (length < 0) {
+            throw new IllegalArgumentException("illegal packet [length]" + length);
+        }
+        if ((long) length + readLength > maxFrameLength) {
+            throw new TooLongFrameException(
+                    "frame length exceeds " + maxFrameLength + ": " + ((long) length + readLength));
+        }
+        return length;
+    }
+
+    /**
+     * Pick the serializer used to write to the channel. Once the peer sends a non json body, or declares it accepts a
+     * serializer this node knows, the following messages to the peer use that serializer. Nodes which don't know the
+     * negotiation never declare anything, so they keep receiving the json body.
+     */
+    private void negotiateSerializer(Channel channel, Message message) {
+        if (message.getVersion() != Message.VERSION) {
+            if (!ChannelUtils.isMessageSerializerNegotiated(channel)) {
+                ChannelUtils.setMessageSerializer(channel,
+                        MessageSerializerFactory.getSerializer(message.getVersion()));
+            }
+            return;
+        }
+        String acceptSerializer = message.getContext().get(MessageContext.ACCEPT_SERIALIZER);
+        if (acceptSerializer == null || ChannelUtils.isMessageSerializerNegotiated(channel)) {
+            return;
+        }
+        try {
+            MessageSerializer messageSerializer =
+                    MessageSerializerFactory.getSerializer(Byte.parseByte(acceptSerializer));
+            if (messageSerializer != null) {
+                ChannelUtils.setMessageSerializer(channel, messageSerializer);
+            }
+        } catch (NumberFormatException ex) {
+            log.warn("Illegal accept serializer: {}", acceptSerializer);
+        }
     }
 }
@@ -18,43 +18,65 @@
 package org.apache.dolphinscheduler.remote.codec;
 
 import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.Message.SerializedBody;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
+
+import java.util.List;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 
 /**
  * netty encoder
+ * <p>
+ * Only the header is written to a pooled buffer, the body is wrapped as it is rather than copied.
  */
 @Sharable
-public class NettyEncoder extends MessageToByteEncoder<Message> {
+public class NettyEncoder extends MessageToMessageEncoder<Message> {
+
+    /**
+     * magic + version + type + opaque + context length + body length
+     */
+    private static final int FIXED_HEADER_LENGTH = 1 + 1 + 1 + 8 + 4 + 4;
 
     /**
      * encode
      *
      * @param ctx channel handler context
      * @param msg command
-     * @param out byte buffer
+     * @param out encoded buffers
      */
     @Override
-    protected void encode(ChannelHandlerContext ctx, Message msg, ByteBuf out) throws Exception {
+    protected void encode(ChannelHandlerContext ctx, Message msg, List<Object> out) throws Exception {
         if (msg == null) {
             throw new RemotingException("encode msg is null");
         }
-        out.writeByte(Message.MAGIC);
-        out.writeByte(Message.VERSION);
-        out.writeByte(msg.getType().ordinal());
-        out.writeLong(msg.getOpaque());
-        writeContext(msg, out);
-        out.writeInt(msg.getBody().length);
-        out.writeBytes(msg.getBody());
-    }
+        // the body of a message built from an object is serialized by the serializer negotiated with the peer, the
+        // message may be written to other channels at the same time, so the body and version are kept locally
+        SerializedBody serializedBody = msg.serializeBody(ChannelUtils.getMessageSerializer(ctx.channel()));
+        byte[] contextBytes = msg.getContext().toBytes();
+        byte[] body = serializedBody.getBody();
+        int bodyLength = body == null ? 0 : body.length;
 
-    private void writeContext(Message msg, ByteBuf out) {
-        byte[] headerBytes = msg.getContext().toBytes();
-        out.writeInt(headerBytes.length);
-        out.writeBytes(headerBytes);
+        ByteBuf header = ctx.alloc().buffer(FIXED_HEADER_LENGTH + contextBytes.length);
+        header.writeByte(Message.MAGIC);
+        header.writeByte(serializedBody.getVersion());
+        header.writeByte(msg.getType().ordinal());
+        header.writeLong(msg.getOpaque());
+        header.writeInt(contextBytes.length);
+        header.writeBytes(contextBytes);
+        header.writeInt(bodyLength);
+        if (bodyLength == 0) {
+            out.add(header);
+            return;
+        }
+        CompositeByteBuf frame = ctx.alloc().compositeBuffer(2);
+        frame.addComponents(true, header, Unpooled.wrappedBuffer(body));
+        out.add(frame);
     }
 }
@@ -17,9 +17,16 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializer;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
+
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCountUtil;
+
 /**
  *  receive task log request command and content fill
  *  for netty data serializable transfer
@@ -31,6 +38,10 @@ public class Message implements Serializable {
     private static final AtomicLong REQUEST_ID = new AtomicLong(1);
 
     public static final byte MAGIC = (byte) 0xbabe;
+    /**
+     * The protocol version, it also identifies the serializer of the body, see {@link MessageSerializer#getVersion()}.
+     * The version 0 is the json body which every node understands.
+     */
     public static final byte VERSION = 0;
 
     public Message() {
@@ -61,6 +72,27 @@ public class Message implements Serializable {
      */
     private byte[] body;
 
+    /**
+     * the protocol version of the body
+     */
+    private byte version = VERSION;
+
+    /**
+     * the object which will be serialized to the body once the serializer of the channel is known
+     */
+    private transient Object bodyObject;
+
+    /**
+     * the last serialized body object, the same message may be written to several channels concurrently, so it's
+     * replaced as a whole rather than updating the body and version separately
+     */
+    private transient volatile SerializedBody serializedBody;
+
+    /**
+     * the received body, it is a retained slice of the frame and should be released once the message is processed
+     */
+    private transient ByteBuf bodyBuffer;
+
     public MessageType getType() {
         return type;
     }
@@ -77,12 +109,94 @@ public class Message implements Serializable {
         this.opaque = opaque;
     }
 
+    /**
+     * Get the body bytes, a received body is copied out of the frame buffer, which is released then.
+     */
     public byte[] getBody() {
+        if (body == null && bodyBuffer != null) {
+            body = ByteBufUtil.getBytes(bodyBuffer);
+            release();
+        }
+        if (body == null && bodyObject != null) {
+            return serializeBody(MessageSerializerFactory.getDefaultSerializer()).getBody();
+        }
         return body;
     }
 
     public void setBody(byte[] body) {
+        release();
         this.body = body;
+        this.bodyObject = null;
+        this.serializedBody = null;
+        this.version = VERSION;
+    }
+
+    public void setBodyObject(Object bodyObject) {
+        release();
+        this.bodyObject = bodyObject;
+        this.serializedBody = null;
+        this.body = null;
+        this.version = VERSION;
+    }
+
+    public void setBodyBuffer(ByteBuf bodyBuffer) {
+        release();
+        this.bodyBuffer = bodyBuffer;
+        this.body = null;
+        this.bodyObject = null;
+        this.serializedBody = null;
+    }
+
+    /**
+     * Release the received body buffer, the body can't be read after that unless it has been copied by
+     * {@link #getBody()}.
+     */
+    public void release() {
+        if (bodyBuffer != null) {
+            ReferenceCountUtil.safeRelease(bodyBuffer);
+            bodyBuffer = null;
+        }
+    }
+
+    public byte getVersion() {
+        return version;
+    }
+
+    public void setVersion(byte version) {
+        this.version = version;
+    }
+
+    /**
+     * Get the body to write and the version it's written with, the body object is serialized by the given serializer,
+     * other bodies are written as they are. The body and version of the message are not changed, so it can be written
+     * to several channels whose serializers are different at the same time.
+     */
+    public SerializedBody serializeBody(MessageSerializer messageSerializer) {
+        if (bodyObject == null) {
+            return new SerializedBody(version, getBody());
+        }
+        SerializedBody lastSerializedBody = serializedBody;
+        if (lastSerializedBody != null && lastSerializedBody.getVersion() == messageSerializer.getVersion()) {
+            return lastSerializedBody;
+        }
+        lastSerializedBody =
+                new SerializedBody(messageSerializer.getVersion(), messageSerializer.serialize(bodyObject));
+        serializedBody = lastSerializedBody;
+        return lastSerializedBody;
+    }
+
+    /**
+     * Deserialize the body by the serializer it was written with.
+     */
+    public <T> T parseBody(Class<T> clazz) {
+        MessageSerializer messageSerializer = MessageSerializerFactory.getSerializer(version);
+        if (messageSerializer == null) {
+            throw new IllegalArgumentException("Unknown message version: " + version);
+        }
+        if (body == null && bodyBuffer != null) {
+            return messageSerializer.deserialize(bodyBuffer, clazz);
+        }
+        return messageSerializer.deserialize(getBody(), clazz);
     }
 
     public MessageContext getContext() {
@@ -93,6 +207,17 @@ public class Message implements Serializable {
         this.context = context;
     }
 
+    private int getBodyLength() {
+        if (body != null) {
+            return body.length;
+        }
+        SerializedBody lastSerializedBody = serializedBody;
+        if (lastSerializedBody != null && lastSerializedBody.getBody() != null) {
+            return lastSerializedBody.getBody().length;
+        }
+        return bodyBuffer == null ? 0 : bodyBuffer.readableBytes();
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -118,7 +243,31 @@ public class Message implements Serializable {
 
     @Override
     public String toString() {
-        return "Command [type=" + type + ", opaque=" + opaque + ", bodyLen=" + (body == null ? 0 : body.length) + "]";
+        return "Command [type=" + type + ", opaque=" + opaque + ", version=" + version + ", bodyLen="
+                + getBodyLength() + "]";
+    }
+
+    /**
+     * The body bytes with the version which identifies their serializer.
+     */
+    public static final class SerializedBody {
+
+        private final byte version;
+
+        private final byte[] body;
+
+        public SerializedBody(byte version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+
+        public byte getVersion() {
+            return version;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
     }
 
 }
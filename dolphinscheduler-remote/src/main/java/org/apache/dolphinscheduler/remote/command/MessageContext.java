@@ -23,11 +23,28 @@ import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
 /**
  *  command context
  */
 public class MessageContext implements Serializable {
 
+    /**
+     * the version of the serializer the sender prefers, sent until the channel has negotiated its serializer
+     */
+    public static final String ACCEPT_SERIALIZER = "acceptSerializer";
+
+    /**
+     * most messages carry an empty context, its bytes are shared rather than serialized/parsed for every frame
+     */
+    private static final byte[] EMPTY_CONTEXT_BYTES = JSONUtils.toJsonByteArray(new MessageContext());
+
+    private static final ByteBuf EMPTY_CONTEXT_BUFFER =
+            Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(EMPTY_CONTEXT_BYTES).asReadOnly());
+
     private Map<String, String> items = new LinkedHashMap<>();
 
     public Map<String, String> getItems() {
@@ -46,11 +63,27 @@ public class MessageContext implements Serializable {
         return items.get(key);
     }
 
+    /**
+     * The returned array is shared when the context is empty, it should not be modified.
+     */
     public byte[] toBytes() {
+        if (items.isEmpty()) {
+            return EMPTY_CONTEXT_BYTES;
+        }
         return JSONUtils.toJsonByteArray(this);
     }
 
     public static MessageContext valueOf(byte[] src) {
         return JSONUtils.parseObject(src, MessageContext.class);
     }
+
+    /**
+     * Read the context from the readable bytes of the buffer, the reader index of the buffer is not changed.
+     */
+    public static MessageContext valueOf(ByteBuf src) {
+        if (ByteBufUtil.equals(src, EMPTY_CONTEXT_BUFFER)) {
+            return new MessageContext();
+        }
+        return valueOf(ByteBufUtil.getBytes(src));
+    }
 }
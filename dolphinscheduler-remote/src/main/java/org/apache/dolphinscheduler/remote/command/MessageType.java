@@ -111,6 +111,35 @@ public enum MessageType {
     WORKFLOW_METRICS_CLEANUP,
 
     PAUSE_TASK_INSTANCE,
+
+    /**
+     * new command inserted notify, from api/master to master
+     */
+    COMMAND_INSERTED_NOTIFY,
+
+    /**
+     * dispatch a batch of tasks to the same worker in one request, from master to worker
+     */
+    TASK_BATCH_DISPATCH_REQUEST,
+    TASK_BATCH_DISPATCH_RESPONSE,
+
+    /**
+     * get a chunk of the log file, from api to master/worker
+     */
+    GET_LOG_CHUNK_REQUEST,
     ;
 
+    private static final MessageType[] VALUES = values();
+
+    /**
+     * @param type the ordinal written in the frame header
+     * @return the message type, or null if the type is unknown
+     */
+    public static MessageType of(byte type) {
+        if (type < 0 || type >= VALUES.length) {
+            return null;
+        }
+        return VALUES[type];
+    }
+
 }
@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
-
 import java.io.Serializable;
 
 public interface RequestMessageBuilder extends Serializable {
@@ -26,16 +24,14 @@ public interface RequestMessageBuilder extends Serializable {
     default Message convert2Command() {
         Message message = new Message();
         message.setType(getCommandType());
-        byte[] body = JsonSerializer.serialize(this);
-        message.setBody(body);
+        message.setBodyObject(this);
         return message;
     }
 
     default Message convert2Command(int opaque) {
         Message message = new Message(opaque);
         message.setType(getCommandType());
-        byte[] body = JsonSerializer.serialize(this);
-        message.setBody(body);
+        message.setBodyObject(this);
         return message;
     }
 
@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
-
 import java.io.Serializable;
 
 public interface ResponseMessageBuilder extends Serializable {
@@ -26,8 +24,7 @@ public interface ResponseMessageBuilder extends Serializable {
     default Message convert2Command(long opaque) {
         Message message = new Message(opaque);
         message.setType(getCommandType());
-        byte[] body = JsonSerializer.serialize(this);
-        message.setBody(body);
+        message.setBodyObject(this);
         return message;
     }
 
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.remote.config;
 
+import org.apache.dolphinscheduler.remote.serializer.ProtostuffMessageSerializer;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 
 import lombok.AllArgsConstructor;
@@ -66,4 +67,16 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * the serializer of the message body, it is used once the server accepts it, otherwise the json body is used
+     */
+    @Builder.Default
+    private String serializer = ProtostuffMessageSerializer.NAME;
+
+    /**
+     * max length of a frame, the channel is closed when the peer sends a larger one
+     */
+    @Builder.Default
+    private int maxFrameLength = Constants.DEFAULT_MAX_FRAME_LENGTH;
+
 }
@@ -57,4 +57,9 @@ public class NettyServerConfig {
      *  listen port
      */
     private int listenPort = 12346;
+
+    /**
+     * max length of a frame, the channel is closed when the peer sends a larger one
+     */
+    private int maxFrameLength = Constants.DEFAULT_MAX_FRAME_LENGTH;
 }
@@ -131,6 +131,8 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     private void processReceived(final Channel channel, final Message message) {
         ResponseFuture future = ResponseFuture.getFuture(message.getOpaque());
         if (future != null) {
+            // the response is handed over to the caller, copy the body out of the frame buffer
+            message.getBody();
             future.setResponseCommand(message);
             future.release();
             if (future.getInvokeCallback() != null) {
@@ -152,15 +154,19 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
                     pair.getLeft().process(channel, message);
                 } catch (Exception e) {
                     log.error(String.format("process command %s exception", message), e);
+                } finally {
+                    message.release();
                 }
             };
             try {
                 pair.getRight().submit(run);
             } catch (RejectedExecutionException e) {
+                message.release();
                 log.warn("thread pool is full, discard command {} from {}", message,
                         ChannelUtils.getRemoteAddress(channel));
             }
         } else {
+            message.release();
             log.warn("receive response {}, but not matched any request ", message);
         }
     }
@@ -115,6 +115,7 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
     private void processReceived(final Channel channel, final Message msg) {
         final MessageType messageType = msg.getType();
         if (MessageType.HEART_BEAT.equals(messageType)) {
+            msg.release();
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
@@ -127,14 +128,18 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
                     pair.getLeft().process(channel, msg);
                 } catch (Exception ex) {
                     log.error("process msg {} error", msg, ex);
+                } finally {
+                    msg.release();
                 }
             };
             try {
                 pair.getRight().submit(r);
             } catch (RejectedExecutionException e) {
+                msg.release();
                 log.warn("thread pool is full, discard msg {} from {}", msg, ChannelUtils.getRemoteAddress(channel));
             }
         } else {
+            msg.release();
             log.warn("commandType {} not support", messageType);
         }
     }
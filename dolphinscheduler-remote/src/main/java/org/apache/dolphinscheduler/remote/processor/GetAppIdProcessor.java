@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.remote.processor;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
@@ -43,7 +42,7 @@ public class GetAppIdProcessor extends BaseLogProcessor implements NettyRequestP
     @Override
     public void process(Channel channel, Message message) {
         GetAppIdRequest getAppIdRequest =
-                JSONUtils.parseObject(message.getBody(), GetAppIdRequest.class);
+                message.parseBody(GetAppIdRequest.class);
         String appInfoPath = getAppIdRequest.getAppInfoPath();
         String logPath = getAppIdRequest.getLogPath();
         List<String> appIds = LogUtils.getAppIds(logPath, appInfoPath,
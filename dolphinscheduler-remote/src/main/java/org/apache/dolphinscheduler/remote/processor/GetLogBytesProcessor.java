@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -36,8 +35,7 @@ public class GetLogBytesProcessor extends BaseLogProcessor implements NettyReque
 
     @Override
     public void process(Channel channel, Message message) {
-        GetLogBytesRequest getLogRequest = JSONUtils.parseObject(
-                message.getBody(), GetLogBytesRequest.class);
+        GetLogBytesRequest getLogRequest = message.parseBody(GetLogBytesRequest.class);
         String path = getLogRequest.getPath();
         byte[] bytes = LogUtils.getFileContentBytes(path);
         GetLogBytesResponse getLogResponse = new GetLogBytesResponse(bytes);
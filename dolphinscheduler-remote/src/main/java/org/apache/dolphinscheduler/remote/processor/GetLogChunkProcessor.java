@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.processor;
+
+import org.apache.dolphinscheduler.common.utils.LogUtils;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import io.netty.channel.Channel;
+
+@Component
+@Slf4j
+public class GetLogChunkProcessor extends BaseLogProcessor implements NettyRequestProcessor {
+
+    /**
+     * The max chunk size served in one response, to bound the memory of a request.
+     */
+    private static final int MAX_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    @Override
+    public void process(Channel channel, Message message) {
+        GetLogChunkRequest getLogChunkRequest = message.parseBody(GetLogChunkRequest.class);
+        String path = getLogChunkRequest.getPath();
+        long offset = getLogChunkRequest.getOffset();
+        int chunkSize = Math.min(getLogChunkRequest.getChunkSize(), MAX_CHUNK_SIZE);
+        byte[] bytes = LogUtils.readFileChunk(path, offset, chunkSize);
+        // the log may be read from the remote target when it's not found locally, so the eof is not decided by the
+        // local file length
+        boolean eof = bytes.length < chunkSize;
+        GetLogChunkResponse getLogChunkResponse = new GetLogChunkResponse(bytes, eof);
+        channel.writeAndFlush(getLogChunkResponse.convert2Command(message.getOpaque()));
+    }
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.GET_LOG_CHUNK_REQUEST;
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequest;
@@ -37,8 +36,7 @@ public class RemoveTaskLogProcessor extends BaseLogProcessor implements NettyReq
 
     @Override
     public void process(Channel channel, Message message) {
-        RemoveTaskLogRequest removeTaskLogRequest = JSONUtils.parseObject(
-                message.getBody(), RemoveTaskLogRequest.class);
+        RemoveTaskLogRequest removeTaskLogRequest = message.parseBody(RemoveTaskLogRequest.class);
 
         String taskLogPath = removeTaskLogRequest.getPath();
         File taskLogFile = new File(taskLogPath);
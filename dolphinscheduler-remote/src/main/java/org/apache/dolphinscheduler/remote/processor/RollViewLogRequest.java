@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -37,8 +36,8 @@ public class RollViewLogRequest extends BaseLogProcessor implements NettyRequest
 
     @Override
     public void process(Channel channel, Message message) {
-        org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest rollViewLogRequest = JSONUtils.parseObject(
-                message.getBody(), org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest.class);
+        org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest rollViewLogRequest =
+                message.parseBody(org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest.class);
 
         String rollViewLogPath = rollViewLogRequest.getPath();
 
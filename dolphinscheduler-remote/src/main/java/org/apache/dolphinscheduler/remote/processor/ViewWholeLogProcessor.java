@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -36,8 +35,7 @@ public class ViewWholeLogProcessor extends BaseLogProcessor implements NettyRequ
 
     @Override
     public void process(Channel channel, Message message) {
-        ViewLogRequest viewLogRequest = JSONUtils.parseObject(
-                message.getBody(), ViewLogRequest.class);
+        ViewLogRequest viewLogRequest = message.parseBody(ViewLogRequest.class);
         String viewLogPath = viewLogRequest.getPath();
         String msg = LogUtils.readWholeFileContent(viewLogPath);
         ViewLogResponseResponse viewLogResponse = new ViewLogResponseResponse(msg);
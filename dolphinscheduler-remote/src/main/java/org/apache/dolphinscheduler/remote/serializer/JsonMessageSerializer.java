@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * The legacy json body, every node understands it, so it is used until the peer declares it supports another one.
+ */
+public class JsonMessageSerializer implements MessageSerializer {
+
+    public static final byte VERSION = 0;
+
+    public static final String NAME = "json";
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] serialize(Object obj) {
+        return JsonSerializer.serialize(obj);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+        return JsonSerializer.deserialize(bytes, clazz);
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf buffer, Class<T> clazz) {
+        return JsonSerializer.deserialize(new ByteBufInputStream(buffer.duplicate()), clazz);
+    }
+}
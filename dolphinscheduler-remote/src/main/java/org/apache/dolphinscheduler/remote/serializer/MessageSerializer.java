@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Serializer of the {@link org.apache.dolphinscheduler.remote.command.Message} body.
+ * <p>
+ * Each serializer is identified by the protocol version byte written in the frame header, so the receiver knows how
+ * to decode the body. Additional serializers can be plugged in through {@link java.util.ServiceLoader}.
+ */
+public interface MessageSerializer {
+
+    /**
+     * @return the protocol version byte written in the frame header, must be unique
+     */
+    byte getVersion();
+
+    /**
+     * @return the name used to select this serializer in the configuration
+     */
+    String getName();
+
+    byte[] serialize(Object obj);
+
+    <T> T deserialize(byte[] bytes, Class<T> clazz);
+
+    /**
+     * Deserialize the readable bytes of the buffer, the buffer is neither released nor its reader index changed.
+     */
+    default <T> T deserialize(ByteBuf buffer, Class<T> clazz) {
+        return deserialize(ByteBufUtil.getBytes(buffer), clazz);
+    }
+}
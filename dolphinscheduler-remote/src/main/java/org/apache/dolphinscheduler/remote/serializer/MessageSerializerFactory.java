@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the available {@link MessageSerializer}, indexed by protocol version and by name.
+ */
+@Slf4j
+public class MessageSerializerFactory {
+
+    private static final MessageSerializer[] SERIALIZERS_BY_VERSION = new MessageSerializer[Byte.MAX_VALUE + 1];
+
+    private static final Map<String, MessageSerializer> SERIALIZERS_BY_NAME = new HashMap<>();
+
+    private static final MessageSerializer DEFAULT_SERIALIZER = new JsonMessageSerializer();
+
+    static {
+        register(DEFAULT_SERIALIZER);
+        register(new ProtostuffMessageSerializer());
+        for (MessageSerializer messageSerializer : ServiceLoader.load(MessageSerializer.class)) {
+            register(messageSerializer);
+        }
+    }
+
+    private MessageSerializerFactory() {
+        throw new IllegalStateException(MessageSerializerFactory.class.getName());
+    }
+
+    private static void register(MessageSerializer messageSerializer) {
+        byte version = messageSerializer.getVersion();
+        if (version < 0) {
+            throw new IllegalArgumentException("The version of serializer " + messageSerializer.getName()
+                    + " should not be negative, version: " + version);
+        }
+        MessageSerializer existing = SERIALIZERS_BY_VERSION[version];
+        if (existing != null) {
+            if (existing.getClass() != messageSerializer.getClass()) {
+                log.warn("The serializer version {} is already used by {}, will skip {}",
+                        version, existing.getName(), messageSerializer.getName());
+            }
+            return;
+        }
+        SERIALIZERS_BY_VERSION[version] = messageSerializer;
+        SERIALIZERS_BY_NAME.put(messageSerializer.getName(), messageSerializer);
+    }
+
+    /**
+     * @return the serializer every node understands
+     */
+    public static MessageSerializer getDefaultSerializer() {
+        return DEFAULT_SERIALIZER;
+    }
+
+    /**
+     * @return the serializer of the given protocol version, or null if it is unknown
+     */
+    public static MessageSerializer getSerializer(byte version) {
+        if (version < 0) {
+            return null;
+        }
+        return SERIALIZERS_BY_VERSION[version];
+    }
+
+    /**
+     * @return the serializer of the given name, or the default serializer if the name is unknown
+     */
+    public static MessageSerializer getSerializer(String name) {
+        MessageSerializer messageSerializer = SERIALIZERS_BY_NAME.get(name);
+        if (messageSerializer == null) {
+            log.warn("Unknown message serializer: {}, will use {}", name, DEFAULT_SERIALIZER.getName());
+            return DEFAULT_SERIALIZER;
+        }
+        return messageSerializer;
+    }
+}
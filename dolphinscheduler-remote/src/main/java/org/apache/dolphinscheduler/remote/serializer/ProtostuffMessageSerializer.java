@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtostuffIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.DefaultIdStrategy;
+import io.protostuff.runtime.IdStrategy;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * Compact binary body based on the protostuff runtime schema.
+ * <p>
+ * Enums are written by name rather than ordinal, so adding an enum constant doesn't break nodes of another version.
+ */
+public class ProtostuffMessageSerializer implements MessageSerializer {
+
+    public static final byte VERSION = 1;
+
+    public static final String NAME = "protostuff";
+
+    private static final IdStrategy ID_STRATEGY =
+            new DefaultIdStrategy(IdStrategy.DEFAULT_FLAGS | IdStrategy.ENUMS_BY_NAME);
+
+    private static final ThreadLocal<LinkedBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
+
+    private final Map<Class<?>, Schema<?>> schemaCache = new ConcurrentHashMap<>();
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object obj) {
+        Schema<Object> schema = (Schema<Object>) getSchema(obj.getClass());
+        LinkedBuffer buffer = BUFFER.get();
+        try {
+            return ProtostuffIOUtil.toByteArray(obj, schema, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+        Schema<T> schema = getSchema(clazz);
+        T obj = schema.newMessage();
+        ProtostuffIOUtil.mergeFrom(bytes, obj, schema);
+        return obj;
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf buffer, Class<T> clazz) {
+        Schema<T> schema = getSchema(clazz);
+        T obj = schema.newMessage();
+        if (buffer.hasArray()) {
+            ProtostuffIOUtil.mergeFrom(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(),
+                    buffer.readableBytes(), obj, schema);
+            return obj;
+        }
+        LinkedBuffer linkedBuffer = BUFFER.get();
+        try {
+            ProtostuffIOUtil.mergeFrom(new ByteBufInputStream(buffer.duplicate()), obj, schema, linkedBuffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            linkedBuffer.clear();
+        }
+        return obj;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Schema<T> getSchema(Class<T> clazz) {
+        return (Schema<T>) schemaCache.computeIfAbsent(clazz, c -> RuntimeSchema.createFrom(c, ID_STRATEGY));
+    }
+}
@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.remote.utils;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializer;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
 
 import java.net.InetSocketAddress;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
 
 /**
  * channel utils
@@ -30,6 +33,9 @@ import io.netty.channel.Channel;
 @Slf4j
 public class ChannelUtils {
 
+    private static final AttributeKey<MessageSerializer> MESSAGE_SERIALIZER =
+            AttributeKey.valueOf("messageSerializer");
+
     private ChannelUtils() {
         throw new IllegalStateException(ChannelUtils.class.getName());
     }
@@ -70,4 +76,22 @@ public class ChannelUtils {
         return new Host(NetUtils.getHost(socketAddress.getAddress()), socketAddress.getPort());
     }
 
+    /**
+     * get the serializer negotiated with the peer of the channel
+     *
+     * @param channel channel
+     * @return the negotiated serializer, or the default serializer if the channel has not negotiated yet
+     */
+    public static MessageSerializer getMessageSerializer(Channel channel) {
+        MessageSerializer messageSerializer = channel.attr(MESSAGE_SERIALIZER).get();
+        return messageSerializer == null ? MessageSerializerFactory.getDefaultSerializer() : messageSerializer;
+    }
+
+    public static boolean isMessageSerializerNegotiated(Channel channel) {
+        return channel.attr(MESSAGE_SERIALIZER).get() != null;
+    }
+
+    public static void setMessageSerializer(Channel channel, MessageSerializer messageSerializer) {
+        channel.attr(MESSAGE_SERIALIZER).set(messageSerializer);
+    }
 }
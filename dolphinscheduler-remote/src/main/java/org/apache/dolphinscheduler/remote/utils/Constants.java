@@ -39,6 +39,11 @@ public class Constants {
 
     public static final int NETTY_CLIENT_HEART_BEAT_TIME = 1000 * 6;
 
+    /**
+     * default max frame length, 128 MB
+     */
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 128 * 1024 * 1024;
+
     /**
      * charset
      */
@@ -26,6 +26,7 @@ import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -116,4 +117,21 @@ public class JsonSerializer {
 
     }
 
+    /**
+     * deserialize
+     *
+     * @param src input stream
+     * @param clazz class
+     * @param <T> deserialize type
+     * @return deserialize type
+     */
+    public static <T> T deserialize(InputStream src, Class<T> clazz) {
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            log.error("deserialize exception!", e);
+            return null;
+        }
+    }
+
 }
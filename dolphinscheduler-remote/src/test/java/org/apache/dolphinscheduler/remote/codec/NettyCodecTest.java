@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.codec;
+
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageContext;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.task.TaskKillRequest;
+import org.apache.dolphinscheduler.remote.serializer.MessageSerializerFactory;
+import org.apache.dolphinscheduler.remote.serializer.ProtostuffMessageSerializer;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+public class NettyCodecTest {
+
+    @Test
+    public void testLegacyPeerKeepsJson() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        Message received = roundTrip(channel, new TaskKillRequest(1).convert2Command());
+
+        Assertions.assertEquals(Message.VERSION, received.getVersion());
+        Assertions.assertFalse(ChannelUtils.isMessageSerializerNegotiated(channel));
+        Assertions.assertEquals(new TaskKillRequest(1), received.parseBody(TaskKillRequest.class));
+    }
+
+    @Test
+    public void testNegotiateSerializer() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        Message message = new TaskKillRequest(1).convert2Command();
+        message.getContext().put(MessageContext.ACCEPT_SERIALIZER,
+                String.valueOf(ProtostuffMessageSerializer.VERSION));
+        Message received = roundTrip(channel, message);
+        // the request is still json, the following messages use the accepted serializer
+        Assertions.assertEquals(Message.VERSION, received.getVersion());
+        Assertions.assertTrue(ChannelUtils.isMessageSerializerNegotiated(channel));
+
+        received = roundTrip(channel, new TaskKillRequest(2).convert2Command());
+        Assertions.assertEquals(ProtostuffMessageSerializer.VERSION, received.getVersion());
+        Assertions.assertEquals(new TaskKillRequest(2), received.parseBody(TaskKillRequest.class));
+    }
+
+    @Test
+    public void testWriteMessageToChannelsOfDifferentSerializers() {
+        EmbeddedChannel jsonChannel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        EmbeddedChannel protostuffChannel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        ChannelUtils.setMessageSerializer(protostuffChannel,
+                MessageSerializerFactory.getSerializer(ProtostuffMessageSerializer.VERSION));
+        Message message = new TaskKillRequest(1).convert2Command();
+
+        Message receivedFromProtostuff = roundTrip(protostuffChannel, message);
+        Message receivedFromJson = roundTrip(jsonChannel, message);
+        Assertions.assertEquals(ProtostuffMessageSerializer.VERSION, receivedFromProtostuff.getVersion());
+        Assertions.assertEquals(new TaskKillRequest(1), receivedFromProtostuff.parseBody(TaskKillRequest.class));
+        Assertions.assertEquals(Message.VERSION, receivedFromJson.getVersion());
+        Assertions.assertEquals(new TaskKillRequest(1), receivedFromJson.parseBody(TaskKillRequest.class));
+    }
+
+    @Test
+    public void testUnknownVersion() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        channel.writeOutbound(new TaskKillRequest(1).convert2Command());
+        ByteBuf byteBuf = channel.readOutbound();
+        byteBuf.setByte(1, Byte.MAX_VALUE);
+        Assertions.assertThrows(Exception.class, () -> channel.writeInbound(byteBuf));
+    }
+
+    @Test
+    public void testDecodePartialFrames() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        channel.writeOutbound(new TaskKillRequest(1).convert2Command());
+        ByteBuf frame = channel.readOutbound();
+        ByteBuf twoFrames = Unpooled.buffer().writeBytes(frame.duplicate()).writeBytes(frame);
+        frame.release();
+
+        int half = twoFrames.readableBytes() / 4;
+        Assertions.assertFalse(channel.writeInbound(twoFrames.readRetainedSlice(half)));
+        Assertions.assertTrue(channel.writeInbound(twoFrames.readRetainedSlice(half * 2)));
+        Assertions.assertTrue(channel.writeInbound(twoFrames));
+
+        for (int i = 0; i < 2; i++) {
+            Message received = channel.readInbound();
+            Assertions.assertEquals(MessageType.TASK_KILL_REQUEST, received.getType());
+            Assertions.assertEquals(new TaskKillRequest(1), received.parseBody(TaskKillRequest.class));
+            received.release();
+        }
+        Assertions.assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testTooLongFrame() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder(64));
+        Message message = new Message();
+        message.setType(MessageType.GET_LOG_BYTES_REQUEST);
+        message.setBody(new byte[1024]);
+        channel.writeOutbound(message);
+        ByteBuf frame = channel.readOutbound();
+        // fails as soon as the length is read, without waiting for the whole body
+        ByteBuf header = frame.readRetainedSlice(64);
+        frame.release();
+        Assertions.assertThrows(TooLongFrameException.class, () -> channel.writeInbound(header));
+    }
+
+    @Test
+    public void testReleaseBody() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        channel.writeOutbound(new TaskKillRequest(1).convert2Command());
+        ByteBuf encoded = channel.readOutbound();
+        ByteBuf frame = Unpooled.copiedBuffer(encoded);
+        encoded.release();
+        channel.writeInbound(frame);
+        Message received = channel.readInbound();
+        // the body is a slice of the received buffer, which is kept until the message is released
+        Assertions.assertEquals(1, frame.refCnt());
+        received.release();
+        Assertions.assertEquals(0, frame.refCnt());
+    }
+
+    private Message roundTrip(EmbeddedChannel channel, Message message) {
+        Assertions.assertTrue(channel.writeOutbound(message));
+        ByteBuf byteBuf = channel.readOutbound();
+        Assertions.assertTrue(channel.writeInbound(byteBuf));
+        return channel.readInbound();
+    }
+}
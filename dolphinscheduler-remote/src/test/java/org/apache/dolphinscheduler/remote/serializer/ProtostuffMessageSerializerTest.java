@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.Message.SerializedBody;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchRequest;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ProtostuffMessageSerializerTest {
+
+    @Test
+    public void testSerializeAndDeserialize() {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(1);
+        taskExecutionContext.setTaskName("shell");
+        taskExecutionContext.setCurrentExecutionStatus(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskExecutionContext.setDefinedParams(Collections.singletonMap("key", "value"));
+        TaskDispatchRequest taskDispatchRequest = new TaskDispatchRequest(taskExecutionContext);
+
+        MessageSerializer messageSerializer = MessageSerializerFactory.getSerializer(ProtostuffMessageSerializer.NAME);
+        byte[] bytes = messageSerializer.serialize(taskDispatchRequest);
+        Assertions.assertTrue(bytes.length < MessageSerializerFactory.getDefaultSerializer()
+                .serialize(taskDispatchRequest).length);
+        Assertions.assertEquals(taskDispatchRequest, messageSerializer.deserialize(bytes, TaskDispatchRequest.class));
+    }
+
+    @Test
+    public void testSerializeBody() {
+        TaskDispatchRequest taskDispatchRequest = new TaskDispatchRequest(new TaskExecutionContext());
+        Message message = taskDispatchRequest.convert2Command();
+        MessageSerializer protostuffSerializer =
+                MessageSerializerFactory.getSerializer(ProtostuffMessageSerializer.VERSION);
+        SerializedBody protostuffBody = message.serializeBody(protostuffSerializer);
+        Assertions.assertEquals(ProtostuffMessageSerializer.VERSION, protostuffBody.getVersion());
+        Assertions.assertEquals(taskDispatchRequest,
+                protostuffSerializer.deserialize(protostuffBody.getBody(), TaskDispatchRequest.class));
+        // the serialized body is reused by the channels of the same serializer
+        Assertions.assertSame(protostuffBody, message.serializeBody(protostuffSerializer));
+
+        // the json body is written to a node which doesn't know protostuff, the message itself is not changed
+        SerializedBody jsonBody = message.serializeBody(MessageSerializerFactory.getDefaultSerializer());
+        Assertions.assertEquals(Message.VERSION, jsonBody.getVersion());
+        Assertions.assertEquals(ProtostuffMessageSerializer.VERSION, protostuffBody.getVersion());
+        Assertions.assertEquals(Message.VERSION, message.getVersion());
+        Assertions.assertEquals(taskDispatchRequest, message.parseBody(TaskDispatchRequest.class));
+    }
+}
@@ -23,7 +23,6 @@ import org.apache.dolphinscheduler.remote.command.alert.AlertSendRequest;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendResponse;
 import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.remote.utils.Host;
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -98,7 +97,7 @@ public class AlertClientService implements AutoCloseable {
             Message message = request.convert2Command();
             Message response = this.client.sendSync(address, message, ALERT_REQUEST_TIMEOUT);
             if (response != null) {
-                return JsonSerializer.deserialize(response.getBody(), AlertSendResponse.class);
+                return response.parseBody(AlertSendResponse.class);
             }
         } catch (Exception e) {
             log.error("sync alert send error", e);
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+
+/**
+ * Notify the masters that there are new commands, so that the masters don't need to wait for the next fetch interval.
+ */
+public interface CommandNotifyService {
+
+    /**
+     * Notify all masters that the given command has been inserted. If there is an active transaction, the notification
+     * will be sent after the transaction committed. The notifications are coalesced and sent asynchronously,
+     * so this method will never block the caller.
+     *
+     * @param command inserted command
+     */
+    void notifyCommandInserted(Command command);
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.workflow.CommandInsertedNotifyRequest;
+import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.netty.channel.Channel;
+
+/**
+ * command notify service
+ */
+@Service
+@Slf4j
+public class CommandNotifyServiceImpl implements CommandNotifyService {
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    /**
+     * Created on the first notification, so the processes which never insert commands don't start a netty client.
+     */
+    private volatile NettyRemotingClient nettyRemotingClient;
+
+    private final ExecutorService notifyExecutor;
+
+    /**
+     * Whether there is a notification waiting to be sent, used to coalesce the notifications of a burst of commands.
+     */
+    private final AtomicBoolean notifyPending = new AtomicBoolean(false);
+
+    public CommandNotifyServiceImpl() {
+        this.notifyExecutor = ThreadUtils.newDaemonFixedThreadExecutor("CommandNotifyThread", 1);
+    }
+
+    @Override
+    public void notifyCommandInserted(Command command) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitNotify(command);
+            return;
+        }
+        // the master cannot see the command until the transaction committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                submitNotify(command);
+            }
+        });
+    }
+
+    private void submitNotify(Command command) {
+        if (!notifyPending.compareAndSet(false, true)) {
+            // there is already a pending notification, the master will fetch this command together
+            return;
+        }
+        try {
+            notifyExecutor.execute(() -> {
+                notifyPending.set(false);
+                notifyMasters(new CommandInsertedNotifyRequest(command.getId()).convert2Command());
+            });
+        } catch (Exception e) {
+            notifyPending.set(false);
+            log.warn("Submit command inserted notification error, the master will fetch the command by polling", e);
+        }
+    }
+
+    private void notifyMasters(Message message) {
+        try {
+            List<Server> serverList = registryClient.getServerList(RegistryNodeType.MASTER);
+            if (CollectionUtils.isEmpty(serverList)) {
+                return;
+            }
+            for (Server server : serverList) {
+                Host host = new Host(server.getHost(), server.getPort());
+                Channel channel = getNettyRemotingClient().getChannel(host);
+                if (channel == null) {
+                    log.warn("Cannot connect to master: {}, skip notify command inserted", host);
+                    continue;
+                }
+                channel.writeAndFlush(message);
+            }
+        } catch (Exception e) {
+            log.warn("Notify master command inserted error, the master will fetch the command by polling", e);
+        }
+    }
+
+    private NettyRemotingClient getNettyRemotingClient() {
+        if (nettyRemotingClient == null) {
+            synchronized (this) {
+                if (nettyRemotingClient == null) {
+                    nettyRemotingClient = new NettyRemotingClient(new NettyClientConfig());
+                }
+            }
+        }
+        return nettyRemotingClient;
+    }
+
+    @PreDestroy
+    public void close() {
+        notifyExecutor.shutdownNow();
+        synchronized (this) {
+            if (nettyRemotingClient != null) {
+                nettyRemotingClient.close();
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -49,9 +50,23 @@ public interface CommandService {
      * @param pageSize page size
      * @param masterCount master count
      * @param thisMasterSlot master slot
+     * @param excludedWorkerGroups the commands of these worker groups will not be fetched
      * @return command page
      */
-    List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot);
+    List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot,
+                                        Collection<String> excludedWorkerGroups);
+
+    /**
+     * Claim a batch of commands for the given master, the claimed command will not be fetched by other master
+     * until the claim lease is expired.
+     * @param pageSize max claim size
+     * @param claimHost the master address which claim the commands
+     * @param leaseMillis claim lease duration in milliseconds
+     * @param excludedWorkerGroups the commands of these worker groups will not be claimed
+     * @return claimed commands
+     */
+    List<Command> claimCommands(int pageSize, String claimHost, long leaseMillis,
+                                Collection<String> excludedWorkerGroups);
 
     /**
      * check the input command exists in queue list
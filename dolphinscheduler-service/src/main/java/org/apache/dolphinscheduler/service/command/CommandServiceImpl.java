@@ -44,6 +44,7 @@ import org.apache.dolphinscheduler.service.utils.ParamUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -55,6 +56,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
@@ -79,6 +81,9 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private CommandNotifyService commandNotifyService;
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -104,15 +109,36 @@ public class CommandServiceImpl implements CommandService {
         }
         command.setId(null);
         result = commandMapper.insert(command);
+        if (result > 0) {
+            commandNotifyService.notifyCommandInserted(command);
+        }
         return result;
     }
 
     @Override
-    public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot) {
+    public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot,
+                                               Collection<String> excludedWorkerGroups) {
         if (masterCount <= 0) {
             return Lists.newArrayList();
         }
-        return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+        return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot, excludedWorkerGroups);
+    }
+
+    @Override
+    @Transactional
+    public List<Command> claimCommands(int pageSize, String claimHost, long leaseMillis,
+                                       Collection<String> excludedWorkerGroups) {
+        Date currentTime = new Date();
+        List<Integer> commandIds = commandMapper.queryClaimableCommandIds(pageSize, currentTime, excludedWorkerGroups);
+        if (CollectionUtils.isEmpty(commandIds)) {
+            return Lists.newArrayList();
+        }
+        Date claimExpireTime = new Date(currentTime.getTime() + leaseMillis);
+        int claimedCount = commandMapper.claimCommands(commandIds, claimHost, claimExpireTime, currentTime);
+        if (claimedCount <= 0) {
+            return Lists.newArrayList();
+        }
+        return commandMapper.queryClaimedCommands(commandIds, claimHost);
     }
 
     @Override
@@ -181,6 +207,9 @@ public class CommandServiceImpl implements CommandService {
             return;
         }
 
+        // release the claim, so that the command can be fetched again
+        originCommand.setClaimHost(null);
+        originCommand.setClaimExpireTime(null);
         // update the command time if current command is recover from waiting
         if (originCommand.getCommandType() == CommandType.RECOVER_WAITING_THREAD) {
             originCommand.setUpdateTime(new Date());
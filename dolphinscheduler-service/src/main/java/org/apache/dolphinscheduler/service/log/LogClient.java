@@ -21,7 +21,6 @@ import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLE
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 import static org.apache.dolphinscheduler.common.utils.LogUtils.readWholeFileContentFromLocal;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
@@ -31,6 +30,8 @@ import org.apache.dolphinscheduler.remote.command.log.GetAppIdRequest;
 import org.apache.dolphinscheduler.remote.command.log.GetAppIdResponse;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequest;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponse;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponse;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequest;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponse;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest;
@@ -41,6 +42,8 @@ import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -60,6 +63,8 @@ public class LogClient implements AutoCloseable {
 
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    private static final int LOG_CHUNK_SIZE = 1024 * 1024;
+
     public LogClient() {
         client = NettyRemotingClientFactory.buildNettyRemotingClient();
     }
@@ -84,7 +89,7 @@ public class LogClient implements AutoCloseable {
             Message response = client.sendSync(address, message, LOG_REQUEST_TIMEOUT);
             if (response != null) {
                 RollViewLogResponse rollReviewLog =
-                        JSONUtils.parseObject(response.getBody(), RollViewLogResponse.class);
+                        response.parseBody(RollViewLogResponse.class);
                 return rollReviewLog.getMsg();
             }
             return "Roll view log response is null";
@@ -121,7 +126,7 @@ public class LogClient implements AutoCloseable {
                 Message response = this.client.sendSync(address, message, LOG_REQUEST_TIMEOUT);
                 if (response != null) {
                     ViewLogResponseResponse viewLog =
-                            JSONUtils.parseObject(response.getBody(), ViewLogResponseResponse.class);
+                            response.parseBody(ViewLogResponseResponse.class);
                     return viewLog.getMsg();
                 }
                 return "View log response is null";
@@ -154,7 +159,7 @@ public class LogClient implements AutoCloseable {
             Message response = this.client.sendSync(address, message, LOG_REQUEST_TIMEOUT);
             if (response != null) {
                 GetLogBytesResponse getLog =
-                        JSONUtils.parseObject(response.getBody(), GetLogBytesResponse.class);
+                        response.parseBody(GetLogBytesResponse.class);
                 return getLog.getData() == null ? EMPTY_BYTE_ARRAY : getLog.getData();
             }
             return EMPTY_BYTE_ARRAY;
@@ -170,6 +175,58 @@ public class LogClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Stream the whole log into the output stream chunk by chunk, the next chunk is requested only after the previous
+     * one has been written, so at most one chunk is held in memory whatever the log size is.
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param outputStream the stream to write the log into
+     * @return the written byte size, 0 if the first chunk is failed to get
+     * @throws IOException if the output stream is failed to write, e.g. the client is disconnected, or a chunk after
+     *                     the first one is failed to get, so the written log is aborted rather than truncated silently
+     */
+    public long getLogChunks(String host, int port, String path, OutputStream outputStream) throws IOException {
+        log.info("Get log chunks from host: {}, port: {}, logPath {}", host, port, path);
+        final Host address = new Host(host, port);
+        long offset = 0;
+        while (true) {
+            GetLogChunkResponse getLogChunk;
+            try {
+                Message message = new GetLogChunkRequest(path, offset, LOG_CHUNK_SIZE).convert2Command();
+                Message response = this.client.sendSync(address, message, LOG_REQUEST_TIMEOUT);
+                if (response == null) {
+                    throw new RemotingException("response is null");
+                }
+                getLogChunk = response.parseBody(GetLogChunkResponse.class);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(String.format(
+                        "Get log chunk from host: %s, port: %s, logPath: %s at offset: %s error, the current thread has been interrupted",
+                        host, port, path, offset), ex);
+            } catch (RemotingException e) {
+                if (offset == 0) {
+                    // nothing is written yet, the caller can fall back to the other log source
+                    log.error("Get log chunk from host: {}, port: {}, logPath: {} error", host, port, path, e);
+                    return 0;
+                }
+                throw new IOException(
+                        String.format("Get log chunk from host: %s, port: %s, logPath: %s at offset: %s error",
+                                host, port, path, offset),
+                        e);
+            }
+            byte[] data = getLogChunk.getData();
+            if (data != null && data.length > 0) {
+                outputStream.write(data);
+                offset += data.length;
+            }
+            if (getLogChunk.isEof() || data == null || data.length == 0) {
+                return offset;
+            }
+        }
+    }
+
     /**
      * remove task log
      *
@@ -193,7 +250,7 @@ public class LogClient implements AutoCloseable {
                     return;
                 }
                 RemoveTaskLogResponse removeTaskLogResponse =
-                        JSONUtils.parseObject(response.getBody(), RemoveTaskLogResponse.class);
+                        response.parseBody(RemoveTaskLogResponse.class);
                 if (removeTaskLogResponse.getStatus()) {
                     log.info("Success remove task log from host: {} logPath {}", host, path);
                 } else {
@@ -224,7 +281,7 @@ public class LogClient implements AutoCloseable {
             Message response = this.client.sendSync(workerAddress, message, LOG_REQUEST_TIMEOUT);
             if (response != null) {
                 GetAppIdResponse responseCommand =
-                        JSONUtils.parseObject(response.getBody(), GetAppIdResponse.class);
+                        response.parseBody(GetAppIdResponse.class);
                 appIds = responseCommand.getAppIds();
             }
         }
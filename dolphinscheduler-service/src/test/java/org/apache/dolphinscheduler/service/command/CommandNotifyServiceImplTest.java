@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.netty.channel.Channel;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandNotifyServiceImplTest {
+
+    @InjectMocks
+    private CommandNotifyServiceImpl commandNotifyService;
+
+    @Mock
+    private RegistryClient registryClient;
+
+    @Mock
+    private NettyRemotingClient nettyRemotingClient;
+
+    @Mock
+    private Channel channel;
+
+    @AfterEach
+    public void after() {
+        commandNotifyService.close();
+    }
+
+    @Test
+    public void testNotifyCommandInserted() {
+        mockMaster();
+        commandNotifyService.notifyCommandInserted(createCommand(1));
+
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(channel, Mockito.timeout(5000)).writeAndFlush(messageCaptor.capture());
+        Assertions.assertEquals(MessageType.COMMAND_INSERTED_NOTIFY, messageCaptor.getValue().getType());
+    }
+
+    @Test
+    public void testNotifyCommandInsertedAfterCommit() {
+        mockMaster();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            commandNotifyService.notifyCommandInserted(createCommand(1));
+            // the master cannot see the command before the transaction committed
+            Mockito.verify(channel, Mockito.after(200).never()).writeAndFlush(Mockito.any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            Mockito.verify(channel, Mockito.timeout(5000)).writeAndFlush(Mockito.any(Message.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testNotCreateClientUntilNotify() throws ReflectiveOperationException {
+        CommandNotifyServiceImpl notifyService = new CommandNotifyServiceImpl();
+        try {
+            Field nettyRemotingClientField = CommandNotifyServiceImpl.class.getDeclaredField("nettyRemotingClient");
+            nettyRemotingClientField.setAccessible(true);
+            Assertions.assertNull(nettyRemotingClientField.get(notifyService));
+        } finally {
+            notifyService.close();
+        }
+    }
+
+    private void mockMaster() {
+        Server server = new Server();
+        server.setHost("127.0.0.1");
+        server.setPort(5678);
+        Mockito.when(registryClient.getServerList(RegistryNodeType.MASTER))
+                .thenReturn(Collections.singletonList(server));
+        Mockito.when(nettyRemotingClient.getChannel(new Host("127.0.0.1", 5678))).thenReturn(channel);
+    }
+
+    private Command createCommand(int id) {
+        Command command = new Command();
+        command.setId(id);
+        return command;
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -70,6 +71,9 @@ class MessageServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private CommandNotifyService commandNotifyService;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -212,6 +216,7 @@ class MessageServiceImplTest {
         int exeMethodResult = commandService.createCommand(command);
         Assertions.assertEquals(mockResult, exeMethodResult);
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
+        Mockito.verify(commandNotifyService, Mockito.times(1)).notifyCommandInserted(command);
     }
 
     @Test
@@ -220,7 +225,7 @@ class MessageServiceImplTest {
         int masterCount = 0;
         int thisMasterSlot = 2;
         List<Command> commandList =
-                commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+                commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot, Collections.emptyList());
         Assertions.assertEquals(0, commandList.size());
     }
 
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponse;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
+import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+public class LogClientTest {
+
+    private MockedStatic<NettyRemotingClientFactory> mockedNettyRemotingClientFactory;
+
+    private NettyRemotingClient nettyRemotingClient;
+
+    private LogClient logClient;
+
+    @BeforeEach
+    public void setUp() {
+        nettyRemotingClient = Mockito.mock(NettyRemotingClient.class);
+        mockedNettyRemotingClientFactory = Mockito.mockStatic(NettyRemotingClientFactory.class);
+        mockedNettyRemotingClientFactory.when(NettyRemotingClientFactory::buildNettyRemotingClient)
+                .thenReturn(nettyRemotingClient);
+        logClient = new LogClient();
+    }
+
+    @AfterEach
+    public void after() {
+        mockedNettyRemotingClientFactory.close();
+    }
+
+    @Test
+    public void testGetLogChunks() throws Exception {
+        List<Long> offsets = new ArrayList<>();
+        Mockito.when(nettyRemotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Message.class),
+                Mockito.anyLong())).thenAnswer(invocation -> {
+                    long offset = invocation.getArgument(1, Message.class).parseBody(GetLogChunkRequest.class)
+                            .getOffset();
+                    offsets.add(offset);
+                    return offset == 0
+                            ? createResponse("first ", false)
+                            : createResponse("second", true);
+                });
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long size = logClient.getLogChunks("127.0.0.1", 1234, "/log/a.log", outputStream);
+        Assertions.assertEquals(12, size);
+        Assertions.assertEquals("first second", outputStream.toString(StandardCharsets.UTF_8.name()));
+        // the next chunk is requested from the end of the written ones
+        Assertions.assertEquals(2, offsets.size());
+        Assertions.assertEquals(6L, offsets.get(1));
+    }
+
+    @Test
+    public void testGetLogChunksStopAtEmptyChunk() throws Exception {
+        Mockito.when(nettyRemotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Message.class),
+                Mockito.anyLong()))
+                .thenReturn(createResponse("first", false))
+                .thenReturn(createResponse("", false));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertEquals(5, logClient.getLogChunks("127.0.0.1", 1234, "/log/a.log", outputStream));
+        Mockito.verify(nettyRemotingClient, Mockito.times(2)).sendSync(Mockito.any(Host.class),
+                Mockito.any(Message.class), Mockito.anyLong());
+    }
+
+    @Test
+    public void testGetLogChunksAbortOnMidStreamError() throws Exception {
+        Mockito.when(nettyRemotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Message.class),
+                Mockito.anyLong()))
+                .thenReturn(createResponse("first", false))
+                .thenThrow(new RemotingTimeoutException("127.0.0.1:1234", 10000L));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertThrows(IOException.class,
+                () -> logClient.getLogChunks("127.0.0.1", 1234, "/log/a.log", outputStream));
+        Assertions.assertEquals("first", outputStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testGetLogChunksAbortOnMidStreamNullResponse() throws Exception {
+        Mockito.when(nettyRemotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Message.class),
+                Mockito.anyLong()))
+                .thenReturn(createResponse("first", false))
+                .thenReturn(null);
+
+        Assertions.assertThrows(IOException.class,
+                () -> logClient.getLogChunks("127.0.0.1", 1234, "/log/a.log", new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testGetLogChunksFirstChunkError() throws Exception {
+        Mockito.when(nettyRemotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Message.class),
+                Mockito.anyLong())).thenThrow(new RemotingTimeoutException("127.0.0.1:1234", 10000L));
+
+        // nothing is written, so the caller can fall back to the remote log
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertEquals(0, logClient.getLogChunks("127.0.0.1", 1234, "/log/a.log", outputStream));
+        Assertions.assertEquals(0, outputStream.size());
+    }
+
+    private Message createResponse(String data, boolean eof) {
+        return new GetLogChunkResponse(data.getBytes(StandardCharsets.UTF_8), eof).convert2Command(0L);
+    }
+}
@@ -21,13 +21,18 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponse;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequest;
+import org.apache.dolphinscheduler.remote.processor.GetLogChunkProcessor;
 import org.apache.dolphinscheduler.remote.processor.ViewWholeLogProcessor;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -112,4 +117,51 @@ public class LoggerRequestProcessorTest {
         ViewWholeLogProcessor loggerRequestProcessor = new ViewWholeLogProcessor();
         loggerRequestProcessor.process(channel, message);
     }
+
+    @Test
+    public void testProcessGetLogChunkRequest() {
+        Mockito.when(LogUtils.readFileChunk("/log/a.log", 4, 4)).thenReturn(new byte[]{4, 5, 6, 7});
+
+        GetLogChunkResponse response = processGetLogChunkRequest(new GetLogChunkRequest("/log/a.log", 4, 4));
+        Assertions.assertArrayEquals(new byte[]{4, 5, 6, 7}, response.getData());
+        // a full chunk may not be the end of the log
+        Assertions.assertFalse(response.isEof());
+    }
+
+    @Test
+    public void testProcessGetLogChunkRequestEof() {
+        Mockito.when(LogUtils.readFileChunk("/log/a.log", 8, 4)).thenReturn(new byte[]{8, 9});
+        Mockito.when(LogUtils.readFileChunk("/log/a.log", 10, 4)).thenReturn(new byte[0]);
+
+        GetLogChunkResponse response = processGetLogChunkRequest(new GetLogChunkRequest("/log/a.log", 8, 4));
+        Assertions.assertArrayEquals(new byte[]{8, 9}, response.getData());
+        Assertions.assertTrue(response.isEof());
+
+        response = processGetLogChunkRequest(new GetLogChunkRequest("/log/a.log", 10, 4));
+        Assertions.assertEquals(0, response.getData().length);
+        Assertions.assertTrue(response.isEof());
+    }
+
+    @Test
+    public void testProcessGetLogChunkRequestLimitChunkSize() {
+        int maxChunkSize = 4 * 1024 * 1024;
+        Mockito.when(LogUtils.readFileChunk("/log/a.log", 0, maxChunkSize)).thenReturn(new byte[maxChunkSize]);
+
+        GetLogChunkResponse response =
+                processGetLogChunkRequest(new GetLogChunkRequest("/log/a.log", 0, maxChunkSize * 2));
+        Assertions.assertEquals(maxChunkSize, response.getData().length);
+        Assertions.assertFalse(response.isEof());
+    }
+
+    private GetLogChunkResponse processGetLogChunkRequest(GetLogChunkRequest getLogChunkRequest) {
+        Channel channel = Mockito.mock(Channel.class);
+        Message message = new Message();
+        message.setType(MessageType.GET_LOG_CHUNK_REQUEST);
+        message.setBody(JSONUtils.toJsonByteArray(getLogChunkRequest));
+
+        new GetLogChunkProcessor().process(channel, message);
+        ArgumentCaptor<Message> responseCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(channel).writeAndFlush(responseCaptor.capture());
+        return responseCaptor.getValue().parseBody(GetLogChunkResponse.class);
+    }
 }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.plugin.task.api;
 
-import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
 import static org.apache.dolphinscheduler.common.constants.Constants.SLEEP_TIME_MILLIS;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_FAILURE;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_KILL;
@@ -26,18 +25,16 @@ import org.apache.dolphinscheduler.common.constants.TenantConstants;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskOutputPipeline;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
-import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ShellUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -80,13 +77,17 @@ public abstract class AbstractCommandExecutor {
     protected Logger logger;
 
     /**
-     * log list
+     * the threads copying the process output and the pod log to the task log, shared by all the tasks, each running
+     * task holds at most two of them while it's running. The readers block on the output, so the pool is unbounded,
+     * otherwise a queued reader would leave the output undrained and hang the process on a full pipe
      */
-    protected LinkedBlockingQueue<String> logBuffer;
+    private static final ExecutorService TASK_OUTPUT_EXECUTOR =
+            ThreadUtils.newDaemonCachedThreadExecutor("TaskOutputThread-%d");
 
-    protected boolean processLogOutputIsSuccess = false;
-
-    protected boolean podLogOutputIsFinished = false;
+    /**
+     * the process output and the pod log of the task are handed to the log handler one batch at a time
+     */
+    private final Object logHandlerLock = new Object();
 
     /**
      * taskRequest
@@ -103,13 +104,6 @@ public abstract class AbstractCommandExecutor {
         this.logHandler = logHandler;
         this.taskRequest = taskRequest;
         this.logger = logger;
-        this.logBuffer = new LinkedBlockingQueue<>();
-        this.logBuffer.add(EMPTY_STRING);
-
-        if (this.taskRequest != null) {
-            // set logBufferEnable=true if the task uses logHandler and logBuffer to buffer log messages
-            this.taskRequest.setLogBufferEnable(true);
-        }
     }
 
     // todo: We need to build the IShellActuator in outer class, since different task may have specific logic to build
@@ -260,14 +254,10 @@ public abstract class AbstractCommandExecutor {
 
     private void collectPodLogIfNeeded() {
         if (null == taskRequest.getK8sTaskExecutionContext()) {
-            podLogOutputIsFinished = true;
             return;
         }
 
-        ExecutorService collectPodLogExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("CollectPodLogOutput-thread-" + taskRequest.getTaskName());
-
-        podLogOutputFuture = collectPodLogExecutorService.submit(() -> {
+        podLogOutputFuture = TASK_OUTPUT_EXECUTOR.submit(() -> {
             // wait for launching (driver) pod
             ThreadUtils.sleep(SLEEP_TIME_MILLIS * 5L);
             try (
@@ -275,72 +265,33 @@ public abstract class AbstractCommandExecutor {
                             taskRequest.getTaskAppId())) {
                 if (watcher == null) {
                     throw new RuntimeException("The driver pod does not exist.");
-                } else {
-                    String line;
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(watcher.getOutput()))) {
-                        while ((line = reader.readLine()) != null) {
-                            logBuffer.add(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
-                        }
-                    }
                 }
+                new TaskOutputPipeline(watcher.getOutput(), taskRequest.getLogPath(),
+                        line -> String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line),
+                        this::handleLog).run();
             } catch (Exception e) {
                 throw new RuntimeException(e);
-            } finally {
-                podLogOutputIsFinished = true;
             }
-
         });
-
-        collectPodLogExecutorService.shutdown();
     }
 
     private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.submit(() -> {
-            try (
-                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                    BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = inReader.readLine()) != null) {
+        TaskOutputPipeline taskOutputPipeline =
+                new TaskOutputPipeline(process.getInputStream(), taskRequest.getLogPath(), line -> {
                     if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
                         varPool.append(findVarPool(line));
                         varPool.append("$VarPool$");
-                    } else {
-                        logBuffer.add(line);
+                        return null;
                     }
-                }
-                processLogOutputIsSuccess = true;
-            } catch (Exception e) {
-                logger.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
-            }
-        });
-
-        getOutputLogService.shutdown();
+                    return line;
+                }, this::handleLog);
+        taskOutputFuture = TASK_OUTPUT_EXECUTOR.submit(taskOutputPipeline);
+    }
 
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
-            try (
-                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());) {
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
-                }
-            } catch (Exception e) {
-                logger.error("Output task log error", e);
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
+    private void handleLog(LinkedBlockingQueue<String> logs) {
+        synchronized (logHandlerLock) {
+            logHandler.accept(logs);
+        }
     }
 
     /**
@@ -136,11 +136,6 @@ public class TaskConstants {
 
     public static final String SH = "sh";
 
-    /**
-     * log flush interval?output when reach the interval
-     */
-    public static final int DEFAULT_LOG_FLUSH_INTERVAL = 1000;
-
     /**
      * pstree, get pud and sub pid
      */
@@ -260,6 +260,4 @@ public class TaskExecutionContext implements Serializable {
      * test flag
      */
     private int testFlag;
-
-    private boolean logBufferEnable;
 }
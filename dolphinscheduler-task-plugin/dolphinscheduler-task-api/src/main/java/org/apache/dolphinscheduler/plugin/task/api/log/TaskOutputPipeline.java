@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copy an output stream of the task process to the task log.
+ * <p>
+ * The output is read into a fixed size buffer and split into lines at the byte level, then the lines are handed to
+ * the log handler in batches. A batch is handed over once it is full, or once the process has nothing more to output
+ * for now. Nothing is read while the log handler is busy, so a chatty process blocks on its pipe rather than filling
+ * the heap.
+ */
+@Slf4j
+public class TaskOutputPipeline implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * a longer line is split into several lines, a UTF-8 character will not be split
+     */
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final int MAX_BATCH_LINES = 1024;
+
+    private static final int MAX_BATCH_BYTES = 1024 * 1024;
+
+    private static final String EMPTY_STRING = "";
+
+    private final InputStream inputStream;
+
+    private final String logPath;
+
+    private final Function<String, String> lineMapper;
+
+    private final Consumer<LinkedBlockingQueue<String>> logHandler;
+
+    private final Charset charset;
+
+    private final LinkedBlockingQueue<String> batch = new LinkedBlockingQueue<>();
+
+    private int batchBytes;
+
+    private byte[] lineBuffer = new byte[256];
+
+    private int lineLength;
+
+    /**
+     * @param inputStream the output of the process, it is closed once read to the end
+     * @param logPath the log path of the task instance
+     * @param lineMapper map an output line to the line to log, or to null if the line should not be logged
+     * @param logHandler the handler of the log lines, it should drain the given queue
+     */
+    public TaskOutputPipeline(InputStream inputStream,
+                              String logPath,
+                              Function<String, String> lineMapper,
+                              Consumer<LinkedBlockingQueue<String>> logHandler) {
+        this(inputStream, logPath, lineMapper, logHandler, Charset.defaultCharset());
+    }
+
+    TaskOutputPipeline(InputStream inputStream,
+                       String logPath,
+                       Function<String, String> lineMapper,
+                       Consumer<LinkedBlockingQueue<String>> logHandler,
+                       Charset charset) {
+        this.inputStream = inputStream;
+        this.charset = charset;
+        this.logPath = logPath;
+        this.lineMapper = lineMapper;
+        this.logHandler = logHandler;
+        // the first empty line makes the handler start the batch on a new line
+        this.batch.add(EMPTY_STRING);
+    }
+
+    @Override
+    public void run() {
+        try (
+                final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
+                        LogUtils.setTaskInstanceLogFullPathMDC(logPath);
+                InputStream input = inputStream) {
+            byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+            int readLength;
+            while ((readLength = input.read(readBuffer)) != -1) {
+                append(readBuffer, readLength);
+                if (input.available() == 0) {
+                    flush();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Read task output error", e);
+        } finally {
+            if (lineLength > 0) {
+                endLine();
+            }
+            flush();
+        }
+    }
+
+    private void append(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[i];
+            if (b == '\n') {
+                endLine();
+                continue;
+            }
+            if (lineLength == lineBuffer.length) {
+                if (lineLength == MAX_LINE_LENGTH) {
+                    splitLine();
+                } else {
+                    lineBuffer = Arrays.copyOf(lineBuffer, Math.min(lineLength * 2, MAX_LINE_LENGTH));
+                }
+            }
+            lineBuffer[lineLength++] = b;
+        }
+    }
+
+    /**
+     * End the line at the last character boundary, the bytes of the incomplete character are moved to the next line.
+     */
+    private void splitLine() {
+        int boundary = StandardCharsets.UTF_8.equals(charset) ? getUtf8CharBoundary() : lineLength;
+        byte[] remaining = Arrays.copyOfRange(lineBuffer, boundary, lineLength);
+        lineLength = boundary;
+        endLine();
+        System.arraycopy(remaining, 0, lineBuffer, 0, remaining.length);
+        lineLength = remaining.length;
+    }
+
+    private int getUtf8CharBoundary() {
+        // a UTF-8 character is at most 4 bytes, find the lead byte of the last character
+        int lead = lineLength - 1;
+        while (lead > lineLength - 4 && (lineBuffer[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        int leadByte = lineBuffer[lead] & 0xFF;
+        int charLength;
+        if (leadByte >= 0xF0) {
+            charLength = 4;
+        } else if (leadByte >= 0xE0) {
+            charLength = 3;
+        } else if (leadByte >= 0xC0) {
+            charLength = 2;
+        } else {
+            charLength = 1;
+        }
+        return lead + charLength > lineLength ? lead : lineLength;
+    }
+
+    private void endLine() {
+        int length = lineLength;
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        String line = lineMapper.apply(new String(lineBuffer, 0, length, charset));
+        lineLength = 0;
+        if (line == null) {
+            return;
+        }
+        batch.add(line);
+        batchBytes += length;
+        if (batch.size() > MAX_BATCH_LINES || batchBytes >= MAX_BATCH_BYTES) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (batch.size() <= 1) {
+            return;
+        }
+        try {
+            logHandler.accept(batch);
+        } catch (Exception e) {
+            log.error("Handle task output error", e);
+        }
+        batch.clear();
+        batch.add(EMPTY_STRING);
+        batchBytes = 0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskOutputPipelineTest {
+
+    @Test
+    public void testSplitLines() {
+        String output = "line1\r\n${setValue(a=1)}\nline2\n\nline3";
+        List<String> lines = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        new TaskOutputPipeline(
+                new ByteArrayInputStream(output.getBytes(Charset.defaultCharset())),
+                null,
+                line -> line.startsWith("${setValue(") ? null : line,
+                batch -> {
+                    batchSizes.add(batch.size());
+                    // the first line of a batch is empty
+                    Assertions.assertEquals("", batch.poll());
+                    while (!batch.isEmpty()) {
+                        lines.add(batch.poll());
+                    }
+                }).run();
+        Assertions.assertEquals(Arrays.asList("line1", "line2", "", "line3"), lines);
+        // the lines read are flushed once the stream has nothing more, the last line without line break at the end
+        Assertions.assertEquals(Arrays.asList(4, 2), batchSizes);
+    }
+
+    @Test
+    public void testSplitBatches() {
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            output.append("line").append(i).append('\n');
+        }
+        List<String> lines = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        new TaskOutputPipeline(
+                new ByteArrayInputStream(output.toString().getBytes(Charset.defaultCharset())),
+                null,
+                line -> line,
+                batch -> {
+                    batchSizes.add(batch.size());
+                    batch.poll();
+                    while (!batch.isEmpty()) {
+                        lines.add(batch.poll());
+                    }
+                }).run();
+        Assertions.assertEquals(3000, lines.size());
+        Assertions.assertEquals("line2999", lines.get(2999));
+        Assertions.assertTrue(batchSizes.size() > 1);
+        Assertions.assertTrue(batchSizes.stream().allMatch(size -> size <= 1025));
+    }
+
+    @Test
+    public void testSplitLongLineAtCharBoundary() {
+        // the 64K line limit falls in the middle of a 3 bytes character
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 64 * 1024 - 1; i++) {
+            output.append('a');
+        }
+        output.append("\u4e2d\u6587");
+        List<String> lines = new ArrayList<>();
+        new TaskOutputPipeline(
+                new ByteArrayInputStream(output.toString().getBytes(StandardCharsets.UTF_8)),
+                null,
+                line -> line,
+                batch -> {
+                    batch.poll();
+                    while (!batch.isEmpty()) {
+                        lines.add(batch.poll());
+                    }
+                },
+                StandardCharsets.UTF_8).run();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertEquals(64 * 1024 - 1, lines.get(0).length());
+        Assertions.assertEquals("\u4e2d\u6587", lines.get(1));
+    }
+}
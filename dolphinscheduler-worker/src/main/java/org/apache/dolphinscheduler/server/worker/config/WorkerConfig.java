@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.worker.config;
 
 import static org.apache.dolphinscheduler.common.constants.Constants.REGISTRY_DOLPHINSCHEDULER_WORKERS;
 
+import org.apache.dolphinscheduler.common.model.HeartBeatDeltaConfig;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
@@ -47,6 +48,7 @@ public class WorkerConfig implements Validator {
     private int listenPort = 1234;
     private int execThreads = 10;
     private Duration heartbeatInterval = Duration.ofSeconds(10);
+    private HeartBeatDeltaConfig heartbeatDelta = new HeartBeatDeltaConfig();
     private int hostWeight = 100;
     private boolean tenantAutoCreate = true;
     private boolean tenantDistributedUser = false;
@@ -79,6 +81,11 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getHeartbeatDelta().isEnabled()
+                && workerConfig.getHeartbeatDelta().getKeepAliveInterval().compareTo(heartbeatInterval) < 0) {
+            errors.rejectValue("heartbeat-delta", null,
+                    "keep-alive-interval should not be less than heartbeat-interval");
+        }
         if (workerConfig.getMaxCpuLoadAvg() <= 0) {
             workerConfig.setMaxCpuLoadAvg(Runtime.getRuntime().availableProcessors() * 2);
         }
@@ -94,6 +101,7 @@ public class WorkerConfig implements Validator {
         log.info("Worker config: listenPort -> {}", listenPort);
         log.info("Worker config: execThreads -> {}", execThreads);
         log.info("Worker config: heartbeatInterval -> {}", heartbeatInterval);
+        log.info("Worker config: heartbeatDelta -> {}", heartbeatDelta);
         log.info("Worker config: hostWeight -> {}", hostWeight);
         log.info("Worker config: tenantAutoCreate -> {}", tenantAutoCreate);
         log.info("Worker config: tenantDistributedUser -> {}", tenantDistributedUser);
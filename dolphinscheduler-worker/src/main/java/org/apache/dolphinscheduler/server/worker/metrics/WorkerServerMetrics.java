@@ -67,6 +67,13 @@ public class WorkerServerMetrics {
                     .description("size of downloaded resource files on worker")
                     .register(Metrics.globalRegistry);
 
+    private final Timer workerTaskQueueTimer =
+            Timer.builder("ds.worker.task.queue.time")
+                    .description("time a task waits on worker for a free execute thread")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
     public void incWorkerOverloadCount() {
         workerOverloadCounter.increment();
     }
@@ -87,6 +94,10 @@ public class WorkerServerMetrics {
         workerResourceDownloadDurationTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public void recordWorkerTaskQueueTime(final long milliseconds) {
+        workerTaskQueueTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void recordWorkerResourceDownloadSize(final long size) {
         workerResourceDownloadSizeDistribution.record(size);
     }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchRequest;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchResponse;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchResponse;
+import org.apache.dolphinscheduler.remote.processor.WorkerRpcProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.netty.channel.Channel;
+
+/**
+ * Dispatch a batch of tasks sent by master in one request, each task is dispatched the same as
+ * {@link WorkerTaskDispatchProcessor}, the result of each task is returned in one response.
+ */
+@Component
+@Slf4j
+public class WorkerTaskBatchDispatchProcessor implements WorkerRpcProcessor {
+
+    @Autowired
+    private WorkerTaskDispatchProcessor workerTaskDispatchProcessor;
+
+    @Override
+    public void process(Channel channel, Message message) {
+        TaskBatchDispatchRequest taskBatchDispatchRequest =
+                message.parseBody(TaskBatchDispatchRequest.class);
+        List<TaskExecutionContext> taskExecutionContexts = taskBatchDispatchRequest.getTaskExecutionContexts();
+        log.info("Receive TaskBatchDispatchMessage, task size: {}", taskExecutionContexts.size());
+        List<TaskDispatchResponse> taskDispatchResponses = new ArrayList<>(taskExecutionContexts.size());
+        for (TaskExecutionContext taskExecutionContext : taskExecutionContexts) {
+            try {
+                taskDispatchResponses.add(workerTaskDispatchProcessor.dispatchTask(taskExecutionContext));
+            } catch (Exception ex) {
+                log.error("Dispatch task: {} in batch failed", taskExecutionContext.getTaskName(), ex);
+                taskDispatchResponses.add(TaskDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
+                        "Task dispatch failed: " + ex.getMessage()));
+            }
+        }
+        TaskBatchDispatchResponse taskBatchDispatchResponse = new TaskBatchDispatchResponse(taskDispatchResponses);
+        channel.writeAndFlush(taskBatchDispatchResponse.convert2Command(message.getOpaque()));
+    }
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.TASK_BATCH_DISPATCH_REQUEST;
+    }
+
+}
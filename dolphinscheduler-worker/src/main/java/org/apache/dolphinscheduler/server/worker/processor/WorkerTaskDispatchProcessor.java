@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.worker.processor;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContextCacheManager;
@@ -77,9 +76,17 @@ public class WorkerTaskDispatchProcessor implements WorkerRpcProcessor {
     @Timed(value = "ds.task.execution.duration", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
     @Override
     public void process(Channel channel, Message message) {
-        TaskDispatchRequest taskDispatchRequest = JSONUtils.parseObject(message.getBody(), TaskDispatchRequest.class);
+        TaskDispatchRequest taskDispatchRequest = message.parseBody(TaskDispatchRequest.class);
         log.info("Receive TaskDispatchMessage, command: {}", taskDispatchRequest);
-        TaskExecutionContext taskExecutionContext = taskDispatchRequest.getTaskExecutionContext();
+        TaskDispatchResponse taskDispatchResponse = dispatchTask(taskDispatchRequest.getTaskExecutionContext());
+        channel.writeAndFlush(taskDispatchResponse.convert2Command(message.getOpaque()));
+    }
+
+    /**
+     * Submit the task to the wait queue of {@link WorkerManagerThread}, also used by
+     * {@link WorkerTaskBatchDispatchProcessor} to dispatch each task in the batch.
+     */
+    public TaskDispatchResponse dispatchTask(TaskExecutionContext taskExecutionContext) {
         try (
                 final LogUtils.MDCAutoClosableContext mdcAutoClosableContext = LogUtils.setWorkflowAndTaskInstanceIDMDC(
                         taskExecutionContext.getProcessInstanceId(), taskExecutionContext.getTaskInstanceId())) {
@@ -112,28 +119,14 @@ public class WorkerTaskDispatchProcessor implements WorkerRpcProcessor {
             if (!workerManager.offer(workerTaskExecuteRunnable)) {
                 log.error("submit task: {} to wait queue error, current queue size: {} is full",
                         taskExecutionContext.getTaskName(), workerManager.getWaitSubmitQueueSize());
-                sendDispatchRejectResult(channel, message, taskExecutionContext);
-            } else {
-                sendDispatchSuccessResult(channel, message, taskExecutionContext);
-                log.info("Submit task: {} to wait queue success", taskExecutionContext.getTaskName());
+                return TaskDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
+                        "Task dispatch queue is full");
             }
+            log.info("Submit task: {} to wait queue success", taskExecutionContext.getTaskName());
+            return TaskDispatchResponse.success(taskExecutionContext.getTaskInstanceId());
         }
     }
 
-    private void sendDispatchSuccessResult(Channel channel, Message dispatchRequest,
-                                           TaskExecutionContext taskExecutionContext) {
-        TaskDispatchResponse taskDispatchResponse =
-                TaskDispatchResponse.success(taskExecutionContext.getTaskInstanceId());
-        channel.writeAndFlush(taskDispatchResponse.convert2Command(dispatchRequest.getOpaque()));
-    }
-
-    private void sendDispatchRejectResult(Channel channel, Message dispatchRequest,
-                                          TaskExecutionContext taskExecutionContext) {
-        TaskDispatchResponse taskDispatchResponse =
-                TaskDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(), "Task dispatch queue is full");
-        channel.writeAndFlush(taskDispatchResponse.convert2Command(dispatchRequest.getOpaque()));
-    }
-
     @Override
     public MessageType getCommandType() {
         return MessageType.TASK_DISPATCH_REQUEST;
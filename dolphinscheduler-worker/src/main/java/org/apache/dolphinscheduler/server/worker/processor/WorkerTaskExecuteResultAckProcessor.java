@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -45,7 +44,7 @@ public class WorkerTaskExecuteResultAckProcessor implements WorkerRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskExecuteResultMessageAck taskExecuteAckMessage =
-                JSONUtils.parseObject(message.getBody(), TaskExecuteResultMessageAck.class);
+                message.parseBody(TaskExecuteResultMessageAck.class);
 
         if (taskExecuteAckMessage == null) {
             log.error("task execute response ack command is null");
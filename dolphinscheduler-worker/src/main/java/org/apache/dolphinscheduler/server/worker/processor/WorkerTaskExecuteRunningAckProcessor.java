@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -44,8 +43,7 @@ public class WorkerTaskExecuteRunningAckProcessor implements WorkerRpcProcessor
 
     @Override
     public void process(Channel channel, Message message) {
-        TaskExecuteRunningMessageAck runningAckCommand = JSONUtils.parseObject(message.getBody(),
-                TaskExecuteRunningMessageAck.class);
+        TaskExecuteRunningMessageAck runningAckCommand = message.parseBody(TaskExecuteRunningMessageAck.class);
         if (runningAckCommand == null) {
             log.error("task execute running ack command is null");
             return;
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.AbstractTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
@@ -69,7 +68,7 @@ public class WorkerTaskKillProcessor implements WorkerRpcProcessor {
      */
     @Override
     public void process(Channel channel, Message message) {
-        TaskKillRequest killCommand = JSONUtils.parseObject(message.getBody(), TaskKillRequest.class);
+        TaskKillRequest killCommand = message.parseBody(TaskKillRequest.class);
         if (killCommand == null) {
             log.error("task kill request command is null");
             return;
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskPauseRequest;
@@ -35,7 +34,7 @@ public class WorkerTaskPauseProcessor implements WorkerRpcProcessor {
 
     @Override
     public void process(Channel channel, Message message) {
-        TaskPauseRequest taskPauseRequest = JSONUtils.parseObject(message.getBody(), TaskPauseRequest.class);
+        TaskPauseRequest taskPauseRequest = message.parseBody(TaskPauseRequest.class);
         log.info("Receive TaskPauseRequest: {}, worker doesn't support pause", taskPauseRequest.getTaskInstanceId());
     }
 
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.AbstractTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContextCacheManager;
@@ -62,7 +61,7 @@ public class WorkerTaskSavePointProcessor implements WorkerRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         TaskSavePointRequest taskSavePointRequest =
-                JSONUtils.parseObject(message.getBody(), TaskSavePointRequest.class);
+                message.parseBody(TaskSavePointRequest.class);
         if (taskSavePointRequest == null) {
             log.error("task savepoint request command is null");
             return;
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -46,8 +45,7 @@ public class WorkerTaskUpdatePidAckProcessor implements WorkerRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
 
-        TaskUpdateRuntimeAckMessage updatePidAckCommand = JSONUtils.parseObject(message.getBody(),
-                TaskUpdateRuntimeAckMessage.class);
+        TaskUpdateRuntimeAckMessage updatePidAckCommand = message.parseBody(TaskUpdateRuntimeAckMessage.class);
         if (updatePidAckCommand == null) {
             log.error("task execute update pid ack command is null");
             return;
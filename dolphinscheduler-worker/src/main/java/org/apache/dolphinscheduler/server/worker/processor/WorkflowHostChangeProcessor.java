@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContextCacheManager;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
@@ -51,7 +50,7 @@ public class WorkflowHostChangeProcessor implements WorkerRpcProcessor {
     @Override
     public void process(Channel channel, Message message) {
         WorkflowHostChangeRequest workflowHostChangeRequest =
-                JSONUtils.parseObject(message.getBody(), WorkflowHostChangeRequest.class);
+                message.parseBody(WorkflowHostChangeRequest.class);
         if (workflowHostChangeRequest == null) {
             logger.error("host update command is null");
             return;
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.registry.api.ConnectionState;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
@@ -79,6 +80,11 @@ public class WorkerRegistryClient implements AutoCloseable {
             registry();
             registryClient.addConnectionStateListener(
                     new WorkerConnectionStateListener(workerConfig, workerConnectStrategy));
+            registryClient.addConnectionStateListener(state -> {
+                if (state == ConnectionState.RECONNECTED) {
+                    workerHeartBeatTask.forceWriteNextHeartBeat();
+                }
+            });
         } catch (Exception ex) {
             throw new RegistryException("Worker registry client start up error", ex);
         }
@@ -35,6 +35,11 @@ import lombok.NonNull;
 
 public abstract class WorkerDelayTaskExecuteRunnable extends WorkerTaskExecuteRunnable implements Delayed {
 
+    /**
+     * the time the task is put into the wait submit queue of the worker
+     */
+    private volatile long waitingStartTime = System.currentTimeMillis();
+
     protected WorkerDelayTaskExecuteRunnable(@NonNull TaskExecutionContext taskExecutionContext,
                                              @NonNull WorkerConfig workerConfig,
                                              @NonNull WorkerMessageSender workerMessageSender,
@@ -51,6 +56,25 @@ public abstract class WorkerDelayTaskExecuteRunnable extends WorkerTaskExecuteRu
                 workerRegistryClient);
     }
 
+    public long getWaitingStartTime() {
+        return waitingStartTime;
+    }
+
+    public void setWaitingStartTime(long waitingStartTime) {
+        this.waitingStartTime = waitingStartTime;
+    }
+
+    /**
+     * @return the time the task waits in the worker for a free execute thread, excluding the configured delay
+     */
+    public long getQueueTime(long now) {
+        TaskExecutionContext taskExecutionContext = getTaskExecutionContext();
+        long readyTime = Math.max(waitingStartTime,
+                taskExecutionContext.getFirstSubmitTime()
+                        + TimeUnit.MINUTES.toMillis(taskExecutionContext.getDelayTime()));
+        return Math.max(0, now - readyTime);
+    }
+
     @Override
     public long getDelay(TimeUnit unit) {
         TaskExecutionContext taskExecutionContext = getTaskExecutionContext();
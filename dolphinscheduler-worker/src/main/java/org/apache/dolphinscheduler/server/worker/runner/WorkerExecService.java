@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -47,22 +48,60 @@ public class WorkerExecService {
      */
     private final ConcurrentHashMap<Integer, WorkerTaskExecuteRunnable> taskExecuteThreadMap;
 
+    /**
+     * one permit per free execute thread, a task is only submitted with a permit which is released once it finished
+     */
+    private final Semaphore execPermits;
+
     public WorkerExecService(ExecutorService execService,
+                             int execThreads,
                              ConcurrentHashMap<Integer, WorkerTaskExecuteRunnable> taskExecuteThreadMap) {
         this.execService = execService;
+        this.execPermits = new Semaphore(execThreads);
         this.listeningExecutorService = MoreExecutors.listeningDecorator(this.execService);
         this.taskExecuteThreadMap = taskExecuteThreadMap;
         WorkerServerMetrics.registerWorkerTaskTotalGauge(taskExecuteThreadMap::size);
     }
 
+    /**
+     * Try to take a free execute thread without waiting.
+     *
+     * @return true if a permit is acquired, it should be passed on to {@link #submit(WorkerTaskExecuteRunnable)}
+     */
+    public boolean tryAcquireExecPermit() {
+        return execPermits.tryAcquire();
+    }
+
+    /**
+     * Wait until an execute thread is free, it returns as soon as a running task finished.
+     */
+    public void acquireExecPermit() throws InterruptedException {
+        execPermits.acquire();
+    }
+
+    public void releaseExecPermit() {
+        execPermits.release();
+    }
+
+    /**
+     * Submit a task with an acquired permit, the permit is released once the task finished.
+     */
     public void submit(final WorkerTaskExecuteRunnable taskExecuteThread) {
         taskExecuteThreadMap.put(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId(), taskExecuteThread);
-        ListenableFuture future = this.listeningExecutorService.submit(taskExecuteThread);
+        ListenableFuture future;
+        try {
+            future = this.listeningExecutorService.submit(taskExecuteThread);
+        } catch (RuntimeException e) {
+            taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+            releaseExecPermit();
+            throw e;
+        }
         FutureCallback futureCallback = new FutureCallback() {
 
             @Override
             public void onSuccess(Object o) {
                 taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+                releaseExecPermit();
             }
 
             @Override
@@ -72,20 +111,12 @@ public class WorkerExecService {
                         taskExecuteThread.getTaskExecutionContext().getTaskInstanceId(),
                         throwable);
                 taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+                releaseExecPermit();
             }
         };
         Futures.addCallback(future, futureCallback, this.listeningExecutorService);
     }
 
-    /**
-     * get thread pool queue size
-     *
-     * @return queue size
-     */
-    public int getThreadPoolQueueSize() {
-        return ((ThreadPoolExecutor) this.execService).getQueue().size();
-    }
-
     public int getActiveExecThreadCount() {
         return ((ThreadPoolExecutor) this.execService).getActiveCount();
     }
@@ -60,6 +60,7 @@ public class WorkerManagerThread implements Runnable {
         this.waitSubmitQueue = new DelayQueue<>();
         workerExecService = new WorkerExecService(
                 ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads()),
+                workerConfig.getExecThreads(),
                 taskExecuteThreadMap);
     }
 
@@ -76,15 +77,6 @@ public class WorkerManagerThread implements Runnable {
         return waitSubmitQueue.size();
     }
 
-    /**
-     * get thread pool queue size
-     *
-     * @return queue size
-     */
-    public int getThreadPoolQueueSize() {
-        return workerExecService.getThreadPoolQueueSize();
-    }
-
     /**
      * Kill tasks that have not been executed, like delay task
      * then send Response to Master, update the execution status of task instance
@@ -96,19 +88,22 @@ public class WorkerManagerThread implements Runnable {
                 .forEach(waitSubmitQueue::remove);
     }
 
+    /**
+     * Put the task into the wait submit queue, it never blocks since it is called by the rpc threads.
+     *
+     * @return false if the queue is full and the policy is REJECT, then the master will dispatch the task again
+     */
     public boolean offer(WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable) {
+        workerDelayTaskExecuteRunnable.setWaitingStartTime(System.currentTimeMillis());
         if (workerConfig.getTaskExecuteThreadsFullPolicy() == TaskExecuteThreadsFullPolicy.CONTINUE) {
             return waitSubmitQueue.offer(workerDelayTaskExecuteRunnable);
         }
 
         if (waitSubmitQueue.size() > workerExecThreads) {
-            log.warn("Wait submit queue is full, will retry submit task later");
+            log.warn("Wait submit queue is full, reject the task {}",
+                    workerDelayTaskExecuteRunnable.getTaskExecutionContext().getTaskInstanceId());
             WorkerServerMetrics.incWorkerSubmitQueueIsFullCount();
-            // if waitSubmitQueue is full, it will wait 1s, then try add
-            ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            if (waitSubmitQueue.size() > workerExecThreads) {
-                return false;
-            }
+            return false;
         }
         return waitSubmitQueue.offer(workerDelayTaskExecuteRunnable);
     }
@@ -126,7 +121,7 @@ public class WorkerManagerThread implements Runnable {
         WorkerServerMetrics.registerWorkerCpuUsageGauge(OSUtils::cpuUsagePercentage);
         WorkerServerMetrics.registerWorkerMemoryAvailableGauge(OSUtils::availablePhysicalMemorySize);
         WorkerServerMetrics.registerWorkerMemoryUsageGauge(OSUtils::memoryUsagePercentage);
-        WorkerServerMetrics.registerWorkerExecuteQueueSizeGauge(workerExecService::getThreadPoolQueueSize);
+        WorkerServerMetrics.registerWorkerExecuteQueueSizeGauge(waitSubmitQueue::size);
         WorkerServerMetrics.registerWorkerActiveExecuteThreadGauge(workerExecService::getActiveExecThreadCount);
 
         Thread.currentThread().setName("Worker-Execute-Manager-Thread");
@@ -135,15 +130,21 @@ public class WorkerManagerThread implements Runnable {
                 if (!ServerLifeCycleManager.isRunning()) {
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                if (this.getThreadPoolQueueSize() <= workerExecThreads) {
-                    final WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable = waitSubmitQueue.take();
-                    workerExecService.submit(workerDelayTaskExecuteRunnable);
-                } else {
-                    WorkerServerMetrics.incWorkerOverloadCount();
-                    log.info("Exec queue is full, waiting submit queue {}, waiting exec queue size {}",
-                            this.getWaitSubmitQueueSize(), this.getThreadPoolQueueSize());
-                    ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                acquireExecPermit();
+                final WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable;
+                try {
+                    workerDelayTaskExecuteRunnable = waitSubmitQueue.take();
+                } catch (InterruptedException e) {
+                    workerExecService.releaseExecPermit();
+                    throw e;
                 }
+                WorkerServerMetrics.recordWorkerTaskQueueTime(
+                        workerDelayTaskExecuteRunnable.getQueueTime(System.currentTimeMillis()));
+                workerExecService.submit(workerDelayTaskExecuteRunnable);
+            } catch (InterruptedException e) {
+                log.warn("Worker manager thread is interrupted, will exit");
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
                 log.error("An unexpected interrupt is happened, "
                         + "the exception will be ignored and this thread will continue to run", e);
@@ -151,6 +152,20 @@ public class WorkerManagerThread implements Runnable {
         }
     }
 
+    /**
+     * Wait for a free execute thread, the waiting task is submitted as soon as a running task finished.
+     */
+    private void acquireExecPermit() throws InterruptedException {
+        if (workerExecService.tryAcquireExecPermit()) {
+            return;
+        }
+        if (!waitSubmitQueue.isEmpty()) {
+            WorkerServerMetrics.incWorkerOverloadCount();
+            log.info("All the execute threads are busy, waiting submit queue size {}", this.getWaitSubmitQueueSize());
+        }
+        workerExecService.acquireExecPermit();
+    }
+
     public void clearTask() {
         waitSubmitQueue.clear();
         workerExecService.getTaskExecuteThreadMap().values().forEach(workerTaskExecuteRunnable -> {
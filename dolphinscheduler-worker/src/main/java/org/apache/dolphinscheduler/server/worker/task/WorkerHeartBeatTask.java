@@ -20,8 +20,9 @@ package org.apache.dolphinscheduler.server.worker.task;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.model.BaseHeartBeatTask;
+import org.apache.dolphinscheduler.common.model.HeartBeatDeltaConfig;
+import org.apache.dolphinscheduler.common.model.HeartBeatEncoder;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
@@ -44,7 +45,8 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
     public WorkerHeartBeatTask(@NonNull WorkerConfig workerConfig,
                                @NonNull RegistryClient registryClient,
                                @NonNull Supplier<Integer> workerWaitingTaskCount) {
-        super("WorkerHeartBeatTask", workerConfig.getHeartbeatInterval().toMillis());
+        super("WorkerHeartBeatTask", workerConfig.getHeartbeatInterval().toMillis(),
+                workerConfig.getHeartbeatDelta().getKeepAliveIntervalMillis());
         this.workerConfig = workerConfig;
         this.registryClient = registryClient;
         this.workerWaitingTaskCount = workerWaitingTaskCount;
@@ -80,7 +82,8 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
 
     @Override
     public void writeHeartBeat(WorkerHeartBeat workerHeartBeat) {
-        String workerHeartBeatJson = JSONUtils.toJsonString(workerHeartBeat);
+        String workerHeartBeatJson =
+                HeartBeatEncoder.encode(workerHeartBeat, workerConfig.getHeartbeatDelta().isEnabled());
         String workerRegistryPath = workerConfig.getWorkerRegistryPath();
         registryClient.persistEphemeral(workerRegistryPath, workerHeartBeatJson);
         log.debug(
@@ -88,6 +91,18 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
                 workerRegistryPath, workerHeartBeatJson);
     }
 
+    @Override
+    protected boolean isHeartBeatChanged(WorkerHeartBeat lastHeartBeat, WorkerHeartBeat heartBeat) {
+        HeartBeatDeltaConfig heartbeatDelta = workerConfig.getHeartbeatDelta();
+        return lastHeartBeat.getServerStatus() != heartBeat.getServerStatus()
+                || lastHeartBeat.getWorkerHostWeight() != heartBeat.getWorkerHostWeight()
+                || lastHeartBeat.getWorkerExecThreadCount() != heartBeat.getWorkerExecThreadCount()
+                || heartbeatDelta.isWaitingTaskCountChanged(lastHeartBeat.getWorkerWaitingTaskCount(),
+                        heartBeat.getWorkerWaitingTaskCount())
+                || heartbeatDelta.isCpuUsageChanged(lastHeartBeat.getCpuUsage(), heartBeat.getCpuUsage())
+                || heartbeatDelta.isMemoryUsageChanged(lastHeartBeat.getMemoryUsage(), heartBeat.getMemoryUsage());
+    }
+
     public int getServerStatus(double cpuUsagePercentage,
                                double maxCpuUsePercentage,
                                double memoryUsagePercentage,
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchRequest;
+import org.apache.dolphinscheduler.remote.command.task.TaskBatchDispatchResponse;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchResponse;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.netty.channel.Channel;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkerTaskBatchDispatchProcessorTest {
+
+    @InjectMocks
+    private WorkerTaskBatchDispatchProcessor workerTaskBatchDispatchProcessor;
+
+    @Mock
+    private WorkerTaskDispatchProcessor workerTaskDispatchProcessor;
+
+    @Test
+    public void process() {
+        Channel channel = Mockito.mock(Channel.class);
+        TaskExecutionContext taskExecutionContext1 = new TaskExecutionContext();
+        taskExecutionContext1.setTaskInstanceId(1);
+        TaskExecutionContext taskExecutionContext2 = new TaskExecutionContext();
+        taskExecutionContext2.setTaskInstanceId(2);
+        Mockito.when(workerTaskDispatchProcessor.dispatchTask(Mockito.any()))
+                .thenReturn(TaskDispatchResponse.success(1))
+                .thenThrow(new IllegalStateException("mock dispatch error"));
+
+        Message dispatchMessage =
+                new TaskBatchDispatchRequest(Arrays.asList(taskExecutionContext1, taskExecutionContext2))
+                        .convert2Command();
+        workerTaskBatchDispatchProcessor.process(channel, dispatchMessage);
+
+        Mockito.verify(workerTaskDispatchProcessor, Mockito.times(2)).dispatchTask(Mockito.any());
+        ArgumentCaptor<Message> responseMessageCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(channel, Mockito.times(1)).writeAndFlush(responseMessageCaptor.capture());
+        Message responseMessage = responseMessageCaptor.getValue();
+        Assertions.assertEquals(MessageType.TASK_BATCH_DISPATCH_RESPONSE, responseMessage.getType());
+        Assertions.assertEquals(dispatchMessage.getOpaque(), responseMessage.getOpaque());
+
+        // the failed task does not fail the others in the batch
+        List<TaskDispatchResponse> taskDispatchResponses =
+                responseMessage.parseBody(TaskBatchDispatchResponse.class).getTaskDispatchResponses();
+        Assertions.assertEquals(2, taskDispatchResponses.size());
+        Assertions.assertEquals(1, taskDispatchResponses.get(0).getTaskInstanceId());
+        Assertions.assertTrue(taskDispatchResponses.get(0).isDispatchSuccess());
+        Assertions.assertEquals(2, taskDispatchResponses.get(1).getTaskInstanceId());
+        Assertions.assertFalse(taskDispatchResponses.get(1).isDispatchSuccess());
+        Assertions.assertTrue(taskDispatchResponses.get(1).getMessage().contains("mock dispatch error"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class WorkerExecServiceTest {
+
+    private ExecutorService execService;
+
+    private WorkerExecService workerExecService;
+
+    @BeforeEach
+    public void setUp() {
+        execService = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread-Test", 1);
+        workerExecService = new WorkerExecService(execService, 1, new ConcurrentHashMap<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        execService.shutdownNow();
+    }
+
+    @Test
+    public void testTryAcquireExecPermit() {
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+        // no more permit than the execute threads
+        Assertions.assertFalse(workerExecService.tryAcquireExecPermit());
+        workerExecService.releaseExecPermit();
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+    }
+
+    @Test
+    public void testReleaseExecPermitOnSuccess() {
+        WorkerTaskExecuteRunnable workerTaskExecuteRunnable = createWorkerTaskExecuteRunnable(1);
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+        workerExecService.submit(workerTaskExecuteRunnable);
+
+        awaitExecPermitReleased();
+        Mockito.verify(workerTaskExecuteRunnable).run();
+        Assertions.assertTrue(workerExecService.getTaskExecuteThreadMap().isEmpty());
+    }
+
+    @Test
+    public void testReleaseExecPermitOnFailure() {
+        WorkerTaskExecuteRunnable workerTaskExecuteRunnable = createWorkerTaskExecuteRunnable(1);
+        Mockito.doThrow(new RuntimeException("task failed")).when(workerTaskExecuteRunnable).run();
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+        workerExecService.submit(workerTaskExecuteRunnable);
+
+        awaitExecPermitReleased();
+        Assertions.assertTrue(workerExecService.getTaskExecuteThreadMap().isEmpty());
+    }
+
+    @Test
+    public void testReleaseExecPermitOnRejection() {
+        execService.shutdown();
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+        Assertions.assertThrows(RejectedExecutionException.class,
+                () -> workerExecService.submit(createWorkerTaskExecuteRunnable(1)));
+
+        Assertions.assertTrue(workerExecService.tryAcquireExecPermit());
+        Assertions.assertTrue(workerExecService.getTaskExecuteThreadMap().isEmpty());
+    }
+
+    private void awaitExecPermitReleased() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!workerExecService.tryAcquireExecPermit()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "The exec permit is not released");
+            ThreadUtils.sleep(10);
+        }
+    }
+
+    static WorkerDelayTaskExecuteRunnable createWorkerTaskExecuteRunnable(int taskInstanceId) {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        taskExecutionContext.setFirstSubmitTime(System.currentTimeMillis());
+        WorkerDelayTaskExecuteRunnable workerTaskExecuteRunnable = Mockito.mock(WorkerDelayTaskExecuteRunnable.class);
+        Mockito.when(workerTaskExecuteRunnable.getTaskExecutionContext()).thenReturn(taskExecutionContext);
+        return workerTaskExecuteRunnable;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import static org.apache.dolphinscheduler.server.worker.runner.WorkerExecServiceTest.createWorkerTaskExecuteRunnable;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.server.worker.config.TaskExecuteThreadsFullPolicy;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class WorkerManagerThreadTest {
+
+    @Test
+    public void testOfferRejectWhenQueueFull() {
+        WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.setExecThreads(1);
+        workerConfig.setTaskExecuteThreadsFullPolicy(TaskExecuteThreadsFullPolicy.REJECT);
+        WorkerManagerThread workerManagerThread = new WorkerManagerThread(workerConfig);
+
+        Assertions.assertTrue(workerManagerThread.offer(createWorkerTaskExecuteRunnable(1)));
+        Assertions.assertTrue(workerManagerThread.offer(createWorkerTaskExecuteRunnable(2)));
+        // rejected at once rather than blocking the rpc thread
+        Assertions.assertFalse(workerManagerThread.offer(createWorkerTaskExecuteRunnable(3)));
+        Assertions.assertEquals(2, workerManagerThread.getWaitSubmitQueueSize());
+    }
+
+    @Test
+    public void testOfferContinueWhenQueueFull() {
+        WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.setExecThreads(1);
+        workerConfig.setTaskExecuteThreadsFullPolicy(TaskExecuteThreadsFullPolicy.CONTINUE);
+        WorkerManagerThread workerManagerThread = new WorkerManagerThread(workerConfig);
+
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertTrue(workerManagerThread.offer(createWorkerTaskExecuteRunnable(i)));
+        }
+        Assertions.assertEquals(3, workerManagerThread.getWaitSubmitQueueSize());
+    }
+
+    @Test
+    public void testSubmitOnceExecThreadIsFree() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            WorkerConfig workerConfig = new WorkerConfig();
+            workerConfig.setExecThreads(1);
+            WorkerManagerThread workerManagerThread = new WorkerManagerThread(workerConfig);
+            workerManagerThread.start();
+
+            CountDownLatch runningLatch = new CountDownLatch(1);
+            CountDownLatch finishLatch = new CountDownLatch(1);
+            WorkerDelayTaskExecuteRunnable runningTask = createWorkerTaskExecuteRunnable(1);
+            Mockito.doAnswer(invocation -> {
+                runningLatch.countDown();
+                finishLatch.await();
+                return null;
+            }).when(runningTask).run();
+            WorkerDelayTaskExecuteRunnable waitingTask = createWorkerTaskExecuteRunnable(2);
+            Mockito.when(waitingTask.getQueueTime(Mockito.anyLong())).thenReturn(100L);
+
+            Assertions.assertTrue(workerManagerThread.offer(runningTask));
+            Assertions.assertTrue(runningLatch.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(workerManagerThread.offer(waitingTask));
+            // the waiting task is not taken while the only execute thread is busy
+            ThreadUtils.sleep(100);
+            Assertions.assertEquals(1, workerManagerThread.getWaitSubmitQueueSize());
+            Mockito.verify(waitingTask, Mockito.never()).run();
+
+            finishLatch.countDown();
+            Mockito.verify(waitingTask, Mockito.timeout(5000)).run();
+            Assertions.assertEquals(0, workerManagerThread.getWaitSubmitQueueSize());
+
+            Timer workerTaskQueueTimer = meterRegistry.find("ds.worker.task.queue.time").timer();
+            Assertions.assertNotNull(workerTaskQueueTimer);
+            Assertions.assertEquals(2, workerTaskQueueTimer.count());
+            Assertions.assertEquals(100, workerTaskQueueTimer.max(TimeUnit.MILLISECONDS));
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+}